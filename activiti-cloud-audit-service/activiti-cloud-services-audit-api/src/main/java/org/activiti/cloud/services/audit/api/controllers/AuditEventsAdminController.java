@@ -18,6 +18,10 @@ package org.activiti.cloud.services.audit.api.controllers;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
@@ -35,4 +39,13 @@ import org.springframework.web.bind.annotation.RestController;
 public interface AuditEventsAdminController {
     @RequestMapping(method = RequestMethod.GET)
     PagedModel<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAll(Pageable pageable);
+
+    @RequestMapping(value = "/keyset", method = RequestMethod.GET)
+    KeysetPage<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAllKeyset(
+        SearchParams searchParams,
+        KeysetParams keysetParams
+    );
+
+    @RequestMapping(value = "/headers", method = RequestMethod.GET)
+    KeysetPage<AuditEventHeader> findAllHeaders(SearchParams searchParams, KeysetParams keysetParams);
 }
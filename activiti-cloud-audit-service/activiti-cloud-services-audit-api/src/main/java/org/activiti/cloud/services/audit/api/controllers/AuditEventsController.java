@@ -18,6 +18,9 @@ package org.activiti.cloud.services.audit.api.controllers;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
 import org.activiti.cloud.services.audit.api.search.SearchParams;
 import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.EntityModel;
@@ -43,4 +46,13 @@ public interface AuditEventsController {
         SearchParams searchParams,
         Pageable pageable
     );
+
+    @RequestMapping(value = "/keyset", method = RequestMethod.GET)
+    KeysetPage<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> searchKeyset(
+        SearchParams searchParams,
+        KeysetParams keysetParams
+    );
+
+    @RequestMapping(value = "/headers", method = RequestMethod.GET)
+    KeysetPage<AuditEventHeader> searchHeaders(SearchParams searchParams, KeysetParams keysetParams);
 }
@@ -0,0 +1,39 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.api.controllers;
+
+import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimeline;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping(
+    value = "/admin/v1/" + EventsLinkRelationProvider.COLLECTION_RESOURCE_REL + "/process-instances",
+    produces = MediaType.APPLICATION_JSON_VALUE
+)
+public interface AuditTimelineAdminController {
+    @RequestMapping(value = "/{processInstanceId}/timeline", method = RequestMethod.GET)
+    AuditTimeline findTimeline(
+        @PathVariable String processInstanceId,
+        @RequestParam(value = "includeSubprocesses", defaultValue = "false") boolean includeSubprocesses,
+        @RequestParam(value = "maxItems", required = false) Integer maxItems
+    );
+}
@@ -0,0 +1,32 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.api.rollups;
+
+import java.util.Date;
+
+/**
+ * Range and filters of a rollup query. {@code to} defaults to now and {@code from} to one day before {@code to};
+ * {@code granularity} defaults to {@link RollupGranularity#HOUR}. The filters are exact matches and are ignored when
+ * absent.
+ */
+public record RollupParams(
+    Date from,
+    Date to,
+    RollupGranularity granularity,
+    String eventType,
+    String appName,
+    String processDefinitionKey
+) {}
@@ -0,0 +1,33 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.api.search;
+
+/**
+ * The header columns of an audit event, without the entity payload it carries.
+ */
+public record AuditEventHeader(
+    String eventId,
+    Long timestamp,
+    String eventType,
+    String appName,
+    String serviceFullName,
+    String processDefinitionId,
+    String processDefinitionKey,
+    String processInstanceId,
+    String parentProcessInstanceId,
+    String entityId,
+    String businessKey
+) {}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.Map;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
+import org.springframework.messaging.handler.annotation.Headers;
+
+/**
+ * Hands the converted events over to an {@link AuditEventsBatchWriter} and returns once they are committed. It does
+ * not open a transaction itself, so that no database connection is held while waiting for the batch.
+ */
+public class AuditConsumerBatchChannelHandlerImpl implements AuditConsumerChannelHandler {
+
+    private final AuditEventsBatchWriter batchWriter;
+
+    private final AuditEventEntitiesConverter entitiesConverter;
+
+    public AuditConsumerBatchChannelHandlerImpl(
+        AuditEventsBatchWriter batchWriter,
+        APIEventToEntityConverters eventConverters
+    ) {
+        this.batchWriter = batchWriter;
+        this.entitiesConverter = new AuditEventEntitiesConverter(eventConverters);
+    }
+
+    @Override
+    public void receiveCloudRuntimeEvent(@Headers Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
+        if (events != null) {
+            batchWriter.write(entitiesConverter.convert(headers, events));
+        }
+    }
+}
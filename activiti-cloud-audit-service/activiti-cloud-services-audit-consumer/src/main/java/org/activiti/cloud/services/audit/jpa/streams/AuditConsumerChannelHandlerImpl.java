@@ -15,61 +15,42 @@
  */
 package org.activiti.cloud.services.audit.jpa.streams;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
-import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
 import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
-import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
-import org.springframework.messaging.MessageHeaders;
 import org.springframework.messaging.handler.annotation.Headers;
 import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
-@SuppressWarnings("rawtypes")
 @Transactional(propagation = Propagation.REQUIRES_NEW)
 public class AuditConsumerChannelHandlerImpl implements AuditConsumerChannelHandler {
 
-    private static Logger LOGGER = LoggerFactory.getLogger(AuditConsumerChannelHandlerImpl.class);
-
     private final EventsRepository eventsRepository;
 
-    private final APIEventToEntityConverters eventConverters;
+    private final AuditEventEntitiesConverter entitiesConverter;
+
+    private final AuditEventRollupsUpdater rollupsUpdater;
 
     public AuditConsumerChannelHandlerImpl(
         EventsRepository eventsRepository,
-        APIEventToEntityConverters eventConverters
+        APIEventToEntityConverters eventConverters,
+        AuditEventRollupsUpdater rollupsUpdater
     ) {
         this.eventsRepository = eventsRepository;
-        this.eventConverters = eventConverters;
+        this.entitiesConverter = new AuditEventEntitiesConverter(eventConverters);
+        this.rollupsUpdater = rollupsUpdater;
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public void receiveCloudRuntimeEvent(@Headers Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
         if (events != null) {
-            AtomicInteger counter = new AtomicInteger(0);
-            List<AuditEventEntity> entities = new ArrayList<>();
-            for (CloudRuntimeEvent event : events) {
-                EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(
-                    event.getEventType().name()
-                );
-                if (converter != null) {
-                    ((CloudRuntimeEventImpl) event).setMessageId((headers.get(MessageHeaders.ID).toString()));
-                    ((CloudRuntimeEventImpl) event).setSequenceNumber(counter.getAndIncrement());
-                    entities.add((AuditEventEntity) converter.convertToEntity(event));
-                } else {
-                    LOGGER.warn(">>> Ignoring CloudRuntimeEvents type: " + event.getEventType().name());
-                }
-            }
+            List<AuditEventEntity> entities = entitiesConverter.convert(headers, events);
             eventsRepository.saveAll(entities);
+            rollupsUpdater.update(entities);
         }
     }
 }
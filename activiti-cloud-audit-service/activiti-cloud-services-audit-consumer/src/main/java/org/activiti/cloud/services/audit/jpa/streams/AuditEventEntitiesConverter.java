@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.model.shared.impl.events.CloudRuntimeEventImpl;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.MessageHeaders;
+
+/**
+ * Converts the events of one message into audit entities, stamping them with the message id and their position in
+ * the message. Events without a converter are skipped.
+ */
+@SuppressWarnings("rawtypes")
+public class AuditEventEntitiesConverter {
+
+    private static Logger LOGGER = LoggerFactory.getLogger(AuditEventEntitiesConverter.class);
+
+    private final APIEventToEntityConverters eventConverters;
+
+    public AuditEventEntitiesConverter(APIEventToEntityConverters eventConverters) {
+        this.eventConverters = eventConverters;
+    }
+
+    public List<AuditEventEntity> convert(Map<String, Object> headers, CloudRuntimeEvent<?, ?>... events) {
+        List<AuditEventEntity> entities = new ArrayList<>();
+        int sequenceNumber = 0;
+        for (CloudRuntimeEvent event : events) {
+            EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(
+                event.getEventType().name()
+            );
+            if (converter != null) {
+                ((CloudRuntimeEventImpl) event).setMessageId((headers.get(MessageHeaders.ID).toString()));
+                ((CloudRuntimeEventImpl) event).setSequenceNumber(sequenceNumber++);
+                entities.add((AuditEventEntity) converter.convertToEntity(event));
+            } else {
+                LOGGER.warn(">>> Ignoring CloudRuntimeEvents type: " + event.getEventType().name());
+            }
+        }
+        return entities;
+    }
+}
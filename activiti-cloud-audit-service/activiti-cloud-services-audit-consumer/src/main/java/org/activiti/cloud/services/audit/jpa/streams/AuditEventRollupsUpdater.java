@@ -0,0 +1,90 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupId;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
+import org.springframework.boot.jdbc.DatabaseDriver;
+
+/**
+ * Counts stored audit events into their hourly rollup rows. It must run in the transaction that stores the events so
+ * that every event is counted exactly once. Rows are written in key order so that concurrent consumers lock them in
+ * the same order.
+ * <p>
+ * On PostgreSQL, Oracle and H2 each row is written with a single upsert statement (INSERT ... ON CONFLICT or MERGE),
+ * so a consumer creating a row does not fail when another consumer creates the same row at once. Oracle can still
+ * reject a concurrent MERGE on the primary key, in which case the message is retried. On other databases the row is
+ * updated in place and only inserted when the update finds nothing.
+ */
+public class AuditEventRollupsUpdater {
+
+    private final AuditEventRollupRepository rollupRepository;
+
+    private final DatabaseDriver databaseDriver;
+
+    public AuditEventRollupsUpdater(AuditEventRollupRepository rollupRepository, DatabaseDriver databaseDriver) {
+        this.rollupRepository = rollupRepository;
+        this.databaseDriver = databaseDriver;
+    }
+
+    public void update(List<AuditEventEntity> events) {
+        Map<AuditEventRollupId, Long> counts = new TreeMap<>(AuditEventRollupId.ORDER);
+        events
+            .stream()
+            .map(AuditEventRollupId::of)
+            .filter(Objects::nonNull)
+            .forEach(id -> counts.merge(id, 1L, Long::sum));
+
+        counts.forEach(this::addEventCount);
+    }
+
+    private void addEventCount(AuditEventRollupId id, long count) {
+        switch (databaseDriver) {
+            case POSTGRESQL -> rollupRepository.upsertEventCountOnConflict(
+                id.getBucketStart(),
+                id.getEventType(),
+                id.getAppName(),
+                id.getProcessDefinitionKey(),
+                count
+            );
+            case ORACLE -> rollupRepository.mergeEventCountFromDual(
+                id.getBucketStart(),
+                id.getEventType(),
+                id.getAppName(),
+                id.getProcessDefinitionKey(),
+                count
+            );
+            case H2 -> rollupRepository.mergeEventCountFromValues(
+                id.getBucketStart(),
+                id.getEventType(),
+                id.getAppName(),
+                id.getProcessDefinitionKey(),
+                count
+            );
+            default -> {
+                if (rollupRepository.incrementEventCount(id, count) == 0) {
+                    rollupRepository.save(new AuditEventRollupEntity(id, count));
+                }
+            }
+        }
+    }
+}
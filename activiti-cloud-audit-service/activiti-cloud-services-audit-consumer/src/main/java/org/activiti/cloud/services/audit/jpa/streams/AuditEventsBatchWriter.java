@@ -0,0 +1,235 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes audit entities coming from several consumer threads in shared transactions (group commit). A caller of
+ * {@link #write(List)} blocks until its entities are committed, so the message they come from is only acknowledged
+ * after the flush. When no flush is running, the caller flushes what is pending, waiting up to {@code maxWait} for
+ * the batch to reach {@code maxSize} events; entities submitted meanwhile are written by the next flush. Entities
+ * are persisted with JDBC batches of {@code maxSize} statements. When a batch fails, its writes are retried one by
+ * one so that only the caller with faulty entities gets the error. Rollups are updated once per batch, in the same
+ * transaction.
+ */
+public class AuditEventsBatchWriter {
+
+    public static final String METRIC_PREFIX = "activiti.audit.ingestion.batch";
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsBatchWriter.class);
+
+    private final EntityManager entityManager;
+
+    private final AuditEventRollupsUpdater rollupsUpdater;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int maxSize;
+
+    private final Duration maxWait;
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Condition batchFilled = lock.newCondition();
+
+    private final Condition flushFinished = lock.newCondition();
+
+    private final Deque<PendingWrite> pendingWrites = new ArrayDeque<>();
+
+    private int pendingEvents;
+
+    private boolean flushing;
+
+    private final DistributionSummary batchSizeSummary;
+
+    private final Timer flushTimer;
+
+    private final Timer writeTimer;
+
+    private final Counter failedFlushCounter;
+
+    public AuditEventsBatchWriter(
+        EntityManager entityManager,
+        AuditEventRollupsUpdater rollupsUpdater,
+        PlatformTransactionManager transactionManager,
+        int maxSize,
+        Duration maxWait,
+        MeterRegistry meterRegistry
+    ) {
+        this.entityManager = entityManager;
+        this.rollupsUpdater = rollupsUpdater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.maxSize = maxSize;
+        this.maxWait = maxWait;
+        this.batchSizeSummary =
+            DistributionSummary
+                .builder(METRIC_PREFIX + ".size")
+                .description("Audit events written per flush")
+                .register(meterRegistry);
+        this.flushTimer =
+            Timer.builder(METRIC_PREFIX + ".flush").description("Time spent writing a batch").register(meterRegistry);
+        this.writeTimer =
+            Timer
+                .builder(METRIC_PREFIX + ".write")
+                .description("Time from the submission of a message's events to their commit")
+                .register(meterRegistry);
+        this.failedFlushCounter =
+            Counter
+                .builder(METRIC_PREFIX + ".failed")
+                .description("Batches that failed and were retried message by message")
+                .register(meterRegistry);
+    }
+
+    public void write(List<AuditEventEntity> entities) {
+        if (entities.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        PendingWrite pendingWrite = new PendingWrite(entities);
+        lock.lock();
+        try {
+            pendingWrites.add(pendingWrite);
+            pendingEvents += entities.size();
+            if (pendingEvents >= maxSize) {
+                batchFilled.signal();
+            }
+            while (!pendingWrite.done) {
+                if (flushing) {
+                    flushFinished.awaitUninterruptibly();
+                } else {
+                    flushPending();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        writeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        if (pendingWrite.failure != null) {
+            throw pendingWrite.failure;
+        }
+    }
+
+    private void flushPending() {
+        flushing = true;
+        try {
+            long remaining = maxWait.toNanos();
+            while (pendingEvents < maxSize && remaining > 0) {
+                try {
+                    remaining = batchFilled.awaitNanos(remaining);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                }
+            }
+            List<PendingWrite> batch = takeBatch();
+            lock.unlock();
+            try {
+                flush(batch);
+            } finally {
+                lock.lock();
+            }
+        } finally {
+            flushing = false;
+            flushFinished.signalAll();
+        }
+    }
+
+    private List<PendingWrite> takeBatch() {
+        List<PendingWrite> batch = new ArrayList<>();
+        int events = 0;
+        while (!pendingWrites.isEmpty() && (batch.isEmpty() || events + pendingWrites.peek().size() <= maxSize)) {
+            PendingWrite pendingWrite = pendingWrites.poll();
+            batch.add(pendingWrite);
+            events += pendingWrite.size();
+        }
+        pendingEvents -= events;
+        return batch;
+    }
+
+    private void flush(List<PendingWrite> batch) {
+        List<AuditEventEntity> entities = new ArrayList<>();
+        batch.forEach(pendingWrite -> entities.addAll(pendingWrite.entities));
+        long start = System.nanoTime();
+        try {
+            persist(entities);
+            batchSizeSummary.record(entities.size());
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException batchFailure) {
+            failedFlushCounter.increment();
+            LOGGER.warn("Writing a batch of {} audit events failed, retrying message by message", entities.size());
+            for (PendingWrite pendingWrite : batch) {
+                // ids assigned by the rolled back attempt would make the entities look detached
+                pendingWrite.entities.forEach(entity -> entity.setId(null));
+                try {
+                    persist(pendingWrite.entities);
+                } catch (RuntimeException failure) {
+                    pendingWrite.failure = failure;
+                }
+            }
+        }
+        batch.forEach(pendingWrite -> pendingWrite.done = true);
+    }
+
+    private void persist(List<AuditEventEntity> entities) {
+        transactionTemplate.executeWithoutResult(status -> {
+            entityManager.unwrap(Session.class).setJdbcBatchSize(maxSize);
+            for (AuditEventEntity entity : entities) {
+                entityManager.persist(entity);
+            }
+            rollupsUpdater.update(entities);
+            entityManager.flush();
+            entityManager.clear();
+        });
+    }
+
+    private static class PendingWrite {
+
+        private final List<AuditEventEntity> entities;
+
+        private boolean done;
+
+        private RuntimeException failure;
+
+        private PendingWrite(List<AuditEventEntity> entities) {
+            this.entities = entities;
+        }
+
+        private int size() {
+            return entities.size();
+        }
+    }
+}
@@ -15,32 +15,107 @@
  */
 package org.activiti.cloud.services.audit.jpa.streams.config;
 
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import java.sql.DatabaseMetaData;
+import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.function.Consumer;
+import javax.sql.DataSource;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.common.messaging.functional.FunctionBinding;
 import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannelHandler;
 import org.activiti.cloud.services.audit.api.streams.AuditConsumerChannels;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerBatchChannelHandlerImpl;
 import org.activiti.cloud.services.audit.jpa.streams.AuditConsumerChannelHandlerImpl;
+import org.activiti.cloud.services.audit.jpa.streams.AuditEventRollupsUpdater;
+import org.activiti.cloud.services.audit.jpa.streams.AuditEventsBatchWriter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DatabaseDriver;
 import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.support.JdbcUtils;
+import org.springframework.jdbc.support.MetaDataAccessException;
 import org.springframework.messaging.Message;
+import org.springframework.transaction.PlatformTransactionManager;
 
 @AutoConfiguration
 public class AuditJPAStreamsAutoConfiguration {
 
+    public static final String BATCH_INGESTION_ENABLED = "activiti.cloud.services.audit.ingestion.batch.enabled";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventRollupsUpdater auditEventRollupsUpdater(
+        AuditEventRollupRepository rollupRepository,
+        DataSource dataSource
+    ) {
+        return new AuditEventRollupsUpdater(rollupRepository, databaseDriver(dataSource));
+    }
+
+    private static DatabaseDriver databaseDriver(DataSource dataSource) {
+        try {
+            return DatabaseDriver.fromProductName(
+                JdbcUtils.extractDatabaseMetaData(dataSource, DatabaseMetaData::getDatabaseProductName)
+            );
+        } catch (MetaDataAccessException e) {
+            throw new IllegalStateException("Unable to detect the audit database", e);
+        }
+    }
+
     @Bean
     @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = BATCH_INGESTION_ENABLED, havingValue = "false", matchIfMissing = true)
     public AuditConsumerChannelHandler auditConsumerChannelHandler(
         EventsRepository eventsRepository,
+        APIEventToEntityConverters eventConverters,
+        AuditEventRollupsUpdater rollupsUpdater
+    ) {
+        return new AuditConsumerChannelHandlerImpl(eventsRepository, eventConverters, rollupsUpdater);
+    }
+
+    /**
+     * Messages are only grouped while several of them are in flight, so this mode should be paired with a consumer
+     * concurrency above one ({@code ACT_QUERY_CONSUMER_CONCURRENCY}).
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = BATCH_INGESTION_ENABLED, havingValue = "true")
+    public AuditEventsBatchWriter auditEventsBatchWriter(
+        EntityManager entityManager,
+        AuditEventRollupsUpdater rollupsUpdater,
+        PlatformTransactionManager transactionManager,
+        ObjectProvider<MeterRegistry> meterRegistryProvider,
+        @Value("${activiti.cloud.services.audit.ingestion.batch.max-size:500}") int maxSize,
+        @Value("${activiti.cloud.services.audit.ingestion.batch.max-wait:0ms}") Duration maxWait
+    ) {
+        return new AuditEventsBatchWriter(
+            entityManager,
+            rollupsUpdater,
+            transactionManager,
+            maxSize,
+            maxWait,
+            meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new)
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = BATCH_INGESTION_ENABLED, havingValue = "true")
+    public AuditConsumerChannelHandler auditConsumerBatchChannelHandler(
+        AuditEventsBatchWriter batchWriter,
         APIEventToEntityConverters eventConverters
     ) {
-        return new AuditConsumerChannelHandlerImpl(eventsRepository, eventConverters);
+        return new AuditConsumerBatchChannelHandlerImpl(batchWriter, eventConverters);
     }
 
     @FunctionBinding(input = AuditConsumerChannels.AUDIT_CONSUMER)
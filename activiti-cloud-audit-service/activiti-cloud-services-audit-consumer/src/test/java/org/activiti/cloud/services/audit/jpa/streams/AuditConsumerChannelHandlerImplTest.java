@@ -16,6 +16,7 @@
 package org.activiti.cloud.services.audit.jpa.streams;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.UUID;
 import org.activiti.api.process.model.events.ProcessRuntimeEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -47,6 +48,9 @@ public class AuditConsumerChannelHandlerImplTest {
     @Mock
     private APIEventToEntityConverters converters;
 
+    @Mock
+    private AuditEventRollupsUpdater rollupsUpdater;
+
     @Captor
     private ArgumentCaptor<Iterable<AuditEventEntity>> argumentCaptor;
 
@@ -77,6 +81,7 @@ public class AuditConsumerChannelHandlerImplTest {
         //then
         Mockito.verify(eventsRepository).saveAll(argumentCaptor.capture());
         Assertions.assertThat(argumentCaptor.getValue()).containsOnly(entity);
+        Mockito.verify(rollupsUpdater).update(List.of(entity));
     }
 
     @Test
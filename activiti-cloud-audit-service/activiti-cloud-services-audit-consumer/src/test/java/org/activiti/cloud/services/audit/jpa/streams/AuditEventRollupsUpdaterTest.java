@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.util.List;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupId;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class AuditEventRollupsUpdaterTest {
+
+    private static final long HOUR = AuditEventRollupId.BUCKET_MILLIS;
+
+    @Mock
+    private AuditEventRollupRepository rollupRepository;
+
+    @Test
+    public void should_upsert_rollups_once_per_key_on_postgresql() {
+        //when
+        rollupsUpdater(DatabaseDriver.POSTGRESQL)
+            .update(
+                List.of(
+                    event("PROCESS_STARTED", 3 * HOUR + 10, "app", "process"),
+                    event("PROCESS_STARTED", 4 * HOUR - 1, "app", "process"),
+                    event("PROCESS_STARTED", 4 * HOUR, "app", null)
+                )
+            );
+
+        //then
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).upsertEventCountOnConflict(3 * HOUR, "PROCESS_STARTED", "app", "process", 2);
+        inOrder
+            .verify(rollupRepository)
+            .upsertEventCountOnConflict(4 * HOUR, "PROCESS_STARTED", "app", AuditEventRollupId.UNDEFINED, 1);
+        verify(rollupRepository, never()).incrementEventCount(any(), anyLong());
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    public void should_merge_rollups_from_dual_on_oracle() {
+        //when
+        rollupsUpdater(DatabaseDriver.ORACLE).update(List.of(event("PROCESS_STARTED", HOUR, "app", "process")));
+
+        //then
+        verify(rollupRepository).mergeEventCountFromDual(HOUR, "PROCESS_STARTED", "app", "process", 1);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    public void should_merge_rollups_from_values_on_h2() {
+        //when
+        rollupsUpdater(DatabaseDriver.H2).update(List.of(event("PROCESS_STARTED", HOUR, "app", "process")));
+
+        //then
+        verify(rollupRepository).mergeEventCountFromValues(HOUR, "PROCESS_STARTED", "app", "process", 1);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    public void should_increment_existing_rollups_once_per_key() {
+        //given
+        AuditEventRollupsUpdater rollupsUpdater = rollupsUpdater(DatabaseDriver.UNKNOWN);
+        given(rollupRepository.incrementEventCount(any(), anyLong())).willReturn(1);
+
+        //when
+        rollupsUpdater.update(
+            List.of(
+                event("PROCESS_STARTED", 3 * HOUR + 10, "app", "process"),
+                event("PROCESS_STARTED", 4 * HOUR - 1, "app", "process"),
+                event("PROCESS_STARTED", 4 * HOUR, "app", "process")
+            )
+        );
+
+        //then
+        InOrder inOrder = inOrder(rollupRepository);
+        inOrder.verify(rollupRepository).incrementEventCount(rollupId(3 * HOUR, "app", "process"), 2);
+        inOrder.verify(rollupRepository).incrementEventCount(rollupId(4 * HOUR, "app", "process"), 1);
+        verify(rollupRepository, never()).save(any());
+    }
+
+    @Test
+    public void should_create_rollup_when_none_exists_for_the_key() {
+        //given
+        AuditEventRollupsUpdater rollupsUpdater = rollupsUpdater(DatabaseDriver.UNKNOWN);
+        given(rollupRepository.incrementEventCount(any(), anyLong())).willReturn(0);
+
+        //when
+        rollupsUpdater.update(List.of(event("PROCESS_COMPLETED", HOUR + 1, "app", null)));
+
+        //then
+        ArgumentCaptor<AuditEventRollupEntity> rollupCaptor = ArgumentCaptor.forClass(AuditEventRollupEntity.class);
+        verify(rollupRepository).save(rollupCaptor.capture());
+        assertThat(rollupCaptor.getValue().getId())
+            .isEqualTo(new AuditEventRollupId(HOUR, "PROCESS_COMPLETED", "app", AuditEventRollupId.UNDEFINED));
+        assertThat(rollupCaptor.getValue().getEventCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_skip_events_without_timestamp() {
+        //when
+        rollupsUpdater(DatabaseDriver.POSTGRESQL).update(List.of(event("PROCESS_STARTED", null, "app", "process")));
+
+        //then
+        verifyNoInteractions(rollupRepository);
+    }
+
+    private AuditEventRollupsUpdater rollupsUpdater(DatabaseDriver databaseDriver) {
+        return new AuditEventRollupsUpdater(rollupRepository, databaseDriver);
+    }
+
+    private AuditEventRollupId rollupId(long bucketStart, String appName, String processDefinitionKey) {
+        return new AuditEventRollupId(bucketStart, "PROCESS_STARTED", appName, processDefinitionKey);
+    }
+
+    private AuditEventEntity event(String eventType, Long timestamp, String appName, String processDefinitionKey) {
+        AuditEventEntity event = new ProcessStartedAuditEventEntity();
+        event.setEventType(eventType);
+        event.setTimestamp(timestamp);
+        event.setAppName(appName);
+        event.setProcessDefinitionKey(processDefinitionKey);
+        return event;
+    }
+}
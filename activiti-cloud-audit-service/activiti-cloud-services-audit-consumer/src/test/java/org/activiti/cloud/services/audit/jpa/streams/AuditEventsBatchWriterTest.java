@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.streams;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.BDDMockito.willThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessCreatedAuditEventEntity;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+public class AuditEventsBatchWriterTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private Session session;
+
+    @Mock
+    private AuditEventRollupsUpdater rollupsUpdater;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private TransactionStatus transactionStatus;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        given(entityManager.unwrap(Session.class)).willReturn(session);
+        given(transactionManager.getTransaction(any())).willReturn(transactionStatus);
+    }
+
+    @Test
+    public void should_persist_entities_in_one_transaction_when_written() {
+        //given
+        AuditEventsBatchWriter batchWriter = batchWriter(Duration.ZERO);
+        AuditEventEntity first = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity second = new ProcessCreatedAuditEventEntity();
+
+        //when
+        batchWriter.write(List.of(first, second));
+
+        //then
+        verify(transactionManager).getTransaction(any());
+        verify(session).setJdbcBatchSize(2);
+        verify(entityManager).persist(first);
+        verify(entityManager).persist(second);
+        verify(rollupsUpdater).update(List.of(first, second));
+        verify(entityManager).flush();
+        verify(transactionManager).commit(transactionStatus);
+        assertThat(meterRegistry.get(AuditEventsBatchWriter.METRIC_PREFIX + ".size").summary().totalAmount())
+            .isEqualTo(2);
+    }
+
+    @Test
+    public void should_write_messages_together_when_they_arrive_within_max_wait() throws Exception {
+        //given
+        AuditEventsBatchWriter batchWriter = batchWriter(Duration.ofSeconds(10));
+        AuditEventEntity first = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity second = new ProcessCreatedAuditEventEntity();
+
+        //when
+        CompletableFuture<Void> firstWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(first)));
+        CompletableFuture<Void> secondWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(second)));
+        CompletableFuture.allOf(firstWrite, secondWrite).get(5, TimeUnit.SECONDS);
+
+        //then
+        verify(transactionManager).getTransaction(any());
+        verify(entityManager).persist(first);
+        verify(entityManager).persist(second);
+        assertThat(meterRegistry.get(AuditEventsBatchWriter.METRIC_PREFIX + ".size").summary().count()).isEqualTo(1);
+    }
+
+    @Test
+    public void should_fail_only_the_faulty_message_when_a_batch_fails() throws Exception {
+        //given
+        AuditEventsBatchWriter batchWriter = batchWriter(Duration.ofSeconds(10));
+        AuditEventEntity valid = new ProcessCreatedAuditEventEntity();
+        AuditEventEntity faulty = new ProcessCreatedAuditEventEntity();
+        willThrow(new PersistenceException("constraint violation")).given(entityManager).persist(faulty);
+
+        //when
+        CompletableFuture<Void> validWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(valid)));
+        CompletableFuture<Void> faultyWrite = CompletableFuture.runAsync(() -> batchWriter.write(List.of(faulty)));
+
+        //then
+        validWrite.get(5, TimeUnit.SECONDS);
+        assertThatThrownBy(() -> faultyWrite.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(PersistenceException.class);
+        verify(transactionManager, times(3)).getTransaction(any());
+        verify(transactionManager).commit(transactionStatus);
+        assertThat(meterRegistry.get(AuditEventsBatchWriter.METRIC_PREFIX + ".failed").counter().count()).isEqualTo(1);
+    }
+
+    private AuditEventsBatchWriter batchWriter(Duration maxWait) {
+        return new AuditEventsBatchWriter(entityManager, rollupsUpdater, transactionManager, 2, maxWait, meterRegistry);
+    }
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A partition of audit_event and its timestamp range, upper bound excluded. A {@code null} lower bound stands for
+ * MINVALUE; the default partition has no bounds at all.
+ */
+public record AuditEventPartition(String name, Long from, Long to, boolean isDefault) {
+    private static final Pattern RANGE_BOUND = Pattern.compile(
+        "FOR VALUES FROM \\((MINVALUE|'?(-?\\d+)'?)\\) TO \\((MAXVALUE|'?(-?\\d+)'?)\\)"
+    );
+
+    public static AuditEventPartition range(String name, Long from, Long to) {
+        return new AuditEventPartition(name, from, to, false);
+    }
+
+    /**
+     * @param boundExpression the partition bound as printed by {@code pg_get_expr(relpartbound, oid)}
+     */
+    public static AuditEventPartition parse(String name, String boundExpression) {
+        if ("DEFAULT".equals(boundExpression)) {
+            return new AuditEventPartition(name, null, null, true);
+        }
+        Matcher matcher = RANGE_BOUND.matcher(boundExpression);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException("Unexpected bound for partition " + name + ": " + boundExpression);
+        }
+        return range(
+            name,
+            matcher.group(2) != null ? Long.valueOf(matcher.group(2)) : null,
+            matcher.group(4) != null ? Long.valueOf(matcher.group(4)) : null
+        );
+    }
+
+    public boolean overlaps(long rangeFrom, long rangeTo) {
+        return !isDefault && (from == null || from < rangeTo) && (to == null || to > rangeFrom);
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Clock;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.cloud.services.common.scheduling.PeriodicTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Keeps the partitions of a range-partitioned audit_event table up to date: creates the partitions of the current and
+ * the next {@code premake} intervals, and drops the partitions whose upper bound is older than the retention. Runs
+ * periodically from startup; a PostgreSQL advisory lock keeps several instances from doing the same work, and nothing
+ * happens while audit_event is not partitioned.
+ * <p>
+ * Rows that landed in the default partition for a range that has no partition yet keep PostgreSQL from creating that
+ * partition. They are moved into it instead: the partition is created as a plain table, filled with those rows and
+ * attached, while the default partition is locked against writes.
+ */
+public class AuditEventPartitionMaintenance extends PeriodicTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventPartitionMaintenance.class);
+
+    private static final String TABLE = "audit_event";
+
+    private static final String CHECK_VIOLATION = "23514";
+
+    private static final long LOCK_KEY = 0x617564697450L;
+
+    private static final DateTimeFormatter PARTITION_SUFFIX = DateTimeFormatter.ofPattern("yyyyMMdd");
+
+    private static final EnumSet<ChronoUnit> SUPPORTED_INTERVALS = EnumSet.of(
+        ChronoUnit.DAYS,
+        ChronoUnit.WEEKS,
+        ChronoUnit.MONTHS
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final AuditEventPartitioningProperties properties;
+
+    private final Clock clock;
+
+    public AuditEventPartitionMaintenance(
+        JdbcTemplate jdbcTemplate,
+        AuditEventPartitioningProperties properties,
+        Clock clock
+    ) {
+        super("audit-partition-maintenance", properties.getCheckInterval());
+        if (!SUPPORTED_INTERVALS.contains(properties.getInterval())) {
+            throw new IllegalArgumentException(
+                "Unsupported audit partition interval " + properties.getInterval() + ", expected one of " +
+                SUPPORTED_INTERVALS
+            );
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.properties = properties;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void runOnce() {
+        maintain();
+    }
+
+    public void maintain() {
+        jdbcTemplate.execute(
+            (ConnectionCallback<Void>) connection -> {
+                try (Statement statement = connection.createStatement()) {
+                    if (!queryBoolean(statement, "select pg_try_advisory_lock(" + LOCK_KEY + ")")) {
+                        LOGGER.debug("Audit partition maintenance is running elsewhere");
+                        return null;
+                    }
+                    try {
+                        if (!queryBoolean(statement, isPartitionedQuery())) {
+                            LOGGER.warn("Audit partition maintenance is enabled but {} is not partitioned", TABLE);
+                            return null;
+                        }
+                        List<AuditEventPartition> partitions = findPartitions(statement);
+                        Optional<AuditEventPartition> defaultPartition = partitions
+                            .stream()
+                            .filter(AuditEventPartition::isDefault)
+                            .findFirst();
+                        for (AuditEventPartition partition : partitionsToCreate(partitions)) {
+                            createPartition(connection, statement, partition, defaultPartition);
+                        }
+                        for (AuditEventPartition partition : partitionsToDrop(partitions)) {
+                            dropPartition(statement, partition);
+                        }
+                    } finally {
+                        statement.execute("select pg_advisory_unlock(" + LOCK_KEY + ")");
+                    }
+                }
+                return null;
+            }
+        );
+    }
+
+    /**
+     * The partitions of the current and the next {@code premake} intervals that do not exist yet. A range already
+     * partly covered, typically by the legacy partition, only gets the part after the existing partitions.
+     */
+    List<AuditEventPartition> partitionsToCreate(List<AuditEventPartition> existing) {
+        List<AuditEventPartition> toCreate = new ArrayList<>();
+        LocalDate start = intervalStart(LocalDate.now(clock.withZone(ZoneOffset.UTC)));
+        for (int i = 0; i <= properties.getPremake(); i++) {
+            LocalDate end = start.plus(1, properties.getInterval());
+            long from = toEpochMilli(start);
+            long to = toEpochMilli(end);
+            for (AuditEventPartition partition : existing) {
+                if (partition.overlaps(from, to)) {
+                    from = partition.to() == null ? to : Math.max(from, partition.to());
+                }
+            }
+            if (from < to) {
+                toCreate.add(AuditEventPartition.range(TABLE + "_p" + PARTITION_SUFFIX.format(start), from, to));
+            }
+            start = end;
+        }
+        return toCreate;
+    }
+
+    List<AuditEventPartition> partitionsToDrop(List<AuditEventPartition> existing) {
+        if (properties.getRetention() == null) {
+            return List.of();
+        }
+        long cutoff = clock.millis() - properties.getRetention().toMillis();
+        return existing.stream().filter(partition -> partition.to() != null && partition.to() <= cutoff).toList();
+    }
+
+    private LocalDate intervalStart(LocalDate date) {
+        return switch (properties.getInterval()) {
+            case WEEKS -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHS -> date.withDayOfMonth(1);
+            default -> date;
+        };
+    }
+
+    private static long toEpochMilli(LocalDate date) {
+        return date.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli();
+    }
+
+    private static String isPartitionedQuery() {
+        return "select exists (select 1 from pg_partitioned_table where partrelid = to_regclass('" + TABLE + "'))";
+    }
+
+    private static boolean queryBoolean(Statement statement, String sql) throws SQLException {
+        try (ResultSet resultSet = statement.executeQuery(sql)) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    private static List<AuditEventPartition> findPartitions(Statement statement) throws SQLException {
+        List<AuditEventPartition> partitions = new ArrayList<>();
+        try (
+            ResultSet resultSet = statement.executeQuery(
+                "select c.relname, pg_get_expr(c.relpartbound, c.oid) from pg_inherits i " +
+                "join pg_class c on c.oid = i.inhrelid where i.inhparent = '" +
+                TABLE +
+                "'::regclass"
+            )
+        ) {
+            while (resultSet.next()) {
+                partitions.add(AuditEventPartition.parse(resultSet.getString(1), resultSet.getString(2)));
+            }
+        }
+        return partitions;
+    }
+
+    private static void createPartition(
+        Connection connection,
+        Statement statement,
+        AuditEventPartition partition,
+        Optional<AuditEventPartition> defaultPartition
+    ) throws SQLException {
+        try {
+            statement.execute(
+                "create table if not exists " +
+                partition.name() +
+                " partition of " +
+                TABLE +
+                " for values from (" +
+                partition.from() +
+                ") to (" +
+                partition.to() +
+                ")"
+            );
+            LOGGER.info("Created audit partition {}", partition.name());
+        } catch (SQLException e) {
+            if (!CHECK_VIOLATION.equals(e.getSQLState()) || defaultPartition.isEmpty()) {
+                throw e;
+            }
+            moveFromDefaultPartition(connection, statement, partition, defaultPartition.get());
+        }
+    }
+
+    private static void moveFromDefaultPartition(
+        Connection connection,
+        Statement statement,
+        AuditEventPartition partition,
+        AuditEventPartition defaultPartition
+    ) throws SQLException {
+        String range = " where timestamp >= " + partition.from() + " and timestamp < " + partition.to();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try {
+            statement.execute("lock table " + defaultPartition.name() + " in exclusive mode");
+            statement.execute(
+                "create table " + partition.name() + " (like " + TABLE + " including defaults including constraints)"
+            );
+            statement.execute("insert into " + partition.name() + " select * from " + defaultPartition.name() + range);
+            int moved = statement.executeUpdate("delete from " + defaultPartition.name() + range);
+            statement.execute(
+                "alter table " +
+                TABLE +
+                " attach partition " +
+                partition.name() +
+                " for values from (" +
+                partition.from() +
+                ") to (" +
+                partition.to() +
+                ")"
+            );
+            connection.commit();
+            LOGGER.info(
+                "Created audit partition {} with {} rows moved from {}",
+                partition.name(),
+                moved,
+                defaultPartition.name()
+            );
+        } catch (SQLException | RuntimeException e) {
+            connection.rollback();
+            throw e;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+
+    private static void dropPartition(Statement statement, AuditEventPartition partition) throws SQLException {
+        statement.execute("alter table " + TABLE + " detach partition " + partition.name());
+        statement.execute("drop table " + partition.name());
+        LOGGER.info("Dropped audit partition {} past retention", partition.name());
+    }
+}
@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import java.time.Clock;
+import javax.sql.DataSource;
+import org.activiti.cloud.services.audit.liquibase.ActivitiCloudAuditLiquibaseAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Maintains the partitions of audit_event once the Liquibase change set has partitioned it, which only happens on
+ * PostgreSQL.
+ */
+@AutoConfiguration(after = ActivitiCloudAuditLiquibaseAutoConfiguration.class)
+@ConditionalOnProperty(name = "activiti.cloud.services.audit.partitioning.enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditEventPartitioningProperties.class)
+public class AuditEventPartitioningAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventPartitionMaintenance auditEventPartitionMaintenance(
+        DataSource dataSource,
+        AuditEventPartitioningProperties properties
+    ) {
+        return new AuditEventPartitionMaintenance(new JdbcTemplate(dataSource), properties, Clock.systemUTC());
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("activiti.cloud.services.audit.partitioning")
+public class AuditEventPartitioningProperties {
+
+    /**
+     * Range-partitions audit_event by timestamp on PostgreSQL. Also switches on the Liquibase change set that
+     * converts the table.
+     */
+    private boolean enabled;
+
+    /**
+     * Time span of one partition: DAYS, WEEKS or MONTHS, aligned on UTC calendar boundaries.
+     */
+    private ChronoUnit interval = ChronoUnit.DAYS;
+
+    /**
+     * Number of partitions created ahead of the current one.
+     */
+    private int premake = 3;
+
+    /**
+     * Age after which a whole partition is dropped, measured from its upper bound. Partitions are kept forever when
+     * not set.
+     */
+    private Duration retention;
+
+    /**
+     * Delay between two maintenance runs.
+     */
+    private Duration checkInterval = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public ChronoUnit getInterval() {
+        return interval;
+    }
+
+    public void setInterval(ChronoUnit interval) {
+        this.interval = interval;
+    }
+
+    public int getPremake() {
+        return premake;
+    }
+
+    public void setPremake(int premake) {
+        this.premake = premake;
+    }
+
+    public Duration getRetention() {
+        return retention;
+    }
+
+    public void setRetention(Duration retention) {
+        this.retention = retention;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+}
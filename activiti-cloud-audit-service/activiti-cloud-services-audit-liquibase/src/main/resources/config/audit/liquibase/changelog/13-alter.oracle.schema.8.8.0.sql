@@ -0,0 +1,4 @@
+CREATE INDEX audit_event_ts_id_idx ON audit_event (timestamp, id);
+CREATE INDEX audit_event_pi_ts_idx ON audit_event (process_instance_id, timestamp, id);
+CREATE INDEX audit_event_type_ts_idx ON audit_event (event_type, timestamp, id);
+CREATE INDEX audit_event_entity_id_idx ON audit_event (entity_id);
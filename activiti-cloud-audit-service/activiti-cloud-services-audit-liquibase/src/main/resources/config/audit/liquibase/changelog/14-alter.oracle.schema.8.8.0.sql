@@ -0,0 +1,9 @@
+create table audit_event_rollup
+(
+    bucket_start           integer      not null,
+    event_type             varchar(255) not null,
+    app_name               varchar(255) not null,
+    process_definition_key varchar(255) not null,
+    event_count            integer      not null,
+    constraint audit_event_rollup_pk primary key (bucket_start, event_type, app_name, process_definition_key)
+);
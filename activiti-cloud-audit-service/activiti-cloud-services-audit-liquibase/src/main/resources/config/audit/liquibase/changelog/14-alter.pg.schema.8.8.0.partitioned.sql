@@ -0,0 +1,47 @@
+-- Turns audit_event into a table range-partitioned by timestamp (epoch millis). The existing rows become the
+-- audit_event_p_legacy partition, bounded by the start of the next day; later partitions are created ahead of time
+-- by the audit partition maintenance job, and a default partition catches anything that falls outside of them.
+DO $$
+DECLARE
+    cutoff bigint := (extract(epoch from date_trunc('day', now() + interval '1 day')) * 1000)::bigint;
+    primary_key name;
+    index_definitions text[];
+    index_definition text;
+    legacy_index name;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'audit_event'::regclass) THEN
+        RETURN;
+    END IF;
+
+    SELECT conname INTO primary_key FROM pg_constraint
+        WHERE conrelid = 'audit_event'::regclass AND contype = 'p';
+    SELECT coalesce(array_agg(indexdef), '{}') INTO index_definitions FROM pg_indexes
+        WHERE schemaname = current_schema() AND tablename = 'audit_event' AND indexname <> primary_key;
+
+    FOR legacy_index IN
+        SELECT indexname FROM pg_indexes
+            WHERE schemaname = current_schema() AND tablename = 'audit_event' AND indexname <> primary_key
+    LOOP
+        EXECUTE format('ALTER INDEX %I RENAME TO %I', legacy_index, left(legacy_index, 55) || '_legacy');
+    END LOOP;
+
+    ALTER TABLE audit_event RENAME TO audit_event_p_legacy;
+    UPDATE audit_event_p_legacy SET timestamp = 0 WHERE timestamp IS NULL;
+    ALTER TABLE audit_event_p_legacy ALTER COLUMN timestamp SET NOT NULL;
+    EXECUTE format('ALTER TABLE audit_event_p_legacy DROP CONSTRAINT %I', primary_key);
+    ALTER TABLE audit_event_p_legacy ADD CONSTRAINT audit_event_p_legacy_pkey PRIMARY KEY (id, timestamp);
+
+    CREATE TABLE audit_event (LIKE audit_event_p_legacy INCLUDING DEFAULTS) PARTITION BY RANGE (timestamp);
+    ALTER TABLE audit_event ADD CONSTRAINT audit_event_pkey PRIMARY KEY (id, timestamp);
+
+    EXECUTE format(
+        'ALTER TABLE audit_event ATTACH PARTITION audit_event_p_legacy FOR VALUES FROM (MINVALUE) TO (%s)',
+        cutoff
+    );
+    CREATE TABLE audit_event_p_default PARTITION OF audit_event DEFAULT;
+
+    FOREACH index_definition IN ARRAY index_definitions
+    LOOP
+        EXECUTE index_definition;
+    END LOOP;
+END $$;
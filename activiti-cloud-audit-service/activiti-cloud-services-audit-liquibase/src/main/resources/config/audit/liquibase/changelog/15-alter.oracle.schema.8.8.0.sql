@@ -0,0 +1,14 @@
+create table audit_event_delete_job
+(
+    id              varchar(36)   not null,
+    status          varchar(31)   not null,
+    search          varchar(4000),
+    event_time_from integer,
+    event_time_to   integer,
+    deleted_events  integer       not null,
+    created_at      integer,
+    started_at      integer,
+    finished_at     integer,
+    error_message   varchar(1024),
+    primary key (id)
+);
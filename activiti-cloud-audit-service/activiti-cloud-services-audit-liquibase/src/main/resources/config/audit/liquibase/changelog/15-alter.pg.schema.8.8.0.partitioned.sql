@@ -0,0 +1,6 @@
+CREATE INDEX IF NOT EXISTS audit_event_ts_id_idx ON audit_event (timestamp, id);
+CREATE INDEX IF NOT EXISTS audit_event_pi_ts_idx ON audit_event (process_instance_id, timestamp, id);
+CREATE INDEX IF NOT EXISTS audit_event_type_ts_idx ON audit_event (event_type, timestamp, id);
+CREATE INDEX IF NOT EXISTS audit_event_entity_id_idx ON audit_event (entity_id);
+DROP INDEX IF EXISTS audit_event_process_instance_id_idx;
+DROP INDEX IF EXISTS audit_event_event_type_idx;
@@ -0,0 +1,3 @@
+CREATE INDEX audit_event_pi_ts_cov_idx ON audit_event (process_instance_id, timestamp, id, event_type, entity_id, task_name, variable_name);
+CREATE INDEX audit_event_parent_pi_idx ON audit_event (parent_process_instance_id);
+DROP INDEX audit_event_pi_ts_idx;
@@ -0,0 +1,9 @@
+CREATE TABLE IF NOT EXISTS audit_event_rollup
+(
+    bucket_start           int8         NOT NULL,
+    event_type             varchar(255) NOT NULL,
+    app_name               varchar(255) NOT NULL,
+    process_definition_key varchar(255) NOT NULL,
+    event_count            int8         NOT NULL,
+    CONSTRAINT audit_event_rollup_pkey PRIMARY KEY (bucket_start, event_type, app_name, process_definition_key)
+);
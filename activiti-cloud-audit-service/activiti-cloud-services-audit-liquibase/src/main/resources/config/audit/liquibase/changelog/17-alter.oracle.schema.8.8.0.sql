@@ -0,0 +1 @@
+alter table audit_event_delete_job add heartbeat_at integer;
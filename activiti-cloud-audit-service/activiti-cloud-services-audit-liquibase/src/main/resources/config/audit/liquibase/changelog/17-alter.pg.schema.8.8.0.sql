@@ -0,0 +1,14 @@
+CREATE TABLE IF NOT EXISTS audit_event_delete_job
+(
+    id              varchar(36)  NOT NULL,
+    status          varchar(31)  NOT NULL,
+    search          varchar(4000),
+    event_time_from int8,
+    event_time_to   int8,
+    deleted_events  int8         NOT NULL,
+    created_at      int8,
+    started_at      int8,
+    finished_at     int8,
+    error_message   varchar(1024),
+    CONSTRAINT audit_event_delete_job_pkey PRIMARY KEY (id)
+);
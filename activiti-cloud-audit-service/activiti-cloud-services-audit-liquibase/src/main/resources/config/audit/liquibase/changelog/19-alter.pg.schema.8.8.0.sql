@@ -0,0 +1 @@
+ALTER TABLE audit_event_delete_job ADD COLUMN IF NOT EXISTS heartbeat_at int8;
@@ -53,3 +53,34 @@ create table audit_event
 );
 
 CREATE INDEX audit_event_event_id_idx ON audit_event(event_id);
+CREATE INDEX audit_event_ts_id_idx ON audit_event(timestamp, id);
+CREATE INDEX audit_event_pi_ts_cov_idx ON audit_event(process_instance_id, timestamp, id, event_type, entity_id, task_name, variable_name);
+CREATE INDEX audit_event_parent_pi_idx ON audit_event(parent_process_instance_id);
+CREATE INDEX audit_event_type_ts_idx ON audit_event(event_type, timestamp, id);
+CREATE INDEX audit_event_entity_id_idx ON audit_event(entity_id);
+
+create table audit_event_rollup
+(
+    bucket_start           bigint       not null,
+    event_type             varchar(255) not null,
+    app_name               varchar(255) not null,
+    process_definition_key varchar(255) not null,
+    event_count            bigint       not null,
+    primary key (bucket_start, event_type, app_name, process_definition_key)
+);
+
+create table audit_event_delete_job
+(
+    id              varchar(36)   not null,
+    status          varchar(31)   not null,
+    search          varchar(4000),
+    event_time_from bigint,
+    event_time_to   bigint,
+    deleted_events  bigint        not null,
+    created_at      bigint,
+    started_at      bigint,
+    finished_at     bigint,
+    error_message   varchar(1024),
+    heartbeat_at    bigint,
+    primary key (id)
+);
@@ -0,0 +1,134 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+class AuditEventPartitionMaintenanceTest {
+
+    private static final Clock CLOCK = Clock.fixed(Instant.parse("2026-10-19T10:15:00Z"), ZoneOffset.UTC);
+
+    @Test
+    void should_create_current_and_premade_partitions_when_none_exist() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.DAYS, 2, null);
+
+        List<AuditEventPartition> partitions = maintenance.partitionsToCreate(List.of());
+
+        assertThat(partitions)
+            .containsExactly(
+                AuditEventPartition.range("audit_event_p20261019", millis("2026-10-19"), millis("2026-10-20")),
+                AuditEventPartition.range("audit_event_p20261020", millis("2026-10-20"), millis("2026-10-21")),
+                AuditEventPartition.range("audit_event_p20261021", millis("2026-10-21"), millis("2026-10-22"))
+            );
+    }
+
+    @Test
+    void should_start_after_legacy_partition_when_it_covers_part_of_an_interval() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.MONTHS, 1, null);
+        List<AuditEventPartition> existing = List.of(
+            AuditEventPartition.parse(
+                "audit_event_p_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('" + millis("2026-10-20") + "')"
+            ),
+            AuditEventPartition.parse("audit_event_p_default", "DEFAULT")
+        );
+
+        List<AuditEventPartition> partitions = maintenance.partitionsToCreate(existing);
+
+        assertThat(partitions)
+            .containsExactly(
+                AuditEventPartition.range("audit_event_p20261001", millis("2026-10-20"), millis("2026-11-01")),
+                AuditEventPartition.range("audit_event_p20261101", millis("2026-11-01"), millis("2026-12-01"))
+            );
+    }
+
+    @Test
+    void should_align_weekly_partitions_on_monday() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.WEEKS, 0, null);
+
+        assertThat(maintenance.partitionsToCreate(List.of()))
+            .containsExactly(
+                AuditEventPartition.range("audit_event_p20261019", millis("2026-10-19"), millis("2026-10-26"))
+            );
+    }
+
+    @Test
+    void should_skip_existing_partitions() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.DAYS, 1, null);
+        List<AuditEventPartition> existing = List.of(
+            AuditEventPartition.range("audit_event_p20261019", millis("2026-10-19"), millis("2026-10-20"))
+        );
+
+        assertThat(maintenance.partitionsToCreate(existing))
+            .extracting(AuditEventPartition::name)
+            .containsExactly("audit_event_p20261020");
+    }
+
+    @Test
+    void should_drop_partitions_past_retention_only() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.DAYS, 0, Duration.ofDays(30));
+        AuditEventPartition expired = AuditEventPartition.range(
+            "audit_event_p20260918",
+            millis("2026-09-18"),
+            millis("2026-09-19")
+        );
+        AuditEventPartition kept = AuditEventPartition.range(
+            "audit_event_p20260920",
+            millis("2026-09-20"),
+            millis("2026-09-21")
+        );
+        AuditEventPartition defaultPartition = AuditEventPartition.parse("audit_event_p_default", "DEFAULT");
+
+        assertThat(maintenance.partitionsToDrop(List.of(expired, kept, defaultPartition))).containsExactly(expired);
+    }
+
+    @Test
+    void should_keep_all_partitions_when_no_retention_is_set() {
+        AuditEventPartitionMaintenance maintenance = maintenance(ChronoUnit.DAYS, 0, null);
+        AuditEventPartition old = AuditEventPartition.range("audit_event_p20000101", 0L, 1L);
+
+        assertThat(maintenance.partitionsToDrop(List.of(old))).isEmpty();
+    }
+
+    @Test
+    void should_reject_unsupported_interval() {
+        assertThatThrownBy(() -> maintenance(ChronoUnit.HOURS, 0, null))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AuditEventPartitionMaintenance maintenance(ChronoUnit interval, int premake, Duration retention) {
+        AuditEventPartitioningProperties properties = new AuditEventPartitioningProperties();
+        properties.setInterval(interval);
+        properties.setPremake(premake);
+        properties.setRetention(retention);
+        return new AuditEventPartitionMaintenance(mock(JdbcTemplate.class), properties, CLOCK);
+    }
+
+    private static long millis(String date) {
+        return Instant.parse(date + "T00:00:00Z").toEpochMilli();
+    }
+}
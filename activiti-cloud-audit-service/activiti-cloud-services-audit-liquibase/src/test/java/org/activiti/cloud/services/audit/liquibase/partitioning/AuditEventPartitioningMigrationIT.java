@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.liquibase.partitioning;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import liquibase.integration.spring.SpringLiquibase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+/**
+ * Runs the audit changelog on PostgreSQL the way an upgrade does: first without partitioning, then with it enabled
+ * on a populated audit_event table.
+ */
+@Testcontainers
+class AuditEventPartitioningMigrationIT {
+
+    @Container
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private DriverManagerDataSource dataSource;
+
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new DriverManagerDataSource(postgres.getJdbcUrl(), postgres.getUsername(), postgres.getPassword());
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("drop schema public cascade");
+        jdbcTemplate.execute("create schema public");
+    }
+
+    @Test
+    void should_keep_existing_rows_and_indexes_when_partitioning_a_populated_table() throws Exception {
+        migrate(false);
+        insertEvent(1, 1_000L);
+        insertEvent(2, null);
+        insertEvent(3, Clock.systemUTC().millis());
+
+        migrate(true);
+
+        assertThat(isPartitioned()).isTrue();
+        assertThat(jdbcTemplate.queryForList("select id from audit_event order by id", Long.class))
+            .containsExactly(1L, 2L, 3L);
+        assertThat(jdbcTemplate.queryForObject("select timestamp from audit_event where id = 2", Long.class))
+            .isZero();
+        assertThat(partitionNames()).containsExactlyInAnyOrder("audit_event_p_legacy", "audit_event_p_default");
+        assertThat(rowCount("audit_event_p_legacy")).isEqualTo(3);
+        assertThat(
+            jdbcTemplate.queryForList(
+                "select indexname from pg_indexes where schemaname = current_schema() and tablename = 'audit_event'",
+                String.class
+            )
+        )
+            .contains("audit_event_pkey", "audit_event_ts_id_idx", "audit_event_pi_ts_cov_idx");
+    }
+
+    @Test
+    void should_move_rows_out_of_the_default_partition_when_creating_their_partition() throws Exception {
+        migrate(false);
+        migrate(true);
+        LocalDate day = LocalDate.now(ZoneOffset.UTC).plusDays(3);
+        insertEvent(1, day.atStartOfDay(ZoneOffset.UTC).toInstant().toEpochMilli() + 1);
+        assertThat(rowCount("audit_event_p_default")).isEqualTo(1);
+
+        AuditEventPartitioningProperties properties = new AuditEventPartitioningProperties();
+        properties.setPremake(7);
+        new AuditEventPartitionMaintenance(jdbcTemplate, properties, Clock.systemUTC()).maintain();
+
+        String partition = "audit_event_p" + DateTimeFormatter.ofPattern("yyyyMMdd").format(day);
+        assertThat(partitionNames()).contains(partition);
+        assertThat(rowCount(partition)).isEqualTo(1);
+        assertThat(rowCount("audit_event_p_default")).isZero();
+        assertThat(rowCount("audit_event")).isEqualTo(1);
+    }
+
+    private void migrate(boolean partitioningEnabled) throws Exception {
+        SpringLiquibase liquibase = new SpringLiquibase();
+        liquibase.setDataSource(dataSource);
+        liquibase.setResourceLoader(new DefaultResourceLoader());
+        liquibase.setChangeLog("classpath:config/audit/liquibase/master.xml");
+        liquibase.setChangeLogParameters(Map.of("audit-partitioning-enabled", String.valueOf(partitioningEnabled)));
+        liquibase.afterPropertiesSet();
+    }
+
+    private void insertEvent(long id, Long timestamp) {
+        jdbcTemplate.update(
+            "insert into audit_event (type, id, sequence_number, event_type, timestamp) values (?, ?, 0, ?, ?)",
+            "ProcessStartedAuditEventEntity",
+            id,
+            "PROCESS_STARTED",
+            timestamp
+        );
+    }
+
+    private boolean isPartitioned() {
+        return jdbcTemplate.queryForObject(
+            "select exists (select 1 from pg_partitioned_table where partrelid = 'audit_event'::regclass)",
+            Boolean.class
+        );
+    }
+
+    private List<String> partitionNames() {
+        return jdbcTemplate.queryForList(
+            "select c.relname from pg_inherits i join pg_class c on c.oid = i.inhrelid " +
+            "where i.inhparent = 'audit_event'::regclass",
+            String.class
+        );
+    }
+
+    private long rowCount(String table) {
+        return jdbcTemplate.queryForObject("select count(*) from " + table, Long.class);
+    }
+}
@@ -66,7 +66,14 @@ import org.activiti.cloud.services.audit.jpa.converters.TimerScheduledEventConve
 import org.activiti.cloud.services.audit.jpa.converters.VariableCreatedEventConverter;
 import org.activiti.cloud.services.audit.jpa.converters.VariableDeletedEventConverter;
 import org.activiti.cloud.services.audit.jpa.converters.VariableUpdatedEventConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormat;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormats;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormatsInitializer;
+import org.activiti.cloud.services.audit.jpa.converters.json.SmilePayloadFormat;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.common.json.JsonTextCompressionInitializer;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.context.annotation.Bean;
@@ -74,6 +81,31 @@ import org.springframework.context.annotation.Bean;
 @AutoConfiguration
 public class AuditJPAAutoConfiguration {
 
+    public static final String COMPRESSION_MIN_LENGTH = "activiti.cloud.services.audit.payload.compression-min-length";
+
+    @ConditionalOnMissingBean
+    @Bean
+    public PayloadFormatsInitializer payloadFormatsInitializer(
+        @Value("${activiti.cloud.services.audit.payload.format:" + PayloadFormats.JSON + "}") String payloadFormat,
+        ObjectProvider<PayloadFormat> payloadFormats
+    ) {
+        return new PayloadFormatsInitializer(payloadFormats.orderedStream().toList(), payloadFormat);
+    }
+
+    @ConditionalOnMissingBean
+    @Bean
+    public SmilePayloadFormat smilePayloadFormat() {
+        return new SmilePayloadFormat();
+    }
+
+    @ConditionalOnMissingBean(name = "auditJsonTextCompressionInitializer")
+    @Bean
+    public JsonTextCompressionInitializer auditJsonTextCompressionInitializer(
+        @Value("${" + COMPRESSION_MIN_LENGTH + ":-1}") int minLength
+    ) {
+        return new JsonTextCompressionInitializer(COMPRESSION_MIN_LENGTH, minLength);
+    }
+
     @ConditionalOnMissingBean
     @Bean
     public EventContextInfoAppender eventContextInfoAppender() {
@@ -15,93 +15,61 @@
  */
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.Version;
-import com.fasterxml.jackson.databind.BeanDescription;
-import com.fasterxml.jackson.databind.DeserializationConfig;
-import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JavaType;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
-import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.type.TypeFactory;
 import jakarta.persistence.AttributeConverter;
 import java.io.IOException;
-import org.activiti.api.model.shared.model.VariableInstance;
-import org.activiti.api.process.model.BPMNActivity;
-import org.activiti.api.process.model.BPMNError;
-import org.activiti.api.process.model.BPMNMessage;
-import org.activiti.api.process.model.BPMNSequenceFlow;
-import org.activiti.api.process.model.BPMNSignal;
-import org.activiti.api.process.model.BPMNTimer;
-import org.activiti.api.process.model.Deployment;
-import org.activiti.api.process.model.IntegrationContext;
-import org.activiti.api.process.model.MessageSubscription;
-import org.activiti.api.process.model.ProcessDefinition;
-import org.activiti.api.process.model.ProcessInstance;
-import org.activiti.api.runtime.model.impl.BPMNActivityImpl;
-import org.activiti.api.runtime.model.impl.BPMNErrorImpl;
-import org.activiti.api.runtime.model.impl.BPMNMessageImpl;
-import org.activiti.api.runtime.model.impl.BPMNSequenceFlowImpl;
-import org.activiti.api.runtime.model.impl.BPMNSignalImpl;
-import org.activiti.api.runtime.model.impl.BPMNTimerImpl;
-import org.activiti.api.runtime.model.impl.DeploymentImpl;
-import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
-import org.activiti.api.runtime.model.impl.MessageSubscriptionImpl;
-import org.activiti.api.runtime.model.impl.ProcessDefinitionImpl;
-import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
-import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
-import org.activiti.api.task.model.Task;
-import org.activiti.api.task.model.impl.TaskImpl;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
 
+/**
+ * Converts a payload attribute to its column and back. The reader is built once for the target type, so the type and
+ * its root deserializer are not resolved again on every conversion. The writer keeps serializing the runtime type of
+ * the value, which may carry more properties than the declared interface.
+ */
 public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private final JavaType entityType;
 
-    static {
-        {
-            SimpleModule module = new SimpleModule("mapCommonModelInterfaces", Version.unknownVersion());
-            SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver() {
-                //this is a workaround for https://github.com/FasterXML/jackson-databind/issues/2019
-                //once version 2.9.6 is related we can remove this @override method
-                @Override
-                public JavaType resolveAbstractType(DeserializationConfig config, BeanDescription typeDesc) {
-                    return findTypeMapping(config, typeDesc.getType());
-                }
-            };
+    private final ObjectReader jsonReader;
 
-            resolver.addMapping(ProcessDefinition.class, ProcessDefinitionImpl.class);
-            resolver.addMapping(VariableInstance.class, VariableInstanceImpl.class);
-            resolver.addMapping(ProcessInstance.class, ProcessInstanceImpl.class);
-            resolver.addMapping(Task.class, TaskImpl.class);
-            resolver.addMapping(BPMNActivity.class, BPMNActivityImpl.class);
-            resolver.addMapping(BPMNSequenceFlow.class, BPMNSequenceFlowImpl.class);
-            resolver.addMapping(BPMNSignal.class, BPMNSignalImpl.class);
-            resolver.addMapping(BPMNTimer.class, BPMNTimerImpl.class);
-            resolver.addMapping(BPMNError.class, BPMNErrorImpl.class);
-            resolver.addMapping(BPMNMessage.class, BPMNMessageImpl.class);
-            resolver.addMapping(MessageSubscription.class, MessageSubscriptionImpl.class);
-            resolver.addMapping(IntegrationContext.class, IntegrationContextImpl.class);
-            resolver.addMapping(Deployment.class, DeploymentImpl.class);
+    private final ObjectWriter jsonWriter;
 
-            module.setAbstractTypes(resolver);
+    private final Map<String, ObjectReader> formatReaders = new ConcurrentHashMap<>();
 
-            objectMapper.registerModule(module);
-            objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        }
+    private final Map<String, ObjectWriter> formatWriters = new ConcurrentHashMap<>();
+
+    public JpaJsonConverter(Class<T> entityClass) {
+        this(TypeFactory.defaultInstance().constructType(entityClass));
     }
 
-    private Class<T> entityClass;
+    /**
+     * @param entityType the generic type of the attribute, for attributes that cannot be described by a class alone
+     */
+    protected JpaJsonConverter(TypeReference<T> entityType) {
+        this(TypeFactory.defaultInstance().constructType(entityType));
+    }
 
-    public JpaJsonConverter(Class<T> entityClass) {
-        this.entityClass = entityClass;
+    private JpaJsonConverter(JavaType entityType) {
+        this.entityType = entityType;
+        this.jsonReader = PayloadFormats.jsonObjectMapper().readerFor(entityType);
+        this.jsonWriter = PayloadFormats.jsonObjectMapper().writer();
     }
 
     @Override
     public String convertToDatabaseColumn(T entity) {
         try {
-            return objectMapper.writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
+            PayloadFormat format = PayloadFormats.writeFormat();
+            String column = format == null
+                ? jsonWriter.writeValueAsString(entity)
+                : PayloadFormats.encode(format, writer(format).writeValueAsBytes(entity));
+            return JsonTextCompression.compress(column);
+        } catch (IOException e) {
             throw new AuditException("Unable to serialize object.", e);
         }
     }
@@ -110,7 +78,11 @@ public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
     public T convertToEntityAttribute(String entityTextRepresentation) {
         try {
             if (entityTextRepresentation != null && entityTextRepresentation.length() > 0) {
-                return objectMapper.readValue(entityTextRepresentation, entityClass);
+                String column = JsonTextCompression.decompress(entityTextRepresentation);
+                PayloadFormat format = PayloadFormats.formatOf(column);
+                return format == null
+                    ? jsonReader.readValue(column)
+                    : reader(format).readValue(PayloadFormats.decode(format, column));
             } else {
                 return null;
             }
@@ -118,4 +90,15 @@ public class JpaJsonConverter<T> implements AttributeConverter<T, String> {
             throw new AuditException("Unable to deserialize object.", e);
         }
     }
+
+    private ObjectReader reader(PayloadFormat format) {
+        return formatReaders.computeIfAbsent(
+            format.name(),
+            name -> PayloadFormats.objectMapper(format).readerFor(entityType)
+        );
+    }
+
+    private ObjectWriter writer(PayloadFormat format) {
+        return formatWriters.computeIfAbsent(format.name(), name -> PayloadFormats.objectMapper(format).writer());
+    }
 }
@@ -15,41 +15,19 @@
  */
 package org.activiti.cloud.services.audit.jpa.converters.json;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.AttributeConverter;
-import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
-import org.activiti.cloud.services.audit.api.AuditException;
 
-public class ListOfStackTraceElementsJpaJsonConverter implements AttributeConverter<List<StackTraceElement>, String> {
+public class ListOfStackTraceElementsJpaJsonConverter extends JpaJsonConverter<List<StackTraceElement>> {
 
-    private static final ObjectMapper objectMapper = new ObjectMapper();
-
-    @Override
-    public String convertToDatabaseColumn(List<StackTraceElement> entity) {
-        try {
-            return objectMapper.writeValueAsString(entity);
-        } catch (JsonProcessingException e) {
-            throw new AuditException("Unable to serialize object.", e);
-        }
+    public ListOfStackTraceElementsJpaJsonConverter() {
+        super(new TypeReference<List<StackTraceElement>>() {});
     }
 
     @Override
     public List<StackTraceElement> convertToEntityAttribute(String entityTextRepresentation) {
-        try {
-            if (entityTextRepresentation != null && entityTextRepresentation.length() > 0) {
-                return objectMapper.readValue(
-                    entityTextRepresentation,
-                    new TypeReference<List<StackTraceElement>>() {}
-                );
-            } else {
-                return Collections.emptyList();
-            }
-        } catch (IOException e) {
-            throw new AuditException("Unable to deserialize object.", e);
-        }
+        List<StackTraceElement> stackTrace = super.convertToEntityAttribute(entityTextRepresentation);
+        return stackTrace != null ? stackTrace : Collections.emptyList();
     }
 }
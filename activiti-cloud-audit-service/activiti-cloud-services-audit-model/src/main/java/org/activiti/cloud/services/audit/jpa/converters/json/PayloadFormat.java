@@ -0,0 +1,37 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * A serialization format for the payload columns of audit events, such as the binary JSON of
+ * {@link SmilePayloadFormat}. Formats are registered through {@link PayloadFormats}. Columns written in a format other
+ * than plain JSON are stored base64 encoded behind the format name and a colon, so every registered format can be
+ * read back whichever one is currently used for writing.
+ */
+public interface PayloadFormat {
+    /**
+     * @return the name the format is selected by and the column prefix is built from; lower case letters, digits
+     * and dashes only
+     */
+    String name();
+
+    /**
+     * @return a new mapper for this format; {@link PayloadFormats} registers the audit model type mappings on it
+     */
+    ObjectMapper createObjectMapper();
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.DeserializationConfig;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.module.SimpleAbstractTypeResolver;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.process.model.BPMNActivity;
+import org.activiti.api.process.model.BPMNError;
+import org.activiti.api.process.model.BPMNMessage;
+import org.activiti.api.process.model.BPMNSequenceFlow;
+import org.activiti.api.process.model.BPMNSignal;
+import org.activiti.api.process.model.BPMNTimer;
+import org.activiti.api.process.model.Deployment;
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.process.model.MessageSubscription;
+import org.activiti.api.process.model.ProcessDefinition;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.runtime.model.impl.BPMNActivityImpl;
+import org.activiti.api.runtime.model.impl.BPMNErrorImpl;
+import org.activiti.api.runtime.model.impl.BPMNMessageImpl;
+import org.activiti.api.runtime.model.impl.BPMNSequenceFlowImpl;
+import org.activiti.api.runtime.model.impl.BPMNSignalImpl;
+import org.activiti.api.runtime.model.impl.BPMNTimerImpl;
+import org.activiti.api.runtime.model.impl.DeploymentImpl;
+import org.activiti.api.runtime.model.impl.IntegrationContextImpl;
+import org.activiti.api.runtime.model.impl.MessageSubscriptionImpl;
+import org.activiti.api.runtime.model.impl.ProcessDefinitionImpl;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.api.runtime.model.impl.VariableInstanceImpl;
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.impl.TaskImpl;
+import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
+
+/**
+ * Registry of the payload formats {@link JpaJsonConverter} can read, and selection of the one it writes. Plain JSON
+ * is always available under {@link #JSON} and is written unless another format is selected. The registry is static
+ * because the converters are instantiated by Hibernate; it is set up by {@link PayloadFormatsInitializer}.
+ */
+public final class PayloadFormats {
+
+    public static final String JSON = "json";
+
+    private static final Pattern FORMAT_NAME = Pattern.compile("[a-z0-9-]+");
+
+    private static final ObjectMapper jsonObjectMapper = configure(new ObjectMapper());
+
+    private static final Map<String, PayloadFormat> formats = new ConcurrentHashMap<>();
+
+    private static final Map<String, ObjectMapper> objectMappers = new ConcurrentHashMap<>();
+
+    private static volatile PayloadFormat writeFormat;
+
+    private PayloadFormats() {}
+
+    public static void register(PayloadFormat format) {
+        String name = format.name();
+        if (
+            name == null ||
+            !FORMAT_NAME.matcher(name).matches() ||
+            JSON.equals(name) ||
+            JsonTextCompression.GZIP_PREFIX.equals(name + ":")
+        ) {
+            throw new IllegalArgumentException("Invalid payload format name: " + name);
+        }
+        objectMappers.put(name, configure(format.createObjectMapper()));
+        formats.put(name, format);
+    }
+
+    /**
+     * @param name {@link #JSON} or the name of a registered format
+     */
+    public static void setWriteFormat(String name) {
+        if (JSON.equals(name)) {
+            writeFormat = null;
+            return;
+        }
+        PayloadFormat format = formats.get(name);
+        if (format == null) {
+            throw new IllegalArgumentException("Unknown payload format: " + name);
+        }
+        writeFormat = format;
+    }
+
+    /**
+     * @return the format to write, or {@code null} for plain JSON
+     */
+    static PayloadFormat writeFormat() {
+        return writeFormat;
+    }
+
+    static ObjectMapper jsonObjectMapper() {
+        return jsonObjectMapper;
+    }
+
+    static ObjectMapper objectMapper(PayloadFormat format) {
+        return objectMappers.get(format.name());
+    }
+
+    /**
+     * @return the format of the given column, or {@code null} when it holds plain JSON
+     */
+    static PayloadFormat formatOf(String column) {
+        int separator = column.indexOf(':');
+        if (separator <= 0 || !FORMAT_NAME.matcher(column.substring(0, separator)).matches()) {
+            return null;
+        }
+        PayloadFormat format = formats.get(column.substring(0, separator));
+        if (format == null) {
+            throw new AuditException("Unknown payload format of column: " + column.substring(0, separator));
+        }
+        return format;
+    }
+
+    static String encode(PayloadFormat format, byte[] content) {
+        return format.name() + ":" + Base64.getEncoder().encodeToString(content);
+    }
+
+    static byte[] decode(PayloadFormat format, String column) {
+        return Base64.getDecoder().decode(column.substring(format.name().length() + 1));
+    }
+
+    private static ObjectMapper configure(ObjectMapper objectMapper) {
+        SimpleModule module = new SimpleModule("mapCommonModelInterfaces", Version.unknownVersion());
+        SimpleAbstractTypeResolver resolver = new SimpleAbstractTypeResolver() {
+            //this is a workaround for https://github.com/FasterXML/jackson-databind/issues/2019
+            //once version 2.9.6 is related we can remove this @override method
+            @Override
+            public JavaType resolveAbstractType(DeserializationConfig config, BeanDescription typeDesc) {
+                return findTypeMapping(config, typeDesc.getType());
+            }
+        };
+
+        resolver.addMapping(ProcessDefinition.class, ProcessDefinitionImpl.class);
+        resolver.addMapping(VariableInstance.class, VariableInstanceImpl.class);
+        resolver.addMapping(ProcessInstance.class, ProcessInstanceImpl.class);
+        resolver.addMapping(Task.class, TaskImpl.class);
+        resolver.addMapping(BPMNActivity.class, BPMNActivityImpl.class);
+        resolver.addMapping(BPMNSequenceFlow.class, BPMNSequenceFlowImpl.class);
+        resolver.addMapping(BPMNSignal.class, BPMNSignalImpl.class);
+        resolver.addMapping(BPMNTimer.class, BPMNTimerImpl.class);
+        resolver.addMapping(BPMNError.class, BPMNErrorImpl.class);
+        resolver.addMapping(BPMNMessage.class, BPMNMessageImpl.class);
+        resolver.addMapping(MessageSubscription.class, MessageSubscriptionImpl.class);
+        resolver.addMapping(IntegrationContext.class, IntegrationContextImpl.class);
+        resolver.addMapping(Deployment.class, DeploymentImpl.class);
+
+        module.setAbstractTypes(resolver);
+
+        objectMapper.registerModule(module);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    }
+}
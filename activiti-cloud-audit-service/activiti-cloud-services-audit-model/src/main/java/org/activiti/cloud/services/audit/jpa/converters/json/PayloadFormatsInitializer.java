@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters.json;
+
+import java.util.List;
+import org.springframework.beans.factory.InitializingBean;
+
+/**
+ * Registers the payload formats and selects the one to write. The payload converters are instantiated by Hibernate,
+ * so the formats are shared through {@link PayloadFormats} and have to be set up once the context starts.
+ */
+public class PayloadFormatsInitializer implements InitializingBean {
+
+    private final List<PayloadFormat> formats;
+
+    private final String writeFormat;
+
+    /**
+     * @param formats the formats to register, in addition to plain JSON
+     * @param writeFormat {@link PayloadFormats#JSON} or the name of one of the given formats
+     */
+    public PayloadFormatsInitializer(List<PayloadFormat> formats, String writeFormat) {
+        this.formats = formats;
+        this.writeFormat = writeFormat;
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        formats.forEach(PayloadFormats::register);
+        PayloadFormats.setWriteFormat(writeFormat);
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.events;
+
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+
+/**
+ * Number of audit events received for one {@link AuditEventRollupId}, maintained by the consumer in the transaction
+ * that stores the events.
+ */
+@Entity(name = "AuditEventRollup")
+@Table(name = "audit_event_rollup")
+public class AuditEventRollupEntity {
+
+    @EmbeddedId
+    private AuditEventRollupId id;
+
+    private long eventCount;
+
+    public AuditEventRollupEntity() {}
+
+    public AuditEventRollupEntity(AuditEventRollupId id, long eventCount) {
+        this.id = id;
+        this.eventCount = eventCount;
+    }
+
+    public AuditEventRollupId getId() {
+        return id;
+    }
+
+    public long getEventCount() {
+        return eventCount;
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.events;
+
+import jakarta.persistence.Embeddable;
+import java.io.Serializable;
+import java.util.Comparator;
+import java.util.Objects;
+
+/**
+ * Key of an {@link AuditEventRollupEntity}: the hour an event happened in (epoch millis, UTC) and the event type,
+ * application and process definition key it belongs to. A missing application or process definition key is stored
+ * as {@link #UNDEFINED}, as key columns cannot be null and Oracle reads empty strings as null.
+ */
+@Embeddable
+public class AuditEventRollupId implements Serializable {
+
+    public static final long BUCKET_MILLIS = 60 * 60 * 1000L;
+
+    public static final String UNDEFINED = "-";
+
+    public static final Comparator<AuditEventRollupId> ORDER = Comparator
+        .comparing(AuditEventRollupId::getBucketStart)
+        .thenComparing(AuditEventRollupId::getEventType)
+        .thenComparing(AuditEventRollupId::getAppName)
+        .thenComparing(AuditEventRollupId::getProcessDefinitionKey);
+
+    private Long bucketStart;
+
+    private String eventType;
+
+    private String appName;
+
+    private String processDefinitionKey;
+
+    public AuditEventRollupId() {}
+
+    public AuditEventRollupId(Long bucketStart, String eventType, String appName, String processDefinitionKey) {
+        this.bucketStart = bucketStart;
+        this.eventType = eventType;
+        this.appName = appName;
+        this.processDefinitionKey = processDefinitionKey;
+    }
+
+    /**
+     * @return the key the event is counted under, or {@code null} for events without a timestamp or type
+     */
+    public static AuditEventRollupId of(AuditEventEntity event) {
+        if (event.getTimestamp() == null || event.getEventType() == null) {
+            return null;
+        }
+        return new AuditEventRollupId(
+            bucketStart(event.getTimestamp()),
+            event.getEventType(),
+            Objects.requireNonNullElse(event.getAppName(), UNDEFINED),
+            Objects.requireNonNullElse(event.getProcessDefinitionKey(), UNDEFINED)
+        );
+    }
+
+    public static long bucketStart(long timestamp) {
+        return timestamp - Math.floorMod(timestamp, BUCKET_MILLIS);
+    }
+
+    public Long getBucketStart() {
+        return bucketStart;
+    }
+
+    public String getEventType() {
+        return eventType;
+    }
+
+    public String getAppName() {
+        return appName;
+    }
+
+    public String getProcessDefinitionKey() {
+        return processDefinitionKey;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(bucketStart, eventType, appName, processDefinitionKey);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof AuditEventRollupId other)) {
+            return false;
+        }
+        return (
+            Objects.equals(bucketStart, other.bucketStart) &&
+            Objects.equals(eventType, other.eventType) &&
+            Objects.equals(appName, other.appName) &&
+            Objects.equals(processDefinitionKey, other.processDefinitionKey)
+        );
+    }
+
+    @Override
+    public String toString() {
+        return (
+            "AuditEventRollupId [bucketStart=" +
+            bucketStart +
+            ", eventType=" +
+            eventType +
+            ", appName=" +
+            appName +
+            ", processDefinitionKey=" +
+            processDefinitionKey +
+            "]"
+        );
+    }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.events;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * State of a background deletion of the audit events matching a search over a time range. Times are epoch millis.
+ * The heartbeat is refreshed by the instance running the job, so that a job left behind by a stopped instance can be
+ * told apart from a job still in progress elsewhere.
+ */
+@Entity(name = "AuditEventsDeleteJob")
+@Table(name = "audit_event_delete_job")
+public class AuditEventsDeleteJobEntity {
+
+    public static final int MAX_ERROR_MESSAGE_LENGTH = 1024;
+
+    public enum Status {
+        PENDING,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+    }
+
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private Status status;
+
+    private String search;
+
+    private Long eventTimeFrom;
+
+    private Long eventTimeTo;
+
+    private long deletedEvents;
+
+    private Long createdAt;
+
+    private Long startedAt;
+
+    private Long finishedAt;
+
+    private String errorMessage;
+
+    private Long heartbeatAt;
+
+    public AuditEventsDeleteJobEntity() {}
+
+    public AuditEventsDeleteJobEntity(String id, String search, Long eventTimeFrom, Long eventTimeTo, Long createdAt) {
+        this.id = id;
+        this.status = Status.PENDING;
+        this.search = search;
+        this.eventTimeFrom = eventTimeFrom;
+        this.eventTimeTo = eventTimeTo;
+        this.createdAt = createdAt;
+        this.heartbeatAt = createdAt;
+    }
+
+    public void addDeletedEvents(int count, long now) {
+        this.deletedEvents += count;
+        this.heartbeatAt = now;
+    }
+
+    /**
+     * Hands a running job back for the next instance to resume, typically when interrupted by a shutdown.
+     */
+    public void release(long now) {
+        this.status = Status.PENDING;
+        this.heartbeatAt = now;
+    }
+
+    public void complete(long now) {
+        this.status = Status.COMPLETED;
+        this.finishedAt = now;
+    }
+
+    public void fail(long now, String errorMessage) {
+        this.status = Status.FAILED;
+        this.finishedAt = now;
+        this.errorMessage =
+            errorMessage != null && errorMessage.length() > MAX_ERROR_MESSAGE_LENGTH
+                ? errorMessage.substring(0, MAX_ERROR_MESSAGE_LENGTH)
+                : errorMessage;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public String getSearch() {
+        return search;
+    }
+
+    public Long getEventTimeFrom() {
+        return eventTimeFrom;
+    }
+
+    public Long getEventTimeTo() {
+        return eventTimeTo;
+    }
+
+    public long getDeletedEvents() {
+        return deletedEvents;
+    }
+
+    public Long getCreatedAt() {
+        return createdAt;
+    }
+
+    public Long getStartedAt() {
+        return startedAt;
+    }
+
+    public Long getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public Long getHeartbeatAt() {
+        return heartbeatAt;
+    }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupId;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+
+public interface AuditEventRollupRepository
+    extends
+        CrudRepository<AuditEventRollupEntity, AuditEventRollupId>, JpaSpecificationExecutor<AuditEventRollupEntity> {
+    /**
+     * Adds to the count of an existing rollup row in place, without reading it first.
+     *
+     * @return the number of updated rows, {@code 0} when the row does not exist yet
+     */
+    @Modifying
+    @Query("update AuditEventRollup r set r.eventCount = r.eventCount + :count where r.id = :id")
+    int incrementEventCount(@Param("id") AuditEventRollupId id, @Param("count") long count);
+
+    /**
+     * Adds to the count of a rollup row, creating the row if it does not exist, in one PostgreSQL statement.
+     */
+    @Modifying
+    @Query(
+        value = "insert into audit_event_rollup as r " +
+        "(bucket_start, event_type, app_name, process_definition_key, event_count) " +
+        "values (:bucketStart, :eventType, :appName, :processDefinitionKey, :count) " +
+        "on conflict (bucket_start, event_type, app_name, process_definition_key) " +
+        "do update set event_count = r.event_count + excluded.event_count",
+        nativeQuery = true
+    )
+    int upsertEventCountOnConflict(
+        @Param("bucketStart") long bucketStart,
+        @Param("eventType") String eventType,
+        @Param("appName") String appName,
+        @Param("processDefinitionKey") String processDefinitionKey,
+        @Param("count") long count
+    );
+
+    /**
+     * Adds to the count of a rollup row, creating the row if it does not exist, in one Oracle MERGE statement.
+     */
+    @Modifying
+    @Query(
+        value = "merge into audit_event_rollup r " +
+        "using (select :bucketStart bucket_start, :eventType event_type, :appName app_name, " +
+        ":processDefinitionKey process_definition_key, :count event_count from dual) s " +
+        "on (r.bucket_start = s.bucket_start and r.event_type = s.event_type and r.app_name = s.app_name " +
+        "and r.process_definition_key = s.process_definition_key) " +
+        "when matched then update set r.event_count = r.event_count + s.event_count " +
+        "when not matched then insert (bucket_start, event_type, app_name, process_definition_key, event_count) " +
+        "values (s.bucket_start, s.event_type, s.app_name, s.process_definition_key, s.event_count)",
+        nativeQuery = true
+    )
+    int mergeEventCountFromDual(
+        @Param("bucketStart") long bucketStart,
+        @Param("eventType") String eventType,
+        @Param("appName") String appName,
+        @Param("processDefinitionKey") String processDefinitionKey,
+        @Param("count") long count
+    );
+
+    /**
+     * Adds to the count of a rollup row, creating the row if it does not exist, in one H2 MERGE statement.
+     */
+    @Modifying
+    @Query(
+        value = "merge into audit_event_rollup r " +
+        "using (values (cast(:bucketStart as bigint), cast(:eventType as varchar(255)), " +
+        "cast(:appName as varchar(255)), cast(:processDefinitionKey as varchar(255)), cast(:count as bigint))) " +
+        "s (bucket_start, event_type, app_name, process_definition_key, event_count) " +
+        "on (r.bucket_start = s.bucket_start and r.event_type = s.event_type and r.app_name = s.app_name " +
+        "and r.process_definition_key = s.process_definition_key) " +
+        "when matched then update set r.event_count = r.event_count + s.event_count " +
+        "when not matched then insert (bucket_start, event_type, app_name, process_definition_key, event_count) " +
+        "values (s.bucket_start, s.event_type, s.app_name, s.process_definition_key, s.event_count)",
+        nativeQuery = true
+    )
+    int mergeEventCountFromValues(
+        @Param("bucketStart") long bucketStart,
+        @Param("eventType") String eventType,
+        @Param("appName") String appName,
+        @Param("processDefinitionKey") String processDefinitionKey,
+        @Param("count") long count
+    );
+}
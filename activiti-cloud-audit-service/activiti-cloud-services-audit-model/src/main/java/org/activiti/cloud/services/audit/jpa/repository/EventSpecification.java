@@ -47,13 +47,13 @@ public class EventSpecification implements Specification<AuditEventEntity> {
             case NEGATION:
                 return builder.notEqual(root.get(criteria.getKey()), criteria.getValue());
             case GREATER_THAN:
-                return builder.greaterThan(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.greaterThan(root.get(criteria.getKey()), comparableValue(root));
             case GREATER_THAN_EQUAL:
-                return builder.greaterThanOrEqualTo(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.greaterThanOrEqualTo(root.get(criteria.getKey()), comparableValue(root));
             case LESS_THAN:
-                return builder.lessThan(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.lessThan(root.get(criteria.getKey()), comparableValue(root));
             case LESS_THAN_EQUAL:
-                return builder.lessThanOrEqualTo(root.get(criteria.getKey()), criteria.getValue().toString());
+                return builder.lessThanOrEqualTo(root.get(criteria.getKey()), comparableValue(root));
             case LIKE:
                 return builder.like(root.get(criteria.getKey()), criteria.getValue().toString());
             case STARTS_WITH:
@@ -66,4 +66,28 @@ public class EventSpecification implements Specification<AuditEventEntity> {
                 return null;
         }
     }
+
+    /**
+     * Numeric attributes such as the timestamp are compared as numbers rather than strings, so that the database gets
+     * a typed bound it can use for index ranges and partition pruning.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private Comparable comparableValue(Root<AuditEventEntity> root) {
+        Class<?> javaType = root.get(criteria.getKey()).getJavaType();
+        String value = criteria.getValue().toString();
+        try {
+            if (Long.class.equals(javaType) || long.class.equals(javaType)) {
+                return Long.valueOf(value);
+            }
+            if (Integer.class.equals(javaType) || int.class.equals(javaType)) {
+                return Integer.valueOf(value);
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidSearchCriteriaException(
+                "Invalid value '" + value + "' for " + criteria.getKey() + ": a number is expected",
+                e
+            );
+        }
+        return value;
+    }
 }
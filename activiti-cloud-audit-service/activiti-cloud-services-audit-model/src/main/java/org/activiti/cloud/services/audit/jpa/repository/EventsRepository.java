@@ -15,12 +15,19 @@
  */
 package org.activiti.cloud.services.audit.jpa.repository;
 
+import jakarta.persistence.QueryHint;
 import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface EventsRepository<T extends AuditEventEntity>
     extends PagingAndSortingRepository<T, Long>, JpaSpecificationExecutor<T>, CrudRepository<T, Long> {
@@ -28,5 +35,37 @@ public interface EventsRepository<T extends AuditEventEntity>
 
     Collection<T> findAllByOrderByTimestampDesc();
 
-    Collection<AuditEventEntity> findAllByTimestampBetweenOrderByTimestampDesc(Long startDateTime, Long endDateTime);
+    /**
+     * Scrolls the events of the range with a forward-only cursor. The stream must be consumed and closed within a
+     * transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    Stream<AuditEventEntity> streamAllByTimestampBetweenOrderByTimestampDesc(Long startDateTime, Long endDateTime);
+
+    /**
+     * Scrolls the events of the half-open range that have an event id, oldest first, with a forward-only cursor. The
+     * stream must be consumed and closed within a transaction.
+     */
+    @QueryHints(
+        {
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+        }
+    )
+    @Query(
+        "select e from AuditEvent e where e.timestamp >= :from and e.timestamp < :to and e.eventId is not null " +
+        "order by e.timestamp, e.id"
+    )
+    Stream<AuditEventEntity> streamArchivableEvents(@Param("from") Long from, @Param("to") Long to);
+
+    @Query("select min(e.timestamp) from AuditEvent e where e.timestamp >= :from and e.eventId is not null")
+    Long findFirstArchivableTimestamp(@Param("from") Long from);
+
+    @Query("select distinct e.processInstanceId from AuditEvent e where e.parentProcessInstanceId in :parentIds")
+    List<String> findChildProcessInstanceIds(@Param("parentIds") Collection<String> parentProcessInstanceIds);
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.benchmark;
+
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.impl.TaskImpl;
+import org.activiti.cloud.api.process.model.impl.CloudIntegrationContextImpl;
+import org.activiti.cloud.services.audit.jpa.converters.json.IntegrationContextJpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.JpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.ProcessInstanceJpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.TaskJpaJsonConverter;
+import org.activiti.cloud.services.benchmark.BenchmarkDefaults;
+import org.activiti.cloud.services.benchmark.BenchmarkRunner;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures the conversion of representative audit payloads to their column and back through the converters Hibernate
+ * uses for the audit event payload columns: a process instance, a task and an integration context carrying
+ * {@code variables} inbound variables. {@code compressionMinLength} set to a non-negative value adds the gzip
+ * compression of the column, trading write time for a smaller row.
+ */
+public class JpaJsonConverterBenchmark extends BenchmarkDefaults {
+
+    @Param({ "PROCESS_INSTANCE", "TASK", "INTEGRATION_CONTEXT" })
+    private Payload payload;
+
+    @Param({ "20" })
+    private int variables;
+
+    @Param({ "-1", "1024" })
+    private int compressionMinLength;
+
+    private JpaJsonConverter<Object> converter;
+
+    private Object attribute;
+
+    private String column;
+
+    public enum Payload {
+        PROCESS_INSTANCE,
+        TASK,
+        INTEGRATION_CONTEXT,
+    }
+
+    @Setup
+    public void setUp() {
+        JsonTextCompression.setMinCompressedLength(compressionMinLength);
+        switch (payload) {
+            case PROCESS_INSTANCE -> {
+                converter = untyped(new ProcessInstanceJpaJsonConverter());
+                attribute = processInstance();
+            }
+            case TASK -> {
+                converter = untyped(new TaskJpaJsonConverter());
+                attribute = task();
+            }
+            case INTEGRATION_CONTEXT -> {
+                converter = untyped(new IntegrationContextJpaJsonConverter());
+                attribute = integrationContext();
+            }
+        }
+        column = converter.convertToDatabaseColumn(attribute);
+    }
+
+    @TearDown
+    public void tearDown() {
+        JsonTextCompression.setMinCompressedLength(-1);
+    }
+
+    @Benchmark
+    public String writeColumn() {
+        return converter.convertToDatabaseColumn(attribute);
+    }
+
+    @Benchmark
+    public Object readColumn() {
+        return converter.convertToEntityAttribute(column);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static JpaJsonConverter<Object> untyped(JpaJsonConverter<?> converter) {
+        return (JpaJsonConverter<Object>) converter;
+    }
+
+    private ProcessInstance processInstance() {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("3d1f2a5e-7c1b-11ee-b962-0242ac120002");
+        processInstance.setName("Invoice approval 2024-000123");
+        processInstance.setProcessDefinitionId("invoiceApproval:3:4a2b6c1e-7c1b-11ee-b962-0242ac120002");
+        processInstance.setProcessDefinitionKey("invoiceApproval");
+        processInstance.setProcessDefinitionVersion(3);
+        processInstance.setInitiator("hruser");
+        processInstance.setBusinessKey("INV-2024-000123");
+        processInstance.setStartDate(new Date());
+        processInstance.setStatus(ProcessInstance.ProcessInstanceStatus.RUNNING);
+        processInstance.setAppVersion("1");
+        return processInstance;
+    }
+
+    private Task task() {
+        TaskImpl task = new TaskImpl("5e8a1f2c-7c1b-11ee-b962-0242ac120002", "Review invoice", TaskStatus.ASSIGNED);
+        task.setDescription("Check the amount, the supplier and the cost centre of the invoice before approving it");
+        task.setAssignee("hruser");
+        task.setPriority(50);
+        task.setCreatedDate(new Date());
+        task.setDueDate(new Date());
+        task.setFormKey("invoice-review-form");
+        task.setProcessInstanceId("3d1f2a5e-7c1b-11ee-b962-0242ac120002");
+        task.setProcessDefinitionId("invoiceApproval:3:4a2b6c1e-7c1b-11ee-b962-0242ac120002");
+        task.setTaskDefinitionKey("reviewInvoice");
+        return task;
+    }
+
+    private CloudIntegrationContextImpl integrationContext() {
+        Map<String, Object> inBoundVariables = new LinkedHashMap<>();
+        for (int i = 0; i < variables; i++) {
+            inBoundVariables.put("invoiceLine" + i, Map.of("article", "ART-" + i, "quantity", i, "amount", i * 12.5));
+        }
+        CloudIntegrationContextImpl integrationContext = new CloudIntegrationContextImpl();
+        integrationContext.setId("7b3e9d4a-7c1b-11ee-b962-0242ac120002");
+        integrationContext.setConnectorType("erp-connector.postInvoice");
+        integrationContext.setClientId("postInvoiceTask");
+        integrationContext.setProcessInstanceId("3d1f2a5e-7c1b-11ee-b962-0242ac120002");
+        integrationContext.setInBoundVariables(inBoundVariables);
+        return integrationContext;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(JpaJsonConverterBenchmark.class);
+    }
+}
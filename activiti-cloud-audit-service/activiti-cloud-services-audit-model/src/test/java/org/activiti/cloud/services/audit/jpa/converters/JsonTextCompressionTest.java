@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.activiti.api.process.model.IntegrationContext;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.api.process.model.impl.CloudIntegrationContextImpl;
+import org.activiti.cloud.services.audit.jpa.converters.json.IntegrationContextJpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.ProcessInstanceJpaJsonConverter;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class JsonTextCompressionTest {
+
+    private final IntegrationContextJpaJsonConverter contextConverter = new IntegrationContextJpaJsonConverter();
+
+    private final ProcessInstanceJpaJsonConverter processInstanceConverter = new ProcessInstanceJpaJsonConverter();
+
+    @AfterEach
+    void resetCompression() {
+        JsonTextCompression.setMinCompressedLength(-1);
+    }
+
+    @Test
+    void compressedIntegrationContextShouldTakeLessThanAQuarterOfThePlainColumn() {
+        IntegrationContext integrationContext = integrationContext(200);
+
+        String plainColumn = contextConverter.convertToDatabaseColumn(integrationContext);
+        JsonTextCompression.setMinCompressedLength(1024);
+        String compressedColumn = contextConverter.convertToDatabaseColumn(integrationContext);
+
+        assertThat(plainColumn).startsWith("{");
+        assertThat(compressedColumn).startsWith(JsonTextCompression.GZIP_PREFIX);
+        assertThat(compressedColumn.length()).isLessThan(plainColumn.length() / 4);
+        assertThat(contextConverter.convertToEntityAttribute(compressedColumn).getInBoundVariables())
+            .isEqualTo(integrationContext.getInBoundVariables());
+    }
+
+    @Test
+    void payloadShorterThanMinLengthShouldBeStoredPlain() {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("process-instance-id");
+        processInstance.setName("My instance");
+        JsonTextCompression.setMinCompressedLength(1024);
+
+        String column = processInstanceConverter.convertToDatabaseColumn(processInstance);
+
+        assertThat(column).startsWith("{");
+        assertThat(processInstanceConverter.convertToEntityAttribute(column).getName()).isEqualTo("My instance");
+    }
+
+    @Test
+    void columnsWrittenBeforeAndAfterEnablingCompressionShouldBothBeReadable() {
+        IntegrationContext integrationContext = integrationContext(10);
+        String plainColumn = contextConverter.convertToDatabaseColumn(integrationContext);
+        JsonTextCompression.setMinCompressedLength(0);
+        String compressedColumn = contextConverter.convertToDatabaseColumn(integrationContext);
+        JsonTextCompression.setMinCompressedLength(-1);
+
+        assertThat(contextConverter.convertToEntityAttribute(plainColumn).getInBoundVariables())
+            .isEqualTo(integrationContext.getInBoundVariables());
+        assertThat(contextConverter.convertToEntityAttribute(compressedColumn).getInBoundVariables())
+            .isEqualTo(integrationContext.getInBoundVariables());
+    }
+
+    private IntegrationContext integrationContext(int variableCount) {
+        Map<String, Object> variables = new LinkedHashMap<>();
+        for (int i = 0; i < variableCount; i++) {
+            variables.put("customerAddressLine" + i, "Flat " + i + ", 221B Baker Street, London NW1 6XE, UK");
+        }
+        CloudIntegrationContextImpl integrationContext = new CloudIntegrationContextImpl();
+        integrationContext.setId("integration-context-id");
+        integrationContext.setConnectorType("address-validation-connector");
+        integrationContext.setProcessInstanceId("process-instance-id");
+        integrationContext.setInBoundVariables(variables);
+        return integrationContext;
+    }
+}
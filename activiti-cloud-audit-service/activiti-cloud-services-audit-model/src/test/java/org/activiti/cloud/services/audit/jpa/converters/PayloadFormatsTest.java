@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.converters;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.Base64;
+import java.util.List;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.services.audit.api.AuditException;
+import org.activiti.cloud.services.audit.jpa.converters.json.ListOfStackTraceElementsJpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormat;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormats;
+import org.activiti.cloud.services.audit.jpa.converters.json.PayloadFormatsInitializer;
+import org.activiti.cloud.services.audit.jpa.converters.json.ProcessInstanceJpaJsonConverter;
+import org.activiti.cloud.services.audit.jpa.converters.json.SmilePayloadFormat;
+import org.activiti.cloud.services.audit.jpa.events.VariableValue;
+import org.activiti.cloud.services.audit.jpa.events.VariableValueJpaConverter;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PayloadFormatsTest {
+
+    private final ProcessInstanceJpaJsonConverter converter = new ProcessInstanceJpaJsonConverter();
+
+    @BeforeEach
+    void registerFormat() {
+        PayloadFormats.register(new JsonBytesPayloadFormat());
+        PayloadFormats.register(new SmilePayloadFormat());
+    }
+
+    @AfterEach
+    void resetFormat() {
+        PayloadFormats.setWriteFormat(PayloadFormats.JSON);
+        JsonTextCompression.setMinCompressedLength(-1);
+    }
+
+    @Test
+    void selectedFormatShouldBeWrittenBehindItsNameAndReadBack() {
+        PayloadFormats.setWriteFormat("json-bytes");
+
+        String column = converter.convertToDatabaseColumn(processInstance());
+
+        assertThat(column).startsWith("json-bytes:");
+        assertThat(converter.convertToEntityAttribute(column))
+            .extracting(ProcessInstance::getId, ProcessInstance::getName)
+            .containsExactly("process-instance-id", "My instance");
+    }
+
+    @Test
+    void smileColumnsShouldHoldBinaryJsonAndBeReadBack() {
+        ListOfStackTraceElementsJpaJsonConverter stackTraceConverter = new ListOfStackTraceElementsJpaJsonConverter();
+        List<StackTraceElement> stackTrace = List.of(new Error("Message").getStackTrace());
+        PayloadFormats.setWriteFormat(SmilePayloadFormat.NAME);
+
+        String processInstanceColumn = converter.convertToDatabaseColumn(processInstance());
+        String stackTraceColumn = stackTraceConverter.convertToDatabaseColumn(stackTrace);
+
+        assertThat(processInstanceColumn).startsWith("smile:");
+        assertThat(Base64.getDecoder().decode(processInstanceColumn.substring("smile:".length())))
+            .startsWith((byte) ':', (byte) ')', (byte) '\n');
+        assertThat(converter.convertToEntityAttribute(processInstanceColumn))
+            .extracting(ProcessInstance::getId, ProcessInstance::getName)
+            .containsExactly("process-instance-id", "My instance");
+        assertThat(stackTraceColumn).startsWith("smile:");
+        assertThat(stackTraceConverter.convertToEntityAttribute(stackTraceColumn))
+            .extracting(StackTraceElement::getMethodName)
+            .containsExactlyElementsOf(stackTrace.stream().map(StackTraceElement::getMethodName).toList());
+    }
+
+    @Test
+    void columnsOfEveryRegisteredFormatShouldStayReadable_when_writeFormatChanges() {
+        String jsonColumn = converter.convertToDatabaseColumn(processInstance());
+        PayloadFormats.setWriteFormat("json-bytes");
+        JsonTextCompression.setMinCompressedLength(0);
+        String compressedFormatColumn = converter.convertToDatabaseColumn(processInstance());
+        PayloadFormats.setWriteFormat(PayloadFormats.JSON);
+
+        assertThat(jsonColumn).startsWith("{");
+        assertThat(compressedFormatColumn).startsWith(JsonTextCompression.GZIP_PREFIX);
+        assertThat(converter.convertToEntityAttribute(jsonColumn).getName()).isEqualTo("My instance");
+        assertThat(converter.convertToEntityAttribute(compressedFormatColumn).getName()).isEqualTo("My instance");
+    }
+
+    @Test
+    void variableValueAndStackTraceColumnsShouldFollowTheSelectedFormat() {
+        VariableValueJpaConverter variableValueConverter = new VariableValueJpaConverter();
+        ListOfStackTraceElementsJpaJsonConverter stackTraceConverter = new ListOfStackTraceElementsJpaJsonConverter();
+        List<StackTraceElement> stackTrace = List.of(new Error("Message").getStackTrace());
+        new PayloadFormatsInitializer(List.of(), "json-bytes").afterPropertiesSet();
+
+        String variableValueColumn = variableValueConverter.convertToDatabaseColumn(new VariableValue<>("value"));
+        String stackTraceColumn = stackTraceConverter.convertToDatabaseColumn(stackTrace);
+
+        assertThat(variableValueColumn).startsWith("json-bytes:");
+        assertThat(stackTraceColumn).startsWith("json-bytes:");
+        assertThat(variableValueConverter.convertToEntityAttribute(variableValueColumn).getValue()).isEqualTo("value");
+        assertThat(stackTraceConverter.convertToEntityAttribute(stackTraceColumn))
+            .extracting(StackTraceElement::getMethodName)
+            .containsExactlyElementsOf(stackTrace.stream().map(StackTraceElement::getMethodName).toList());
+    }
+
+    @Test
+    void unknownFormatsShouldBeRejected() {
+        assertThatThrownBy(() -> PayloadFormats.setWriteFormat("unknown")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> converter.convertToEntityAttribute("unknown:e30=")).isInstanceOf(AuditException.class);
+    }
+
+    @Test
+    void formatNamesThatCouldBeMistakenForOtherColumnsShouldBeRejected() {
+        assertThatThrownBy(() -> PayloadFormats.register(format(PayloadFormats.JSON)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayloadFormats.register(format("gzip"))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> PayloadFormats.register(format("Smile"))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ProcessInstance processInstance() {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("process-instance-id");
+        processInstance.setName("My instance");
+        return processInstance;
+    }
+
+    private PayloadFormat format(String name) {
+        return new PayloadFormat() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public ObjectMapper createObjectMapper() {
+                return new ObjectMapper();
+            }
+        };
+    }
+
+    /**
+     * Stands in for a binary data format: the JSON bytes go through the same base64 encoding as e.g. Smile would.
+     */
+    private static class JsonBytesPayloadFormat implements PayloadFormat {
+
+        @Override
+        public String name() {
+            return "json-bytes";
+        }
+
+        @Override
+        public ObjectMapper createObjectMapper() {
+            return new ObjectMapper();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class EventSpecificationTest {
+
+    @Mock
+    private Root<AuditEventEntity> root;
+
+    @Mock
+    private Path<Object> timestamp;
+
+    @Mock
+    private CriteriaQuery<?> query;
+
+    @Mock
+    private CriteriaBuilder builder;
+
+    @BeforeEach
+    void setUp() {
+        doReturn(timestamp).when(root).get("timestamp");
+        doReturn(Long.class).when(timestamp).getJavaType();
+    }
+
+    @Test
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    void should_compareNumericAttributeAsNumber() {
+        new EventSpecification(new SpecSearchCriteria("timestamp", SearchOperation.GREATER_THAN, "1000"))
+            .toPredicate(root, query, builder);
+
+        verify(builder).greaterThan(timestamp, (Comparable) 1000L);
+    }
+
+    @Test
+    void should_rejectCriteria_when_numericAttributeGetsNonNumericValue() {
+        EventSpecification specification = new EventSpecification(
+            new SpecSearchCriteria("timestamp", SearchOperation.GREATER_THAN, "yesterday")
+        );
+
+        assertThatThrownBy(() -> specification.toPredicate(root, query, builder))
+            .isInstanceOf(InvalidSearchCriteriaException.class)
+            .hasMessageContaining("timestamp")
+            .hasCauseInstanceOf(NumberFormatException.class);
+    }
+}
@@ -0,0 +1,267 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.DigestInputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Directory of gzip-compressed NDJSON files, one JSON document per event, grouped by time bucket under
+ * {@code yyyy/MM} sub-directories. {@code manifest.ndjson} at the root records every file with its event count and
+ * SHA-256 checksum. The manifest is only ever appended to, so a later line for the same file updates its status.
+ */
+public class AuditEventsArchive {
+
+    static final String MANIFEST = "manifest.ndjson";
+
+    private static final String FILE_PREFIX = "audit-events-";
+
+    private static final String FILE_SUFFIX = ".ndjson.gz";
+
+    private static final DateTimeFormatter DIRECTORY = DateTimeFormatter.ofPattern("yyyy/MM").withZone(ZoneOffset.UTC);
+
+    private final Path root;
+
+    private final ObjectMapper objectMapper;
+
+    private final Clock clock;
+
+    public AuditEventsArchive(Path root, ObjectMapper objectMapper, Clock clock) {
+        if (root == null) {
+            throw new IllegalArgumentException("activiti.cloud.services.audit.archive.path is required");
+        }
+        this.root = root;
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        try {
+            Files.createDirectories(root);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to create audit archive directory " + root, e);
+        }
+    }
+
+    /**
+     * Returns the archived files in the order they were written, each with its latest status.
+     */
+    public List<AuditEventsArchiveEntry> entries() {
+        Path manifest = root.resolve(MANIFEST);
+        if (!Files.exists(manifest)) {
+            return List.of();
+        }
+        Map<String, AuditEventsArchiveEntry> entries = new LinkedHashMap<>();
+        try (Stream<String> lines = Files.lines(manifest, UTF_8)) {
+            lines
+                .filter(line -> !line.isBlank())
+                .map(this::readEntry)
+                .forEach(entry -> entries.put(entry.file(), entry));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit archive manifest", e);
+        }
+        return List.copyOf(entries.values());
+    }
+
+    public List<AuditEventsArchiveEntry> entries(String bucket) {
+        return entries().stream().filter(entry -> entry.bucket().equals(bucket)).toList();
+    }
+
+    /**
+     * Writes the events to a new file of the bucket and records it in the manifest. The file only takes its final name
+     * once it is complete and flushed to disk, so a failure never leaves a partial file behind. Nothing is written
+     * when there are no events.
+     */
+    public Optional<AuditEventsArchiveEntry> write(String bucket, Instant from, Instant to, Stream<?> events) {
+        long archivedAt = clock.millis();
+        String file = DIRECTORY.format(from) + "/" + FILE_PREFIX + bucket + "-" + archivedAt + FILE_SUFFIX;
+        Path target = root.resolve(file);
+        MessageDigest digest = sha256();
+        long count = 0;
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(target.getParent(), FILE_PREFIX + bucket, ".tmp");
+            try {
+                try (
+                    Writer writer = new BufferedWriter(
+                        new OutputStreamWriter(
+                            new GZIPOutputStream(new DigestOutputStream(Files.newOutputStream(temp), digest)),
+                            UTF_8
+                        )
+                    )
+                ) {
+                    Iterator<?> iterator = events.iterator();
+                    while (iterator.hasNext()) {
+                        writer.write(objectMapper.writeValueAsString(iterator.next()));
+                        writer.write('\n');
+                        count++;
+                    }
+                }
+                if (count == 0) {
+                    Files.delete(temp);
+                    return Optional.empty();
+                }
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            AuditEventsArchiveEntry entry = new AuditEventsArchiveEntry(
+                bucket,
+                file,
+                from.toEpochMilli(),
+                to.toEpochMilli(),
+                count,
+                Files.size(target),
+                HexFormat.of().formatHex(digest.digest()),
+                archivedAt,
+                AuditEventsArchiveEntry.Status.ARCHIVED
+            );
+            record(entry);
+            return Optional.of(entry);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to write audit archive file " + file, e);
+        }
+    }
+
+    /**
+     * Appends the entry to the manifest and flushes it to disk.
+     */
+    public synchronized void record(AuditEventsArchiveEntry entry) {
+        try (
+            FileChannel channel = FileChannel.open(
+                root.resolve(MANIFEST),
+                StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND
+            )
+        ) {
+            channel.write(ByteBuffer.wrap((objectMapper.writeValueAsString(entry) + "\n").getBytes(UTF_8)));
+            channel.force(true);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to update audit archive manifest", e);
+        }
+    }
+
+    /**
+     * Copies the events of every file of the bucket to the output, as uncompressed NDJSON in archive order. All the
+     * files are checked against their checksum before anything is written.
+     */
+    public void read(String bucket, OutputStream output) throws IOException {
+        List<AuditEventsArchiveEntry> entries = entries(bucket);
+        entries.forEach(this::verify);
+        for (AuditEventsArchiveEntry entry : entries) {
+            try (InputStream input = new GZIPInputStream(Files.newInputStream(root.resolve(entry.file())))) {
+                input.transferTo(output);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Hands the event ids of the file to the consumer in chunks of at most {@code chunkSize}, once the file has been
+     * checked against its checksum.
+     */
+    public void readEventIds(AuditEventsArchiveEntry entry, int chunkSize, Consumer<List<String>> consumer) {
+        verify(entry);
+        try (
+            BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new GZIPInputStream(Files.newInputStream(root.resolve(entry.file()))), UTF_8)
+            )
+        ) {
+            List<String> eventIds = new ArrayList<>(chunkSize);
+            String line;
+            while ((line = reader.readLine()) != null) {
+                eventIds.add(objectMapper.readTree(line).path("id").asText());
+                if (eventIds.size() == chunkSize) {
+                    consumer.accept(List.copyOf(eventIds));
+                    eventIds.clear();
+                }
+            }
+            if (!eventIds.isEmpty()) {
+                consumer.accept(List.copyOf(eventIds));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit archive file " + entry.file(), e);
+        }
+    }
+
+    /**
+     * Fails when the file is missing or does not match the checksum recorded in the manifest.
+     */
+    public void verify(AuditEventsArchiveEntry entry) {
+        MessageDigest digest = sha256();
+        try (InputStream input = new DigestInputStream(Files.newInputStream(root.resolve(entry.file())), digest)) {
+            input.transferTo(OutputStream.nullOutputStream());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read audit archive file " + entry.file(), e);
+        }
+        if (!HexFormat.of().formatHex(digest.digest()).equals(entry.sha256())) {
+            throw new IllegalStateException("Checksum mismatch for audit archive file " + entry.file());
+        }
+    }
+
+    private AuditEventsArchiveEntry readEntry(String line) {
+        try {
+            return objectMapper.readValue(line, AuditEventsArchiveEntry.class);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Invalid audit archive manifest line: " + line, e);
+        }
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
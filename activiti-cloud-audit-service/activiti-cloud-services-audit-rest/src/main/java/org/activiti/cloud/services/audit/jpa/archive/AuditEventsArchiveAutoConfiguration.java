@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Archives old audit events to compressed files on a filesystem path and serves them back through the admin API.
+ */
+@AutoConfiguration
+@ConditionalOnProperty(name = "activiti.cloud.services.audit.archive.enabled", havingValue = "true")
+@EnableConfigurationProperties(AuditEventsArchiveProperties.class)
+public class AuditEventsArchiveAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsArchive auditEventsArchive(AuditEventsArchiveProperties properties, ObjectMapper objectMapper) {
+        return new AuditEventsArchive(properties.getPath(), objectMapper, Clock.systemUTC());
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventsArchiver auditEventsArchiver(
+        EventsRepository<AuditEventEntity> eventsRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        APIEventToEntityConverters eventConverters,
+        AuditEventsArchive archive,
+        AuditEventsArchiveProperties properties
+    ) {
+        return new AuditEventsArchiver(
+            eventsRepository,
+            entityManager,
+            transactionManager,
+            eventConverters,
+            archive,
+            properties,
+            Clock.systemUTC()
+        );
+    }
+}
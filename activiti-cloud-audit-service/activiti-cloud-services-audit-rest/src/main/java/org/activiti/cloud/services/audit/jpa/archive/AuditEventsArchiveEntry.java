@@ -0,0 +1,53 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+/**
+ * One archive file as recorded in the manifest. The file path is relative to the archive directory and times are epoch
+ * millis; the bucket covers events from {@code eventTimeFrom} inclusive to {@code eventTimeTo} exclusive.
+ */
+public record AuditEventsArchiveEntry(
+    String bucket,
+    String file,
+    long eventTimeFrom,
+    long eventTimeTo,
+    long events,
+    long bytes,
+    String sha256,
+    long archivedAt,
+    Status status
+) {
+    public enum Status {
+        /** The file is complete but its events may still be in the database. */
+        ARCHIVED,
+        /** The events of the file have been deleted from the database. */
+        DELETED,
+    }
+
+    public AuditEventsArchiveEntry deleted() {
+        return new AuditEventsArchiveEntry(
+            bucket,
+            file,
+            eventTimeFrom,
+            eventTimeTo,
+            events,
+            bytes,
+            sha256,
+            archivedAt,
+            Status.DELETED
+        );
+    }
+}
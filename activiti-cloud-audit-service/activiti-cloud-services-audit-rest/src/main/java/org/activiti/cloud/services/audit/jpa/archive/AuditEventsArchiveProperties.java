@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("activiti.cloud.services.audit.archive")
+public class AuditEventsArchiveProperties {
+
+    /**
+     * Moves old audit events out of the database into compressed files. Enable it on a single instance; the read-back
+     * endpoints work on every instance that sees the same path.
+     */
+    private boolean enabled;
+
+    /**
+     * Directory holding the archive files and their manifest.
+     */
+    private Path path;
+
+    /**
+     * Age after which events are archived. A time bucket is archived once its upper bound is older than this.
+     */
+    private Duration maxAge = Duration.ofDays(365);
+
+    /**
+     * Time span of one archive bucket: HOURS or DAYS, aligned on UTC boundaries.
+     */
+    private ChronoUnit bucket = ChronoUnit.DAYS;
+
+    /**
+     * Number of events deleted per transaction once a bucket has been archived.
+     */
+    private int deleteChunkSize = 1000;
+
+    /**
+     * Delay between two archival runs.
+     */
+    private Duration checkInterval = Duration.ofHours(1);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    public void setPath(Path path) {
+        this.path = path;
+    }
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+
+    public ChronoUnit getBucket() {
+        return bucket;
+    }
+
+    public void setBucket(ChronoUnit bucket) {
+        this.bucket = bucket;
+    }
+
+    public int getDeleteChunkSize() {
+        return deleteChunkSize;
+    }
+
+    public void setDeleteChunkSize(int deleteChunkSize) {
+        this.deleteChunkSize = deleteChunkSize;
+    }
+
+    public Duration getCheckInterval() {
+        return checkInterval;
+    }
+
+    public void setCheckInterval(Duration checkInterval) {
+        this.checkInterval = checkInterval;
+    }
+}
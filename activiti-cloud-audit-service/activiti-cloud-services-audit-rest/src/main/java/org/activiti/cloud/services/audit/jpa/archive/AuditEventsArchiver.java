@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.common.scheduling.PeriodicTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves the audit events older than the configured age to the archive, one UTC time bucket at a time. A bucket is only
+ * archived once its upper bound is older than the age. Its events are scrolled oldest first, converted back to
+ * {@link CloudRuntimeEvent}s and written to a new archive file; only once the file is complete and recorded in the
+ * manifest are the events deleted, by event id, in chunks of their own transaction. Deletion reads the ids back from
+ * the verified file, so it never removes an event that is not in the archive, and a run interrupted before the end of
+ * the deletion resumes it on the next run. Events without an event id are never archived, and neither are the events
+ * of a type without a converter; both stay in the table.
+ */
+public class AuditEventsArchiver extends PeriodicTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsArchiver.class);
+
+    private static final Map<ChronoUnit, DateTimeFormatter> BUCKET_NAMES = Map.of(
+        ChronoUnit.DAYS,
+        DateTimeFormatter.ofPattern("yyyy-MM-dd").withZone(ZoneOffset.UTC),
+        ChronoUnit.HOURS,
+        DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH").withZone(ZoneOffset.UTC)
+    );
+
+    private final EventsRepository<AuditEventEntity> eventsRepository;
+
+    private final EntityManager entityManager;
+
+    private final APIEventToEntityConverters eventConverters;
+
+    private final AuditEventsArchive archive;
+
+    private final AuditEventsArchiveProperties properties;
+
+    private final Clock clock;
+
+    private final TransactionTemplate readTransactionTemplate;
+
+    private final TransactionTemplate deleteTransactionTemplate;
+
+    public AuditEventsArchiver(
+        EventsRepository<AuditEventEntity> eventsRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        APIEventToEntityConverters eventConverters,
+        AuditEventsArchive archive,
+        AuditEventsArchiveProperties properties,
+        Clock clock
+    ) {
+        super("audit-events-archiver", properties.getCheckInterval());
+        if (!BUCKET_NAMES.containsKey(properties.getBucket())) {
+            throw new IllegalArgumentException(
+                "Unsupported audit archive bucket " + properties.getBucket() + ", expected one of " +
+                EnumSet.copyOf(BUCKET_NAMES.keySet())
+            );
+        }
+        this.eventsRepository = eventsRepository;
+        this.entityManager = entityManager;
+        this.eventConverters = eventConverters;
+        this.archive = archive;
+        this.properties = properties;
+        this.clock = clock;
+        this.readTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readTransactionTemplate.setReadOnly(true);
+        this.deleteTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.deleteTransactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @Override
+    protected void runOnce() {
+        archive();
+    }
+
+    public synchronized void archive() {
+        archive
+            .entries()
+            .stream()
+            .filter(entry -> entry.status() == AuditEventsArchiveEntry.Status.ARCHIVED)
+            .forEach(this::deleteArchivedEvents);
+
+        ChronoUnit unit = properties.getBucket();
+        Instant cutoff = clock.instant().minus(properties.getMaxAge()).truncatedTo(unit);
+        Long next = eventsRepository.findFirstArchivableTimestamp(Long.MIN_VALUE);
+        while (next != null && next < cutoff.toEpochMilli()) {
+            if (Thread.interrupted()) {
+                throw new IllegalStateException("Interrupted by shutdown");
+            }
+            Instant from = Instant.ofEpochMilli(next).truncatedTo(unit);
+            Instant to = from.plus(1, unit);
+            archiveBucket(from, to).ifPresent(this::deleteArchivedEvents);
+            next = eventsRepository.findFirstArchivableTimestamp(to.toEpochMilli());
+        }
+    }
+
+    private Optional<AuditEventsArchiveEntry> archiveBucket(Instant from, Instant to) {
+        String bucket = BUCKET_NAMES.get(properties.getBucket()).format(from);
+        return readTransactionTemplate.execute(status -> {
+            try (
+                Stream<AuditEventEntity> events = eventsRepository.streamArchivableEvents(
+                    from.toEpochMilli(),
+                    to.toEpochMilli()
+                )
+            ) {
+                return archive.write(
+                    bucket,
+                    from,
+                    to,
+                    events.peek(entityManager::detach).flatMap(this::toCloudRuntimeEvent)
+                );
+            }
+        });
+    }
+
+    private void deleteArchivedEvents(AuditEventsArchiveEntry entry) {
+        archive.readEventIds(
+            entry,
+            properties.getDeleteChunkSize(),
+            eventIds ->
+                deleteTransactionTemplate.executeWithoutResult(status ->
+                    entityManager
+                        .createQuery(
+                            "delete from AuditEvent e where e.eventId in :eventIds " +
+                            "and e.timestamp >= :from and e.timestamp < :to"
+                        )
+                        .setParameter("eventIds", eventIds)
+                        .setParameter("from", entry.eventTimeFrom())
+                        .setParameter("to", entry.eventTimeTo())
+                        .executeUpdate()
+                )
+        );
+        archive.record(entry.deleted());
+        LOGGER.info("Archived {} audit events of bucket {} to {}", entry.events(), entry.bucket(), entry.file());
+    }
+
+    private Stream<CloudRuntimeEvent<?, ?>> toCloudRuntimeEvent(AuditEventEntity event) {
+        EventToEntityConverter converter = eventConverters.getConverterByEventTypeName(event.getEventType());
+        if (converter == null) {
+            LOGGER.warn(
+                "Converter not found for Event Type: {}, event {} is not archived",
+                event.getEventType(),
+                event.getEventId()
+            );
+            return Stream.empty();
+        }
+        return Stream.of(converter.convertToAPI(event));
+    }
+}
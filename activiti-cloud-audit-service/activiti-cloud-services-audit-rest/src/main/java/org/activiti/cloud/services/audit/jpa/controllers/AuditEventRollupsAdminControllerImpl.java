@@ -0,0 +1,70 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.cloud.services.audit.api.controllers.AuditEventRollupsAdminController;
+import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.rollups.EventRollup;
+import org.activiti.cloud.services.audit.api.rollups.RollupGranularity;
+import org.activiti.cloud.services.audit.api.rollups.RollupParams;
+import org.activiti.cloud.services.audit.jpa.service.AuditEventRollupsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping(
+    value = "/admin/v1/" + EventsLinkRelationProvider.COLLECTION_RESOURCE_REL + "/rollups",
+    produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class AuditEventRollupsAdminControllerImpl implements AuditEventRollupsAdminController {
+
+    private static final long DEFAULT_RANGE = Duration.ofDays(1).toMillis();
+
+    private final AuditEventRollupsService auditEventRollupsService;
+
+    @Autowired
+    public AuditEventRollupsAdminControllerImpl(AuditEventRollupsService auditEventRollupsService) {
+        this.auditEventRollupsService = auditEventRollupsService;
+    }
+
+    @Override
+    @RequestMapping(method = RequestMethod.GET)
+    public List<EventRollup> findRollups(RollupParams rollupParams) {
+        long to = Optional.ofNullable(rollupParams.to()).map(Date::getTime).orElse(System.currentTimeMillis());
+        long from = Optional.ofNullable(rollupParams.from()).map(Date::getTime).orElse(to - DEFAULT_RANGE);
+        if (from > to) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "From date cannot be after to date");
+        }
+
+        return auditEventRollupsService.findRollups(
+            from,
+            to,
+            Optional.ofNullable(rollupParams.granularity()).orElse(RollupGranularity.HOUR),
+            rollupParams.eventType(),
+            rollupParams.appName(),
+            rollupParams.processDefinitionKey()
+        );
+    }
+}
@@ -16,10 +16,10 @@
 package org.activiti.cloud.services.audit.jpa.controllers;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
 import jakarta.servlet.http.HttpServletResponse;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collection;
 import java.util.List;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -27,6 +27,10 @@ import org.activiti.cloud.services.audit.api.controllers.AuditEventsAdminControl
 import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
 import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
@@ -66,6 +70,8 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
 
     private final AuditEventsAdminService auditEventsAdminService;
 
+    private final EventsKeysetPager eventsKeysetPager;
+
     @Autowired
     public AuditEventsAdminControllerImpl(
         EventsRepository eventsRepository,
@@ -73,7 +79,8 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         APIEventToEntityConverters eventConverters,
         AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler,
         ObjectMapper objectMapper,
-        AuditEventsAdminService auditEventsAdminService
+        AuditEventsAdminService auditEventsAdminService,
+        EntityManager entityManager
     ) {
         this.eventsRepository = eventsRepository;
         this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
@@ -81,6 +88,7 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.auditEventsExporter = new AuditEventsExporter(objectMapper);
         this.auditEventsAdminService = auditEventsAdminService;
+        this.eventsKeysetPager = new EventsKeysetPager(eventsRepository, entityManager);
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -96,6 +104,27 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         );
     }
 
+    @RequestMapping(value = "/keyset", method = RequestMethod.GET)
+    public KeysetPage<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> findAllKeyset(
+        SearchParams searchParams,
+        KeysetParams keysetParams
+    ) {
+        KeysetPage<AuditEventEntity> page = eventsKeysetPager.findPage(
+            EventSearchSpecifications.fromSearchParams(searchParams),
+            keysetParams
+        );
+
+        return new KeysetPage<>(
+            toCloudRuntimeEvents(page.entries()).stream().map(eventRepresentationModelAssembler::toModel).toList(),
+            page.nextCursor()
+        );
+    }
+
+    @RequestMapping(value = "/headers", method = RequestMethod.GET)
+    public KeysetPage<AuditEventHeader> findAllHeaders(SearchParams searchParams, KeysetParams keysetParams) {
+        return eventsKeysetPager.findHeaderPage(EventSearchSpecifications.fromSearchParams(searchParams), keysetParams);
+    }
+
     @GetMapping(path = "/export/{fileName}")
     public void export(
         @PathVariable(value = "fileName") String fileName,
@@ -103,11 +132,11 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         @RequestParam(value = "to", required = true) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
         HttpServletResponse response
     ) throws Exception {
-        Collection<AuditEventEntity> audits = auditEventsAdminService.findAuditsBetweenDates(from, to);
-
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = toCloudRuntimeEvents(audits);
-
-        auditEventsExporter.exportCsv(events, fileName, response);
+        auditEventsAdminService.streamAuditsBetweenDates(
+            from,
+            to,
+            audits -> auditEventsExporter.exportCsv(audits.map(this::toCloudRuntimeEvent), fileName, response)
+        );
     }
 
     private List<CloudRuntimeEvent<?, CloudRuntimeEventType>> toCloudRuntimeEvents(
@@ -116,8 +145,14 @@ public class AuditEventsAdminControllerImpl implements AuditEventsAdminControlle
         List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
 
         for (AuditEventEntity aee : allAuditInPage) {
-            events.add(eventConverters.getConverterByEventTypeName(aee.getEventType()).convertToAPI(aee));
+            events.add(toCloudRuntimeEvent(aee));
         }
         return events;
     }
+
+    private CloudRuntimeEvent<?, CloudRuntimeEventType> toCloudRuntimeEvent(AuditEventEntity auditEventEntity) {
+        return eventConverters
+            .getConverterByEventTypeName(auditEventEntity.getEventType())
+            .convertToAPI(auditEventEntity);
+    }
 }
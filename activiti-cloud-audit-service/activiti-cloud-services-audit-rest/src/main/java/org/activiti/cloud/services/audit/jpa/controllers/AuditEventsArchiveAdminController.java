@@ -0,0 +1,63 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.jpa.archive.AuditEventsArchive;
+import org.activiti.cloud.services.audit.jpa.archive.AuditEventsArchiveEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Lists the archived audit event files and reads the events of a time bucket back from the archive, as NDJSON with
+ * one {@code CloudRuntimeEvent} per line.
+ */
+@ConditionalOnProperty(name = "activiti.cloud.services.audit.archive.enabled", havingValue = "true")
+@RestController
+@RequestMapping(value = "/admin/v1/" + EventsLinkRelationProvider.COLLECTION_RESOURCE_REL + "/archive")
+public class AuditEventsArchiveAdminController {
+
+    private final AuditEventsArchive archive;
+
+    @Autowired
+    public AuditEventsArchiveAdminController(AuditEventsArchive archive) {
+        this.archive = archive;
+    }
+
+    @RequestMapping(method = RequestMethod.GET, produces = MediaType.APPLICATION_JSON_VALUE)
+    public List<AuditEventsArchiveEntry> findAll() {
+        return archive.entries();
+    }
+
+    @RequestMapping(value = "/{bucket}", method = RequestMethod.GET, produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void readBucket(@PathVariable String bucket, HttpServletResponse response) throws IOException {
+        if (archive.entries(bucket).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to find archived bucket " + bucket);
+        }
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        archive.read(bucket, response.getOutputStream());
+    }
+}
@@ -15,14 +15,10 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers;
 
-import static java.util.stream.Collectors.joining;
-
+import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 import org.activiti.api.runtime.shared.NotFoundException;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
@@ -31,12 +27,13 @@ import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverte
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.api.converters.EventToEntityConverter;
 import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
 import org.activiti.cloud.services.audit.api.search.SearchParams;
 import org.activiti.cloud.services.audit.jpa.assembler.EventRepresentationModelAssembler;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
-import org.activiti.cloud.services.audit.jpa.repository.EventSpecificationsBuilder;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
-import org.activiti.cloud.services.audit.jpa.repository.SearchOperation;
 import org.activiti.cloud.services.audit.jpa.security.SecurityPoliciesApplicationServiceImpl;
 import org.activiti.core.common.spring.security.policies.ActivitiForbiddenException;
 import org.activiti.core.common.spring.security.policies.SecurityPolicyAccess;
@@ -75,19 +72,23 @@ public class AuditEventsControllerImpl implements AuditEventsController {
 
     private final APIEventToEntityConverters eventConverters;
 
+    private final EventsKeysetPager eventsKeysetPager;
+
     @Autowired
     public AuditEventsControllerImpl(
         EventsRepository eventsRepository,
         EventRepresentationModelAssembler eventRepresentationModelAssembler,
         APIEventToEntityConverters eventConverters,
         SecurityPoliciesApplicationServiceImpl securityPoliciesApplicationService,
-        AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler
+        AlfrescoPagedModelAssembler<CloudRuntimeEvent<?, CloudRuntimeEventType>> pagedCollectionModelAssembler,
+        EntityManager entityManager
     ) {
         this.eventsRepository = eventsRepository;
         this.eventRepresentationModelAssembler = eventRepresentationModelAssembler;
         this.eventConverters = eventConverters;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
         this.securityPoliciesApplicationService = securityPoliciesApplicationService;
+        this.eventsKeysetPager = new EventsKeysetPager(eventsRepository, entityManager);
     }
 
     @RequestMapping(value = "/{eventId}", method = RequestMethod.GET)
@@ -119,23 +120,12 @@ public class AuditEventsControllerImpl implements AuditEventsController {
         SearchParams searchParams,
         Pageable pageable
     ) {
-        Specification<AuditEventEntity> spec = createSearchSpec(searchParams);
+        Specification<AuditEventEntity> spec = EventSearchSpecifications.fromSearchParams(searchParams);
 
         spec = securityPoliciesApplicationService.createSpecWithSecurity(spec, SecurityPolicyAccess.READ);
 
         Page<AuditEventEntity> allAuditInPage = eventsRepository.findAll(spec, pageable);
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
-
-        for (AuditEventEntity aee : allAuditInPage.getContent()) {
-            EventToEntityConverter converterByEventTypeName = eventConverters.getConverterByEventTypeName(
-                aee.getEventType()
-            );
-            if (converterByEventTypeName != null) {
-                events.add(converterByEventTypeName.convertToAPI(aee));
-            } else {
-                LOGGER.warn("Converter not found for Event Type: " + aee.getEventType());
-            }
-        }
+        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = toCloudRuntimeEvents(allAuditInPage.getContent());
 
         return pagedCollectionModelAssembler.toModel(
             pageable,
@@ -144,28 +134,49 @@ public class AuditEventsControllerImpl implements AuditEventsController {
         );
     }
 
-    private Specification<AuditEventEntity> createSearchSpec(SearchParams searchParams) {
-        EventSpecificationsBuilder builder = new EventSpecificationsBuilder();
-        String search = searchParams.search();
-        if (search != null && !search.isEmpty()) {
-            String operationSetExpr = Arrays
-                .asList(SearchOperation.SIMPLE_OPERATION_SET)
-                .stream()
-                .collect(joining("|"));
-            Pattern pattern = Pattern.compile(
-                "(\\w+?)(" + operationSetExpr + ")(\\p{Punct}?)([a-zA-Z0-9-_]+?)(\\p{Punct}?),"
+    @RequestMapping(value = "/keyset", method = RequestMethod.GET)
+    public KeysetPage<EntityModel<CloudRuntimeEvent<?, CloudRuntimeEventType>>> searchKeyset(
+        SearchParams searchParams,
+        KeysetParams keysetParams
+    ) {
+        Specification<AuditEventEntity> spec = securityPoliciesApplicationService.createSpecWithSecurity(
+            EventSearchSpecifications.fromSearchParams(searchParams),
+            SecurityPolicyAccess.READ
+        );
+
+        KeysetPage<AuditEventEntity> page = eventsKeysetPager.findPage(spec, keysetParams);
+
+        return new KeysetPage<>(
+            toCloudRuntimeEvents(page.entries()).stream().map(eventRepresentationModelAssembler::toModel).toList(),
+            page.nextCursor()
+        );
+    }
+
+    @RequestMapping(value = "/headers", method = RequestMethod.GET)
+    public KeysetPage<AuditEventHeader> searchHeaders(SearchParams searchParams, KeysetParams keysetParams) {
+        Specification<AuditEventEntity> spec = securityPoliciesApplicationService.createSpecWithSecurity(
+            EventSearchSpecifications.fromSearchParams(searchParams),
+            SecurityPolicyAccess.READ
+        );
+
+        return eventsKeysetPager.findHeaderPage(spec, keysetParams);
+    }
+
+    private List<CloudRuntimeEvent<?, CloudRuntimeEventType>> toCloudRuntimeEvents(
+        Iterable<AuditEventEntity> auditEventEntities
+    ) {
+        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events = new ArrayList<>();
+
+        for (AuditEventEntity aee : auditEventEntities) {
+            EventToEntityConverter converterByEventTypeName = eventConverters.getConverterByEventTypeName(
+                aee.getEventType()
             );
-            Matcher matcher = pattern.matcher(search + ",");
-            while (matcher.find()) {
-                builder.with(matcher.group(1), matcher.group(2), matcher.group(4), matcher.group(3), matcher.group(5));
+            if (converterByEventTypeName != null) {
+                events.add(converterByEventTypeName.convertToAPI(aee));
+            } else {
+                LOGGER.warn("Converter not found for Event Type: " + aee.getEventType());
             }
         }
-        if (searchParams.eventTimeFrom() != null) {
-            builder.with("timestamp", ">=", searchParams.eventTimeFrom().getTime(), null, null);
-        }
-        if (searchParams.eventTimeTo() != null) {
-            builder.with("timestamp", "<=", searchParams.eventTimeTo().getTime(), null, null);
-        }
-        return builder.build();
+        return events;
     }
 }
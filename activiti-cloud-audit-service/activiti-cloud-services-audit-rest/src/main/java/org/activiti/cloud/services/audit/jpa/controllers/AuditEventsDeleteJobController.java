@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
+import org.activiti.cloud.services.audit.jpa.service.AuditEventsDeleteJob;
+import org.activiti.cloud.services.audit.jpa.service.AuditEventsDeleteJobService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
+
+/**
+ * Deletes the events matching a search over a mandatory time range in the background. The submission returns the job
+ * at once; its status and the number of events deleted so far are polled with its id.
+ */
+@ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
+@RestController
+@RequestMapping(
+    value = "/admin/v1/" + EventsLinkRelationProvider.COLLECTION_RESOURCE_REL + "/delete-jobs",
+    produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class AuditEventsDeleteJobController {
+
+    private final AuditEventsDeleteJobService deleteJobService;
+
+    @Autowired
+    public AuditEventsDeleteJobController(AuditEventsDeleteJobService deleteJobService) {
+        this.deleteJobService = deleteJobService;
+    }
+
+    @RequestMapping(method = RequestMethod.POST)
+    public ResponseEntity<AuditEventsDeleteJob> submit(SearchParams searchParams) {
+        AuditEventsDeleteJob job;
+        try {
+            job = deleteJobService.submit(searchParams);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        return ResponseEntity
+            .accepted()
+            .location(ServletUriComponentsBuilder.fromCurrentRequest().path("/{jobId}").buildAndExpand(job.id()).toUri())
+            .body(job);
+    }
+
+    @RequestMapping(value = "/{jobId}", method = RequestMethod.GET)
+    public AuditEventsDeleteJob findById(@PathVariable String jobId) {
+        return deleteJobService
+            .find(jobId)
+            .orElseThrow(() ->
+                new ResponseStatusException(HttpStatus.NOT_FOUND, "Unable to find delete job " + jobId)
+            );
+    }
+}
@@ -20,8 +20,9 @@ import com.opencsv.bean.StatefulBeanToCsv;
 import com.opencsv.bean.StatefulBeanToCsvBuilder;
 import jakarta.servlet.http.HttpServletResponse;
 import java.io.PrintWriter;
-import java.util.ArrayList;
-import java.util.List;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.stream.Stream;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
 import org.activiti.cloud.services.audit.jpa.controllers.csv.CsvLogEntry;
@@ -32,6 +33,7 @@ public class AuditEventsExporter {
     private static final String HEADER_ATTACHMENT_FILENAME = "attachment;filename=";
     private static final String HEADER_CONTENT_DISPOSITION = "Content-Disposition";
     private static final String CSV_CONTENT_TYPE = "text/csv";
+    private static final int FLUSH_INTERVAL = 1000;
 
     private ObjectToJsonStrategy objectToJsonStrategy;
 
@@ -40,12 +42,14 @@ public class AuditEventsExporter {
     }
 
     public void exportCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
+        Stream<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
         String fileName,
         HttpServletResponse response
     ) throws Exception {
         setHttpHeaders(fileName, response);
-        writeEventsAsCsv(events, response);
+        PrintWriter writer = response.getWriter();
+        writeEventsAsCsv(events, writer);
+        writer.close();
     }
 
     private void setHttpHeaders(String fileName, HttpServletResponse response) {
@@ -53,25 +57,25 @@ public class AuditEventsExporter {
         response.setHeader(HEADER_CONTENT_DISPOSITION, HEADER_ATTACHMENT_FILENAME + fileName);
     }
 
-    private void writeEventsAsCsv(
-        List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
-        HttpServletResponse response
+    /**
+     * Writes one row per event as the stream is consumed, flushing regularly so that rows reach the client instead of
+     * piling up in the writer.
+     */
+    public void writeEventsAsCsv(
+        Stream<CloudRuntimeEvent<?, CloudRuntimeEventType>> events,
+        Writer writer
     ) throws Exception {
-        List<CsvLogEntry> entries = toCsvLogEntryList(events);
-
-        PrintWriter writer = response.getWriter();
-        StatefulBeanToCsv beanToCsv = new StatefulBeanToCsvBuilder<List<CloudRuntimeEvent>>(writer)
+        StatefulBeanToCsv<CsvLogEntry> beanToCsv = new StatefulBeanToCsvBuilder<CsvLogEntry>(writer)
             .withMappingStrategy(objectToJsonStrategy)
             .build();
-        beanToCsv.write(entries);
-        writer.close();
-    }
-
-    private List<CsvLogEntry> toCsvLogEntryList(List<CloudRuntimeEvent<?, CloudRuntimeEventType>> events) {
-        List<CsvLogEntry> entries = new ArrayList<>();
-        for (CloudRuntimeEvent event : events) {
-            entries.add(new CsvLogEntry(event));
+        Iterator<CloudRuntimeEvent<?, CloudRuntimeEventType>> iterator = events.iterator();
+        int written = 0;
+        while (iterator.hasNext()) {
+            beanToCsv.write(new CsvLogEntry(iterator.next()));
+            if (++written % FLUSH_INTERVAL == 0) {
+                writer.flush();
+            }
         }
-        return entries;
+        writer.flush();
     }
 }
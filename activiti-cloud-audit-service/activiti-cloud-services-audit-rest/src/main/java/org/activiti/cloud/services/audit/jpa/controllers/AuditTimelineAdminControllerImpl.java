@@ -0,0 +1,67 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import java.util.Optional;
+import org.activiti.cloud.services.audit.api.controllers.AuditTimelineAdminController;
+import org.activiti.cloud.services.audit.api.resources.EventsLinkRelationProvider;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimeline;
+import org.activiti.cloud.services.audit.jpa.service.AuditTimelineService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+@RestController
+@RequestMapping(
+    value = "/admin/v1/" + EventsLinkRelationProvider.COLLECTION_RESOURCE_REL + "/process-instances",
+    produces = MediaType.APPLICATION_JSON_VALUE
+)
+public class AuditTimelineAdminControllerImpl implements AuditTimelineAdminController {
+
+    public static final int DEFAULT_MAX_ITEMS = 1000;
+
+    public static final int MAX_ITEMS_LIMIT = 10000;
+
+    private final AuditTimelineService auditTimelineService;
+
+    @Autowired
+    public AuditTimelineAdminControllerImpl(AuditTimelineService auditTimelineService) {
+        this.auditTimelineService = auditTimelineService;
+    }
+
+    @Override
+    @RequestMapping(value = "/{processInstanceId}/timeline", method = RequestMethod.GET)
+    public AuditTimeline findTimeline(
+        @PathVariable String processInstanceId,
+        @RequestParam(value = "includeSubprocesses", defaultValue = "false") boolean includeSubprocesses,
+        @RequestParam(value = "maxItems", required = false) Integer maxItems
+    ) {
+        int limit = Optional.ofNullable(maxItems).orElse(DEFAULT_MAX_ITEMS);
+        if (limit < 1 || limit > MAX_ITEMS_LIMIT) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "maxItems must be between 1 and " + MAX_ITEMS_LIMIT
+            );
+        }
+        return auditTimelineService.findTimeline(processInstanceId, includeSubprocesses, limit);
+    }
+}
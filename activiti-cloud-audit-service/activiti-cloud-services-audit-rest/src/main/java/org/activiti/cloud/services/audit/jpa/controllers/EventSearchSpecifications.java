@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventSpecificationsBuilder;
+import org.activiti.cloud.services.audit.jpa.repository.SearchOperation;
+import org.springframework.data.jpa.domain.Specification;
+
+public final class EventSearchSpecifications {
+
+    private EventSearchSpecifications() {}
+
+    public static Specification<AuditEventEntity> fromSearchParams(SearchParams searchParams) {
+        EventSpecificationsBuilder builder = new EventSpecificationsBuilder();
+        String search = searchParams.search();
+        if (search != null && !search.isEmpty()) {
+            String operationSetExpr = Arrays
+                .asList(SearchOperation.SIMPLE_OPERATION_SET)
+                .stream()
+                .collect(joining("|"));
+            Pattern pattern = Pattern.compile(
+                "(\\w+?)(" + operationSetExpr + ")(\\p{Punct}?)([a-zA-Z0-9-_]+?)(\\p{Punct}?),"
+            );
+            Matcher matcher = pattern.matcher(search + ",");
+            while (matcher.find()) {
+                builder.with(matcher.group(1), matcher.group(2), matcher.group(4), matcher.group(3), matcher.group(5));
+            }
+        }
+        if (searchParams.eventTimeFrom() != null) {
+            builder.with("timestamp", ">=", searchParams.eventTimeFrom().getTime(), null, null);
+        }
+        if (searchParams.eventTimeTo() != null) {
+            builder.with("timestamp", "<=", searchParams.eventTimeTo().getTime(), null, null);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Position of the last event of a keyset page, encoded as the opaque cursor handed out to clients.
+ */
+public record EventsKeysetCursor(long timestamp, long id) {
+    private static final String SEPARATOR = ":";
+
+    public String encode() {
+        return Base64
+            .getUrlEncoder()
+            .withoutPadding()
+            .encodeToString((timestamp + SEPARATOR + id).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static EventsKeysetCursor decode(String cursor) {
+        try {
+            String[] position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII)
+                .split(SEPARATOR);
+            if (position.length != 2) {
+                throw new IllegalArgumentException("Expected timestamp and id");
+            }
+            return new EventsKeysetCursor(Long.parseLong(position[0]), Long.parseLong(position[1]));
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid events cursor: " + cursor, e);
+        }
+    }
+}
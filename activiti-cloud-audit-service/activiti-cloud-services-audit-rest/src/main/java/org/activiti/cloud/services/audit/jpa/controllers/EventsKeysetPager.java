@@ -0,0 +1,200 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controllers;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Reads audit events page by page in (timestamp, id) order, resuming after the last event of the previous page
+ * instead of skipping an offset, so that deep pages cost the same as the first one. No total count is computed; one
+ * extra event is fetched to tell whether another page follows. Events without a timestamp are not returned.
+ */
+public class EventsKeysetPager {
+
+    public static final int DEFAULT_MAX_ITEMS = 100;
+
+    public static final int MAX_ITEMS_LIMIT = 1000;
+
+    private final EventsRepository<AuditEventEntity> eventsRepository;
+
+    private final EntityManager entityManager;
+
+    public EventsKeysetPager(EventsRepository<AuditEventEntity> eventsRepository, EntityManager entityManager) {
+        this.eventsRepository = eventsRepository;
+        this.entityManager = entityManager;
+    }
+
+    public KeysetPage<AuditEventEntity> findPage(Specification<AuditEventEntity> spec, KeysetParams keysetParams) {
+        int maxItems = maxItems(keysetParams);
+        Sort.Direction direction = direction(keysetParams);
+
+        List<AuditEventEntity> events = eventsRepository.findBy(
+            Specification.where(spec).and(position(keysetParams, direction)),
+            query -> query.sortBy(Sort.by(direction, "timestamp", "id")).limit(maxItems + 1).all()
+        );
+
+        if (events.size() <= maxItems) {
+            return new KeysetPage<>(events, null);
+        }
+        List<AuditEventEntity> entries = events.subList(0, maxItems);
+        AuditEventEntity last = entries.get(maxItems - 1);
+        return new KeysetPage<>(entries, new EventsKeysetCursor(last.getTimestamp(), last.getId()).encode());
+    }
+
+    /**
+     * Same paging as {@link #findPage}, but only the header columns are selected, so the payload columns are neither
+     * read from the database nor deserialized.
+     */
+    public KeysetPage<AuditEventHeader> findHeaderPage(
+        Specification<AuditEventEntity> spec,
+        KeysetParams keysetParams
+    ) {
+        int maxItems = maxItems(keysetParams);
+        Sort.Direction direction = direction(keysetParams);
+
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = criteriaBuilder.createTupleQuery();
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        query.multiselect(
+            root.get("id").alias("id"),
+            root.get("eventId").alias("eventId"),
+            root.get("timestamp").alias("timestamp"),
+            root.get("eventType").alias("eventType"),
+            root.get("appName").alias("appName"),
+            root.get("serviceFullName").alias("serviceFullName"),
+            root.get("processDefinitionId").alias("processDefinitionId"),
+            root.get("processDefinitionKey").alias("processDefinitionKey"),
+            root.get("processInstanceId").alias("processInstanceId"),
+            root.get("parentProcessInstanceId").alias("parentProcessInstanceId"),
+            root.get("entityId").alias("entityId"),
+            root.get("businessKey").alias("businessKey")
+        );
+        Predicate predicate = Specification
+            .where(spec)
+            .and(position(keysetParams, direction))
+            .toPredicate(root, query, criteriaBuilder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(
+            direction.isAscending()
+                ? List.of(criteriaBuilder.asc(root.get("timestamp")), criteriaBuilder.asc(root.get("id")))
+                : List.of(criteriaBuilder.desc(root.get("timestamp")), criteriaBuilder.desc(root.get("id")))
+        );
+
+        List<Tuple> rows = entityManager.createQuery(query).setMaxResults(maxItems + 1).getResultList();
+
+        List<AuditEventHeader> entries = rows.stream().limit(maxItems).map(EventsKeysetPager::toHeader).toList();
+        if (rows.size() <= maxItems) {
+            return new KeysetPage<>(entries, null);
+        }
+        Tuple last = rows.get(maxItems - 1);
+        return new KeysetPage<>(
+            entries,
+            new EventsKeysetCursor(last.get("timestamp", Long.class), last.get("id", Long.class)).encode()
+        );
+    }
+
+    private static AuditEventHeader toHeader(Tuple row) {
+        return new AuditEventHeader(
+            row.get("eventId", String.class),
+            row.get("timestamp", Long.class),
+            row.get("eventType", String.class),
+            row.get("appName", String.class),
+            row.get("serviceFullName", String.class),
+            row.get("processDefinitionId", String.class),
+            row.get("processDefinitionKey", String.class),
+            row.get("processInstanceId", String.class),
+            row.get("parentProcessInstanceId", String.class),
+            row.get("entityId", String.class),
+            row.get("businessKey", String.class)
+        );
+    }
+
+    private static int maxItems(KeysetParams keysetParams) {
+        int maxItems = Optional.ofNullable(keysetParams.maxItems()).orElse(DEFAULT_MAX_ITEMS);
+        if (maxItems < 1 || maxItems > MAX_ITEMS_LIMIT) {
+            throw new ResponseStatusException(
+                HttpStatus.BAD_REQUEST,
+                "maxItems must be between 1 and " + MAX_ITEMS_LIMIT
+            );
+        }
+        return maxItems;
+    }
+
+    private static Sort.Direction direction(KeysetParams keysetParams) {
+        return Optional.ofNullable(keysetParams.direction()).orElse(Sort.Direction.DESC);
+    }
+
+    private static Specification<AuditEventEntity> position(KeysetParams keysetParams, Sort.Direction direction) {
+        return keysetParams.cursor() == null
+            ? hasTimestamp()
+            : after(EventsKeysetCursor.decode(keysetParams.cursor()), direction);
+    }
+
+    private static Specification<AuditEventEntity> hasTimestamp() {
+        return (root, query, criteriaBuilder) -> criteriaBuilder.isNotNull(root.get("timestamp"));
+    }
+
+    /**
+     * The redundant bound on the timestamp alone gives the database an index range to start from.
+     */
+    private static Specification<AuditEventEntity> after(EventsKeysetCursor cursor, Sort.Direction direction) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> timestamp = root.get("timestamp");
+            Path<Long> id = root.get("id");
+            if (direction.isAscending()) {
+                return criteriaBuilder.and(
+                    criteriaBuilder.greaterThanOrEqualTo(timestamp, cursor.timestamp()),
+                    criteriaBuilder.or(
+                        criteriaBuilder.greaterThan(timestamp, cursor.timestamp()),
+                        criteriaBuilder.and(
+                            criteriaBuilder.equal(timestamp, cursor.timestamp()),
+                            criteriaBuilder.greaterThan(id, cursor.id())
+                        )
+                    )
+                );
+            }
+            return criteriaBuilder.and(
+                criteriaBuilder.lessThanOrEqualTo(timestamp, cursor.timestamp()),
+                criteriaBuilder.or(
+                    criteriaBuilder.lessThan(timestamp, cursor.timestamp()),
+                    criteriaBuilder.and(
+                        criteriaBuilder.equal(timestamp, cursor.timestamp()),
+                        criteriaBuilder.lessThan(id, cursor.id())
+                    )
+                )
+            );
+        };
+    }
+}
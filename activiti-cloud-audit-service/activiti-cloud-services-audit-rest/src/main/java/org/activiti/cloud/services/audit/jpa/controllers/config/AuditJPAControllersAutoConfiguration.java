@@ -15,18 +15,33 @@
  */
 package org.activiti.cloud.services.audit.jpa.controllers.config;
 
+import jakarta.persistence.EntityManager;
+import java.time.Duration;
 import org.activiti.cloud.services.audit.jpa.assembler.config.EventRepresentationModelAssemblerConfiguration;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventRollupsAdminControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsAdminControllerImpl;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsArchiveAdminController;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsControllerImpl;
 import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsDeleteController;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsDeleteJobController;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditSearchExceptionHandler;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditTimelineAdminControllerImpl;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsDeleteJobRepository;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.activiti.cloud.services.audit.jpa.service.AuditEventRollupsService;
 import org.activiti.cloud.services.audit.jpa.service.AuditEventsAdminService;
+import org.activiti.cloud.services.audit.jpa.service.AuditEventsDeleteJobService;
+import org.activiti.cloud.services.audit.jpa.service.AuditTimelineService;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
 import org.springframework.data.rest.core.config.RepositoryRestConfiguration;
 import org.springframework.data.rest.webmvc.config.RepositoryRestConfigurer;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 
 @AutoConfiguration
@@ -36,6 +51,11 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
         AuditEventsAdminControllerImpl.class,
         AuditEventsControllerImpl.class,
         AuditEventsDeleteController.class,
+        AuditEventsDeleteJobController.class,
+        AuditEventRollupsAdminControllerImpl.class,
+        AuditTimelineAdminControllerImpl.class,
+        AuditEventsArchiveAdminController.class,
+        AuditSearchExceptionHandler.class
     }
 )
 public class AuditJPAControllersAutoConfiguration {
@@ -52,7 +72,38 @@ public class AuditJPAControllersAutoConfiguration {
     }
 
     @Bean
-    public AuditEventsAdminService auditEventsAdminService(EventsRepository eventsRepository) {
-        return new AuditEventsAdminService(eventsRepository);
+    public AuditEventsAdminService auditEventsAdminService(
+        EventsRepository eventsRepository,
+        EntityManager entityManager
+    ) {
+        return new AuditEventsAdminService(eventsRepository, entityManager);
+    }
+
+    @Bean
+    public AuditEventRollupsService auditEventRollupsService(AuditEventRollupRepository rollupRepository) {
+        return new AuditEventRollupsService(rollupRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "activiti.rest.enable-deletion", matchIfMissing = true)
+    public AuditEventsDeleteJobService auditEventsDeleteJobService(
+        AuditEventsDeleteJobRepository deleteJobRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        @Value("${activiti.cloud.services.audit.delete-jobs.chunk-size:1000}") int chunkSize,
+        @Value("${activiti.cloud.services.audit.delete-jobs.stale-timeout:5m}") Duration staleTimeout
+    ) {
+        return new AuditEventsDeleteJobService(
+            deleteJobRepository,
+            entityManager,
+            transactionManager,
+            chunkSize,
+            staleTimeout
+        );
+    }
+
+    @Bean
+    public AuditTimelineService auditTimelineService(EventsRepository eventsRepository, EntityManager entityManager) {
+        return new AuditTimelineService(eventsRepository, entityManager);
     }
 }
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import jakarta.persistence.criteria.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.activiti.cloud.services.audit.api.rollups.EventRollup;
+import org.activiti.cloud.services.audit.api.rollups.RollupGranularity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupId;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Answers count queries from the hourly rollup rows written by the consumer, so that the cost depends on the number
+ * of buckets in the range and not on the number of audit events.
+ */
+public class AuditEventRollupsService {
+
+    private static final Comparator<EventRollup> ORDER = Comparator
+        .comparingLong(EventRollup::bucketStart)
+        .thenComparing(EventRollup::eventType)
+        .thenComparing(EventRollup::appName, Comparator.nullsFirst(Comparator.naturalOrder()))
+        .thenComparing(EventRollup::processDefinitionKey, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final AuditEventRollupRepository rollupRepository;
+
+    public AuditEventRollupsService(AuditEventRollupRepository rollupRepository) {
+        this.rollupRepository = rollupRepository;
+    }
+
+    /**
+     * @return the counts of the buckets overlapping [from, to), ordered by bucket, event type, application and process
+     * definition key
+     */
+    @Transactional(readOnly = true)
+    public List<EventRollup> findRollups(
+        long from,
+        long to,
+        RollupGranularity granularity,
+        String eventType,
+        String appName,
+        String processDefinitionKey
+    ) {
+        Specification<AuditEventRollupEntity> spec = Specification
+            .where(inRange(granularity.bucketStart(from), to))
+            .and(idEquals("eventType", eventType))
+            .and(idEquals("appName", appName))
+            .and(idEquals("processDefinitionKey", processDefinitionKey));
+
+        Map<EventRollup, Long> counts = new TreeMap<>(ORDER);
+        for (AuditEventRollupEntity rollup : rollupRepository.findAll(spec, Sort.by("id.bucketStart"))) {
+            AuditEventRollupId id = rollup.getId();
+            EventRollup bucket = new EventRollup(
+                granularity.bucketStart(id.getBucketStart()),
+                id.getEventType(),
+                definedOrNull(id.getAppName()),
+                definedOrNull(id.getProcessDefinitionKey()),
+                0
+            );
+            counts.merge(bucket, rollup.getEventCount(), Long::sum);
+        }
+
+        List<EventRollup> rollups = new ArrayList<>(counts.size());
+        counts.forEach((bucket, count) ->
+            rollups.add(
+                new EventRollup(
+                    bucket.bucketStart(),
+                    bucket.eventType(),
+                    bucket.appName(),
+                    bucket.processDefinitionKey(),
+                    count
+                )
+            )
+        );
+        return rollups;
+    }
+
+    private static Specification<AuditEventRollupEntity> inRange(long from, long to) {
+        return (root, query, criteriaBuilder) -> {
+            Path<Long> bucketStart = root.get("id").get("bucketStart");
+            return criteriaBuilder.and(
+                criteriaBuilder.greaterThanOrEqualTo(bucketStart, from),
+                criteriaBuilder.lessThan(bucketStart, to)
+            );
+        };
+    }
+
+    private static Specification<AuditEventRollupEntity> idEquals(String attribute, String value) {
+        if (value == null) {
+            return null;
+        }
+        return (root, query, criteriaBuilder) -> criteriaBuilder.equal(root.get("id").get(attribute), value);
+    }
+
+    private static String definedOrNull(String value) {
+        return AuditEventRollupId.UNDEFINED.equals(value) ? null : value;
+    }
+}
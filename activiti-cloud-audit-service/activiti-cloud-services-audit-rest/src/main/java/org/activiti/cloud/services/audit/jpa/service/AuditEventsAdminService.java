@@ -15,35 +15,50 @@
  */
 package org.activiti.cloud.services.audit.jpa.service;
 
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
 import java.time.ZoneOffset;
-import java.time.temporal.ChronoUnit;
-import java.util.Collection;
+import java.util.stream.Stream;
 import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.function.ThrowingConsumer;
 
 public class AuditEventsAdminService {
 
     private final EventsRepository eventsRepository;
 
-    public AuditEventsAdminService(EventsRepository eventsRepository) {
+    private final EntityManager entityManager;
+
+    public AuditEventsAdminService(EventsRepository eventsRepository, EntityManager entityManager) {
         this.eventsRepository = eventsRepository;
+        this.entityManager = entityManager;
     }
 
-    public Collection<AuditEventEntity> findAuditsBetweenDates(LocalDate fromDate, LocalDate toDate) {
+    /**
+     * Hands the events between the given dates, most recent first, to the consumer as a stream scrolled from the
+     * database. Each event is detached once read so that the heap used does not depend on the size of the range.
+     */
+    @Transactional(readOnly = true)
+    public void streamAuditsBetweenDates(
+        LocalDate fromDate,
+        LocalDate toDate,
+        ThrowingConsumer<Stream<AuditEventEntity>> consumer
+    ) {
         if (fromDate.isAfter(toDate)) {
             throw new IllegalArgumentException("From date cannot be after to date");
         }
 
-        long daysBetween = ChronoUnit.DAYS.between(fromDate, toDate);
-
-        if (daysBetween > 31) {
-            throw new IllegalArgumentException("Difference between dates cannot be more than 31 days");
-        }
-
         Long startDateTime = fromDate.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
         Long endDateTime = toDate.atStartOfDay().plusDays(1).toInstant(ZoneOffset.UTC).toEpochMilli();
 
-        return eventsRepository.findAllByTimestampBetweenOrderByTimestampDesc(startDateTime, endDateTime);
+        try (
+            Stream<AuditEventEntity> audits = eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(
+                startDateTime,
+                endDateTime
+            )
+        ) {
+            consumer.accept(audits.peek(entityManager::detach));
+        }
     }
 }
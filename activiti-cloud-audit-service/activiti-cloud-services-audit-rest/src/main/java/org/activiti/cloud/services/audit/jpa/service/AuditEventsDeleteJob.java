@@ -0,0 +1,49 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import org.activiti.cloud.services.audit.jpa.events.AuditEventsDeleteJobEntity;
+
+/**
+ * Status of a background deletion as returned to clients. Times are epoch millis.
+ */
+public record AuditEventsDeleteJob(
+    String id,
+    AuditEventsDeleteJobEntity.Status status,
+    String search,
+    Long eventTimeFrom,
+    Long eventTimeTo,
+    long deletedEvents,
+    Long createdAt,
+    Long startedAt,
+    Long finishedAt,
+    String errorMessage
+) {
+    public static AuditEventsDeleteJob of(AuditEventsDeleteJobEntity job) {
+        return new AuditEventsDeleteJob(
+            job.getId(),
+            job.getStatus(),
+            job.getSearch(),
+            job.getEventTimeFrom(),
+            job.getEventTimeTo(),
+            job.getDeletedEvents(),
+            job.getCreatedAt(),
+            job.getStartedAt(),
+            job.getFinishedAt(),
+            job.getErrorMessage()
+        );
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.time.Duration;
+import java.util.Date;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
+import org.activiti.cloud.services.audit.jpa.controllers.EventSearchSpecifications;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventsDeleteJobEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventsDeleteJobEntity.Status;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsDeleteJobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Deletes the audit events matching a search in the background, one job at a time. Each chunk selects the ids of at
+ * most {@code chunkSize} matching events and deletes them with a single statement in its own transaction, so events
+ * are never loaded and a failure only rolls back the current chunk. The job row records the progress after every
+ * chunk. A job interrupted by a shutdown is handed back as pending.
+ * <p>
+ * On startup the service resumes the jobs left behind by stopped instances: the pending ones, and the running ones
+ * whose heartbeat, refreshed after every chunk, is older than {@code staleTimeout}. An instance takes a job over with
+ * a conditional update on its status and heartbeat, so a job is never run by two instances at once.
+ */
+public class AuditEventsDeleteJobService implements SmartInitializingSingleton, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AuditEventsDeleteJobService.class);
+
+    private final AuditEventsDeleteJobRepository jobRepository;
+
+    private final EntityManager entityManager;
+
+    private final TransactionTemplate transactionTemplate;
+
+    private final int chunkSize;
+
+    private final Duration staleTimeout;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "audit-events-delete-job");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public AuditEventsDeleteJobService(
+        AuditEventsDeleteJobRepository jobRepository,
+        EntityManager entityManager,
+        PlatformTransactionManager transactionManager,
+        int chunkSize,
+        Duration staleTimeout
+    ) {
+        this.jobRepository = jobRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = chunkSize;
+        this.staleTimeout = staleTimeout;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        resumeOrphanedJobs();
+    }
+
+    void resumeOrphanedJobs() {
+        long staleBefore = System.currentTimeMillis() - staleTimeout.toMillis();
+        List<AuditEventsDeleteJobEntity> unfinished = jobRepository.findByStatusIn(
+            EnumSet.of(Status.PENDING, Status.RUNNING)
+        );
+        for (AuditEventsDeleteJobEntity job : unfinished) {
+            long heartbeat = job.getHeartbeatAt() != null ? job.getHeartbeatAt() : 0;
+            if (job.getStatus() == Status.PENDING || heartbeat < staleBefore) {
+                LOGGER.info("Resuming audit events delete job {} found {}", job.getId(), job.getStatus());
+                executor.execute(() -> run(job.getId(), job.getStatus(), heartbeat));
+            }
+        }
+    }
+
+    public AuditEventsDeleteJob submit(SearchParams searchParams) {
+        if (searchParams.eventTimeFrom() == null || searchParams.eventTimeTo() == null) {
+            throw new IllegalArgumentException("Both eventTimeFrom and eventTimeTo are required");
+        }
+        if (searchParams.eventTimeFrom().after(searchParams.eventTimeTo())) {
+            throw new IllegalArgumentException("From date cannot be after to date");
+        }
+        AuditEventsDeleteJobEntity job = transactionTemplate.execute(status ->
+            jobRepository.save(
+                new AuditEventsDeleteJobEntity(
+                    UUID.randomUUID().toString(),
+                    searchParams.search(),
+                    searchParams.eventTimeFrom().getTime(),
+                    searchParams.eventTimeTo().getTime(),
+                    System.currentTimeMillis()
+                )
+            )
+        );
+        executor.execute(() -> run(job.getId(), Status.PENDING, job.getHeartbeatAt()));
+        return AuditEventsDeleteJob.of(job);
+    }
+
+    public Optional<AuditEventsDeleteJob> find(String jobId) {
+        return jobRepository.findById(jobId).map(AuditEventsDeleteJob::of);
+    }
+
+    private void run(String jobId, Status expectedStatus, long expectedHeartbeat) {
+        if (!claim(jobId, expectedStatus, expectedHeartbeat)) {
+            LOGGER.debug("Audit events delete job {} was taken over by another instance", jobId);
+            return;
+        }
+        AuditEventsDeleteJobEntity job = jobRepository.findById(jobId).orElseThrow();
+        Specification<AuditEventEntity> spec = EventSearchSpecifications.fromSearchParams(
+            new SearchParams(job.getSearch(), new Date(job.getEventTimeFrom()), new Date(job.getEventTimeTo()))
+        );
+        try {
+            int deleted;
+            do {
+                if (Thread.interrupted()) {
+                    LOGGER.info("Audit events delete job {} interrupted by shutdown", jobId);
+                    updateJob(jobId, running -> running.release(System.currentTimeMillis()));
+                    return;
+                }
+                deleted = transactionTemplate.execute(status -> deleteChunk(jobId, spec));
+            } while (deleted == chunkSize);
+            updateJob(jobId, running -> running.complete(System.currentTimeMillis()));
+        } catch (RuntimeException e) {
+            LOGGER.error("Audit events delete job {} failed", jobId, e);
+            updateJob(jobId, running -> running.fail(System.currentTimeMillis(), e.getMessage()));
+        }
+    }
+
+    private int deleteChunk(String jobId, Specification<AuditEventEntity> spec) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> query = criteriaBuilder.createQuery(Long.class);
+        Root<AuditEventEntity> root = query.from(AuditEventEntity.class);
+        query.select(root.<Long>get("id")).where(spec.toPredicate(root, query, criteriaBuilder));
+        List<Long> ids = entityManager.createQuery(query).setMaxResults(chunkSize).getResultList();
+
+        if (!ids.isEmpty()) {
+            entityManager
+                .createQuery("delete from AuditEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+        }
+        jobRepository.findById(jobId).orElseThrow().addDeletedEvents(ids.size(), System.currentTimeMillis());
+        return ids.size();
+    }
+
+    private boolean claim(String jobId, Status expectedStatus, long expectedHeartbeat) {
+        long now = System.currentTimeMillis();
+        Integer claimed = transactionTemplate.execute(status ->
+            entityManager
+                .createQuery(
+                    "update AuditEventsDeleteJob j set j.status = :running, j.heartbeatAt = :now, " +
+                    "j.startedAt = coalesce(j.startedAt, :now) where j.id = :id and j.status = :expectedStatus " +
+                    "and coalesce(j.heartbeatAt, 0L) = :expectedHeartbeat"
+                )
+                .setParameter("running", Status.RUNNING)
+                .setParameter("now", now)
+                .setParameter("id", jobId)
+                .setParameter("expectedStatus", expectedStatus)
+                .setParameter("expectedHeartbeat", expectedHeartbeat)
+                .executeUpdate()
+        );
+        return claimed != null && claimed == 1;
+    }
+
+    private AuditEventsDeleteJobEntity updateJob(String jobId, Consumer<AuditEventsDeleteJobEntity> update) {
+        return transactionTemplate.execute(status -> {
+            AuditEventsDeleteJobEntity job = jobRepository.findById(jobId).orElseThrow();
+            update.accept(job);
+            return job;
+        });
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
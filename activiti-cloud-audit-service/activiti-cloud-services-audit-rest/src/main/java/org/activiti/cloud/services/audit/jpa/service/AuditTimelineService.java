@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimeline;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimelineEntry;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Reads the timeline of a process instance from the header columns only, so that the query is answered from the
+ * covering index on (process_instance_id, timestamp, id) without touching the event payloads. Subprocess instances
+ * are found level by level through parent_process_instance_id.
+ */
+public class AuditTimelineService {
+
+    public static final int MAX_PROCESS_INSTANCES = 1000;
+
+    public static final int MAX_SUBPROCESS_DEPTH = 32;
+
+    private static final String TIMELINE_QUERY =
+        "select timestamp, event_type, process_instance_id, entity_id, task_name, variable_name from audit_event " +
+        "where process_instance_id in (:processInstanceIds) order by timestamp, id";
+
+    private final EventsRepository<AuditEventEntity> eventsRepository;
+
+    private final EntityManager entityManager;
+
+    public AuditTimelineService(EventsRepository<AuditEventEntity> eventsRepository, EntityManager entityManager) {
+        this.eventsRepository = eventsRepository;
+        this.entityManager = entityManager;
+    }
+
+    @Transactional(readOnly = true)
+    public AuditTimeline findTimeline(String processInstanceId, boolean includeSubprocesses, int maxItems) {
+        Set<String> processInstanceIds = new LinkedHashSet<>(List.of(processInstanceId));
+        boolean truncated = includeSubprocesses && !addSubprocessInstanceIds(processInstanceIds);
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager
+            .createNativeQuery(TIMELINE_QUERY)
+            .setParameter("processInstanceIds", processInstanceIds)
+            .setMaxResults(maxItems + 1)
+            .getResultList();
+
+        List<AuditTimelineEntry> entries = new ArrayList<>(Math.min(rows.size(), maxItems));
+        for (Object[] row : rows.subList(0, Math.min(rows.size(), maxItems))) {
+            entries.add(
+                new AuditTimelineEntry(
+                    row[0] != null ? ((Number) row[0]).longValue() : null,
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    row[4] != null ? (String) row[4] : (String) row[5]
+                )
+            );
+        }
+        return new AuditTimeline(processInstanceId, entries, truncated || rows.size() > maxItems);
+    }
+
+    /**
+     * @return whether the whole subprocess tree was added within the instance and depth limits
+     */
+    private boolean addSubprocessInstanceIds(Set<String> processInstanceIds) {
+        Set<String> parents = Set.copyOf(processInstanceIds);
+        for (int depth = 0; !parents.isEmpty(); depth++) {
+            Set<String> children = new LinkedHashSet<>(eventsRepository.findChildProcessInstanceIds(parents));
+            children.removeAll(processInstanceIds);
+            if (children.isEmpty()) {
+                return true;
+            }
+            if (depth == MAX_SUBPROCESS_DEPTH) {
+                return false;
+            }
+            for (String child : children) {
+                if (processInstanceIds.size() == MAX_PROCESS_INSTANCES) {
+                    return false;
+                }
+                processInstanceIds.add(child);
+            }
+            parents = children;
+        }
+        return true;
+    }
+}
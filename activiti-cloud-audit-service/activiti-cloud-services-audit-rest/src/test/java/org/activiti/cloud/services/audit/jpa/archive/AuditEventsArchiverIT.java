@@ -0,0 +1,181 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.archive;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.services.audit.jpa.AuditTestConfiguration;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+@SpringBootTest(
+    properties = {
+        "spring.main.banner-mode=off",
+        "activiti.cloud.services.audit.archive.enabled=true",
+        "activiti.cloud.services.audit.archive.max-age=30d",
+        "activiti.cloud.services.audit.archive.delete-chunk-size=2",
+        "activiti.cloud.services.audit.archive.check-interval=365d",
+    }
+)
+@Import({ AlfrescoWebAutoConfiguration.class, AuditTestConfiguration.class })
+class AuditEventsArchiverIT {
+
+    @TempDir
+    static Path archivePath;
+
+    @DynamicPropertySource
+    static void archiveProperties(DynamicPropertyRegistry registry) {
+        registry.add("activiti.cloud.services.audit.archive.path", () -> archivePath.toString());
+    }
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private AuditEventsArchiver archiver;
+
+    @Autowired
+    private AuditEventsArchive archive;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @AfterEach
+    void cleanUp() {
+        eventsRepository.deleteAll();
+    }
+
+    @Test
+    void should_archiveOldBucketsAndDeleteTheirEvents_when_archiverRuns() throws Exception {
+        long recent = System.currentTimeMillis();
+        eventsRepository.saveAll(
+            List.of(
+                event("e3", "2020-01-01T23:59:59Z"),
+                event("e1", "2020-01-01T00:00:00Z"),
+                event("e2", "2020-01-01T12:00:00Z"),
+                event(null, "2020-01-01T12:00:00Z"),
+                event("e4", "2020-01-02T10:00:00Z"),
+                event("e5", Instant.ofEpochMilli(recent).toString())
+            )
+        );
+
+        archiver.archive();
+
+        assertThat(eventsRepository.findAll())
+            .extracting(AuditEventEntity::getEventId)
+            .containsExactlyInAnyOrder(null, "e5");
+        assertThat(archive.entries("2020-01-01"))
+            .extracting(AuditEventsArchiveEntry::events, AuditEventsArchiveEntry::status)
+            .containsExactly(tuple(3L, AuditEventsArchiveEntry.Status.DELETED));
+        assertThat(archive.entries("2020-01-02"))
+            .extracting(AuditEventsArchiveEntry::events, AuditEventsArchiveEntry::status)
+            .containsExactly(tuple(1L, AuditEventsArchiveEntry.Status.DELETED));
+
+        AuditEventsArchiveEntry entry = archive.entries("2020-01-01").get(0);
+        assertThat(entry.eventTimeFrom()).isEqualTo(Instant.parse("2020-01-01T00:00:00Z").toEpochMilli());
+        assertThat(entry.eventTimeTo()).isEqualTo(Instant.parse("2020-01-02T00:00:00Z").toEpochMilli());
+        assertThat(entry.file()).startsWith("2020/01/");
+        byte[] content = Files.readAllBytes(archivePath.resolve(entry.file()));
+        assertThat(entry.bytes()).isEqualTo(content.length);
+        assertThat(entry.sha256())
+            .isEqualTo(HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content)));
+
+        assertThat(readBucketEventIds("2020-01-01")).containsExactly("e1", "e2", "e3");
+    }
+
+    @Test
+    void should_refuseReadBack_when_archiveFileIsCorrupted() throws Exception {
+        eventsRepository.save(event("e6", "2020-02-01T08:00:00Z"));
+        archiver.archive();
+        AuditEventsArchiveEntry entry = archive.entries("2020-02-01").get(0);
+        Files.write(archivePath.resolve(entry.file()), new byte[] { 0x1f, (byte) 0x8b });
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        assertThatThrownBy(() -> archive.read("2020-02-01", output))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining(entry.file());
+        assertThat(output.size()).isZero();
+    }
+
+    @Test
+    void should_keepEventsOfUnknownTypeAndArchiveTheOthers_when_noConverterMatches() throws Exception {
+        AuditEventEntity unknown = event("e7", "2020-03-01T08:00:00Z");
+        unknown.setEventType("UNKNOWN_EVENT");
+        eventsRepository.saveAll(List.of(unknown, event("e8", "2020-03-01T09:00:00Z")));
+
+        archiver.archive();
+
+        assertThat(eventsRepository.findAll()).extracting(AuditEventEntity::getEventId).containsExactly("e7");
+        assertThat(archive.entries("2020-03-01"))
+            .extracting(AuditEventsArchiveEntry::events, AuditEventsArchiveEntry::status)
+            .containsExactly(tuple(1L, AuditEventsArchiveEntry.Status.DELETED));
+        assertThat(readBucketEventIds("2020-03-01")).containsExactly("e8");
+    }
+
+    private List<String> readBucketEventIds(String bucket) throws Exception {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        archive.read(bucket, output);
+        return output
+            .toString(StandardCharsets.UTF_8)
+            .lines()
+            .map(line -> {
+                try {
+                    return objectMapper.readTree(line).path("id").asText();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            })
+            .toList();
+    }
+
+    private AuditEventEntity event(String eventId, String timestamp) {
+        AuditEventEntity event = new ProcessStartedAuditEventEntity();
+        event.setEventId(eventId);
+        event.setTimestamp(Instant.parse(timestamp).toEpochMilli());
+        event.setEventType("PROCESS_STARTED");
+        return event;
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.Writer;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.activiti.cloud.services.audit.api.converters.APIEventToEntityConverters;
+import org.activiti.cloud.services.audit.api.converters.CloudRuntimeEventType;
+import org.activiti.cloud.services.audit.jpa.controllers.AuditEventsExporter;
+import org.activiti.cloud.services.audit.jpa.converters.EventContextInfoAppender;
+import org.activiti.cloud.services.audit.jpa.converters.ProcessStartedEventConverter;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.benchmark.BenchmarkDefaults;
+import org.activiti.cloud.services.benchmark.BenchmarkRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.RunnerException;
+
+/**
+ * Measures a full CSV export of {@code events} audit events through the same conversion and
+ * {@link AuditEventsExporter#writeEventsAsCsv} path as the admin export endpoint. Entities are generated lazily as the
+ * stream is consumed, the way the repository scroll hands them over, and the CSV goes to a writer that only counts
+ * characters. The fork runs with a 64 MB heap: exporting millions of events only completes if the heap held by the
+ * export stays flat, whatever the number of events, hence single shots in milliseconds rather than the default
+ * settings.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = "-Xmx64m")
+public class AuditEventsExportBenchmark extends BenchmarkDefaults {
+
+    @Param({ "100000", "1000000", "5000000" })
+    private int events;
+
+    private AuditEventsExporter exporter;
+
+    private APIEventToEntityConverters converters;
+
+    @Setup
+    public void setUp() {
+        exporter = new AuditEventsExporter(new ObjectMapper());
+        converters =
+            new APIEventToEntityConverters(Set.of(new ProcessStartedEventConverter(new EventContextInfoAppender())));
+    }
+
+    @Benchmark
+    public long exportCsv() throws Exception {
+        CountingWriter writer = new CountingWriter();
+        exporter.writeEventsAsCsv(auditEvents().map(this::toCloudRuntimeEvent), writer);
+        return writer.count.get();
+    }
+
+    private Stream<AuditEventEntity> auditEvents() {
+        AtomicLong sequence = new AtomicLong();
+        return Stream.generate(() -> newAuditEvent(sequence.incrementAndGet())).limit(events);
+    }
+
+    private AuditEventEntity newAuditEvent(long sequence) {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("process-instance-" + sequence);
+        processInstance.setProcessDefinitionId("process-definition");
+        processInstance.setProcessDefinitionKey("processDefinitionKey");
+        processInstance.setName("Process " + sequence);
+        processInstance.setBusinessKey("business-key-" + sequence);
+
+        CloudProcessStartedEventImpl event = new CloudProcessStartedEventImpl(
+            "event-" + sequence,
+            sequence,
+            processInstance
+        );
+        event.setAppName("app");
+        event.setServiceName("rb");
+        event.setSequenceNumber((int) (sequence % 10));
+        return new ProcessStartedAuditEventEntity(event);
+    }
+
+    private CloudRuntimeEvent<?, CloudRuntimeEventType> toCloudRuntimeEvent(AuditEventEntity auditEventEntity) {
+        return converters.getConverterByEventTypeName(auditEventEntity.getEventType()).convertToAPI(auditEventEntity);
+    }
+
+    private static class CountingWriter extends Writer {
+
+        private final AtomicLong count = new AtomicLong();
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            count.addAndGet(length);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(AuditEventsExportBenchmark.class);
+    }
+}
@@ -24,6 +24,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
@@ -92,6 +93,9 @@ class AuditEventsControllerImpWebMvcTest {
     @MockBean
     private EventsRepository eventsRepository;
 
+    @MockBean
+    private EntityManager entityManager;
+
     @Autowired
     private MockMvc mockMvc;
 
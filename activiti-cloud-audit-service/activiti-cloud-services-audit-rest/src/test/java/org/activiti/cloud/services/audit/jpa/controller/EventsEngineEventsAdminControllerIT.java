@@ -26,6 +26,7 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.head;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
+import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
 import org.activiti.api.model.shared.event.VariableEvent;
@@ -91,6 +92,9 @@ class EventsEngineEventsAdminControllerIT {
     @MockBean
     private EventsRepository eventsRepository;
 
+    @MockBean
+    private EntityManager entityManager;
+
     @Autowired
     private MockMvc mockMvc;
 
@@ -125,7 +129,8 @@ class EventsEngineEventsAdminControllerIT {
         List<AuditEventEntity> events = buildEventsData(1);
         events.add(buildVariableAuditEventEntity(2));
 
-        given(eventsRepository.findAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong())).willReturn(events);
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong()))
+            .willReturn(events.stream());
 
         MvcResult response = mockMvc
             .perform(
@@ -0,0 +1,111 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import jakarta.persistence.EntityManager;
+import java.util.stream.LongStream;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.services.audit.api.search.AuditEventHeader;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
+import org.activiti.cloud.services.audit.jpa.AuditTestConfiguration;
+import org.activiti.cloud.services.audit.jpa.controllers.EventSearchSpecifications;
+import org.activiti.cloud.services.audit.jpa.controllers.EventsKeysetPager;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@SpringBootTest(properties = "spring.main.banner-mode=off")
+@Import({ AlfrescoWebAutoConfiguration.class, AuditTestConfiguration.class })
+class EventsKeysetPagerIT {
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    private EventsKeysetPager eventsKeysetPager;
+
+    @BeforeEach
+    void setUp() {
+        eventsKeysetPager = new EventsKeysetPager(eventsRepository, entityManager);
+        eventsRepository.saveAll(LongStream.rangeClosed(1, 5).mapToObj(this::processStarted).toList());
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from audit_event");
+    }
+
+    @Test
+    void should_pageThroughHeaders_without_readingPayloadColumns() {
+        jdbcTemplate.update("update audit_event set process_instance = 'not a JSON document'");
+
+        KeysetPage<AuditEventHeader> firstPage = eventsKeysetPager.findHeaderPage(
+            EventSearchSpecifications.fromSearchParams(new SearchParams(null, null, null)),
+            new KeysetParams(null, 3, Sort.Direction.ASC)
+        );
+        KeysetPage<AuditEventHeader> lastPage = eventsKeysetPager.findHeaderPage(
+            EventSearchSpecifications.fromSearchParams(new SearchParams(null, null, null)),
+            new KeysetParams(firstPage.nextCursor(), 3, Sort.Direction.ASC)
+        );
+
+        assertThat(firstPage.entries()).extracting(AuditEventHeader::timestamp).containsExactly(1000L, 2000L, 3000L);
+        assertThat(firstPage.entries())
+            .extracting(AuditEventHeader::processInstanceId)
+            .containsExactly("process-instance-1", "process-instance-2", "process-instance-3");
+        assertThat(firstPage.nextCursor()).isNotNull();
+        assertThat(lastPage.entries()).extracting(AuditEventHeader::timestamp).containsExactly(4000L, 5000L);
+        assertThat(lastPage.nextCursor()).isNull();
+    }
+
+    private AuditEventEntity processStarted(long index) {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("process-instance-" + index);
+        ProcessStartedAuditEventEntity event = new ProcessStartedAuditEventEntity();
+        event.setEventId("event-" + index);
+        event.setTimestamp(index * 1000);
+        event.setEventType("PROCESS_STARTED");
+        event.setProcessInstanceId(processInstance.getId());
+        event.setProcessInstance(processInstance);
+        return event;
+    }
+}
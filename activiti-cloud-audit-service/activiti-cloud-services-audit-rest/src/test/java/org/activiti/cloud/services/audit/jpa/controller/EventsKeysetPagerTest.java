@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.controller;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.List;
+import org.activiti.cloud.services.audit.api.search.KeysetPage;
+import org.activiti.cloud.services.audit.api.search.KeysetParams;
+import org.activiti.cloud.services.audit.jpa.controllers.EventsKeysetCursor;
+import org.activiti.cloud.services.audit.jpa.controllers.EventsKeysetPager;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.web.server.ResponseStatusException;
+
+class EventsKeysetPagerTest {
+
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    private EventsKeysetPager eventsKeysetPager;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        eventsRepository = mock(EventsRepository.class);
+        eventsKeysetPager = new EventsKeysetPager(eventsRepository, mock(EntityManager.class));
+    }
+
+    @Test
+    void should_returnNextCursorPointingAtLastEntry_when_moreEventsFollow() {
+        doReturn(events(4)).when(eventsRepository).findBy(any(), any());
+
+        KeysetPage<AuditEventEntity> page = eventsKeysetPager.findPage(
+            Specification.where(null),
+            new KeysetParams(null, 3, Sort.Direction.DESC)
+        );
+
+        assertThat(page.entries()).extracting(AuditEventEntity::getId).containsExactly(4L, 3L, 2L);
+        assertThat(page.nextCursor()).isNotNull();
+        assertThat(EventsKeysetCursor.decode(page.nextCursor())).isEqualTo(new EventsKeysetCursor(2000L, 2L));
+    }
+
+    @Test
+    void should_notReturnNextCursor_when_lastPageIsReached() {
+        doReturn(events(2)).when(eventsRepository).findBy(any(), any());
+
+        KeysetPage<AuditEventEntity> page = eventsKeysetPager.findPage(
+            Specification.where(null),
+            new KeysetParams(new EventsKeysetCursor(5000L, 5L).encode(), 3, null)
+        );
+
+        assertThat(page.entries()).hasSize(2);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @Test
+    void should_rejectMaxItems_when_outOfBounds() {
+        assertThatThrownBy(() ->
+                eventsKeysetPager.findPage(Specification.where(null), new KeysetParams(null, 0, null))
+            )
+            .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() ->
+                eventsKeysetPager.findPage(
+                    Specification.where(null),
+                    new KeysetParams(null, EventsKeysetPager.MAX_ITEMS_LIMIT + 1, null)
+                )
+            )
+            .isInstanceOf(ResponseStatusException.class);
+        verifyNoInteractions(eventsRepository);
+    }
+
+    @Test
+    void should_rejectCursor_when_notProducedByPager() {
+        assertThatThrownBy(() ->
+                eventsKeysetPager.findPage(Specification.where(null), new KeysetParams("not-a-cursor", null, null))
+            )
+            .isInstanceOf(ResponseStatusException.class)
+            .hasMessageContaining("Invalid events cursor");
+        verifyNoInteractions(eventsRepository);
+    }
+
+    @Test
+    void should_roundTripCursor() {
+        EventsKeysetCursor cursor = new EventsKeysetCursor(1700000000000L, 42L);
+
+        assertThat(EventsKeysetCursor.decode(cursor.encode())).isEqualTo(cursor);
+    }
+
+    private List<AuditEventEntity> events(int count) {
+        List<AuditEventEntity> events = new ArrayList<>();
+        for (long id = count; id > 0; id--) {
+            ProcessStartedAuditEventEntity event = new ProcessStartedAuditEventEntity();
+            event.setId(id);
+            event.setTimestamp(id * 1000);
+            events.add(event);
+        }
+        return events;
+    }
+}
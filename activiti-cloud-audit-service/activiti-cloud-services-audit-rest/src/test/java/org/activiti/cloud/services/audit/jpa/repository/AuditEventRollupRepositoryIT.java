@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.services.audit.jpa.AuditTestConfiguration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest(properties = "spring.main.banner-mode=off")
+@Import({ AlfrescoWebAutoConfiguration.class, AuditTestConfiguration.class })
+class AuditEventRollupRepositoryIT {
+
+    @Autowired
+    private AuditEventRollupRepository rollupRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("delete from audit_event_rollup");
+    }
+
+    @Test
+    void should_createRollup_and_thenAddToIt_when_mergingOnH2() {
+        transactionTemplate.executeWithoutResult(status ->
+            rollupRepository.mergeEventCountFromValues(3600000L, "PROCESS_STARTED", "app", "process", 2)
+        );
+        transactionTemplate.executeWithoutResult(status ->
+            rollupRepository.mergeEventCountFromValues(3600000L, "PROCESS_STARTED", "app", "process", 3)
+        );
+        transactionTemplate.executeWithoutResult(status ->
+            rollupRepository.mergeEventCountFromValues(3600000L, "PROCESS_STARTED", "app", "other", 1)
+        );
+
+        assertThat(eventCount("process")).isEqualTo(5L);
+        assertThat(eventCount("other")).isEqualTo(1L);
+    }
+
+    private Long eventCount(String processDefinitionKey) {
+        return jdbcTemplate.queryForObject(
+            "select event_count from audit_event_rollup where process_definition_key = ?",
+            Long.class,
+            processDefinitionKey
+        );
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+import java.util.List;
+import org.activiti.cloud.services.audit.api.rollups.EventRollup;
+import org.activiti.cloud.services.audit.api.rollups.RollupGranularity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventRollupId;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventRollupRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+@ExtendWith(MockitoExtension.class)
+class AuditEventRollupsServiceTest {
+
+    private static final long HOUR = AuditEventRollupId.BUCKET_MILLIS;
+
+    private static final long DAY = 24 * HOUR;
+
+    @Mock
+    private AuditEventRollupRepository rollupRepository;
+
+    @InjectMocks
+    private AuditEventRollupsService auditEventRollupsService;
+
+    @Test
+    void should_return_hourly_rollups_as_stored() {
+        // given
+        given(rollupRepository.findAll(any(Specification.class), any(Sort.class)))
+            .willReturn(
+                List.of(
+                    rollup(DAY, "PROCESS_COMPLETED", "app", "process", 3),
+                    rollup(DAY + HOUR, "PROCESS_COMPLETED", "app", "process", 4)
+                )
+            );
+
+        // when
+        List<EventRollup> rollups = auditEventRollupsService.findRollups(
+            DAY,
+            2 * DAY,
+            RollupGranularity.HOUR,
+            "PROCESS_COMPLETED",
+            null,
+            null
+        );
+
+        // then
+        assertThat(rollups)
+            .containsExactly(
+                new EventRollup(DAY, "PROCESS_COMPLETED", "app", "process", 3),
+                new EventRollup(DAY + HOUR, "PROCESS_COMPLETED", "app", "process", 4)
+            );
+    }
+
+    @Test
+    void should_sum_hourly_rollups_into_days() {
+        // given
+        given(rollupRepository.findAll(any(Specification.class), any(Sort.class)))
+            .willReturn(
+                List.of(
+                    rollup(DAY, "PROCESS_COMPLETED", "app", "process", 3),
+                    rollup(DAY, "INTEGRATION_ERROR_RECEIVED", "app", AuditEventRollupId.UNDEFINED, 1),
+                    rollup(DAY + 5 * HOUR, "PROCESS_COMPLETED", "app", "process", 4),
+                    rollup(2 * DAY, "PROCESS_COMPLETED", "app", "process", 2)
+                )
+            );
+
+        // when
+        List<EventRollup> rollups = auditEventRollupsService.findRollups(
+            DAY,
+            3 * DAY,
+            RollupGranularity.DAY,
+            null,
+            null,
+            null
+        );
+
+        // then
+        assertThat(rollups)
+            .containsExactly(
+                new EventRollup(DAY, "INTEGRATION_ERROR_RECEIVED", "app", null, 1),
+                new EventRollup(DAY, "PROCESS_COMPLETED", "app", "process", 7),
+                new EventRollup(2 * DAY, "PROCESS_COMPLETED", "app", "process", 2)
+            );
+    }
+
+    private AuditEventRollupEntity rollup(
+        long bucketStart,
+        String eventType,
+        String appName,
+        String processDefinitionKey,
+        long eventCount
+    ) {
+        return new AuditEventRollupEntity(
+            new AuditEventRollupId(bucketStart, eventType, appName, processDefinitionKey),
+            eventCount
+        );
+    }
+}
@@ -15,12 +15,20 @@
  */
 package org.activiti.cloud.services.audit.jpa.service;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.verify;
 
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Stream;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
 import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -34,6 +42,9 @@ class AuditEventsAdminServiceTest {
     @Mock
     private EventsRepository eventsRepository;
 
+    @Mock
+    private EntityManager entityManager;
+
     @InjectMocks
     private AuditEventsAdminService auditEventsAdminService;
 
@@ -46,7 +57,7 @@ class AuditEventsAdminServiceTest {
         // when
         IllegalArgumentException thrown = assertThrows(
             IllegalArgumentException.class,
-            () -> auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate)
+            () -> auditEventsAdminService.streamAuditsBetweenDates(fromDate, toDate, audits -> {})
         );
 
         // then
@@ -54,31 +65,43 @@ class AuditEventsAdminServiceTest {
     }
 
     @Test
-    void should_throw_exception_when_difference_between_dates_is_more_than_31_days() {
+    void should_stream_events_when_difference_between_dates_is_more_than_31_days() {
         // given
         LocalDate fromDate = LocalDate.of(2020, 1, 1);
-        LocalDate toDate = LocalDate.of(2020, 3, 1);
+        LocalDate toDate = LocalDate.of(2020, 12, 31);
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong()))
+            .willReturn(Stream.empty());
 
         // when
-        IllegalArgumentException thrown = assertThrows(
-            IllegalArgumentException.class,
-            () -> auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate)
-        );
+        auditEventsAdminService.streamAuditsBetweenDates(fromDate, toDate, audits -> assertThat(audits).isEmpty());
 
         // then
-        assertEquals("Difference between dates cannot be more than 31 days", thrown.getMessage());
+        verify(eventsRepository)
+            .streamAllByTimestampBetweenOrderByTimestampDesc(
+                fromDate.atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli(),
+                toDate.plusDays(1).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli()
+            );
     }
 
     @Test
-    void should_return_events_between_dates() {
+    void should_detach_and_close_streamed_events_when_consumed() {
         // given
         LocalDate fromDate = LocalDate.of(2020, 1, 1);
         LocalDate toDate = LocalDate.of(2020, 1, 2);
+        AuditEventEntity event = new ProcessStartedAuditEventEntity();
+        boolean[] closed = { false };
+        given(eventsRepository.streamAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong()))
+            .willReturn(Stream.of(event).onClose(() -> closed[0] = true));
 
         // when
-        auditEventsAdminService.findAuditsBetweenDates(fromDate, toDate);
+        auditEventsAdminService.streamAuditsBetweenDates(
+            fromDate,
+            toDate,
+            audits -> assertThat(audits.toList()).isEqualTo(List.of(event))
+        );
 
         // then
-        verify(eventsRepository).findAllByTimestampBetweenOrderByTimestampDesc(anyLong(), anyLong());
+        verify(entityManager).detach(event);
+        assertThat(closed[0]).isTrue();
     }
 }
@@ -0,0 +1,145 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+import java.util.Date;
+import java.util.List;
+import java.util.stream.LongStream;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.services.audit.api.search.SearchParams;
+import org.activiti.cloud.services.audit.jpa.AuditTestConfiguration;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventsDeleteJobEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.AuditEventsDeleteJobRepository;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@SpringBootTest(
+    properties = { "spring.main.banner-mode=off", "activiti.cloud.services.audit.delete-jobs.chunk-size=2" }
+)
+@Import({ AlfrescoWebAutoConfiguration.class, AuditTestConfiguration.class })
+class AuditEventsDeleteJobServiceIT {
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private AuditEventsDeleteJobService deleteJobService;
+
+    @Autowired
+    private AuditEventsDeleteJobRepository deleteJobRepository;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @AfterEach
+    void cleanUp() {
+        eventsRepository.deleteAll();
+        deleteJobRepository.deleteAll();
+    }
+
+    @Test
+    void should_deleteMatchingEventsInChunks_when_jobRuns() {
+        eventsRepository.saveAll(
+            LongStream.rangeClosed(1, 7).mapToObj(second -> event(second * 1000, "PROCESS_STARTED")).toList()
+        );
+        eventsRepository.save(event(3500, "PROCESS_COMPLETED"));
+
+        AuditEventsDeleteJob job = deleteJobService.submit(
+            new SearchParams("eventType:PROCESS_STARTED", new Date(2000), new Date(6000))
+        );
+
+        assertThat(job.status()).isEqualTo(AuditEventsDeleteJobEntity.Status.PENDING);
+        await()
+            .untilAsserted(() ->
+                assertThat(deleteJobService.find(job.id()))
+                    .hasValueSatisfying(finished -> {
+                        assertThat(finished.status()).isEqualTo(AuditEventsDeleteJobEntity.Status.COMPLETED);
+                        assertThat(finished.deletedEvents()).isEqualTo(5);
+                    })
+            );
+        assertThat(eventsRepository.findAll())
+            .extracting(AuditEventEntity::getTimestamp)
+            .containsExactlyInAnyOrder(1000L, 3500L, 7000L);
+    }
+
+    @Test
+    void should_resumeJobsLeftBehind_when_pendingOrRunningWithStaleHeartbeat() {
+        eventsRepository.saveAll(
+            LongStream.rangeClosed(1, 3).mapToObj(second -> event(second * 1000, "PROCESS_STARTED")).toList()
+        );
+        AuditEventsDeleteJobEntity pending = new AuditEventsDeleteJobEntity("pending-job", null, 1000L, 1000L, 0L);
+        AuditEventsDeleteJobEntity stale = new AuditEventsDeleteJobEntity("stale-job", null, 2000L, 2000L, 0L);
+        ReflectionTestUtils.setField(stale, "status", AuditEventsDeleteJobEntity.Status.RUNNING);
+        AuditEventsDeleteJobEntity alive = new AuditEventsDeleteJobEntity(
+            "alive-job",
+            null,
+            3000L,
+            3000L,
+            System.currentTimeMillis()
+        );
+        ReflectionTestUtils.setField(alive, "status", AuditEventsDeleteJobEntity.Status.RUNNING);
+        deleteJobRepository.saveAll(List.of(pending, stale, alive));
+
+        deleteJobService.resumeOrphanedJobs();
+
+        await()
+            .untilAsserted(() ->
+                assertThat(List.of("pending-job", "stale-job"))
+                    .allSatisfy(jobId ->
+                        assertThat(deleteJobService.find(jobId))
+                            .hasValueSatisfying(job -> {
+                                assertThat(job.status()).isEqualTo(AuditEventsDeleteJobEntity.Status.COMPLETED);
+                                assertThat(job.deletedEvents()).isEqualTo(1);
+                            })
+                    )
+            );
+        assertThat(deleteJobService.find("alive-job"))
+            .hasValueSatisfying(job -> assertThat(job.status()).isEqualTo(AuditEventsDeleteJobEntity.Status.RUNNING));
+        assertThat(eventsRepository.findAll()).extracting(AuditEventEntity::getTimestamp).containsExactly(3000L);
+    }
+
+    @Test
+    void should_rejectJob_when_rangeIsMissing() {
+        assertThatThrownBy(() -> deleteJobService.submit(new SearchParams(null, new Date(2000), null)))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> deleteJobService.submit(new SearchParams(null, new Date(2000), new Date(1000))))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private AuditEventEntity event(long timestamp, String eventType) {
+        AuditEventEntity event = new ProcessStartedAuditEventEntity();
+        event.setTimestamp(timestamp);
+        event.setEventType(eventType);
+        return event;
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.audit.jpa.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimeline;
+import org.activiti.cloud.services.audit.api.timeline.AuditTimelineEntry;
+import org.activiti.cloud.services.audit.jpa.AuditTestConfiguration;
+import org.activiti.cloud.services.audit.jpa.events.AuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.ProcessStartedAuditEventEntity;
+import org.activiti.cloud.services.audit.jpa.events.TaskCreatedEventEntity;
+import org.activiti.cloud.services.audit.jpa.repository.EventsRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.UserDetailsService;
+
+@SpringBootTest(properties = "spring.main.banner-mode=off")
+@Import({ AlfrescoWebAutoConfiguration.class, AuditTestConfiguration.class })
+class AuditTimelineServiceIT {
+
+    @Autowired
+    private EventsRepository<AuditEventEntity> eventsRepository;
+
+    @Autowired
+    private AuditTimelineService timelineService;
+
+    @MockBean
+    private UserDetailsService userDetailsService;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @BeforeEach
+    void setUp() {
+        eventsRepository.save(processStarted(1000, "parent", null));
+        eventsRepository.save(taskCreated(3000, "parent", "task1", "Review"));
+        eventsRepository.save(processStarted(2000, "child", "parent"));
+        eventsRepository.save(taskCreated(4000, "child", "task2", "Approve"));
+        eventsRepository.save(processStarted(2500, "grandchild", "child"));
+        eventsRepository.save(processStarted(1500, "other", null));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventsRepository.deleteAll();
+    }
+
+    @Test
+    void should_returnOrderedEntriesOfTheInstanceOnly_when_subprocessesAreExcluded() {
+        AuditTimeline timeline = timelineService.findTimeline("parent", false, 10);
+
+        assertThat(timeline.processInstanceId()).isEqualTo("parent");
+        assertThat(timeline.truncated()).isFalse();
+        assertThat(timeline.entries())
+            .extracting(AuditTimelineEntry::timestamp, AuditTimelineEntry::eventType, AuditTimelineEntry::summary)
+            .containsExactly(
+                tuple(1000L, "PROCESS_STARTED", null),
+                tuple(3000L, "TASK_CREATED", "Review")
+            );
+    }
+
+    @Test
+    void should_includeTheWholeSubprocessTree_when_subprocessesAreIncluded() {
+        AuditTimeline timeline = timelineService.findTimeline("parent", true, 10);
+
+        assertThat(timeline.truncated()).isFalse();
+        assertThat(timeline.entries())
+            .extracting(AuditTimelineEntry::processInstanceId)
+            .containsExactly("parent", "child", "grandchild", "parent", "child");
+    }
+
+    @Test
+    void should_markTimelineAsTruncated_when_maxItemsIsReached() {
+        AuditTimeline timeline = timelineService.findTimeline("parent", true, 3);
+
+        assertThat(timeline.truncated()).isTrue();
+        assertThat(timeline.entries()).extracting(AuditTimelineEntry::timestamp).containsExactly(1000L, 2000L, 2500L);
+    }
+
+    private AuditEventEntity processStarted(long timestamp, String processInstanceId, String parentId) {
+        AuditEventEntity event = new ProcessStartedAuditEventEntity();
+        event.setTimestamp(timestamp);
+        event.setEventType("PROCESS_STARTED");
+        event.setProcessInstanceId(processInstanceId);
+        event.setParentProcessInstanceId(parentId);
+        event.setEntityId(processInstanceId);
+        return event;
+    }
+
+    private AuditEventEntity taskCreated(long timestamp, String processInstanceId, String taskId, String taskName) {
+        TaskCreatedEventEntity event = new TaskCreatedEventEntity();
+        event.setTimestamp(timestamp);
+        event.setEventType("TASK_CREATED");
+        event.setProcessInstanceId(processInstanceId);
+        event.setEntityId(taskId);
+        event.setTaskName(taskName);
+        return event;
+    }
+}
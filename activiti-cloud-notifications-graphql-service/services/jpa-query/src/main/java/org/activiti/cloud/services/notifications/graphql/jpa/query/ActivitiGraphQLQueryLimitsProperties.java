@@ -0,0 +1,138 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.jpa.query;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties(prefix = "spring.activiti.cloud.services.notifications.graphql.jpa-query.limits")
+public class ActivitiGraphQLQueryLimitsProperties {
+
+    /**
+     * Enable or disable query cost checks.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Maximum nesting depth of a query, introspection fields excluded.
+     */
+    private int maxDepth = 8;
+
+    /**
+     * Maximum estimated number of fields resolved by a query.
+     */
+    private long maxComplexity = 50_000;
+
+    /**
+     * Maximum page limit a query may request on any collection.
+     */
+    private int maxResults = 1_000;
+
+    /**
+     * Number of elements assumed for lists that do not request a page, and page limit applied to them when
+     * {@link #applyDefaultPage} is set.
+     */
+    private int defaultListSize = 20;
+
+    /**
+     * Add a page of {@link #defaultListSize} to the queries that do not request one. Off by default, as it cuts off
+     * the results of existing clients that do not page.
+     */
+    private boolean applyDefaultPage = false;
+
+    /**
+     * @return the enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * @param enabled the enabled to set
+     */
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    /**
+     * @return the maxDepth
+     */
+    public int getMaxDepth() {
+        return maxDepth;
+    }
+
+    /**
+     * @param maxDepth the maxDepth to set
+     */
+    public void setMaxDepth(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    /**
+     * @return the maxComplexity
+     */
+    public long getMaxComplexity() {
+        return maxComplexity;
+    }
+
+    /**
+     * @param maxComplexity the maxComplexity to set
+     */
+    public void setMaxComplexity(long maxComplexity) {
+        this.maxComplexity = maxComplexity;
+    }
+
+    /**
+     * @return the maxResults
+     */
+    public int getMaxResults() {
+        return maxResults;
+    }
+
+    /**
+     * @param maxResults the maxResults to set
+     */
+    public void setMaxResults(int maxResults) {
+        this.maxResults = maxResults;
+    }
+
+    /**
+     * @return the defaultListSize
+     */
+    public int getDefaultListSize() {
+        return defaultListSize;
+    }
+
+    /**
+     * @param defaultListSize the defaultListSize to set
+     */
+    public void setDefaultListSize(int defaultListSize) {
+        this.defaultListSize = defaultListSize;
+    }
+
+    /**
+     * @return the applyDefaultPage
+     */
+    public boolean isApplyDefaultPage() {
+        return applyDefaultPage;
+    }
+
+    /**
+     * @param applyDefaultPage the applyDefaultPage to set
+     */
+    public void setApplyDefaultPage(boolean applyDefaultPage) {
+        this.applyDefaultPage = applyDefaultPage;
+    }
+}
@@ -21,13 +21,18 @@ import com.introproventures.graphql.jpa.query.autoconfigure.EnableGraphQLJpaQuer
 import com.introproventures.graphql.jpa.query.autoconfigure.GraphQLJPASchemaBuilderCustomizer;
 import com.introproventures.graphql.jpa.query.schema.JavaScalars;
 import graphql.GraphQL;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import java.util.Optional;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.VariableValue;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 
 /**
@@ -40,6 +45,7 @@ import org.springframework.context.annotation.Bean;
     matchIfMissing = true
 )
 @EnableGraphQLJpaQuerySchema(basePackageClasses = ProcessInstanceEntity.class)
+@EnableConfigurationProperties(ActivitiGraphQLQueryLimitsProperties.class)
 public class ActivitiGraphQLSchemaAutoConfiguration {
 
     @Value("${spring.activiti.cloud.services.notifications.graphql.jpa-query.aggregate.enabled:true}")
@@ -71,4 +77,17 @@ public class ActivitiGraphQLSchemaAutoConfiguration {
                         .build()
                 );
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(
+        name = "spring.activiti.cloud.services.notifications.graphql.jpa-query.limits.enabled",
+        matchIfMissing = true
+    )
+    QueryCostInstrumentation queryCostInstrumentation(
+        ActivitiGraphQLQueryLimitsProperties limits,
+        ObjectProvider<MeterRegistry> meterRegistry
+    ) {
+        return new QueryCostInstrumentation(limits, meterRegistry.getIfAvailable(SimpleMeterRegistry::new));
+    }
 }
@@ -0,0 +1,277 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.jpa.query;
+
+import graphql.ExecutionResult;
+import graphql.analysis.QueryTraverser;
+import graphql.analysis.QueryVisitorFieldEnvironment;
+import graphql.analysis.QueryVisitorStub;
+import graphql.execution.AbortExecutionException;
+import graphql.execution.ExecutionContext;
+import graphql.execution.instrumentation.DocumentAndVariables;
+import graphql.execution.instrumentation.InstrumentationContext;
+import graphql.execution.instrumentation.InstrumentationState;
+import graphql.execution.instrumentation.SimplePerformantInstrumentation;
+import graphql.execution.instrumentation.parameters.InstrumentationExecuteOperationParameters;
+import graphql.execution.instrumentation.parameters.InstrumentationExecutionParameters;
+import graphql.language.Argument;
+import graphql.language.Definition;
+import graphql.language.Document;
+import graphql.language.Field;
+import graphql.language.IntValue;
+import graphql.language.ObjectField;
+import graphql.language.ObjectValue;
+import graphql.language.OperationDefinition;
+import graphql.language.Selection;
+import graphql.language.SelectionSet;
+import graphql.schema.GraphQLFieldDefinition;
+import graphql.schema.GraphQLObjectType;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.GraphQLTypeUtil;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Rejects queries that are too deep, too expensive or ask for too many results before any data is fetched.
+ * <p>
+ * The complexity of a field is one plus the complexity of its sub-selection, multiplied by the expected size when the
+ * field is a list: the page limit requested on the enclosing query, or the configured default list size otherwise.
+ * Introspection fields are not counted.
+ * <p>
+ * When {@link ActivitiGraphQLQueryLimitsProperties#isApplyDefaultPage()} is set, query fields that accept a page but
+ * are called without one get a page of the default list size added to the document before it is validated, so the
+ * default size used in the estimate is also the number of rows fetched. Otherwise unpaged queries keep returning all
+ * their rows, and the default size remains an estimate, as it always is for collection associations.
+ */
+public class QueryCostInstrumentation extends SimplePerformantInstrumentation {
+
+    static final String COST_METRIC = "graphql.query.cost";
+    static final String REJECTED_METRIC = "graphql.query.rejected";
+
+    private static final String PAGE_ARGUMENT = "page";
+    private static final String START_FIELD = "start";
+    private static final String LIMIT_FIELD = "limit";
+
+    private final ActivitiGraphQLQueryLimitsProperties limits;
+    private final MeterRegistry meterRegistry;
+
+    public QueryCostInstrumentation(ActivitiGraphQLQueryLimitsProperties limits, MeterRegistry meterRegistry) {
+        this.limits = limits;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public DocumentAndVariables instrumentDocumentAndVariables(
+        DocumentAndVariables documentAndVariables,
+        InstrumentationExecutionParameters parameters,
+        InstrumentationState state
+    ) {
+        if (!limits.isApplyDefaultPage()) {
+            return documentAndVariables;
+        }
+        Document document = applyDefaultPage(documentAndVariables.getDocument(), parameters.getSchema());
+        if (document == documentAndVariables.getDocument()) {
+            return documentAndVariables;
+        }
+        return DocumentAndVariables
+            .newDocumentAndVariables()
+            .document(document)
+            .variables(documentAndVariables.getVariables())
+            .build();
+    }
+
+    @Override
+    public InstrumentationContext<ExecutionResult> beginExecuteOperation(
+        InstrumentationExecuteOperationParameters parameters,
+        InstrumentationState state
+    ) {
+        QueryCost cost = measure(parameters.getExecutionContext());
+
+        if (cost.depth() > limits.getMaxDepth()) {
+            reject(
+                cost,
+                "depth",
+                "Query depth %d exceeds the maximum of %d".formatted(cost.depth(), limits.getMaxDepth())
+            );
+        }
+        if (cost.maxPageLimit() > limits.getMaxResults()) {
+            reject(
+                cost,
+                "results",
+                "Page limit %d exceeds the maximum of %d".formatted(cost.maxPageLimit(), limits.getMaxResults())
+            );
+        }
+        if (cost.complexity() > limits.getMaxComplexity()) {
+            reject(
+                cost,
+                "complexity",
+                "Query complexity %d exceeds the maximum of %d".formatted(cost.complexity(), limits.getMaxComplexity())
+            );
+        }
+        costSummary("executed").record(cost.complexity());
+
+        return super.beginExecuteOperation(parameters, state);
+    }
+
+    QueryCost measure(ExecutionContext executionContext) {
+        CostVisitor visitor = new CostVisitor();
+        QueryTraverser
+            .newQueryTraverser()
+            .schema(executionContext.getGraphQLSchema())
+            .document(executionContext.getDocument())
+            .operationName(executionContext.getExecutionInput().getOperationName())
+            .coercedVariables(executionContext.getCoercedVariables())
+            .build()
+            .visitPostOrder(visitor);
+
+        return new QueryCost(visitor.depth, visitor.costByParent.getOrDefault(null, 0L), visitor.maxPageLimit);
+    }
+
+    Document applyDefaultPage(Document document, GraphQLSchema schema) {
+        GraphQLObjectType queryType = schema.getQueryType();
+        boolean changed = false;
+        List<Definition> definitions = new ArrayList<>();
+        for (Definition<?> definition : document.getDefinitions()) {
+            if (
+                definition instanceof OperationDefinition operation &&
+                operation.getOperation() == OperationDefinition.Operation.QUERY
+            ) {
+                OperationDefinition paged = applyDefaultPage(operation, queryType);
+                changed |= paged != operation;
+                definitions.add(paged);
+            } else {
+                definitions.add(definition);
+            }
+        }
+        return changed ? document.transform(builder -> builder.definitions(definitions)) : document;
+    }
+
+    private OperationDefinition applyDefaultPage(OperationDefinition operation, GraphQLObjectType queryType) {
+        boolean changed = false;
+        List<Selection> selections = new ArrayList<>();
+        for (Selection<?> selection : operation.getSelectionSet().getSelections()) {
+            if (selection instanceof Field field && isMissingPage(field, queryType)) {
+                List<Argument> arguments = new ArrayList<>(field.getArguments());
+                arguments.add(new Argument(PAGE_ARGUMENT, defaultPage()));
+                selections.add(field.transform(builder -> builder.arguments(arguments)));
+                changed = true;
+            } else {
+                selections.add(selection);
+            }
+        }
+        if (!changed) {
+            return operation;
+        }
+        SelectionSet selectionSet = operation.getSelectionSet().transform(builder -> builder.selections(selections));
+        return operation.transform(builder -> builder.selectionSet(selectionSet));
+    }
+
+    private boolean isMissingPage(Field field, GraphQLObjectType queryType) {
+        GraphQLFieldDefinition fieldDefinition = queryType.getFieldDefinition(field.getName());
+        return (
+            fieldDefinition != null &&
+            fieldDefinition.getArgument(PAGE_ARGUMENT) != null &&
+            field.getArguments().stream().noneMatch(argument -> PAGE_ARGUMENT.equals(argument.getName()))
+        );
+    }
+
+    private ObjectValue defaultPage() {
+        return ObjectValue
+            .newObjectValue()
+            .objectField(new ObjectField(START_FIELD, new IntValue(BigInteger.ONE)))
+            .objectField(new ObjectField(LIMIT_FIELD, new IntValue(BigInteger.valueOf(limits.getDefaultListSize()))))
+            .build();
+    }
+
+    private void reject(QueryCost cost, String reason, String message) {
+        costSummary("rejected").record(cost.complexity());
+        meterRegistry.counter(REJECTED_METRIC, "reason", reason).increment();
+
+        throw new AbortExecutionException(message);
+    }
+
+    private DistributionSummary costSummary(String outcome) {
+        return DistributionSummary.builder(COST_METRIC).tag("outcome", outcome).register(meterRegistry);
+    }
+
+    record QueryCost(int depth, long complexity, int maxPageLimit) {}
+
+    private class CostVisitor extends QueryVisitorStub {
+
+        private final Map<QueryVisitorFieldEnvironment, Long> costByParent = new HashMap<>();
+        private int depth;
+        private int maxPageLimit;
+
+        @Override
+        public void visitField(QueryVisitorFieldEnvironment env) {
+            if (isIntrospection(env)) {
+                return;
+            }
+            Integer pageLimit = pageLimit(env);
+            if (pageLimit != null) {
+                maxPageLimit = Math.max(maxPageLimit, pageLimit);
+            }
+            depth = Math.max(depth, depthOf(env));
+
+            long cost = 1 + expectedSize(env) * costByParent.getOrDefault(env, 0L);
+            costByParent.merge(env.getParentEnvironment(), cost, Long::sum);
+        }
+
+        private long expectedSize(QueryVisitorFieldEnvironment env) {
+            if (!GraphQLTypeUtil.isList(GraphQLTypeUtil.unwrapNonNull(env.getFieldDefinition().getType()))) {
+                return 1;
+            }
+            Integer pageLimit = env.getParentEnvironment() != null ? pageLimit(env.getParentEnvironment()) : null;
+            return pageLimit != null ? pageLimit : limits.getDefaultListSize();
+        }
+
+        private Integer pageLimit(QueryVisitorFieldEnvironment env) {
+            if (
+                env.getArguments().get(PAGE_ARGUMENT) instanceof Map<?, ?> page &&
+                page.get(LIMIT_FIELD) instanceof Number limit
+            ) {
+                return limit.intValue();
+            }
+            return null;
+        }
+
+        private int depthOf(QueryVisitorFieldEnvironment env) {
+            int result = 0;
+            QueryVisitorFieldEnvironment current = env;
+            while (current != null) {
+                result++;
+                current = current.getParentEnvironment();
+            }
+            return result;
+        }
+
+        private boolean isIntrospection(QueryVisitorFieldEnvironment env) {
+            QueryVisitorFieldEnvironment current = env;
+            while (current != null) {
+                if (current.getFieldDefinition().getName().startsWith("__")) {
+                    return true;
+                }
+                current = current.getParentEnvironment();
+            }
+            return false;
+        }
+    }
+}
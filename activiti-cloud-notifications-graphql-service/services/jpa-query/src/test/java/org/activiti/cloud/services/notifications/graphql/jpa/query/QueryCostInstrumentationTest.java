@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.notifications.graphql.jpa.query;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import graphql.ExecutionResult;
+import graphql.GraphQL;
+import graphql.GraphQLError;
+import graphql.introspection.IntrospectionQuery;
+import graphql.schema.GraphQLSchema;
+import graphql.schema.idl.RuntimeWiring;
+import graphql.schema.idl.SchemaGenerator;
+import graphql.schema.idl.SchemaParser;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class QueryCostInstrumentationTest {
+
+    private static final String SDL =
+        """
+        type Query {
+          Task(id: String): Task
+          Tasks(page: Page): Tasks
+        }
+        input Page { start: Int, limit: Int }
+        type Tasks { select: [Task] }
+        type Task { id: String, processInstance: ProcessInstance }
+        type ProcessInstance { id: String, parent: ProcessInstance, variables: [Variable] }
+        type Variable { name: String }
+        """;
+
+    private final AtomicReference<Object> requestedPage = new AtomicReference<>();
+
+    private final GraphQLSchema schema = new SchemaGenerator()
+        .makeExecutableSchema(
+            new SchemaParser().parse(SDL),
+            RuntimeWiring
+                .newRuntimeWiring()
+                .type(
+                    "Query",
+                    builder ->
+                        builder.dataFetcher(
+                            "Tasks",
+                            env -> {
+                                requestedPage.set(env.getArgument("page"));
+                                return Map.of("select", List.of());
+                            }
+                        )
+                )
+                .build()
+        );
+
+    private ActivitiGraphQLQueryLimitsProperties limits;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        limits = new ActivitiGraphQLQueryLimitsProperties();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_executeQuery_when_withinLimits() {
+        ExecutionResult result = execute(
+            "{ Tasks(page: {start: 1, limit: 10}) { select { id processInstance { id } } } }"
+        );
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(
+            meterRegistry.get(QueryCostInstrumentation.COST_METRIC).tag("outcome", "executed").summary().totalAmount()
+        )
+            .isEqualTo(32);
+    }
+
+    @Test
+    void should_notApplyDefaultPage_when_notEnabled() {
+        ExecutionResult result = execute("{ Tasks { select { id } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(requestedPage.get()).isNull();
+    }
+
+    @Test
+    void should_applyDefaultPage_when_enabledAndQueryHasNoPage() {
+        limits.setApplyDefaultPage(true);
+        limits.setDefaultListSize(5);
+
+        ExecutionResult result = execute("{ Tasks { select { id } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(requestedPage.get()).isEqualTo(Map.of("start", 1, "limit", 5));
+        assertThat(
+            meterRegistry.get(QueryCostInstrumentation.COST_METRIC).tag("outcome", "executed").summary().totalAmount()
+        )
+            .isEqualTo(7);
+    }
+
+    @Test
+    void should_keepRequestedPage_when_queryHasPage() {
+        ExecutionResult result = execute("{ Tasks(page: {start: 2, limit: 10}) { select { id } } }");
+
+        assertThat(result.getErrors()).isEmpty();
+        assertThat(requestedPage.get()).isEqualTo(Map.of("start", 2, "limit", 10));
+    }
+
+    @Test
+    void should_rejectQuery_when_pageLimitExceedsMaxResults() {
+        ExecutionResult result = execute("{ Tasks(page: {start: 1, limit: 5000}) { select { id } } }");
+
+        assertThat(result.getErrors())
+            .extracting(GraphQLError::getMessage)
+            .containsExactly("Page limit 5000 exceeds the maximum of 1000");
+        assertThat(
+            meterRegistry.get(QueryCostInstrumentation.REJECTED_METRIC).tag("reason", "results").counter().count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void should_rejectQuery_when_tooDeep() {
+        limits.setMaxDepth(3);
+
+        ExecutionResult result = execute("{ Task(id: \"1\") { processInstance { parent { parent { id } } } } }");
+
+        assertThat(result.getErrors())
+            .extracting(GraphQLError::getMessage)
+            .containsExactly("Query depth 5 exceeds the maximum of 3");
+    }
+
+    @Test
+    void should_rejectQuery_when_tooComplex() {
+        limits.setMaxComplexity(100);
+
+        ExecutionResult result = execute(
+            "{ Tasks(page: {start: 1, limit: 100}) { select { processInstance { variables { name } } } } }"
+        );
+
+        assertThat(result.getErrors())
+            .extracting(GraphQLError::getMessage)
+            .containsExactly("Query complexity 2202 exceeds the maximum of 100");
+        assertThat(
+            meterRegistry.get(QueryCostInstrumentation.REJECTED_METRIC).tag("reason", "complexity").counter().count()
+        )
+            .isEqualTo(1);
+    }
+
+    @Test
+    void should_notCountIntrospection() {
+        limits.setMaxDepth(2);
+
+        ExecutionResult result = execute(IntrospectionQuery.INTROSPECTION_QUERY);
+
+        assertThat(result.getErrors()).isEmpty();
+    }
+
+    private ExecutionResult execute(String query) {
+        return GraphQL
+            .newGraphQL(schema)
+            .instrumentation(new QueryCostInstrumentation(limits, meterRegistry))
+            .build()
+            .execute(query);
+    }
+}
@@ -20,9 +20,14 @@ import com.fasterxml.jackson.annotation.JsonInclude.Value;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.introproventures.graphql.jpa.query.schema.GraphQLExecutor;
 import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutor;
+import com.introproventures.graphql.jpa.query.schema.impl.GraphQLJpaExecutorContextFactory;
 import graphql.GraphQL;
+import graphql.execution.instrumentation.ChainedInstrumentation;
+import graphql.execution.instrumentation.Instrumentation;
 import graphql.schema.GraphQLSchema;
+import java.util.List;
 import java.util.Map;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
@@ -65,10 +70,25 @@ public class ActivitiGraphQLAutoConfiguration {
                 .setInclude(Value.construct(JsonInclude.Include.ALWAYS, JsonInclude.Include.ALWAYS));
         }
 
+        /**
+         * Query instrumentations such as cost limits are chained into the JPA executor context, which keeps the
+         * data loader registry used to batch association fetching across a selection set.
+         */
         @Bean
         @ConditionalOnMissingBean(GraphQLExecutor.class)
-        public GraphQLExecutor graphQLExecutor(GraphQLSchema querySchema) {
-            return new GraphQLJpaExecutor(querySchema);
+        public GraphQLExecutor graphQLExecutor(
+            GraphQLSchema querySchema,
+            ObjectProvider<Instrumentation> instrumentationProvider
+        ) {
+            List<Instrumentation> instrumentations = instrumentationProvider.orderedStream().toList();
+            if (instrumentations.isEmpty()) {
+                return new GraphQLJpaExecutor(querySchema);
+            }
+            return new GraphQLJpaExecutor(
+                querySchema,
+                new GraphQLJpaExecutorContextFactory()
+                    .withInstrumentation(() -> new ChainedInstrumentation(instrumentations))
+            );
         }
     }
 }
@@ -21,6 +21,8 @@ import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.common.messaging.functional.FunctionBinding;
 import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.QueryConsumerChannels;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildLifecycle;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Import;
@@ -32,8 +34,16 @@ public class QueryConsumerAutoConfiguration {
     @FunctionBinding(input = QueryConsumerChannels.QUERY_CONSUMER)
     @Bean
     public Consumer<List<CloudRuntimeEvent<?, ?>>> queryConsumerFunction(
-        QueryConsumerChannelHandler queryConsumerChannelHandler
+        QueryConsumerChannelHandler queryConsumerChannelHandler,
+        ObjectProvider<ProjectionRebuildLifecycle> projectionRebuildLifecycle
     ) {
-        return queryConsumerChannelHandler::receive;
+        ProjectionRebuildLifecycle projectionRebuild = projectionRebuildLifecycle.getIfAvailable();
+        if (projectionRebuild == null) {
+            return queryConsumerChannelHandler::receive;
+        }
+        return events -> {
+            projectionRebuild.awaitCompletion();
+            queryConsumerChannelHandler.receive(events);
+        };
     }
 }
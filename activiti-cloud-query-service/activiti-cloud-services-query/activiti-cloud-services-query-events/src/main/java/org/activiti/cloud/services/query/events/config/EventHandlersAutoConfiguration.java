@@ -16,15 +16,21 @@
 package org.activiti.cloud.services.query.events.config;
 
 import jakarta.persistence.EntityManager;
+import java.time.Clock;
+import java.time.Duration;
 import java.util.Set;
+import org.activiti.cloud.services.common.json.JsonTextCompressionInitializer;
 import org.activiti.cloud.services.query.app.QueryConsumerChannelHandler;
 import org.activiti.cloud.services.query.app.repository.ApplicationRepository;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
 import org.activiti.cloud.services.query.events.handlers.ApplicationDeployedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityCancelledEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityCompletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNActivityStartedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.BPMNSequenceFlowTakenEventHandler;
 import org.activiti.cloud.services.query.events.handlers.EntityManagerFinder;
+import org.activiti.cloud.services.query.events.handlers.IntegrationContextPayloadLimiter;
 import org.activiti.cloud.services.query.events.handlers.IntegrationErrorReceivedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.IntegrationRequestedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.IntegrationResultReceivedEventHandler;
@@ -37,6 +43,7 @@ import org.activiti.cloud.services.query.events.handlers.ProcessCompletedEventHa
 import org.activiti.cloud.services.query.events.handlers.ProcessCreatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessDeletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessDeployedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.ProcessDiagramStateUpdater;
 import org.activiti.cloud.services.query.events.handlers.ProcessResumedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessStartedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.ProcessSuspendedEventHandler;
@@ -55,6 +62,8 @@ import org.activiti.cloud.services.query.events.handlers.TaskCandidateGroupAdded
 import org.activiti.cloud.services.query.events.handlers.TaskCandidateGroupRemovedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCandidateUserAddedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCandidateUserRemovedEventHandler;
+import org.activiti.cloud.services.query.events.handlers.TaskChangePurge;
+import org.activiti.cloud.services.query.events.handlers.TaskChangeRecorder;
 import org.activiti.cloud.services.query.events.handlers.TaskCompletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskCreatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.TaskSuspendedEventHandler;
@@ -66,21 +75,52 @@ import org.activiti.cloud.services.query.events.handlers.TaskVariableUpdater;
 import org.activiti.cloud.services.query.events.handlers.VariableCreatedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.VariableDeletedEventHandler;
 import org.activiti.cloud.services.query.events.handlers.VariableUpdatedEventHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
 public class EventHandlersAutoConfiguration {
 
+    public static final String COMPRESSION_MIN_LENGTH =
+        "activiti.cloud.services.query.integration-context.compression-min-length";
+
     @Bean
     @ConditionalOnMissingBean
     public QueryConsumerChannelHandler queryConsumerChannelHandler(
         QueryEventHandlerContext eventHandlerContext,
         QueryEventHandlerContextOptimizer fetchingOptimizer,
-        EntityManager entityManager
+        EntityManager entityManager,
+        TaskChangeRecorder taskChangeRecorder
+    ) {
+        return new QueryConsumerChannelHandler(
+            eventHandlerContext,
+            fetchingOptimizer,
+            entityManager,
+            taskChangeRecorder
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TaskChangeRecorder taskChangeRecorder(
+        EntityManager entityManager,
+        @Value("${activiti.cloud.services.query.task-changes.enabled:false}") boolean enabled
+    ) {
+        return new TaskChangeRecorder(entityManager, enabled);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.query.task-changes.enabled", havingValue = "true")
+    public TaskChangePurge taskChangePurge(
+        TaskChangeRepository taskChangeRepository,
+        @Value("${activiti.cloud.services.query.task-changes.retention:7d}") Duration retention,
+        @Value("${activiti.cloud.services.query.task-changes.purge-interval:1h}") Duration purgeInterval
     ) {
-        return new QueryConsumerChannelHandler(eventHandlerContext, fetchingOptimizer, entityManager);
+        return new TaskChangePurge(taskChangeRepository, retention, purgeInterval, Clock.systemUTC());
     }
 
     @Bean
@@ -97,8 +137,11 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public ProcessDeployedEventHandler processDeployedEventHandler(EntityManager entityManager) {
-        return new ProcessDeployedEventHandler(entityManager);
+    public ProcessDeployedEventHandler processDeployedEventHandler(
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
+    ) {
+        return new ProcessDeployedEventHandler(entityManager, queryEntityCaches);
     }
 
     @Bean
@@ -265,44 +308,101 @@ public class EventHandlersAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean
-    public BPMNActivityStartedEventHandler bpmnActivityStartedEventHandler(EntityManager entityManager) {
-        return new BPMNActivityStartedEventHandler(entityManager);
+    public BPMNActivityStartedEventHandler bpmnActivityStartedEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new BPMNActivityStartedEventHandler(entityManager, processDiagramStateUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public BPMNActivityCompletedEventHandler bpmnActivityCompletedEventHandler(EntityManager entityManager) {
-        return new BPMNActivityCompletedEventHandler(entityManager);
+    public BPMNActivityCompletedEventHandler bpmnActivityCompletedEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new BPMNActivityCompletedEventHandler(entityManager, processDiagramStateUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public BPMNActivityCancelledEventHandler bpmnActivityCancelledEventHandler(EntityManager entityManager) {
-        return new BPMNActivityCancelledEventHandler(entityManager);
+    public BPMNActivityCancelledEventHandler bpmnActivityCancelledEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new BPMNActivityCancelledEventHandler(entityManager, processDiagramStateUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public BPMNSequenceFlowTakenEventHandler bpmnSequenceFlowTakenEventHandler(EntityManager entityManager) {
-        return new BPMNSequenceFlowTakenEventHandler(entityManager);
+    public BPMNSequenceFlowTakenEventHandler bpmnSequenceFlowTakenEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new BPMNSequenceFlowTakenEventHandler(entityManager, processDiagramStateUpdater);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public IntegrationResultReceivedEventHandler integrationResultReceivedEventHandler(EntityManager entityManager) {
-        return new IntegrationResultReceivedEventHandler(entityManager);
+    public ProcessDiagramStateUpdater processDiagramStateUpdater(
+        EntityManager entityManager,
+        @Value("${activiti.cloud.services.query.diagram.compact.enabled:false}") boolean compact
+    ) {
+        return new ProcessDiagramStateUpdater(entityManager, compact);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public IntegrationRequestedEventHandler integrationRequestedEventHandler(EntityManager entityManager) {
-        return new IntegrationRequestedEventHandler(entityManager);
+    public IntegrationContextPayloadLimiter integrationContextPayloadLimiter(
+        @Value("${activiti.cloud.services.query.integration-context.max-stack-trace-depth:100}") int maxStackTraceDepth,
+        @Value("${activiti.cloud.services.query.integration-context.max-variables-size:262144}") int maxVariablesSize
+    ) {
+        return new IntegrationContextPayloadLimiter(maxStackTraceDepth, maxVariablesSize);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "queryJsonTextCompressionInitializer")
+    public JsonTextCompressionInitializer queryJsonTextCompressionInitializer(
+        @Value("${" + COMPRESSION_MIN_LENGTH + ":-1}") int minLength
+    ) {
+        return new JsonTextCompressionInitializer(COMPRESSION_MIN_LENGTH, minLength);
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public IntegrationErrorReceivedEventHandler integrationErrorReceivedEventHandler(EntityManager entityManager) {
-        return new IntegrationErrorReceivedEventHandler(entityManager);
+    public IntegrationResultReceivedEventHandler integrationResultReceivedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter integrationContextPayloadLimiter
+    ) {
+        return new IntegrationResultReceivedEventHandler(entityManager, integrationContextPayloadLimiter);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IntegrationRequestedEventHandler integrationRequestedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter integrationContextPayloadLimiter,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new IntegrationRequestedEventHandler(
+            entityManager,
+            integrationContextPayloadLimiter,
+            processDiagramStateUpdater
+        );
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public IntegrationErrorReceivedEventHandler integrationErrorReceivedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter integrationContextPayloadLimiter,
+        ProcessDiagramStateUpdater processDiagramStateUpdater
+    ) {
+        return new IntegrationErrorReceivedEventHandler(
+            entityManager,
+            integrationContextPayloadLimiter,
+            processDiagramStateUpdater
+        );
     }
 
     @Bean
@@ -315,40 +415,45 @@ public class EventHandlersAutoConfiguration {
     @ConditionalOnMissingBean
     public ApplicationDeployedEventHandler applicationDeployedEventHandler(
         EntityManager entityManager,
-        ApplicationRepository applicationRepository
+        ApplicationRepository applicationRepository,
+        QueryEntityCaches queryEntityCaches
     ) {
-        return new ApplicationDeployedEventHandler(entityManager, applicationRepository);
+        return new ApplicationDeployedEventHandler(entityManager, applicationRepository, queryEntityCaches);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public ProcessCandidateStarterUserAddedEventHandler processCandidateStarterUserAddedEventHandler(
-        EntityManager entityManager
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
     ) {
-        return new ProcessCandidateStarterUserAddedEventHandler(entityManager);
+        return new ProcessCandidateStarterUserAddedEventHandler(entityManager, queryEntityCaches);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public ProcessCandidateStarterUserRemovedEventHandler processCandidateStarterUserRemovedEventHandler(
-        EntityManager entityManager
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
     ) {
-        return new ProcessCandidateStarterUserRemovedEventHandler(entityManager);
+        return new ProcessCandidateStarterUserRemovedEventHandler(entityManager, queryEntityCaches);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public ProcessCandidateStarterGroupAddedEventHandler processCandidateStarterGroupAddedEventHandler(
-        EntityManager entityManager
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
     ) {
-        return new ProcessCandidateStarterGroupAddedEventHandler(entityManager);
+        return new ProcessCandidateStarterGroupAddedEventHandler(entityManager, queryEntityCaches);
     }
 
     @Bean
     @ConditionalOnMissingBean
     public ProcessCandidateStarterGroupRemovedEventHandler processCandidateStarterGroupRemovedEventHandler(
-        EntityManager entityManager
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
     ) {
-        return new ProcessCandidateStarterGroupRemovedEventHandler(entityManager);
+        return new ProcessCandidateStarterGroupRemovedEventHandler(entityManager, queryEntityCaches);
     }
 }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import java.net.http.HttpClient;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.events.rebuild.AuditEventSource;
+import org.activiti.cloud.services.query.events.rebuild.JpaProjectionRebuildCheckpointStore;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildCheckpointStore;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildHealthIndicator;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildLifecycle;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuilder;
+import org.activiti.cloud.services.query.events.rebuild.RestAuditEventSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Offline rebuild of the query projections from the audit store, run once at startup when
+ * {@code activiti.cloud.services.query.rebuild.enabled} is set. The rebuild runs in the background and the consumer of
+ * this instance waits for it before applying live events; the other query instances must be stopped while it runs.
+ */
+@AutoConfiguration(after = EventHandlersAutoConfiguration.class)
+@ConditionalOnProperty(name = "activiti.cloud.services.query.rebuild.enabled", havingValue = "true")
+public class ProjectionRebuildAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditEventSource auditEventSource(
+        ObjectMapper objectMapper,
+        @Value("${activiti.cloud.services.query.rebuild.audit-events-url}") String eventsUrl,
+        @Value("${activiti.cloud.services.query.rebuild.authorization:}") String authorization
+    ) {
+        return new RestAuditEventSource(HttpClient.newHttpClient(), objectMapper, eventsUrl, authorization);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProjectionRebuildCheckpointStore projectionRebuildCheckpointStore(EntityManager entityManager) {
+        return new JpaProjectionRebuildCheckpointStore(entityManager);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public ProjectionRebuilder projectionRebuilder(
+        AuditEventSource auditEventSource,
+        QueryEventHandlerContext queryEventHandlerContext,
+        ProjectionRebuildCheckpointStore projectionRebuildCheckpointStore,
+        PlatformTransactionManager transactionManager,
+        ProcessInstanceRepository processInstanceRepository,
+        TaskRepository taskRepository,
+        @Value("${activiti.cloud.services.query.rebuild.name:default}") String name,
+        @Value("${activiti.cloud.services.query.rebuild.batch-size:1000}") int batchSize,
+        @Value("${activiti.cloud.services.query.rebuild.parallelism:4}") int parallelism
+    ) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        return new ProjectionRebuilder(
+            auditEventSource,
+            queryEventHandlerContext,
+            projectionRebuildCheckpointStore,
+            transactionTemplate,
+            processInstanceRepository,
+            taskRepository,
+            name,
+            batchSize,
+            parallelism
+        );
+    }
+
+    @Bean
+    public ProjectionRebuildLifecycle projectionRebuildLifecycle(
+        ProjectionRebuilder projectionRebuilder,
+        @Value("${activiti.cloud.services.query.rebuild.phase:0}") int phase
+    ) {
+        return new ProjectionRebuildLifecycle(projectionRebuilder, phase);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(HealthIndicator.class)
+    static class ProjectionRebuildHealthConfiguration {
+
+        @Bean
+        @ConditionalOnMissingBean
+        public ProjectionRebuildHealthIndicator projectionRebuildHealthIndicator(
+            ProjectionRebuildLifecycle projectionRebuildLifecycle
+        ) {
+            return new ProjectionRebuildHealthIndicator(projectionRebuildLifecycle);
+        }
+    }
+}
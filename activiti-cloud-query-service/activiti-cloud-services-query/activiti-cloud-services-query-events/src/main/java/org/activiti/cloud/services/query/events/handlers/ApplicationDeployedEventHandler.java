@@ -15,12 +15,15 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.APPLICATIONS;
+
 import jakarta.persistence.EntityManager;
 import org.activiti.api.process.model.Deployment;
 import org.activiti.api.process.model.events.ApplicationEvent.ApplicationEvents;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudApplicationDeployedEvent;
 import org.activiti.cloud.services.query.app.repository.ApplicationRepository;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ApplicationEntity;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -31,10 +34,16 @@ public class ApplicationDeployedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
     private final ApplicationRepository applicationRepository;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ApplicationDeployedEventHandler(EntityManager entityManager, ApplicationRepository applicationRepository) {
+    public ApplicationDeployedEventHandler(
+        EntityManager entityManager,
+        ApplicationRepository applicationRepository,
+        QueryEntityCaches queryEntityCaches
+    ) {
         this.entityManager = entityManager;
         this.applicationRepository = applicationRepository;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -58,6 +67,7 @@ public class ApplicationDeployedEventHandler implements QueryEventHandler {
         }
 
         entityManager.persist(application);
+        queryEntityCaches.evict(APPLICATIONS);
     }
 
     @Override
@@ -25,8 +25,11 @@ import org.activiti.cloud.services.query.model.BaseBPMNActivityEntity;
 
 public class BPMNActivityCancelledEventHandler extends BaseBPMNActivityEventHandler implements QueryEventHandler {
 
-    public BPMNActivityCancelledEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    public BPMNActivityCancelledEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
+        super(entityManager, diagramStateUpdater);
     }
 
     @Override
@@ -39,6 +42,7 @@ public class BPMNActivityCancelledEventHandler extends BaseBPMNActivityEventHand
         bpmnActivityEntity.setStatus(CloudBPMNActivity.BPMNActivityStatus.CANCELLED);
 
         entityManager.persist(bpmnActivityEntity);
+        diagramStateUpdater.activityUpdated(bpmnActivityEntity);
     }
 
     @Override
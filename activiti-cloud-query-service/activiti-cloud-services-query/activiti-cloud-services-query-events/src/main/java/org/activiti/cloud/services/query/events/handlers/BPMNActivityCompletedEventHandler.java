@@ -25,8 +25,11 @@ import org.activiti.cloud.services.query.model.BaseBPMNActivityEntity;
 
 public class BPMNActivityCompletedEventHandler extends BaseBPMNActivityEventHandler implements QueryEventHandler {
 
-    public BPMNActivityCompletedEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    public BPMNActivityCompletedEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
+        super(entityManager, diagramStateUpdater);
     }
 
     @Override
@@ -39,6 +42,7 @@ public class BPMNActivityCompletedEventHandler extends BaseBPMNActivityEventHand
         bpmnActivityEntity.setStatus(CloudBPMNActivity.BPMNActivityStatus.COMPLETED);
 
         entityManager.persist(bpmnActivityEntity);
+        diagramStateUpdater.activityUpdated(bpmnActivityEntity);
     }
 
     @Override
@@ -25,8 +25,11 @@ import org.activiti.cloud.services.query.model.BaseBPMNActivityEntity;
 
 public class BPMNActivityStartedEventHandler extends BaseBPMNActivityEventHandler implements QueryEventHandler {
 
-    public BPMNActivityStartedEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    public BPMNActivityStartedEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
+        super(entityManager, diagramStateUpdater);
     }
 
     @Override
@@ -41,6 +44,7 @@ public class BPMNActivityStartedEventHandler extends BaseBPMNActivityEventHandle
         bpmnActivityEntity.setStatus(CloudBPMNActivity.BPMNActivityStatus.STARTED);
 
         entityManager.persist(bpmnActivityEntity);
+        diagramStateUpdater.activityUpdated(bpmnActivityEntity);
     }
 
     @Override
@@ -32,13 +32,26 @@ public class BPMNSequenceFlowTakenEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
 
-    public BPMNSequenceFlowTakenEventHandler(EntityManager entityManager) {
+    private final ProcessDiagramStateUpdater diagramStateUpdater;
+
+    public BPMNSequenceFlowTakenEventHandler(
+        EntityManager entityManager,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
         this.entityManager = entityManager;
+        this.diagramStateUpdater = diagramStateUpdater;
     }
 
     @Override
     public void handle(CloudRuntimeEvent<?, ?> event) {
         CloudSequenceFlowTakenEvent sequenceFlowTakenEvent = CloudSequenceFlowTakenEvent.class.cast(event);
+
+        if (diagramStateUpdater.isCompact()) {
+            BPMNSequenceFlow sequenceFlow = sequenceFlowTakenEvent.getEntity();
+            diagramStateUpdater.flowTaken(sequenceFlow.getProcessInstanceId(), sequenceFlow.getElementId());
+            return;
+        }
+
         var entityId = getEntityId(sequenceFlowTakenEvent);
 
         Optional
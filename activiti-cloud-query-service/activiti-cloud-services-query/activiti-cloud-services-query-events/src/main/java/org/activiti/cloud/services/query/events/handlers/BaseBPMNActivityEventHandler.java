@@ -27,8 +27,11 @@ public abstract class BaseBPMNActivityEventHandler {
 
     protected final EntityManager entityManager;
 
-    public BaseBPMNActivityEventHandler(EntityManager entityManager) {
+    protected final ProcessDiagramStateUpdater diagramStateUpdater;
+
+    public BaseBPMNActivityEventHandler(EntityManager entityManager, ProcessDiagramStateUpdater diagramStateUpdater) {
         this.entityManager = entityManager;
+        this.diagramStateUpdater = diagramStateUpdater;
     }
 
     protected BaseBPMNActivityEntity findOrCreateBPMNActivityEntity(CloudRuntimeEvent<?, ?> event) {
@@ -29,8 +29,11 @@ public abstract class BaseIntegrationEventHandler {
 
     protected final EntityManager entityManager;
 
-    public BaseIntegrationEventHandler(EntityManager entityManager) {
+    protected final IntegrationContextPayloadLimiter payloadLimiter;
+
+    public BaseIntegrationEventHandler(EntityManager entityManager, IntegrationContextPayloadLimiter payloadLimiter) {
         this.entityManager = entityManager;
+        this.payloadLimiter = payloadLimiter;
     }
 
     protected Optional<IntegrationContextEntity> findIntegrationContextEntity(CloudIntegrationEvent event) {
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Caps what gets stored for an integration context, so that a connector failing in a retry loop cannot write
+ * megabytes per row. A negative limit disables the corresponding cap.
+ */
+public class IntegrationContextPayloadLimiter {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    private final int maxStackTraceDepth;
+
+    private final int maxVariablesSize;
+
+    public IntegrationContextPayloadLimiter(int maxStackTraceDepth, int maxVariablesSize) {
+        this.maxStackTraceDepth = maxStackTraceDepth;
+        this.maxVariablesSize = maxVariablesSize;
+    }
+
+    public List<StackTraceElement> limitStackTrace(List<StackTraceElement> stackTraceElements) {
+        if (stackTraceElements == null || maxStackTraceDepth < 0 || stackTraceElements.size() <= maxStackTraceDepth) {
+            return stackTraceElements;
+        }
+        return new ArrayList<>(stackTraceElements.subList(0, maxStackTraceDepth));
+    }
+
+    /**
+     * Keeps every variable name, but replaces the largest values by a short marker until the serialized
+     * variables fit within the configured size.
+     */
+    public Map<String, Object> limitVariables(Map<String, Object> variables) {
+        if (variables == null || maxVariablesSize < 0) {
+            return variables;
+        }
+        Map<String, Integer> sizes = new LinkedHashMap<>();
+        long totalSize = 2;
+        for (Map.Entry<String, Object> variable : variables.entrySet()) {
+            int size = serializedSize(variable.getValue());
+            sizes.put(variable.getKey(), size);
+            totalSize += serializedSize(variable.getKey()) + size + 2;
+        }
+        if (totalSize <= maxVariablesSize) {
+            return variables;
+        }
+
+        Map<String, Object> limited = new LinkedHashMap<>(variables);
+        List<Map.Entry<String, Integer>> largestFirst = new ArrayList<>(sizes.entrySet());
+        largestFirst.sort(Map.Entry.<String, Integer>comparingByValue(Comparator.reverseOrder()));
+        for (Map.Entry<String, Integer> variable : largestFirst) {
+            if (totalSize <= maxVariablesSize) {
+                break;
+            }
+            String marker = "[truncated " + variable.getValue() + " characters]";
+            limited.put(variable.getKey(), marker);
+            totalSize -= variable.getValue() - serializedSize(marker);
+        }
+        return limited;
+    }
+
+    private int serializedSize(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value).length();
+        } catch (JsonProcessingException e) {
+            return Integer.MAX_VALUE;
+        }
+    }
+}
@@ -31,8 +31,15 @@ import org.apache.commons.lang3.ObjectUtils;
 
 public class IntegrationErrorReceivedEventHandler extends BaseIntegrationEventHandler implements QueryEventHandler {
 
-    public IntegrationErrorReceivedEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    private final ProcessDiagramStateUpdater diagramStateUpdater;
+
+    public IntegrationErrorReceivedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter payloadLimiter,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
+        super(entityManager, payloadLimiter);
+        this.diagramStateUpdater = diagramStateUpdater;
     }
 
     @Override
@@ -47,9 +54,15 @@ public class IntegrationErrorReceivedEventHandler extends BaseIntegrationEventHa
             entity.setErrorCode(integrationEvent.getErrorCode());
             entity.setErrorMessage(integrationEvent.getErrorMessage());
             entity.setErrorClassName(integrationEvent.getErrorClassName());
-            entity.setStackTraceElements(addFullErrorMessageAsFirstStackTraceElement(integrationEvent));
-            entity.setInBoundVariables(integrationEvent.getEntity().getInBoundVariables());
-            entity.setOutBoundVariables(integrationEvent.getEntity().getOutBoundVariables());
+            entity.setStackTraceElements(
+                payloadLimiter.limitStackTrace(addFullErrorMessageAsFirstStackTraceElement(integrationEvent))
+            );
+            entity.setInBoundVariables(
+                payloadLimiter.limitVariables(integrationEvent.getEntity().getInBoundVariables())
+            );
+            entity.setOutBoundVariables(
+                payloadLimiter.limitVariables(integrationEvent.getEntity().getOutBoundVariables())
+            );
 
             entityManager.persist(entity);
 
@@ -57,6 +70,7 @@ public class IntegrationErrorReceivedEventHandler extends BaseIntegrationEventHa
             serviceTaskEntity.setStatus(CloudBPMNActivity.BPMNActivityStatus.ERROR);
 
             entityManager.persist(serviceTaskEntity);
+            diagramStateUpdater.activityUpdated(serviceTaskEntity);
         });
     }
 
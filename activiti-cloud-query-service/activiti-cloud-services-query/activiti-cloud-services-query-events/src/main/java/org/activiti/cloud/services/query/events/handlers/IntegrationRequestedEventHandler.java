@@ -32,8 +32,15 @@ public class IntegrationRequestedEventHandler extends BaseIntegrationEventHandle
 
     private static final Logger logger = LoggerFactory.getLogger(IntegrationRequestedEventHandler.class);
 
-    public IntegrationRequestedEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    private final ProcessDiagramStateUpdater diagramStateUpdater;
+
+    public IntegrationRequestedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter payloadLimiter,
+        ProcessDiagramStateUpdater diagramStateUpdater
+    ) {
+        super(entityManager, payloadLimiter);
+        this.diagramStateUpdater = diagramStateUpdater;
     }
 
     @Override
@@ -68,7 +75,7 @@ public class IntegrationRequestedEventHandler extends BaseIntegrationEventHandle
         entity.setBusinessKey(integrationContext.getBusinessKey());
         entity.setRequestDate(new Date(integrationEvent.getTimestamp()));
         entity.setStatus(IntegrationContextStatus.INTEGRATION_REQUESTED);
-        entity.setInBoundVariables(integrationEvent.getEntity().getInBoundVariables());
+        entity.setInBoundVariables(payloadLimiter.limitVariables(integrationEvent.getEntity().getInBoundVariables()));
 
         ServiceTaskEntity serviceTaskEntity = entityManager.find(ServiceTaskEntity.class, entityId);
         serviceTaskEntity.setStatus(CloudBPMNActivity.BPMNActivityStatus.STARTED);
@@ -78,6 +85,7 @@ public class IntegrationRequestedEventHandler extends BaseIntegrationEventHandle
         entity.setServiceTask(serviceTaskEntity);
 
         entityManager.persist(entity);
+        diagramStateUpdater.activityUpdated(serviceTaskEntity);
     }
 
     @Override
@@ -26,8 +26,11 @@ import org.activiti.cloud.services.query.model.IntegrationContextEntity;
 
 public class IntegrationResultReceivedEventHandler extends BaseIntegrationEventHandler implements QueryEventHandler {
 
-    public IntegrationResultReceivedEventHandler(EntityManager entityManager) {
-        super(entityManager);
+    public IntegrationResultReceivedEventHandler(
+        EntityManager entityManager,
+        IntegrationContextPayloadLimiter payloadLimiter
+    ) {
+        super(entityManager, payloadLimiter);
     }
 
     @Override
@@ -39,7 +42,9 @@ public class IntegrationResultReceivedEventHandler extends BaseIntegrationEventH
         result.ifPresent(entity -> {
             entity.setResultDate(new Date(integrationEvent.getTimestamp()));
             entity.setStatus(IntegrationContextStatus.INTEGRATION_RESULT_RECEIVED);
-            entity.setOutBoundVariables(integrationEvent.getEntity().getOutBoundVariables());
+            entity.setOutBoundVariables(
+                payloadLimiter.limitVariables(integrationEvent.getEntity().getOutBoundVariables())
+            );
 
             entityManager.persist(entity);
         });
@@ -15,10 +15,13 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+
 import jakarta.persistence.EntityManager;
 import org.activiti.api.process.model.events.ProcessCandidateStarterGroupEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudProcessCandidateStarterGroupAddedEvent;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupEntity;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupId;
 import org.activiti.cloud.services.query.model.QueryException;
@@ -26,9 +29,14 @@ import org.activiti.cloud.services.query.model.QueryException;
 public class ProcessCandidateStarterGroupAddedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ProcessCandidateStarterGroupAddedEventHandler(EntityManager entityManager) {
+    public ProcessCandidateStarterGroupAddedEventHandler(
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
+    ) {
         this.entityManager = entityManager;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -47,6 +55,7 @@ public class ProcessCandidateStarterGroupAddedEventHandler implements QueryEvent
         } catch (Exception cause) {
             throw new QueryException("Error handling ProcessCandidateStarterGroupAddedEvent[" + event + "]", cause);
         }
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
     }
 
     @Override
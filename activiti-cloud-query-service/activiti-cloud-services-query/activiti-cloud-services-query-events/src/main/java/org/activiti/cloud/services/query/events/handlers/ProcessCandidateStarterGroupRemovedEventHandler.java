@@ -15,11 +15,14 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+
 import jakarta.persistence.EntityManager;
 import java.util.Optional;
 import org.activiti.api.process.model.events.ProcessCandidateStarterGroupEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudProcessCandidateStarterGroupRemovedEvent;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupEntity;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupId;
 import org.activiti.cloud.services.query.model.QueryException;
@@ -27,9 +30,14 @@ import org.activiti.cloud.services.query.model.QueryException;
 public class ProcessCandidateStarterGroupRemovedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ProcessCandidateStarterGroupRemovedEventHandler(EntityManager entityManager) {
+    public ProcessCandidateStarterGroupRemovedEventHandler(
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
+    ) {
         this.entityManager = entityManager;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -48,6 +56,7 @@ public class ProcessCandidateStarterGroupRemovedEventHandler implements QueryEve
         } catch (Exception cause) {
             throw new QueryException("Error handling ProcessCandidateStarterGroupRemovedEvent[" + event + "]", cause);
         }
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
     }
 
     @Override
@@ -15,10 +15,13 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+
 import jakarta.persistence.EntityManager;
 import org.activiti.api.process.model.events.ProcessCandidateStarterUserEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudProcessCandidateStarterUserAddedEvent;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterUserEntity;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterUserId;
 import org.activiti.cloud.services.query.model.QueryException;
@@ -26,9 +29,14 @@ import org.activiti.cloud.services.query.model.QueryException;
 public class ProcessCandidateStarterUserAddedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ProcessCandidateStarterUserAddedEventHandler(EntityManager entityManager) {
+    public ProcessCandidateStarterUserAddedEventHandler(
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
+    ) {
         this.entityManager = entityManager;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -47,6 +55,7 @@ public class ProcessCandidateStarterUserAddedEventHandler implements QueryEventH
         } catch (Exception cause) {
             throw new QueryException("Error handling ProcessCandidateStarterUserAddedEvent[" + event + "]", cause);
         }
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
     }
 
     @Override
@@ -15,19 +15,27 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+
 import jakarta.persistence.EntityManager;
 import java.util.Optional;
 import org.activiti.api.process.model.events.ProcessCandidateStarterUserEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudProcessCandidateStarterUserRemovedEvent;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.*;
 
 public class ProcessCandidateStarterUserRemovedEventHandler implements QueryEventHandler {
 
     private final EntityManager entityManager;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ProcessCandidateStarterUserRemovedEventHandler(EntityManager entityManager) {
+    public ProcessCandidateStarterUserRemovedEventHandler(
+        EntityManager entityManager,
+        QueryEntityCaches queryEntityCaches
+    ) {
         this.entityManager = entityManager;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -47,6 +55,7 @@ public class ProcessCandidateStarterUserRemovedEventHandler implements QueryEven
         } catch (Exception cause) {
             throw new QueryException("Error handling ProcessCandidateStarterUserRemovedEvent[" + event + "]", cause);
         }
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
     }
 
     @Override
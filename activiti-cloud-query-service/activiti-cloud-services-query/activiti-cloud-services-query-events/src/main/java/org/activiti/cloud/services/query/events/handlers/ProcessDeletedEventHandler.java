@@ -25,6 +25,7 @@ import org.activiti.cloud.api.process.model.events.CloudProcessDeletedEvent;
 import org.activiti.cloud.services.query.model.BPMNActivityEntity;
 import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
 import org.activiti.cloud.services.query.model.IntegrationContextEntity;
+import org.activiti.cloud.services.query.model.ProcessDiagramStateEntity;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QueryException;
@@ -89,6 +90,7 @@ public class ProcessDeletedEventHandler implements QueryEventHandler {
             remove(ServiceTaskEntity.class, "processInstanceId", eventProcessInstanceId);
             remove(BPMNActivityEntity.class, "processInstanceId", eventProcessInstanceId);
             remove(BPMNSequenceFlowEntity.class, "processInstanceId", eventProcessInstanceId);
+            remove(ProcessDiagramStateEntity.class, "processInstanceId", eventProcessInstanceId);
             remove(ProcessInstanceEntity.class, "id", eventProcessInstanceId);
         } else {
             throw new IllegalStateException(
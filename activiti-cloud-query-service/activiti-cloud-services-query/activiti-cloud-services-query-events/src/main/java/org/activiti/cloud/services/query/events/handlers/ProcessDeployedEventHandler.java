@@ -15,11 +15,15 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_MODELS;
+
 import jakarta.persistence.EntityManager;
 import org.activiti.api.process.model.ProcessDefinition;
 import org.activiti.api.process.model.events.ProcessDefinitionEvent;
 import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
 import org.activiti.cloud.api.process.model.events.CloudProcessDeployedEvent;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
 import org.activiti.cloud.services.query.model.ProcessModelEntity;
 import org.slf4j.Logger;
@@ -30,9 +34,11 @@ public class ProcessDeployedEventHandler implements QueryEventHandler {
     private static final Logger LOGGER = LoggerFactory.getLogger(ProcessDeployedEventHandler.class);
 
     private EntityManager entityManager;
+    private final QueryEntityCaches queryEntityCaches;
 
-    public ProcessDeployedEventHandler(EntityManager entityManager) {
+    public ProcessDeployedEventHandler(EntityManager entityManager, QueryEntityCaches queryEntityCaches) {
         this.entityManager = entityManager;
+        this.queryEntityCaches = queryEntityCaches;
     }
 
     @Override
@@ -57,12 +63,30 @@ public class ProcessDeployedEventHandler implements QueryEventHandler {
         processDefinitionEntity.setServiceType(processDeployedEvent.getServiceType());
         entityManager.merge(processDefinitionEntity);
 
-        ProcessModelEntity processModelEntity = new ProcessModelEntity(
-            processDefinitionEntity,
-            processDeployedEvent.getProcessModelContent()
-        );
-        processModelEntity.setId(processDefinitionEntity.getId());
-        entityManager.merge(processModelEntity);
+        String processModelContent = processDeployedEvent.getProcessModelContent();
+        String contentHash = ProcessModelEntity.computeContentHash(processModelContent);
+        if (contentHash != null && contentHash.equals(findStoredContentHash(processDefinitionEntity.getId()))) {
+            LOGGER.debug("Process model for {} is unchanged, skipping update", processDefinitionEntity.getId());
+        } else {
+            ProcessModelEntity processModelEntity = new ProcessModelEntity(
+                processDefinitionEntity,
+                processModelContent
+            );
+            processModelEntity.setId(processDefinitionEntity.getId());
+            entityManager.merge(processModelEntity);
+        }
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
+        // the cached model embeds the definition merged above, so it is stale even when its content is unchanged
+        queryEntityCaches.evictEntry(PROCESS_MODELS, processDefinitionEntity.getId());
+    }
+
+    private String findStoredContentHash(String processDefinitionId) {
+        return entityManager
+            .createQuery("select m.contentHash from ProcessModel m where m.id = :id", String.class)
+            .setParameter("id", processDefinitionId)
+            .getResultStream()
+            .findFirst()
+            .orElse(null);
     }
 
     @Override
@@ -0,0 +1,99 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import jakarta.persistence.EntityManager;
+import org.activiti.cloud.services.query.model.BPMNActivityEntity;
+import org.activiti.cloud.services.query.model.BaseBPMNActivityEntity;
+import org.activiti.cloud.services.query.model.ProcessDiagramStateEntity;
+
+/**
+ * Maintains the compact {@link ProcessDiagramStateEntity} of a process instance when the compact diagram mode is
+ * enabled. In compact mode taken sequence flows are only recorded in the diagram state, so a looping process no
+ * longer produces one sequence flow row per taken event, and the sequence flows of a process instance are no longer
+ * available through {@code ProcessInstanceEntity.getSequenceFlows()}.
+ * <p>
+ * The state of an instance that was already running when compact mode was switched on is seeded from the activity
+ * and sequence flow rows recorded so far, so its diagram keeps the progress made before the switch.
+ */
+public class ProcessDiagramStateUpdater {
+
+    private final EntityManager entityManager;
+
+    private final boolean compact;
+
+    public ProcessDiagramStateUpdater(EntityManager entityManager, boolean compact) {
+        this.entityManager = entityManager;
+        this.compact = compact;
+    }
+
+    public boolean isCompact() {
+        return compact;
+    }
+
+    public void flowTaken(String processInstanceId, String elementId) {
+        if (compact) {
+            findOrCreate(processInstanceId).flowTaken(elementId);
+        }
+    }
+
+    public void activityUpdated(BaseBPMNActivityEntity activity) {
+        if (compact && activity.getStatus() != null) {
+            apply(findOrCreate(activity.getProcessInstanceId()), activity);
+        }
+    }
+
+    private void apply(ProcessDiagramStateEntity state, BaseBPMNActivityEntity activity) {
+        if (activity.getStatus() == null) {
+            return;
+        }
+        switch (activity.getStatus()) {
+            case STARTED -> state.activityStarted(activity.getId(), activity.getElementId());
+            case COMPLETED -> state.activityCompleted(activity.getId(), activity.getElementId());
+            case CANCELLED -> state.activityCancelled(activity.getId());
+            case ERROR -> state.activityErrored(activity.getId(), activity.getElementId());
+        }
+    }
+
+    private ProcessDiagramStateEntity findOrCreate(String processInstanceId) {
+        ProcessDiagramStateEntity state = entityManager.find(ProcessDiagramStateEntity.class, processInstanceId);
+        if (state == null) {
+            state = new ProcessDiagramStateEntity(processInstanceId);
+            seed(state);
+            entityManager.persist(state);
+        }
+        return state;
+    }
+
+    private void seed(ProcessDiagramStateEntity state) {
+        entityManager
+            .createQuery(
+                "select distinct f.elementId from BPMNSequenceFlow f where f.processInstanceId = :processInstanceId",
+                String.class
+            )
+            .setParameter("processInstanceId", state.getProcessInstanceId())
+            .getResultList()
+            .forEach(state::flowTaken);
+        entityManager
+            .createQuery(
+                "select a from BPMNActivity a where a.processInstanceId = :processInstanceId",
+                BPMNActivityEntity.class
+            )
+            .setParameter("processInstanceId", state.getProcessInstanceId())
+            .getResultList()
+            .forEach(activity -> apply(state, activity));
+    }
+}
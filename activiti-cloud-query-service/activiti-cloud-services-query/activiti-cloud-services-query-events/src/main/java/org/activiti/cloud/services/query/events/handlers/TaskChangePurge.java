@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Date;
+import org.activiti.cloud.services.common.scheduling.PeriodicTask;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Deletes the task changes older than the retention, periodically from startup, so that the change sequence does not
+ * grow with every task ever touched. A client whose cursor is older than the retention misses the purged changes and
+ * has to run its initial search again. Several instances purging at the same time only delete the same rows.
+ */
+public class TaskChangePurge extends PeriodicTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskChangePurge.class);
+
+    private final TaskChangeRepository taskChangeRepository;
+
+    private final Duration retention;
+
+    private final Clock clock;
+
+    public TaskChangePurge(
+        TaskChangeRepository taskChangeRepository,
+        Duration retention,
+        Duration purgeInterval,
+        Clock clock
+    ) {
+        super("task-change-purge", purgeInterval);
+        this.taskChangeRepository = taskChangeRepository;
+        this.retention = retention;
+        this.clock = clock;
+    }
+
+    @Override
+    protected void runOnce() {
+        purge();
+    }
+
+    public int purge() {
+        int deleted = taskChangeRepository.deleteByChangeTimeBefore(new Date(clock.millis() - retention.toMillis()));
+        if (deleted > 0) {
+            LOGGER.info("Purged {} task changes past retention", deleted);
+        }
+        return deleted;
+    }
+}
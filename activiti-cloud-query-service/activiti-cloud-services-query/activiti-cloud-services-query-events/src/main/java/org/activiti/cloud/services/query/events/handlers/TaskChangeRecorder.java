@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import jakarta.persistence.EntityManager;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.activiti.api.model.shared.model.VariableInstance;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.process.model.events.ProcessRuntimeEvent;
+import org.activiti.api.task.model.Task;
+import org.activiti.api.task.model.TaskCandidateGroup;
+import org.activiti.api.task.model.TaskCandidateUser;
+import org.activiti.api.task.model.events.TaskRuntimeEvent;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.model.TaskChangeEntity;
+import org.activiti.cloud.services.query.model.TaskChangeType;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Records a {@link TaskChangeEntity} for every task touched by a batch of events when the task change feed is
+ * enabled. The changed tasks are collected before the batch is handled, so that the tasks of a deleted process
+ * instance can still be resolved, but the changes are only written right before the transaction commits: their
+ * sequence value and change time are then taken at commit, however long the handlers took, which is what the settle
+ * time of the change feed relies on. Several events on the same task within a batch are collapsed into a single
+ * change.
+ */
+public class TaskChangeRecorder {
+
+    private final EntityManager entityManager;
+
+    private final boolean enabled;
+
+    public TaskChangeRecorder(EntityManager entityManager, boolean enabled) {
+        this.entityManager = entityManager;
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void record(List<CloudRuntimeEvent<?, ?>> events) {
+        if (!enabled) {
+            return;
+        }
+        Map<String, TaskChangeType> changes = new LinkedHashMap<>();
+        events.forEach(event -> collect(event, changes));
+        if (changes.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void beforeCommit(boolean readOnly) {
+                        persist(changes);
+                    }
+                }
+            );
+        } else {
+            persist(changes);
+        }
+    }
+
+    private void persist(Map<String, TaskChangeType> changes) {
+        Date changeTime = new Date();
+        changes.forEach((taskId, changeType) ->
+            entityManager.persist(new TaskChangeEntity(taskId, changeType, changeTime))
+        );
+    }
+
+    private void collect(CloudRuntimeEvent<?, ?> event, Map<String, TaskChangeType> changes) {
+        Object entity = event.getEntity();
+        if (entity instanceof Task task) {
+            TaskChangeType changeType = TaskRuntimeEvent.TaskEvents.TASK_CREATED.equals(event.getEventType())
+                ? TaskChangeType.CREATED
+                : TaskChangeType.UPDATED;
+            changes.merge(task.getId(), changeType, TaskChangeRecorder::combine);
+        } else if (entity instanceof TaskCandidateUser candidateUser) {
+            changes.merge(candidateUser.getTaskId(), TaskChangeType.UPDATED, TaskChangeRecorder::combine);
+        } else if (entity instanceof TaskCandidateGroup candidateGroup) {
+            changes.merge(candidateGroup.getTaskId(), TaskChangeType.UPDATED, TaskChangeRecorder::combine);
+        } else if (entity instanceof VariableInstance variable && variable.isTaskVariable()) {
+            changes.merge(variable.getTaskId(), TaskChangeType.UPDATED, TaskChangeRecorder::combine);
+        } else if (
+            entity instanceof ProcessInstance processInstance &&
+            ProcessRuntimeEvent.ProcessEvents.PROCESS_DELETED.equals(event.getEventType())
+        ) {
+            findTaskIds(processInstance.getId())
+                .forEach(taskId -> changes.merge(taskId, TaskChangeType.REMOVED, TaskChangeRecorder::combine));
+        }
+    }
+
+    private List<String> findTaskIds(String processInstanceId) {
+        return entityManager
+            .createQuery("select t.id from Task t where t.processInstanceId = :processInstanceId", String.class)
+            .setParameter("processInstanceId", processInstanceId)
+            .getResultList();
+    }
+
+    private static TaskChangeType combine(TaskChangeType previous, TaskChangeType current) {
+        if (previous == TaskChangeType.REMOVED || current == TaskChangeType.REMOVED) {
+            return TaskChangeType.REMOVED;
+        }
+        if (previous == TaskChangeType.CREATED || current == TaskChangeType.CREATED) {
+            return TaskChangeType.CREATED;
+        }
+        return TaskChangeType.UPDATED;
+    }
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+/**
+ * Ordered, replayable stream of the events recorded by the audit service.
+ */
+public interface AuditEventSource {
+    /**
+     * Reads audit events in stream order, starting after the position identified by {@code cursor}.
+     *
+     * @param cursor the cursor returned with the previous batch, or {@code null} to read from the start of the stream
+     * @param limit the maximum number of events to return
+     * @return the events following {@code cursor} and the cursor of the next batch
+     */
+    AuditEventPage read(String cursor, int limit);
+}
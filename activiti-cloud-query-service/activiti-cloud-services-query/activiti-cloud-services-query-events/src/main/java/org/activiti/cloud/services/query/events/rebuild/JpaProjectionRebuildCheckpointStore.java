@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import jakarta.persistence.EntityManager;
+import java.util.Date;
+import java.util.Optional;
+import org.activiti.cloud.services.query.model.ProjectionRebuildCheckpointEntity;
+
+public class JpaProjectionRebuildCheckpointStore implements ProjectionRebuildCheckpointStore {
+
+    private final EntityManager entityManager;
+
+    public JpaProjectionRebuildCheckpointStore(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public ProjectionRebuildCheckpoint load(String name) {
+        return Optional
+            .ofNullable(entityManager.find(ProjectionRebuildCheckpointEntity.class, name))
+            .map(checkpoint -> new ProjectionRebuildCheckpoint(checkpoint.getPosition(), checkpoint.getCursor()))
+            .orElse(ProjectionRebuildCheckpoint.START);
+    }
+
+    @Override
+    public void save(String name, ProjectionRebuildCheckpoint progress) {
+        ProjectionRebuildCheckpointEntity checkpoint = Optional
+            .ofNullable(entityManager.find(ProjectionRebuildCheckpointEntity.class, name))
+            .orElseGet(() -> new ProjectionRebuildCheckpointEntity(name));
+        checkpoint.setPosition(progress.position());
+        checkpoint.setCursor(progress.cursor());
+        checkpoint.setLastModified(new Date());
+
+        entityManager.persist(checkpoint);
+    }
+}
@@ -0,0 +1,35 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+/**
+ * Progress of a projection rebuild: the number of events applied so far and the cursor of the next batch to read.
+ */
+public record ProjectionRebuildCheckpoint(long position, String cursor, boolean completed) {
+    public static final ProjectionRebuildCheckpoint START = new ProjectionRebuildCheckpoint(0, null, false);
+
+    /**
+     * Checkpoint saved after a batch: a batch without a cursor to the next one is the end of the stream, even when
+     * the stream had no event at all.
+     */
+    public ProjectionRebuildCheckpoint(long position, String cursor) {
+        this(position, cursor, cursor == null);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+}
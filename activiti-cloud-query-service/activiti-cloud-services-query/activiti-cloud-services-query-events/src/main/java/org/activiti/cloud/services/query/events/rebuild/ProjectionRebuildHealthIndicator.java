@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import org.springframework.boot.actuate.health.AbstractHealthIndicator;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+/**
+ * Reports the projection rebuild as out of service while it runs, up once it has completed and down when it failed,
+ * so that the instance is only considered ready once it serves rebuilt projections.
+ */
+public class ProjectionRebuildHealthIndicator extends AbstractHealthIndicator {
+
+    private final ProjectionRebuildLifecycle projectionRebuildLifecycle;
+
+    public ProjectionRebuildHealthIndicator(ProjectionRebuildLifecycle projectionRebuildLifecycle) {
+        this.projectionRebuildLifecycle = projectionRebuildLifecycle;
+    }
+
+    @Override
+    protected void doHealthCheck(Health.Builder builder) {
+        if (!projectionRebuildLifecycle.isCompleted()) {
+            builder.status(Status.OUT_OF_SERVICE);
+        } else if (projectionRebuildLifecycle.getFailure() != null) {
+            builder.down(projectionRebuildLifecycle.getFailure());
+        } else {
+            ProjectionRebuildResult result = projectionRebuildLifecycle.getResult();
+            builder.up().withDetail("events", result.events()).withDetail("position", result.position());
+        }
+    }
+}
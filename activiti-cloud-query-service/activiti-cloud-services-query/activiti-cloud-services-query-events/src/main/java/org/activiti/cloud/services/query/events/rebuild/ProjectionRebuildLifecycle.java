@@ -0,0 +1,135 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Runs the projection rebuild on a background thread started with the context, so that startup and the readiness
+ * probes of the other components are not held up by a long replay; {@code ProjectionRebuildHealthIndicator} reports
+ * the progress. The query consumer of this instance waits in {@link #awaitCompletion()} before applying live events,
+ * so they are only applied once the rebuild has caught up with the audit stream.
+ * <p>
+ * This only guards the instance running the rebuild: every other instance consuming the query destination must be
+ * stopped until the rebuild has completed, otherwise live events are applied concurrently with the replayed ones.
+ */
+public class ProjectionRebuildLifecycle implements SmartLifecycle {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectionRebuildLifecycle.class);
+
+    private final ProjectionRebuilder projectionRebuilder;
+
+    private final int phase;
+
+    private final CountDownLatch finished = new CountDownLatch(1);
+
+    private volatile ExecutorService executor;
+
+    private volatile ProjectionRebuildResult result;
+
+    private volatile RuntimeException failure;
+
+    public ProjectionRebuildLifecycle(ProjectionRebuilder projectionRebuilder, int phase) {
+        this.projectionRebuilder = projectionRebuilder;
+        this.phase = phase;
+    }
+
+    @Override
+    public void start() {
+        if (executor == null && !isCompleted()) {
+            executor =
+                Executors.newSingleThreadExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "projection-rebuild");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            executor.execute(this::rebuild);
+        }
+    }
+
+    @Override
+    public void stop() {
+        if (executor != null) {
+            executor.shutdownNow();
+            executor = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    @Override
+    public int getPhase() {
+        return phase;
+    }
+
+    /**
+     * @return whether the rebuild has finished, successfully or not
+     */
+    public boolean isCompleted() {
+        return finished.getCount() == 0;
+    }
+
+    /**
+     * @return the outcome of the rebuild, or {@code null} while it is running or when it failed
+     */
+    public ProjectionRebuildResult getResult() {
+        return result;
+    }
+
+    /**
+     * @return the error the rebuild failed with, or {@code null}
+     */
+    public RuntimeException getFailure() {
+        return failure;
+    }
+
+    /**
+     * Blocks until the rebuild has finished.
+     *
+     * @throws IllegalStateException when the rebuild failed or the waiting thread is interrupted, so that the events
+     * being delivered are not acknowledged
+     */
+    public void awaitCompletion() {
+        try {
+            finished.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the projection rebuild", e);
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Projection rebuild failed, live events are not applied", failure);
+        }
+    }
+
+    private void rebuild() {
+        try {
+            result = projectionRebuilder.rebuild();
+        } catch (RuntimeException e) {
+            LOGGER.error("Projection rebuild failed", e);
+            failure = e;
+        } finally {
+            finished.countDown();
+        }
+    }
+}
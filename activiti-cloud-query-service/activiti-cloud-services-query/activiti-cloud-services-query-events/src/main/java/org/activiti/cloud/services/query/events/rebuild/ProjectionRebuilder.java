@@ -0,0 +1,198 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.activiti.cloud.services.query.model.QueryException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.support.TransactionOperations;
+
+/**
+ * Rebuilds the query projections by replaying the audit event stream through the query event handlers.
+ * <p>
+ * Events are read in batches following the cursor of the previous batch. Within a batch, stream order is preserved:
+ * each run of consecutive events without a process instance (deployments, standalone tasks) is applied once all the
+ * events before it have been applied, and the events between two such runs are grouped by process instance and
+ * applied in stream order per process instance, with up to {@code parallelism} process instances in flight. Every
+ * group is applied in its own transaction and the checkpoint only moves past a batch once all of its groups have been
+ * applied, so an interrupted rebuild resumes from the last complete batch.
+ * <p>
+ * Once the end of the stream is reached the checkpoint is marked as completed and running the rebuild again under the
+ * same name does nothing; a new rebuild needs a new name and an empty query schema. The event consumers must not
+ * apply events while a rebuild is running, see {@code ProjectionRebuildLifecycle}.
+ */
+public class ProjectionRebuilder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProjectionRebuilder.class);
+
+    private final AuditEventSource auditEventSource;
+
+    private final QueryEventHandlerContext eventHandlerContext;
+
+    private final ProjectionRebuildCheckpointStore checkpointStore;
+
+    private final TransactionOperations transactionOperations;
+
+    private final ProcessInstanceRepository processInstanceRepository;
+
+    private final TaskRepository taskRepository;
+
+    private final String name;
+
+    private final int batchSize;
+
+    private final int parallelism;
+
+    public ProjectionRebuilder(
+        AuditEventSource auditEventSource,
+        QueryEventHandlerContext eventHandlerContext,
+        ProjectionRebuildCheckpointStore checkpointStore,
+        TransactionOperations transactionOperations,
+        ProcessInstanceRepository processInstanceRepository,
+        TaskRepository taskRepository,
+        String name,
+        int batchSize,
+        int parallelism
+    ) {
+        this.auditEventSource = auditEventSource;
+        this.eventHandlerContext = eventHandlerContext;
+        this.checkpointStore = checkpointStore;
+        this.transactionOperations = transactionOperations;
+        this.processInstanceRepository = processInstanceRepository;
+        this.taskRepository = taskRepository;
+        this.name = name;
+        this.batchSize = batchSize;
+        this.parallelism = Math.max(parallelism, 1);
+    }
+
+    public ProjectionRebuildResult rebuild() {
+        ProjectionRebuildCheckpoint checkpoint = transactionOperations.execute(status -> checkpointStore.load(name));
+        if (checkpoint.isCompleted()) {
+            LOGGER.info("Projection rebuild '{}' already completed at position {}", name, checkpoint.position());
+            return new ProjectionRebuildResult(0, checkpoint.position(), Duration.ZERO);
+        }
+        if (checkpoint.position() == 0 && (processInstanceRepository.count() > 0 || taskRepository.count() > 0)) {
+            throw new IllegalStateException("Projection rebuild '" + name + "' must start from an empty query schema");
+        }
+        LOGGER.info("Starting projection rebuild '{}' from position {}", name, checkpoint.position());
+
+        long started = System.nanoTime();
+        long events = 0;
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            AuditEventPage page;
+            do {
+                page = auditEventSource.read(checkpoint.cursor(), batchSize);
+                long batchStarted = System.nanoTime();
+                applyBatch(executor, page.events());
+
+                ProjectionRebuildCheckpoint next = new ProjectionRebuildCheckpoint(
+                    checkpoint.position() + page.events().size(),
+                    page.nextCursor()
+                );
+                transactionOperations.executeWithoutResult(status -> checkpointStore.save(name, next));
+                checkpoint = next;
+                events += page.events().size();
+
+                ProjectionRebuildResult progress = new ProjectionRebuildResult(
+                    page.events().size(),
+                    checkpoint.position(),
+                    Duration.ofNanos(System.nanoTime() - batchStarted)
+                );
+                LOGGER.info(
+                    "Projection rebuild '{}' applied {} events up to position {} ({} events/s)",
+                    name,
+                    progress.events(),
+                    progress.position(),
+                    progress.eventsPerSecond()
+                );
+            } while (page.nextCursor() != null && !page.events().isEmpty());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        ProjectionRebuildResult result = new ProjectionRebuildResult(
+            events,
+            checkpoint.position(),
+            Duration.ofNanos(System.nanoTime() - started)
+        );
+        LOGGER.info(
+            "Projection rebuild '{}' completed: {} events in {} ms ({} events/s)",
+            name,
+            result.events(),
+            result.elapsed().toMillis(),
+            result.eventsPerSecond()
+        );
+        return result;
+    }
+
+    private void applyBatch(ExecutorService executor, List<CloudRuntimeEvent<?, ?>> batch) {
+        List<CloudRuntimeEvent<?, ?>> withoutProcessInstance = new ArrayList<>();
+        Map<String, List<CloudRuntimeEvent<?, ?>>> byProcessInstance = new LinkedHashMap<>();
+        for (CloudRuntimeEvent<?, ?> event : batch) {
+            if (event.getProcessInstanceId() == null) {
+                applyInParallel(executor, byProcessInstance);
+                withoutProcessInstance.add(event);
+            } else {
+                apply(withoutProcessInstance);
+                withoutProcessInstance.clear();
+                byProcessInstance.computeIfAbsent(event.getProcessInstanceId(), id -> new ArrayList<>()).add(event);
+            }
+        }
+        apply(withoutProcessInstance);
+        applyInParallel(executor, byProcessInstance);
+    }
+
+    private void applyInParallel(ExecutorService executor, Map<String, List<CloudRuntimeEvent<?, ?>>> groups) {
+        List<Future<?>> partitions = groups
+            .values()
+            .stream()
+            .<Future<?>>map(events -> executor.submit(() -> apply(events)))
+            .toList();
+        for (Future<?> partition : partitions) {
+            try {
+                partition.get();
+            } catch (ExecutionException e) {
+                throw new QueryException("Unable to apply audit events during projection rebuild", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new QueryException("Projection rebuild interrupted", e);
+            }
+        }
+        groups.clear();
+    }
+
+    private void apply(List<CloudRuntimeEvent<?, ?>> events) {
+        if (!events.isEmpty()) {
+            transactionOperations.executeWithoutResult(status ->
+                eventHandlerContext.handle(events.toArray(new CloudRuntimeEvent[] {}))
+            );
+        }
+    }
+}
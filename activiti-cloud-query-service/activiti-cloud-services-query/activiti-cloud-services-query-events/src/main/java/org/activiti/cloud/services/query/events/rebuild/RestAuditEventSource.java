@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import org.activiti.cloud.api.model.shared.events.CloudRuntimeEvent;
+import org.activiti.cloud.services.query.model.QueryException;
+
+/**
+ * Reads the audit event stream batch by batch from the keyset events endpoint of the audit service, so that every
+ * batch is a bounded range scan following the cursor of the previous one. The endpoint orders events by timestamp and
+ * id and skips events without a timestamp.
+ */
+public class RestAuditEventSource implements AuditEventSource {
+
+    private final HttpClient httpClient;
+
+    private final ObjectMapper objectMapper;
+
+    private final String eventsUrl;
+
+    private final String authorization;
+
+    /**
+     * @param eventsUrl the audit admin events endpoint, e.g. {@code http://audit/admin/v1/events}
+     */
+    public RestAuditEventSource(
+        HttpClient httpClient,
+        ObjectMapper objectMapper,
+        String eventsUrl,
+        String authorization
+    ) {
+        this.httpClient = httpClient;
+        this.objectMapper = objectMapper;
+        this.eventsUrl = eventsUrl;
+        this.authorization = authorization;
+    }
+
+    @Override
+    public AuditEventPage read(String cursor, int limit) {
+        StringBuilder query = new StringBuilder("/keyset?direction=ASC&maxItems=").append(limit);
+        if (cursor != null) {
+            query.append("&cursor=").append(URLEncoder.encode(cursor, StandardCharsets.UTF_8));
+        }
+        URI uri = URI.create(eventsUrl + query);
+
+        HttpRequest.Builder request = HttpRequest.newBuilder(uri).header("Accept", "application/hal+json").GET();
+        if (authorization != null && !authorization.isEmpty()) {
+            request.header("Authorization", authorization);
+        }
+
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new QueryException("Unable to read audit events from " + uri + ": HTTP " + response.statusCode());
+            }
+
+            JsonNode page = objectMapper.readTree(response.body());
+            List<CloudRuntimeEvent<?, ?>> events = new ArrayList<>();
+            for (JsonNode event : page.path("entries")) {
+                ((ObjectNode) event).remove("_links");
+                events.add(objectMapper.treeToValue(event, CloudRuntimeEvent.class));
+            }
+            JsonNode nextCursor = page.path("nextCursor");
+            return new AuditEventPage(events, nextCursor.isTextual() ? nextCursor.asText() : null);
+        } catch (IOException e) {
+            throw new QueryException("Unable to read audit events from " + uri, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryException("Interrupted while reading audit events from " + uri, e);
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.EntityManager;
+import org.activiti.api.runtime.model.impl.BPMNSequenceFlowImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudSequenceFlowTakenEventImpl;
+import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class BPMNSequenceFlowTakenEventHandlerTest {
+
+    @InjectMocks
+    private BPMNSequenceFlowTakenEventHandler handler;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private ProcessDiagramStateUpdater diagramStateUpdater;
+
+    @Test
+    public void should_persistSequenceFlow_when_compactModeIsDisabled() {
+        CloudSequenceFlowTakenEventImpl event = buildSequenceFlowTakenEvent();
+
+        handler.handle(event);
+
+        ArgumentCaptor<BPMNSequenceFlowEntity> captor = ArgumentCaptor.forClass(BPMNSequenceFlowEntity.class);
+        verify(entityManager).persist(captor.capture());
+        assertThat(captor.getValue().getElementId()).isEqualTo("flow1");
+        assertThat(captor.getValue().getProcessInstanceId()).isEqualTo("processInstanceId");
+        verify(diagramStateUpdater, never()).flowTaken(anyString(), anyString());
+    }
+
+    @Test
+    public void should_onlyUpdateDiagramState_when_compactModeIsEnabled() {
+        given(diagramStateUpdater.isCompact()).willReturn(true);
+
+        handler.handle(buildSequenceFlowTakenEvent());
+
+        verify(diagramStateUpdater).flowTaken("processInstanceId", "flow1");
+        verify(entityManager, never()).persist(any());
+    }
+
+    private CloudSequenceFlowTakenEventImpl buildSequenceFlowTakenEvent() {
+        BPMNSequenceFlowImpl sequenceFlow = new BPMNSequenceFlowImpl("flow1", "start", "task");
+        sequenceFlow.setProcessDefinitionId("processDefinitionId");
+        sequenceFlow.setProcessInstanceId("processInstanceId");
+        return new CloudSequenceFlowTakenEventImpl(sequenceFlow);
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class IntegrationContextPayloadLimiterTest {
+
+    @Test
+    void should_keepTopOfStackTrace_when_deeperThanLimit() {
+        IntegrationContextPayloadLimiter limiter = new IntegrationContextPayloadLimiter(2, -1);
+        List<StackTraceElement> stackTrace = List.of(
+            new StackTraceElement("First", "method", "First.java", 1),
+            new StackTraceElement("Second", "method", "Second.java", 2),
+            new StackTraceElement("Third", "method", "Third.java", 3)
+        );
+
+        assertThat(limiter.limitStackTrace(stackTrace)).containsExactly(stackTrace.get(0), stackTrace.get(1));
+    }
+
+    @Test
+    void should_keepVariables_when_withinLimit() {
+        IntegrationContextPayloadLimiter limiter = new IntegrationContextPayloadLimiter(-1, 100);
+        Map<String, Object> variables = Map.of("name", "value");
+
+        assertThat(limiter.limitVariables(variables)).isSameAs(variables);
+    }
+
+    @Test
+    void should_truncateLargestValues_when_variablesExceedLimit() {
+        IntegrationContextPayloadLimiter limiter = new IntegrationContextPayloadLimiter(-1, 100);
+        String largeValue = "x".repeat(500);
+
+        Map<String, Object> limited = limiter.limitVariables(Map.of("small", "value", "large", largeValue));
+
+        assertThat(limited)
+            .containsEntry("small", "value")
+            .containsEntry("large", "[truncated " + (largeValue.length() + 2) + " characters]");
+    }
+
+    @Test
+    void should_notLimit_when_disabled() {
+        IntegrationContextPayloadLimiter limiter = new IntegrationContextPayloadLimiter(-1, -1);
+        Map<String, Object> variables = Map.of("large", "x".repeat(500));
+
+        assertThat(limiter.limitVariables(variables)).isSameAs(variables);
+        assertThat(limiter.limitStackTrace(null)).isNull();
+    }
+}
@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.query.events.handlers;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
@@ -26,6 +27,7 @@ import java.util.UUID;
 import org.activiti.api.process.model.events.ProcessCandidateStarterGroupEvent;
 import org.activiti.api.runtime.model.impl.ProcessCandidateStarterGroupImpl;
 import org.activiti.cloud.api.process.model.impl.events.CloudProcessCandidateStarterGroupAddedEventImpl;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupEntity;
 import org.activiti.cloud.services.query.model.ProcessCandidateStarterGroupId;
 import org.junit.jupiter.api.Test;
@@ -44,6 +46,9 @@ public class ProcessCandidateStarterGroupAddedEventHandlerTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private QueryEntityCaches queryEntityCaches;
+
     @Test
     public void handleShouldStoreNewProcessCandidateGroup() {
         //given
@@ -65,6 +70,7 @@ public class ProcessCandidateStarterGroupAddedEventHandlerTest {
         verify(entityManager).persist(captor.capture());
         assertThat(captor.getValue().getProcessDefinitionId()).isEqualTo(event.getEntity().getProcessDefinitionId());
         assertThat(captor.getValue().getGroupId()).isEqualTo(event.getEntity().getGroupId());
+        verify(queryEntityCaches).evict(PROCESS_DEFINITIONS);
     }
 
     @Test
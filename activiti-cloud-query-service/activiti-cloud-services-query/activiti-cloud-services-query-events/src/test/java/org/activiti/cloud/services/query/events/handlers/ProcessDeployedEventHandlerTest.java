@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_MODELS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.stream.Stream;
+import org.activiti.api.runtime.model.impl.ProcessDefinitionImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessDeployedEventImpl;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
+import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
+import org.activiti.cloud.services.query.model.ProcessModelEntity;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProcessDeployedEventHandlerTest {
+
+    private static final String PROCESS_MODEL_CONTENT = "<definitions/>";
+
+    @InjectMocks
+    private ProcessDeployedEventHandler handler;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private QueryEntityCaches queryEntityCaches;
+
+    @Mock
+    private TypedQuery<String> contentHashQuery;
+
+    @BeforeEach
+    public void setUp() {
+        given(entityManager.createQuery(anyString(), eq(String.class))).willReturn(contentHashQuery);
+        given(contentHashQuery.setParameter("id", "processDefinitionId")).willReturn(contentHashQuery);
+    }
+
+    @Test
+    public void should_storeProcessModel_when_itIsNotStoredYet() {
+        given(contentHashQuery.getResultStream()).willReturn(Stream.empty());
+
+        handler.handle(buildProcessDeployedEvent());
+
+        ArgumentCaptor<ProcessModelEntity> captor = ArgumentCaptor.forClass(ProcessModelEntity.class);
+        verify(entityManager).merge(captor.capture());
+        assertThat(captor.getValue().getId()).isEqualTo("processDefinitionId");
+        assertThat(captor.getValue().getProcessModelContent()).isEqualTo(PROCESS_MODEL_CONTENT);
+        assertThat(captor.getValue().getContentHash())
+            .isEqualTo(ProcessModelEntity.computeContentHash(PROCESS_MODEL_CONTENT));
+    }
+
+    @Test
+    public void should_skipProcessModelUpdate_when_storedContentHashIsTheSame() {
+        given(contentHashQuery.getResultStream())
+            .willReturn(Stream.of(ProcessModelEntity.computeContentHash(PROCESS_MODEL_CONTENT)));
+
+        handler.handle(buildProcessDeployedEvent());
+
+        verify(entityManager).merge(any(ProcessDefinitionEntity.class));
+        verify(entityManager, never()).merge(any(ProcessModelEntity.class));
+        verify(queryEntityCaches).evictEntry(PROCESS_MODELS, "processDefinitionId");
+    }
+
+    @Test
+    public void should_updateProcessModel_when_storedContentHashIsDifferent() {
+        given(contentHashQuery.getResultStream())
+            .willReturn(Stream.of(ProcessModelEntity.computeContentHash("<definitions>old</definitions>")));
+
+        handler.handle(buildProcessDeployedEvent());
+
+        verify(entityManager).merge(any(ProcessModelEntity.class));
+        verify(queryEntityCaches).evictEntry(PROCESS_MODELS, "processDefinitionId");
+    }
+
+    private CloudProcessDeployedEventImpl buildProcessDeployedEvent() {
+        ProcessDefinitionImpl processDefinition = new ProcessDefinitionImpl();
+        processDefinition.setId("processDefinitionId");
+        processDefinition.setKey("processDefinitionKey");
+
+        CloudProcessDeployedEventImpl event = new CloudProcessDeployedEventImpl(processDefinition);
+        event.setProcessModelContent(PROCESS_MODEL_CONTENT);
+        return event;
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.activiti.cloud.api.process.model.CloudBPMNActivity.BPMNActivityStatus;
+import org.activiti.cloud.services.query.model.BPMNActivityEntity;
+import org.activiti.cloud.services.query.model.ProcessDiagramStateEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class ProcessDiagramStateUpdaterTest {
+
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<String> sequenceFlowQuery;
+
+    @Mock
+    private TypedQuery<BPMNActivityEntity> activityQuery;
+
+    @Test
+    public void should_seedNewStateFromRecordedRows_when_instanceStartedBeforeCompactMode() {
+        given(entityManager.createQuery(anyString(), eq(String.class))).willReturn(sequenceFlowQuery);
+        given(sequenceFlowQuery.setParameter("processInstanceId", PROCESS_INSTANCE_ID)).willReturn(sequenceFlowQuery);
+        given(sequenceFlowQuery.getResultList()).willReturn(List.of("flow1"));
+        given(entityManager.createQuery(anyString(), eq(BPMNActivityEntity.class))).willReturn(activityQuery);
+        given(activityQuery.setParameter("processInstanceId", PROCESS_INSTANCE_ID)).willReturn(activityQuery);
+        given(activityQuery.getResultList())
+            .willReturn(
+                List.of(
+                    buildActivity("1", "start", BPMNActivityStatus.COMPLETED),
+                    buildActivity("2", "task", BPMNActivityStatus.STARTED)
+                )
+            );
+
+        new ProcessDiagramStateUpdater(entityManager, true).flowTaken(PROCESS_INSTANCE_ID, "flow2");
+
+        ArgumentCaptor<ProcessDiagramStateEntity> captor = ArgumentCaptor.forClass(ProcessDiagramStateEntity.class);
+        verify(entityManager).persist(captor.capture());
+        ProcessDiagramStateEntity state = captor.getValue();
+        assertThat(state.getTakenFlows()).containsExactly("flow1", "flow2");
+        assertThat(state.getCompletedActivities()).containsExactly("start");
+        assertThat(state.getActiveActivities()).containsExactly("task");
+    }
+
+    @Test
+    public void should_updateExistingState_withoutSeeding() {
+        ProcessDiagramStateEntity state = new ProcessDiagramStateEntity(PROCESS_INSTANCE_ID);
+        state.activityStarted("2", "task");
+        given(entityManager.find(ProcessDiagramStateEntity.class, PROCESS_INSTANCE_ID)).willReturn(state);
+
+        new ProcessDiagramStateUpdater(entityManager, true)
+            .activityUpdated(buildActivity("2", "task", BPMNActivityStatus.COMPLETED));
+
+        assertThat(state.getActiveActivities()).isEmpty();
+        assertThat(state.getCompletedActivities()).containsExactly("task");
+        verify(entityManager, never()).createQuery(anyString(), eq(BPMNActivityEntity.class));
+        verify(entityManager, never()).persist(state);
+    }
+
+    @Test
+    public void should_notRecordState_when_compactModeIsDisabled() {
+        ProcessDiagramStateUpdater updater = new ProcessDiagramStateUpdater(entityManager, false);
+
+        updater.flowTaken(PROCESS_INSTANCE_ID, "flow1");
+        updater.activityUpdated(buildActivity("1", "start", BPMNActivityStatus.STARTED));
+
+        verifyNoInteractions(entityManager);
+    }
+
+    private BPMNActivityEntity buildActivity(String id, String elementId, BPMNActivityStatus status) {
+        BPMNActivityEntity activity = new BPMNActivityEntity();
+        activity.setId(id);
+        activity.setElementId(elementId);
+        activity.setProcessInstanceId(PROCESS_INSTANCE_ID);
+        activity.setStatus(status);
+        return activity;
+    }
+}
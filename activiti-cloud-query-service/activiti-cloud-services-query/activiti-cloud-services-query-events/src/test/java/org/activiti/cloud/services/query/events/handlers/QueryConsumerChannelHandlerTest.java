@@ -48,6 +48,9 @@ public class QueryConsumerChannelHandlerTest {
     @Mock
     private EntityManager entityManager;
 
+    @Mock
+    private TaskChangeRecorder taskChangeRecorder;
+
     @Test
     public void receiveShouldHandleReceivedEvent() {
         //given
@@ -62,6 +65,7 @@ public class QueryConsumerChannelHandlerTest {
         new TransactionTemplate(new PseudoTransactionManager()).executeWithoutResult(tx -> consumer.receive(events));
 
         //then
+        verify(taskChangeRecorder).record(events);
         verify(optimizer).optimize(events);
         verify(eventHandlerContext).handle(processCreatedEvent, processStartedEvent);
         verify(entityManager).clear();
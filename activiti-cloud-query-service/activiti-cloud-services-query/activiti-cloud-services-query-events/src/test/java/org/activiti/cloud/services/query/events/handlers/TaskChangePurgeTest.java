@@ -0,0 +1,52 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Date;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskChangePurgeTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Test
+    public void should_deleteChangesOlderThanRetention() {
+        Instant now = Instant.parse("2026-10-19T12:00:00Z");
+        TaskChangePurge taskChangePurge = new TaskChangePurge(
+            taskChangeRepository,
+            Duration.ofDays(7),
+            Duration.ofHours(1),
+            Clock.fixed(now, ZoneOffset.UTC)
+        );
+        when(taskChangeRepository.deleteByChangeTimeBefore(Date.from(Instant.parse("2026-10-12T12:00:00Z"))))
+            .thenReturn(3);
+
+        assertThat(taskChangePurge.purge()).isEqualTo(3);
+    }
+}
@@ -0,0 +1,124 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.handlers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import java.util.List;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.api.task.model.Task.TaskStatus;
+import org.activiti.api.task.model.impl.TaskCandidateUserImpl;
+import org.activiti.api.task.model.impl.TaskImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessDeletedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskAssignedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskCandidateUserAddedEventImpl;
+import org.activiti.cloud.api.task.model.impl.events.CloudTaskCreatedEventImpl;
+import org.activiti.cloud.services.query.model.TaskChangeEntity;
+import org.activiti.cloud.services.query.model.TaskChangeType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskChangeRecorderTest {
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TypedQuery<String> taskIdsQuery;
+
+    @Captor
+    private ArgumentCaptor<TaskChangeEntity> changeCaptor;
+
+    @Test
+    public void should_recordOneChangePerTask_when_severalEventsTouchTheSameTask() {
+        TaskChangeRecorder recorder = new TaskChangeRecorder(entityManager, true);
+        TaskImpl task = new TaskImpl("task1", "Task", TaskStatus.CREATED);
+        TaskImpl otherTask = new TaskImpl("task2", "Other", TaskStatus.ASSIGNED);
+
+        recorder.record(
+            List.of(
+                new CloudTaskCreatedEventImpl(task),
+                new CloudTaskAssignedEventImpl(task),
+                new CloudTaskCandidateUserAddedEventImpl(new TaskCandidateUserImpl("hruser", "task2")),
+                new CloudTaskAssignedEventImpl(otherTask)
+            )
+        );
+
+        verify(entityManager, times(2)).persist(changeCaptor.capture());
+        assertThat(changeCaptor.getAllValues())
+            .extracting(TaskChangeEntity::getTaskId, TaskChangeEntity::getChangeType)
+            .containsExactly(tuple("task1", TaskChangeType.CREATED), tuple("task2", TaskChangeType.UPDATED));
+    }
+
+    @Test
+    public void should_recordRemovedTasks_when_processInstanceIsDeleted() {
+        TaskChangeRecorder recorder = new TaskChangeRecorder(entityManager, true);
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId("process1");
+        when(entityManager.createQuery(anyString(), eq(String.class))).thenReturn(taskIdsQuery);
+        when(taskIdsQuery.setParameter("processInstanceId", "process1")).thenReturn(taskIdsQuery);
+        when(taskIdsQuery.getResultList()).thenReturn(List.of("task1", "task2"));
+
+        recorder.record(List.of(new CloudProcessDeletedEventImpl(processInstance)));
+
+        verify(entityManager, times(2)).persist(changeCaptor.capture());
+        assertThat(changeCaptor.getAllValues())
+            .extracting(TaskChangeEntity::getTaskId, TaskChangeEntity::getChangeType)
+            .containsExactly(tuple("task1", TaskChangeType.REMOVED), tuple("task2", TaskChangeType.REMOVED));
+    }
+
+    @Test
+    public void should_writeChangesBeforeCommit_when_transactionIsActive() {
+        TaskChangeRecorder recorder = new TaskChangeRecorder(entityManager, true);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            recorder.record(List.of(new CloudTaskCreatedEventImpl(new TaskImpl("task1", "Task", TaskStatus.CREATED))));
+
+            verifyNoInteractions(entityManager);
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(sync -> sync.beforeCommit(false));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(entityManager).persist(changeCaptor.capture());
+        assertThat(changeCaptor.getValue().getTaskId()).isEqualTo("task1");
+    }
+
+    @Test
+    public void should_notRecordChanges_when_disabled() {
+        TaskChangeRecorder recorder = new TaskChangeRecorder(entityManager, false);
+
+        recorder.record(List.of(new CloudTaskCreatedEventImpl(new TaskImpl("task1", "Task", TaskStatus.CREATED))));
+
+        verifyNoInteractions(entityManager);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionRebuildLifecycleTest {
+
+    @Mock
+    private ProjectionRebuilder projectionRebuilder;
+
+    @Test
+    void should_returnFromStart_when_rebuildIsStillRunning() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        ProjectionRebuildResult result = new ProjectionRebuildResult(3, 3, Duration.ZERO);
+        when(projectionRebuilder.rebuild())
+            .thenAnswer(invocation -> {
+                release.await();
+                return result;
+            });
+        ProjectionRebuildLifecycle lifecycle = new ProjectionRebuildLifecycle(projectionRebuilder, 0);
+
+        lifecycle.start();
+
+        assertThat(lifecycle.isRunning()).isTrue();
+        assertThat(lifecycle.isCompleted()).isFalse();
+
+        release.countDown();
+        lifecycle.awaitCompletion();
+
+        assertThat(lifecycle.isCompleted()).isTrue();
+        assertThat(lifecycle.getResult()).isEqualTo(result);
+        lifecycle.stop();
+    }
+
+    @Test
+    void should_failAwaitCompletion_when_rebuildFailed() {
+        IllegalStateException failure = new IllegalStateException("not empty");
+        when(projectionRebuilder.rebuild()).thenThrow(failure);
+        ProjectionRebuildLifecycle lifecycle = new ProjectionRebuildLifecycle(projectionRebuilder, 0);
+
+        lifecycle.start();
+
+        assertThatThrownBy(lifecycle::awaitCompletion).isInstanceOf(IllegalStateException.class).hasCause(failure);
+        assertThat(lifecycle.getFailure()).isEqualTo(failure);
+        lifecycle.stop();
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.events.rebuild;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.activiti.api.runtime.model.impl.ProcessDefinitionImpl;
+import org.activiti.api.runtime.model.impl.ProcessInstanceImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessCreatedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessDeployedEventImpl;
+import org.activiti.cloud.api.process.model.impl.events.CloudProcessStartedEventImpl;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.events.handlers.QueryEventHandlerContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionOperations;
+
+@ExtendWith(MockitoExtension.class)
+class ProjectionRebuilderTest {
+
+    @Mock
+    private AuditEventSource auditEventSource;
+
+    @Mock
+    private QueryEventHandlerContext eventHandlerContext;
+
+    @Mock
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Mock
+    private TaskRepository taskRepository;
+
+    private final Map<String, ProjectionRebuildCheckpoint> checkpoints = new HashMap<>();
+
+    private ProjectionRebuilder rebuilder;
+
+    @BeforeEach
+    void setUp() {
+        ProjectionRebuildCheckpointStore checkpointStore = new ProjectionRebuildCheckpointStore() {
+            @Override
+            public ProjectionRebuildCheckpoint load(String name) {
+                return checkpoints.getOrDefault(name, ProjectionRebuildCheckpoint.START);
+            }
+
+            @Override
+            public void save(String name, ProjectionRebuildCheckpoint checkpoint) {
+                checkpoints.put(name, checkpoint);
+            }
+        };
+        rebuilder =
+            new ProjectionRebuilder(
+                auditEventSource,
+                eventHandlerContext,
+                checkpointStore,
+                TransactionOperations.withoutTransaction(),
+                processInstanceRepository,
+                taskRepository,
+                "test",
+                4,
+                2
+            );
+    }
+
+    @Test
+    void should_applyEventsPartitionedByProcessInstance_when_rebuildingFromEmptySchema() {
+        CloudProcessCreatedEventImpl firstCreated = new CloudProcessCreatedEventImpl(processInstance("first"));
+        CloudProcessCreatedEventImpl secondCreated = new CloudProcessCreatedEventImpl(processInstance("second"));
+        CloudProcessStartedEventImpl started = new CloudProcessStartedEventImpl(processInstance("first"), null, null);
+
+        when(auditEventSource.read(null, 4))
+            .thenReturn(new AuditEventPage(List.of(firstCreated, secondCreated, started), "next"));
+        when(auditEventSource.read("next", 4)).thenReturn(new AuditEventPage(List.of(), null));
+
+        ProjectionRebuildResult result = rebuilder.rebuild();
+
+        verify(eventHandlerContext).handle(firstCreated, started);
+        verify(eventHandlerContext).handle(secondCreated);
+        assertThat(result.events()).isEqualTo(3);
+        assertThat(result.position()).isEqualTo(3);
+        assertThat(checkpoints).containsEntry("test", new ProjectionRebuildCheckpoint(3, null));
+    }
+
+    @Test
+    void should_keepStreamOrder_when_eventWithoutProcessInstanceIsBetweenProcessInstanceEvents() {
+        CloudProcessCreatedEventImpl created = new CloudProcessCreatedEventImpl(processInstance("first"));
+        CloudProcessDeployedEventImpl deployed = new CloudProcessDeployedEventImpl(new ProcessDefinitionImpl());
+        CloudProcessStartedEventImpl started = new CloudProcessStartedEventImpl(processInstance("first"), null, null);
+
+        when(auditEventSource.read(null, 4)).thenReturn(new AuditEventPage(List.of(created, deployed, started), null));
+
+        rebuilder.rebuild();
+
+        InOrder inOrder = inOrder(eventHandlerContext);
+        inOrder.verify(eventHandlerContext).handle(created);
+        inOrder.verify(eventHandlerContext).handle(deployed);
+        inOrder.verify(eventHandlerContext).handle(started);
+        inOrder.verifyNoMoreInteractions();
+    }
+
+    @Test
+    void should_resumeFromCheckpointCursor_when_previousRebuildWasInterrupted() {
+        checkpoints.put("test", new ProjectionRebuildCheckpoint(8, "next"));
+        when(auditEventSource.read("next", 4)).thenReturn(new AuditEventPage(List.of(), null));
+
+        ProjectionRebuildResult result = rebuilder.rebuild();
+
+        assertThat(result.events()).isZero();
+        assertThat(result.position()).isEqualTo(8);
+        assertThat(checkpoints).containsEntry("test", new ProjectionRebuildCheckpoint(8, null));
+        verifyNoInteractions(processInstanceRepository, taskRepository, eventHandlerContext);
+    }
+
+    @Test
+    void should_completeRebuild_when_auditStreamIsEmpty() {
+        when(auditEventSource.read(null, 4)).thenReturn(new AuditEventPage(List.of(), null));
+
+        ProjectionRebuildResult result = rebuilder.rebuild();
+
+        assertThat(result.events()).isZero();
+        assertThat(checkpoints.get("test").isCompleted()).isTrue();
+
+        rebuilder.rebuild();
+
+        verify(auditEventSource).read(null, 4);
+    }
+
+    @Test
+    void should_notReadEvents_when_rebuildAlreadyCompleted() {
+        checkpoints.put("test", new ProjectionRebuildCheckpoint(8, null));
+
+        ProjectionRebuildResult result = rebuilder.rebuild();
+
+        assertThat(result.events()).isZero();
+        assertThat(result.position()).isEqualTo(8);
+        verifyNoInteractions(auditEventSource, processInstanceRepository, taskRepository, eventHandlerContext);
+    }
+
+    @Test
+    void should_refuseToRebuild_when_querySchemaIsNotEmpty() {
+        when(processInstanceRepository.count()).thenReturn(1L);
+
+        assertThatThrownBy(() -> rebuilder.rebuild())
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("empty query schema");
+        verify(auditEventSource, never()).read(any(), anyInt());
+    }
+
+    private ProcessInstanceImpl processInstance(String id) {
+        ProcessInstanceImpl processInstance = new ProcessInstanceImpl();
+        processInstance.setId(id);
+        return processInstance;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+create sequence task_change_sequence start with 1 increment by 1;
+
+create table task_change
+(
+  id NUMBER(19) not null,
+  task_id varchar(255) not null,
+  change_type varchar(32),
+  change_time timestamp,
+  primary key (id)
+);
+
+create index task_change_taskId_idx on task_change (task_id);
@@ -1,5 +1,6 @@
 create sequence process_variable_sequence start with 1 increment by 50;
 create sequence task_variable_sequence start with 1 increment by 50;
+create sequence task_change_sequence start with 1 increment by 1;
 
 create table bpmn_activity
 (
@@ -80,6 +81,7 @@ create table process_instance
     business_key               varchar(255),
     initiator                  varchar(255),
     last_modified              timestamp,
+    entity_version             bigint default 0 not null,
     last_modified_from         timestamp,
     last_modified_to           timestamp,
     name                       varchar(255),
@@ -99,6 +101,7 @@ create table process_instance
 create table process_model
 (
     process_model_content text,
+    content_hash          varchar(64),
     process_definition_id varchar(255) not null,
     primary key (process_definition_id)
 );
@@ -148,6 +151,7 @@ create table task
     last_claimed_from          timestamp,
     last_claimed_to            timestamp,
     last_modified              timestamp,
+    entity_version             bigint default 0 not null,
     last_modified_from         timestamp,
     last_modified_to           timestamp,
     name                       varchar(255),
@@ -264,6 +268,31 @@ create table process_candidate_starter_user
   user_id varchar(255) not null,
   primary key (process_definition_id, user_id)
 );
+create table process_diagram_state
+(
+  process_instance_id varchar(255) not null,
+  taken_flows text,
+  completed_activities text,
+  active_activities text,
+  errored_activities text,
+  primary key (process_instance_id)
+);
+create table projection_rebuild_checkpoint
+(
+  name varchar(255) not null,
+  event_position bigint not null,
+  event_cursor varchar(255),
+  last_modified timestamp,
+  primary key (name)
+);
+create table task_change
+(
+  id bigint not null,
+  task_id varchar(255) not null,
+  change_type varchar(32),
+  change_time timestamp,
+  primary key (id)
+);
 
 create index bpmn_activity_status_idx on bpmn_activity (status);
 create index bpmn_activity_processInstance_idx on bpmn_activity (process_instance_id);
@@ -315,3 +344,6 @@ create index idx_process_instance_initiator on process_instance(initiator);
 CREATE INDEX idx_task_id_name_status ON task(id, name, status);
 CREATE INDEX idx_task_process_var_taskId_processVarId ON task_process_variable (task_id, process_variable_id);
 CREATE INDEX idx_task_createdDate ON task (created_date);
+create index pi_parentId_idx on process_instance (parent_id);
+create index task_change_taskId_idx on task_change (task_id);
+create index task_change_changeTime_idx on task_change (change_time);
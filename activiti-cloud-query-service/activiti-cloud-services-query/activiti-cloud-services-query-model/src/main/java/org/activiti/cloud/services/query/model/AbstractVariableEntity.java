@@ -18,6 +18,7 @@ package org.activiti.cloud.services.query.model;
 import static jakarta.persistence.TemporalType.TIMESTAMP;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
@@ -145,6 +146,7 @@ public abstract class AbstractVariableEntity extends ActivitiEntityMetadata impl
     }
 
     @Override
+    @JsonView(JsonViews.VariableValues.class)
     public <T> T getValue() {
         return (T) value.getValue();
     }
@@ -20,6 +20,7 @@ import static jakarta.persistence.TemporalType.TIMESTAMP;
 import com.fasterxml.jackson.annotation.JsonFormat;
 import com.fasterxml.jackson.annotation.JsonFormat.Shape;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.Basic;
 import jakarta.persistence.Column;
 import jakarta.persistence.Convert;
@@ -69,11 +70,13 @@ public class IntegrationContextEntity extends ActivitiEntityMetadata implements
     @Id
     private String id;
 
+    @JsonView(JsonViews.IntegrationPayload.class)
     @Convert(converter = MapOfStringObjectJsonConverter.class)
     @Column(columnDefinition = "text", name = "inbound_variables")
     @Basic(fetch = FetchType.LAZY)
     private Map<String, Object> inBoundVariables = new HashMap<>();
 
+    @JsonView(JsonViews.IntegrationPayload.class)
     @Convert(converter = MapOfStringObjectJsonConverter.class)
     @Column(columnDefinition = "text")
     @Basic(fetch = FetchType.LAZY)
@@ -111,6 +114,7 @@ public class IntegrationContextEntity extends ActivitiEntityMetadata implements
 
     private String errorClassName;
 
+    @JsonView(JsonViews.IntegrationPayload.class)
     @Convert(converter = ListOfStackTraceElementsJsonConverter.class)
     @Column(columnDefinition = "text")
     @Basic(fetch = FetchType.LAZY)
@@ -19,5 +19,9 @@ public class JsonViews {
 
     public static class General {}
 
-    public static class ProcessVariables {}
+    public static class VariableValues {}
+
+    public static class ProcessVariables extends VariableValues {}
+
+    public static class IntegrationPayload {}
 }
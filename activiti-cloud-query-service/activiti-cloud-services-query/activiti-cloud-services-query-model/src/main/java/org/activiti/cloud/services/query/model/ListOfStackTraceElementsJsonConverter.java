@@ -22,6 +22,7 @@ import jakarta.persistence.AttributeConverter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
 
 public class ListOfStackTraceElementsJsonConverter implements AttributeConverter<List<StackTraceElement>, String> {
 
@@ -36,7 +37,7 @@ public class ListOfStackTraceElementsJsonConverter implements AttributeConverter
     @Override
     public String convertToDatabaseColumn(List<StackTraceElement> variableValue) {
         try {
-            return objectMapper.writeValueAsString(variableValue);
+            return JsonTextCompression.compress(objectMapper.writeValueAsString(variableValue));
         } catch (JsonProcessingException e) {
             throw new QueryException("Unable to serialize list of StackTraceElements", e);
         }
@@ -46,7 +47,10 @@ public class ListOfStackTraceElementsJsonConverter implements AttributeConverter
     public List<StackTraceElement> convertToEntityAttribute(String dbData) {
         try {
             if (dbData != null && dbData.length() > 0) {
-                return objectMapper.readValue(dbData, new TypeReference<List<StackTraceElement>>() {});
+                return objectMapper.readValue(
+                    JsonTextCompression.decompress(dbData),
+                    new TypeReference<List<StackTraceElement>>() {}
+                );
             } else {
                 return Collections.emptyList();
             }
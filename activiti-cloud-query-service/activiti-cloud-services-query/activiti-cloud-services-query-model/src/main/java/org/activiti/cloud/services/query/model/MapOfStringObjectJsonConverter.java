@@ -23,6 +23,7 @@ import jakarta.persistence.AttributeConverter;
 import java.io.IOException;
 import java.util.Collections;
 import java.util.Map;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
 
 public class MapOfStringObjectJsonConverter implements AttributeConverter<Map<String, Object>, String> {
 
@@ -35,7 +36,7 @@ public class MapOfStringObjectJsonConverter implements AttributeConverter<Map<St
     @Override
     public String convertToDatabaseColumn(Map<String, Object> variableValue) {
         try {
-            return objectMapper.writeValueAsString(variableValue);
+            return JsonTextCompression.compress(objectMapper.writeValueAsString(variableValue));
         } catch (JsonProcessingException e) {
             throw new QueryException("Unable to serialize list of map of string objects", e);
         }
@@ -45,7 +46,10 @@ public class MapOfStringObjectJsonConverter implements AttributeConverter<Map<St
     public Map<String, Object> convertToEntityAttribute(String dbData) {
         try {
             if (dbData != null && dbData.length() > 0) {
-                return objectMapper.readValue(dbData, new TypeReference<Map<String, Object>>() {});
+                return objectMapper.readValue(
+                    JsonTextCompression.decompress(dbData),
+                    new TypeReference<Map<String, Object>>() {}
+                );
             } else {
                 return Collections.emptyMap();
             }
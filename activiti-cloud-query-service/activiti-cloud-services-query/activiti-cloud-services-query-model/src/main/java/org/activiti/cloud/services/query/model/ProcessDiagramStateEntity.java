@@ -0,0 +1,157 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Compact, per process instance summary of what the diagram endpoint highlights: the distinct sequence flows
+ * taken so far, the activities that have completed and the activities that are currently active or in error.
+ * Active and errored activities are keyed by the activity instance id so that concurrent executions of the same
+ * element are tracked independently.
+ */
+@Entity(name = "ProcessDiagramState")
+@Table(name = "PROCESS_DIAGRAM_STATE")
+public class ProcessDiagramStateEntity {
+
+    @Id
+    @Column(name = "process_instance_id")
+    private String processInstanceId;
+
+    @Convert(converter = SetOfStringJsonConverter.class)
+    @Column(columnDefinition = "text")
+    private Set<String> takenFlows = new LinkedHashSet<>();
+
+    @Convert(converter = SetOfStringJsonConverter.class)
+    @Column(columnDefinition = "text")
+    private Set<String> completedActivities = new LinkedHashSet<>();
+
+    @Convert(converter = MapOfStringStringJsonConverter.class)
+    @Column(columnDefinition = "text")
+    private Map<String, String> activeActivities = new LinkedHashMap<>();
+
+    @Convert(converter = MapOfStringStringJsonConverter.class)
+    @Column(columnDefinition = "text")
+    private Map<String, String> erroredActivities = new LinkedHashMap<>();
+
+    public ProcessDiagramStateEntity() {}
+
+    public ProcessDiagramStateEntity(String processInstanceId) {
+        this.processInstanceId = processInstanceId;
+    }
+
+    public String getProcessInstanceId() {
+        return processInstanceId;
+    }
+
+    public Set<String> getTakenFlows() {
+        return takenFlows;
+    }
+
+    public Set<String> getCompletedActivities() {
+        return completedActivities;
+    }
+
+    public Set<String> getActiveActivities() {
+        return distinctElementIds(activeActivities.values());
+    }
+
+    public Set<String> getErroredActivities() {
+        return distinctElementIds(erroredActivities.values());
+    }
+
+    public void flowTaken(String elementId) {
+        if (!takenFlows.contains(elementId)) {
+            Set<String> flows = new LinkedHashSet<>(takenFlows);
+            flows.add(elementId);
+            takenFlows = flows;
+        }
+    }
+
+    public void activityStarted(String activityId, String elementId) {
+        activeActivities = with(activeActivities, activityId, elementId);
+        erroredActivities = without(erroredActivities, activityId);
+    }
+
+    public void activityCompleted(String activityId, String elementId) {
+        activeActivities = without(activeActivities, activityId);
+        erroredActivities = without(erroredActivities, activityId);
+        if (!completedActivities.contains(elementId)) {
+            Set<String> activities = new LinkedHashSet<>(completedActivities);
+            activities.add(elementId);
+            completedActivities = activities;
+        }
+    }
+
+    public void activityCancelled(String activityId) {
+        activeActivities = without(activeActivities, activityId);
+        erroredActivities = without(erroredActivities, activityId);
+    }
+
+    public void activityErrored(String activityId, String elementId) {
+        activeActivities = without(activeActivities, activityId);
+        erroredActivities = with(erroredActivities, activityId, elementId);
+    }
+
+    private static Map<String, String> with(Map<String, String> activities, String activityId, String elementId) {
+        if (Objects.equals(activities.get(activityId), elementId)) {
+            return activities;
+        }
+        Map<String, String> result = new LinkedHashMap<>(activities);
+        result.put(activityId, elementId);
+        return result;
+    }
+
+    private static Map<String, String> without(Map<String, String> activities, String activityId) {
+        if (!activities.containsKey(activityId)) {
+            return activities;
+        }
+        Map<String, String> result = new LinkedHashMap<>(activities);
+        result.remove(activityId);
+        return result;
+    }
+
+    private static Set<String> distinctElementIds(Collection<String> elementIds) {
+        return new LinkedHashSet<>(elementIds);
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ProcessDiagramStateEntity other = (ProcessDiagramStateEntity) obj;
+        return processInstanceId != null && Objects.equals(processInstanceId, other.processInstanceId);
+    }
+}
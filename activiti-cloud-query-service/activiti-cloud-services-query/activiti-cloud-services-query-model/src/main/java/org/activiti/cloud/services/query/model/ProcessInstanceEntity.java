@@ -22,6 +22,7 @@ import com.fasterxml.jackson.annotation.JsonView;
 import com.querydsl.core.annotations.PropertyType;
 import com.querydsl.core.annotations.QueryType;
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.persistence.Column;
 import jakarta.persistence.ConstraintMode;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -35,6 +36,7 @@ import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.NamedEntityGraphs;
 import jakarta.persistence.NamedSubgraph;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.Transient;
@@ -62,6 +64,7 @@ import org.springframework.format.annotation.DateTimeFormat;
         @Index(name = "pi_processDefinitionId_idx", columnList = "processDefinitionId", unique = false),
         @Index(name = "pi_processDefinitionKey_idx", columnList = "processDefinitionKey", unique = false),
         @Index(name = "pi_processDefinitionName_idx", columnList = "processDefinitionName", unique = false),
+        @Index(name = "pi_parentId_idx", columnList = "parentId", unique = false),
     }
 )
 @DynamicInsert
@@ -118,6 +121,10 @@ public class ProcessInstanceEntity extends ActivitiEntityMetadata implements Que
     @Temporal(TIMESTAMP)
     private Date lastModified;
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private long entityVersion;
+
     @JsonIgnore
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     @Temporal(TIMESTAMP)
@@ -271,6 +278,18 @@ public class ProcessInstanceEntity extends ActivitiEntityMetadata implements Que
         this.lastModified = lastModified;
     }
 
+    /**
+     * Monotonic counter bumped on every update of this row, used to derive the HTTP entity tag.
+     */
+    public long getEntityVersion() {
+        return entityVersion;
+    }
+
+    @PreUpdate
+    void incrementEntityVersion() {
+        entityVersion++;
+    }
+
     @Transient
     public Date getLastModifiedTo() {
         return lastModifiedTo;
@@ -485,6 +504,11 @@ public class ProcessInstanceEntity extends ActivitiEntityMetadata implements Que
         this.serviceTasks = serviceTasks;
     }
 
+    /**
+     * @return the sequence flows taken by this process instance. Flows taken while
+     * {@code activiti.cloud.services.query.diagram.compact.enabled} is on are only recorded in the compact diagram
+     * state and are missing from this list.
+     */
     public List<BPMNSequenceFlowEntity> getSequenceFlows() {
         return sequenceFlows;
     }
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+/**
+ * Compact view of a process instance inside a call activity hierarchy. The depth is relative to the root
+ * of the requested hierarchy and the child count is the number of direct subprocesses of the node, so clients
+ * can tell whether a node at the requested depth limit can be expanded further.
+ */
+public class ProcessInstanceTreeNode {
+
+    private String id;
+    private String parentId;
+    private String name;
+    private String processDefinitionKey;
+    private String processDefinitionName;
+    private String status;
+    private int depth;
+    private long childCount;
+
+    public ProcessInstanceTreeNode() {}
+
+    public ProcessInstanceTreeNode(
+        String id,
+        String parentId,
+        String name,
+        String processDefinitionKey,
+        String processDefinitionName,
+        String status,
+        int depth
+    ) {
+        this.id = id;
+        this.parentId = parentId;
+        this.name = name;
+        this.processDefinitionKey = processDefinitionKey;
+        this.processDefinitionName = processDefinitionName;
+        this.status = status;
+        this.depth = depth;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getParentId() {
+        return parentId;
+    }
+
+    public void setParentId(String parentId) {
+        this.parentId = parentId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getProcessDefinitionKey() {
+        return processDefinitionKey;
+    }
+
+    public void setProcessDefinitionKey(String processDefinitionKey) {
+        this.processDefinitionKey = processDefinitionKey;
+    }
+
+    public String getProcessDefinitionName() {
+        return processDefinitionName;
+    }
+
+    public void setProcessDefinitionName(String processDefinitionName) {
+        this.processDefinitionName = processDefinitionName;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public void setDepth(int depth) {
+        this.depth = depth;
+    }
+
+    public long getChildCount() {
+        return childCount;
+    }
+
+    public void setChildCount(long childCount) {
+        this.childCount = childCount;
+    }
+}
@@ -16,6 +16,10 @@
 package org.activiti.cloud.services.query.model;
 
 import jakarta.persistence.*;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import java.util.Objects;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
@@ -36,12 +40,16 @@ public class ProcessModelEntity {
     @Column(columnDefinition = "text")
     private String processModelContent;
 
+    @Column(length = 64)
+    private String contentHash;
+
     //used by persistence framework
     public ProcessModelEntity() {}
 
     public ProcessModelEntity(ProcessDefinitionEntity processDefinition, String processModelContent) {
         this.processDefinition = processDefinition;
         this.processModelContent = processModelContent;
+        this.contentHash = computeContentHash(processModelContent);
     }
 
     public String getId() {
@@ -60,6 +68,26 @@ public class ProcessModelEntity {
         return processModelContent;
     }
 
+    public String getContentHash() {
+        return contentHash;
+    }
+
+    /**
+     * SHA-256 of the model XML, hex encoded. Stored next to the content so that redeployments of an
+     * unchanged model can be detected without reading the XML column.
+     */
+    public static String computeContentHash(String processModelContent) {
+        if (processModelContent == null) {
+            return null;
+        }
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(processModelContent.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
     @Override
     public int hashCode() {
         return Objects.hash(id);
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import static jakarta.persistence.TemporalType.TIMESTAMP;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.Temporal;
+import java.util.Date;
+import java.util.Objects;
+
+/**
+ * Position reached by a projection rebuild in the ordered audit event stream, so that an interrupted rebuild
+ * resumes after the last fully applied batch. The position counts the events applied so far and the cursor is the
+ * audit keyset cursor of the next batch; a saved checkpoint without a cursor marks a completed rebuild, including the
+ * rebuild of an empty stream.
+ */
+@Entity(name = "ProjectionRebuildCheckpoint")
+@Table(name = "PROJECTION_REBUILD_CHECKPOINT")
+public class ProjectionRebuildCheckpointEntity {
+
+    @Id
+    private String name;
+
+    @Column(name = "event_position")
+    private long position;
+
+    @Column(name = "event_cursor")
+    private String cursor;
+
+    @Temporal(TIMESTAMP)
+    private Date lastModified;
+
+    public ProjectionRebuildCheckpointEntity() {}
+
+    public ProjectionRebuildCheckpointEntity(String name) {
+        this.name = name;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getPosition() {
+        return position;
+    }
+
+    public void setPosition(long position) {
+        this.position = position;
+    }
+
+    public String getCursor() {
+        return cursor;
+    }
+
+    public void setCursor(String cursor) {
+        this.cursor = cursor;
+    }
+
+    public Date getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(Date lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    @Override
+    public int hashCode() {
+        return getClass().hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null || getClass() != obj.getClass()) {
+            return false;
+        }
+        ProjectionRebuildCheckpointEntity other = (ProjectionRebuildCheckpointEntity) obj;
+        return name != null && Objects.equals(name, other.name);
+    }
+}
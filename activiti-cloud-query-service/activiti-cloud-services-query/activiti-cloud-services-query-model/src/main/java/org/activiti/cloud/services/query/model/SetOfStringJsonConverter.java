@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.AttributeConverter;
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+public class SetOfStringJsonConverter implements AttributeConverter<Set<String>, String> {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Override
+    public String convertToDatabaseColumn(Set<String> values) {
+        try {
+            return objectMapper.writeValueAsString(values);
+        } catch (JsonProcessingException e) {
+            throw new QueryException("Unable to serialize set of strings", e);
+        }
+    }
+
+    @Override
+    public Set<String> convertToEntityAttribute(String dbData) {
+        try {
+            if (dbData != null && dbData.length() > 0) {
+                return objectMapper.readValue(dbData, new TypeReference<LinkedHashSet<String>>() {});
+            } else {
+                return new LinkedHashSet<>();
+            }
+        } catch (IOException e) {
+            throw new QueryException("Unable to deserialize set of strings", e);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
+import jakarta.persistence.Table;
+import java.util.Date;
+
+/**
+ * One entry of the task change sequence recorded by the query consumer. The id is taken from a sequence with an
+ * allocation size of one so that it grows in the order changes are recorded, even with several consumer instances,
+ * and can be used as the position of a change feed cursor.
+ */
+@Entity(name = "TaskChange")
+@Table(
+    name = "TASK_CHANGE",
+    indexes = {
+        @Index(name = "task_change_taskId_idx", columnList = "task_id", unique = false),
+        @Index(name = "task_change_changeTime_idx", columnList = "change_time", unique = false)
+    }
+)
+public class TaskChangeEntity {
+
+    @Id
+    @GeneratedValue(generator = "task_change_sequence", strategy = GenerationType.SEQUENCE)
+    @SequenceGenerator(name = "task_change_sequence", sequenceName = "task_change_sequence", allocationSize = 1)
+    private Long id;
+
+    @Column(name = "task_id", nullable = false)
+    private String taskId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "change_type", length = 32)
+    private TaskChangeType changeType;
+
+    @Column(name = "change_time")
+    private Date changeTime;
+
+    public TaskChangeEntity() {}
+
+    public TaskChangeEntity(String taskId, TaskChangeType changeType, Date changeTime) {
+        this.taskId = taskId;
+        this.changeType = changeType;
+        this.changeTime = changeTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTaskId() {
+        return taskId;
+    }
+
+    public TaskChangeType getChangeType() {
+        return changeType;
+    }
+
+    public Date getChangeTime() {
+        return changeTime;
+    }
+}
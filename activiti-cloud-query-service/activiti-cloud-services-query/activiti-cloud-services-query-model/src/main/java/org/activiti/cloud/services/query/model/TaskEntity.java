@@ -35,6 +35,7 @@ import jakarta.persistence.JoinTable;
 import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.PreUpdate;
 import jakarta.persistence.Table;
 import jakarta.persistence.Temporal;
 import jakarta.persistence.Transient;
@@ -119,6 +120,10 @@ public class TaskEntity extends ActivitiEntityMetadata implements QueryCloudTask
     @Temporal(TIMESTAMP)
     private Date lastModified;
 
+    @JsonIgnore
+    @Column(nullable = false)
+    private long entityVersion;
+
     @JsonIgnore
     @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
     @Temporal(TIMESTAMP)
@@ -397,6 +402,18 @@ public class TaskEntity extends ActivitiEntityMetadata implements QueryCloudTask
         this.lastModified = lastModified;
     }
 
+    /**
+     * Monotonic counter bumped on every update of this row, used to derive the HTTP entity tag.
+     */
+    public long getEntityVersion() {
+        return entityVersion;
+    }
+
+    @PreUpdate
+    void incrementEntityVersion() {
+        entityVersion++;
+    }
+
     @Transient
     public Date getLastModifiedTo() {
         return lastModifiedTo;
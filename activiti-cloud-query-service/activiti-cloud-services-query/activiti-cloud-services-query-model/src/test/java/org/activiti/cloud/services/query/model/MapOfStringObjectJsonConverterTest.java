@@ -20,6 +20,7 @@ import static org.assertj.core.api.AssertionsForClassTypes.assertThat;
 
 import java.time.LocalDateTime;
 import java.util.Map;
+import org.activiti.cloud.services.common.json.JsonTextCompression;
 import org.junit.jupiter.api.Test;
 
 class MapOfStringObjectJsonConverterTest {
@@ -33,4 +34,25 @@ class MapOfStringObjectJsonConverterTest {
 
         assertThat(date).startsWith("{\"date\":[2000,1,1,1,1]}");
     }
+
+    @Test
+    void convertToEntityAttributeShouldReadCompressedColumn() {
+        MapOfStringObjectJsonConverter converter = new MapOfStringObjectJsonConverter();
+        JsonTextCompression.setMinCompressedLength(0);
+        try {
+            String column = converter.convertToDatabaseColumn(Map.of("name", "value"));
+
+            assertThat(column).startsWith(JsonTextCompression.GZIP_PREFIX);
+            assertThat(converter.convertToEntityAttribute(column)).isEqualTo(Map.of("name", "value"));
+        } finally {
+            JsonTextCompression.setMinCompressedLength(-1);
+        }
+    }
+
+    @Test
+    void convertToEntityAttributeShouldReadUncompressedColumn() {
+        MapOfStringObjectJsonConverter converter = new MapOfStringObjectJsonConverter();
+
+        assertThat(converter.convertToEntityAttribute("{\"name\":\"value\"}")).isEqualTo(Map.of("name", "value"));
+    }
 }
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.model;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class ProcessDiagramStateEntityTest {
+
+    @Test
+    void flowTakenShouldKeepDistinctFlows() {
+        ProcessDiagramStateEntity state = new ProcessDiagramStateEntity("processInstanceId");
+
+        state.flowTaken("flow1");
+        state.flowTaken("flow2");
+        state.flowTaken("flow1");
+
+        assertThat(state.getTakenFlows()).containsExactly("flow1", "flow2");
+    }
+
+    @Test
+    void activityStatusShouldFollowLatestEventOfEachActivityInstance() {
+        ProcessDiagramStateEntity state = new ProcessDiagramStateEntity("processInstanceId");
+
+        state.activityStarted("pi:task:exec1", "task");
+        state.activityStarted("pi:task:exec2", "task");
+        state.activityCompleted("pi:task:exec1", "task");
+
+        assertThat(state.getActiveActivities()).containsExactly("task");
+        assertThat(state.getCompletedActivities()).containsExactly("task");
+
+        state.activityErrored("pi:task:exec2", "task");
+
+        assertThat(state.getActiveActivities()).isEmpty();
+        assertThat(state.getErroredActivities()).containsExactly("task");
+
+        state.activityCancelled("pi:task:exec2");
+
+        assertThat(state.getErroredActivities()).isEmpty();
+        assertThat(state.getCompletedActivities()).containsExactly("task");
+    }
+
+    @Test
+    void convertersShouldRoundTripDiagramState() {
+        SetOfStringJsonConverter setConverter = new SetOfStringJsonConverter();
+        MapOfStringStringJsonConverter mapConverter = new MapOfStringStringJsonConverter();
+
+        String flows = setConverter.convertToDatabaseColumn(Set.of("flow1"));
+        String activities = mapConverter.convertToDatabaseColumn(Map.of("pi:task:exec1", "task"));
+
+        assertThat(setConverter.convertToEntityAttribute(flows)).containsExactly("flow1");
+        assertThat(mapConverter.convertToEntityAttribute(activities)).containsEntry("pi:task:exec1", "task");
+        assertThat(setConverter.convertToEntityAttribute(null)).isEmpty();
+    }
+}
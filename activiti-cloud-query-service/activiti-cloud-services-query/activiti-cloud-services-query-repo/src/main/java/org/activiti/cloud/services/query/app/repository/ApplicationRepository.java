@@ -15,11 +15,17 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.APPLICATIONS;
 import static org.activiti.cloud.services.query.app.repository.QuerydslBindingsHelper.whitelist;
 
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.StringPath;
 import org.activiti.cloud.services.query.model.ApplicationEntity;
 import org.activiti.cloud.services.query.model.QApplicationEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -32,6 +38,22 @@ public interface ApplicationRepository
         QuerydslPredicateExecutor<ApplicationEntity>,
         QuerydslBinderCustomizer<QApplicationEntity>,
         CrudRepository<ApplicationEntity, String> {
+    @Override
+    @Cacheable(cacheNames = APPLICATIONS)
+    Page<ApplicationEntity> findAll(Predicate predicate, Pageable pageable);
+
+    @Override
+    @CacheEvict(cacheNames = APPLICATIONS, allEntries = true)
+    <S extends ApplicationEntity> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = APPLICATIONS, allEntries = true)
+    <S extends ApplicationEntity> Iterable<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = APPLICATIONS, allEntries = true)
+    void deleteAll();
+
     boolean existsByNameAndVersion(String name, String version);
 
     @Override
@@ -15,8 +15,24 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import java.util.List;
+import java.util.Map;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.repository.NoRepositoryBean;
 
 @NoRepositoryBean
-public interface CustomizedJpaSpecificationExecutor<T> extends JpaSpecificationExecutor<T> {}
+public interface CustomizedJpaSpecificationExecutor<T> extends JpaSpecificationExecutor<T> {
+    /**
+     * Runs the specification selecting only the given attributes instead of whole entities.
+     * The sort is taken from the specification, as for {@link #findAll(Specification, Pageable)}.
+     *
+     * @param spec the specification to apply
+     * @param attributes the names of the singular attributes to select
+     * @param pageable the page request
+     * @return a page of rows, each mapping the requested attribute names to their values
+     */
+    Page<Map<String, Object>> findAllProjected(Specification<T> spec, List<String> attributes, Pageable pageable);
+}
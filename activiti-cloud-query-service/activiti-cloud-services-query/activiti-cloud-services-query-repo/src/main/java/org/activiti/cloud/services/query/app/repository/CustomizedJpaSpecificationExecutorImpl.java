@@ -17,17 +17,28 @@ package org.activiti.cloud.services.query.app.repository;
 
 import jakarta.annotation.Nullable;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Order;
 import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import org.activiti.cloud.services.query.app.repository.annotation.CountOverFullWindow;
 import org.activiti.cloud.services.query.app.repository.function.CustomSQLFunction;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.jpa.repository.support.JpaEntityInformation;
 import org.springframework.data.jpa.repository.support.SimpleJpaRepository;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.util.Assert;
 import org.springframework.util.CollectionUtils;
 
@@ -35,6 +46,8 @@ public class CustomizedJpaSpecificationExecutorImpl<T, I extends Serializable>
     extends SimpleJpaRepository<T, I>
     implements CustomizedJpaSpecificationExecutor<T> {
 
+    private final JpaEntityInformation<T, ?> entityInformation;
+
     private final EntityManager entityManager;
 
     public CustomizedJpaSpecificationExecutorImpl(
@@ -42,9 +55,57 @@ public class CustomizedJpaSpecificationExecutorImpl<T, I extends Serializable>
         EntityManager entityManager
     ) {
         super(entityInformation, entityManager);
+        this.entityInformation = entityInformation;
         this.entityManager = entityManager;
     }
 
+    @Override
+    public Page<Map<String, Object>> findAllProjected(
+        Specification<T> spec,
+        List<String> attributes,
+        Pageable pageable
+    ) {
+        Assert.notEmpty(attributes, "At least one attribute must be selected");
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = builder.createTupleQuery();
+        Root<T> root = query.from(getDomainClass());
+        Predicate predicate = spec.toPredicate(root, query, builder);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+
+        // the id keeps distinct rows apart and the order expressions must be part of a distinct select list
+        String idAttribute = entityInformation.getRequiredIdAttribute().getName();
+        List<Selection<?>> selections = new ArrayList<>();
+        attributes.forEach(attribute -> selections.add(root.get(attribute).alias(attribute)));
+        if (!attributes.contains(idAttribute)) {
+            selections.add(root.get(idAttribute));
+        }
+        query
+            .getOrderList()
+            .stream()
+            .map(Order::getExpression)
+            .filter(expression -> !selections.contains(expression))
+            .forEach(selections::add);
+        query.multiselect(selections);
+
+        TypedQuery<Tuple> typedQuery = entityManager.createQuery(query);
+        if (pageable.isPaged()) {
+            typedQuery.setFirstResult(Math.toIntExact(pageable.getOffset()));
+            typedQuery.setMaxResults(pageable.getPageSize());
+        }
+        List<Map<String, Object>> content = typedQuery
+            .getResultList()
+            .stream()
+            .map(tuple -> {
+                Map<String, Object> row = new LinkedHashMap<>();
+                attributes.forEach(attribute -> row.put(attribute, tuple.get(attribute)));
+                return row;
+            })
+            .toList();
+        return PageableExecutionUtils.getPage(content, pageable, () -> count(spec));
+    }
+
     @Override
     protected <S extends T> TypedQuery<Long> getCountQuery(@Nullable Specification<S> spec, Class<S> domainClass) {
         if (spec != null && spec.getClass().isAnnotationPresent(CountOverFullWindow.class)) {
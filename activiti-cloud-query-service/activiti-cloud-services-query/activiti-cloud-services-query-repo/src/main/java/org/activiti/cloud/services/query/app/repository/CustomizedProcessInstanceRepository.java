@@ -15,12 +15,24 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 public interface CustomizedProcessInstanceRepository {
+    int MAX_HIERARCHY_DEPTH = 100;
+
+    int MAX_SUBPROCESSES_PER_PARENT = 100;
+
     Page<ProcessInstanceEntity> mapSubprocesses(Page<ProcessInstanceEntity> processInstances, Pageable pageable);
 
     ProcessInstanceEntity mapSubprocesses(ProcessInstanceEntity processInstance);
+
+    List<ProcessInstanceTreeNode> findHierarchy(String rootProcessInstanceId, int maxDepth);
+
+    Map<String, Long> countSubprocessesByParentIds(Collection<String> parentIds);
 }
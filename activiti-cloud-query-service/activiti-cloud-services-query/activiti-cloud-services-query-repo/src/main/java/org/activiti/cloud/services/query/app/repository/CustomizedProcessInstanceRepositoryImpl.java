@@ -15,17 +15,30 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import com.querydsl.core.Tuple;
+import com.querydsl.core.types.Predicate;
+import com.querydsl.core.types.dsl.NumberExpression;
 import com.querydsl.jpa.JPQLQuery;
 import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import org.activiti.cloud.api.process.model.QueryCloudSubprocessInstance;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
+import org.hibernate.dialect.Dialect;
+import org.hibernate.dialect.H2Dialect;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.support.Querydsl;
@@ -36,23 +49,66 @@ public class CustomizedProcessInstanceRepositoryImpl
     extends QuerydslRepositorySupport
     implements CustomizedProcessInstanceRepository {
 
+    private static final String HIERARCHY_QUERY =
+        """
+        WITH RECURSIVE hierarchy (id, depth) AS (
+            SELECT root.id, 0 FROM process_instance root WHERE root.id = :rootId
+            UNION ALL
+            SELECT child.id, parent.depth + 1 FROM process_instance child
+            JOIN hierarchy parent ON child.parent_id = parent.id
+            WHERE parent.depth < :maxDepth
+        )
+        SELECT pi.id, pi.parent_id, pi.name, pi.process_definition_key, pi.process_definition_name, pi.status,
+            h.depth, (SELECT count(*) FROM process_instance c WHERE c.parent_id = pi.id)
+        FROM hierarchy h
+        JOIN process_instance pi ON pi.id = h.id
+        ORDER BY h.depth, pi.start_date, pi.id
+        """;
+
+    private final EntityManager entityManager;
+
     private final JPAQueryFactory queryFactory;
 
+    private Boolean recursiveWithSupported;
+
     public CustomizedProcessInstanceRepositoryImpl(EntityManager entityManager) {
         super(ProcessInstanceEntity.class);
+        this.entityManager = entityManager;
         this.queryFactory = new JPAQueryFactory(entityManager);
     }
 
+    /**
+     * Sets the subprocesses of every instance of the page. One grouped count finds which instances of the page have
+     * children. Only the columns of the subprocess summaries are selected, and at most
+     * {@link #MAX_SUBPROCESSES_PER_PARENT} of them, the oldest first, per instance: the instances under the cap share
+     * one query, the few above it get a limited query each. A page without call activities costs the count alone; the
+     * full list of children of an instance is available from its hierarchy.
+     */
     @Override
     public Page<ProcessInstanceEntity> mapSubprocesses(
         Page<ProcessInstanceEntity> processInstances,
         Pageable pageable
     ) {
-        List<String> parentIds = getParentIds(processInstances);
-
-        Page<ProcessInstanceEntity> subprocesses = findSubprocessesByParentIds(parentIds, pageable);
+        Map<Boolean, List<String>> parentIdsByCapped = countSubprocessesByParentIds(getParentIds(processInstances))
+            .entrySet()
+            .stream()
+            .collect(
+                Collectors.partitioningBy(
+                    entry -> entry.getValue() > MAX_SUBPROCESSES_PER_PARENT,
+                    Collectors.mapping(Map.Entry::getKey, Collectors.toList())
+                )
+            );
 
-        Map<String, Set<QueryCloudSubprocessInstance>> subprocessMap = groupSubprocesses(subprocesses);
+        Map<String, Set<QueryCloudSubprocessInstance>> subprocessMap = new HashMap<>();
+        List<String> uncappedParentIds = parentIdsByCapped.get(false);
+        if (!uncappedParentIds.isEmpty()) {
+            subprocessMap.putAll(findSubprocessSummaries(uncappedParentIds, null));
+        }
+        parentIdsByCapped
+            .get(true)
+            .forEach(parentId ->
+                subprocessMap.putAll(findSubprocessSummaries(List.of(parentId), MAX_SUBPROCESSES_PER_PARENT))
+            );
 
         setSubprocesses(processInstances, subprocessMap);
 
@@ -90,8 +146,11 @@ public class CustomizedProcessInstanceRepositoryImpl
     }
 
     public Map<String, Set<QueryCloudSubprocessInstance>> groupSubprocesses(Page<ProcessInstanceEntity> subprocesses) {
+        return groupSubprocesses(subprocesses.getContent());
+    }
+
+    public Map<String, Set<QueryCloudSubprocessInstance>> groupSubprocesses(List<ProcessInstanceEntity> subprocesses) {
         return subprocesses
-            .getContent()
             .stream()
             .collect(
                 Collectors.groupingBy(
@@ -133,6 +192,47 @@ public class CustomizedProcessInstanceRepositoryImpl
         return PageableExecutionUtils.getPage(subprocesses, pageable, () -> totalElements);
     }
 
+    /**
+     * @param limit maximum number of subprocesses to select, the oldest first, or {@code null} for all of them
+     * @return the subprocess summaries of the given instances, by parent id
+     */
+    Map<String, Set<QueryCloudSubprocessInstance>> findSubprocessSummaries(
+        Collection<String> parentIds,
+        Integer limit
+    ) {
+        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
+
+        JPQLQuery<Tuple> query = queryFactory
+            .select(
+                processInstanceEntity.id,
+                processInstanceEntity.parentId,
+                processInstanceEntity.processDefinitionName
+            )
+            .from(processInstanceEntity)
+            .where(processInstanceEntity.parentId.in(parentIds));
+        if (limit != null) {
+            query = query.orderBy(processInstanceEntity.startDate.asc(), processInstanceEntity.id.asc()).limit(limit);
+        }
+
+        return query
+            .fetch()
+            .stream()
+            .collect(
+                Collectors.groupingBy(
+                    tuple -> tuple.get(processInstanceEntity.parentId),
+                    Collectors.mapping(
+                        tuple -> {
+                            QueryCloudSubprocessInstance subprocess = new QueryCloudSubprocessInstance();
+                            subprocess.setId(tuple.get(processInstanceEntity.id));
+                            subprocess.setProcessDefinitionName(tuple.get(processInstanceEntity.processDefinitionName));
+                            return subprocess;
+                        },
+                        Collectors.toSet()
+                    )
+                )
+            );
+    }
+
     public List<ProcessInstanceEntity> findSubprocessesByParentId(String parentId) {
         QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
 
@@ -141,4 +241,135 @@ public class CustomizedProcessInstanceRepositoryImpl
             .where(processInstanceEntity.parentId.eq(parentId))
             .fetch();
     }
+
+    @Override
+    public List<ProcessInstanceTreeNode> findHierarchy(String rootProcessInstanceId, int maxDepth) {
+        int depth = Math.max(0, Math.min(maxDepth, MAX_HIERARCHY_DEPTH));
+        if (isRecursiveWithSupported()) {
+            return findHierarchyWithRecursiveQuery(rootProcessInstanceId, depth);
+        }
+        return findHierarchyLevelByLevel(rootProcessInstanceId, depth);
+    }
+
+    @Override
+    public Map<String, Long> countSubprocessesByParentIds(Collection<String> parentIds) {
+        if (parentIds == null || parentIds.isEmpty()) {
+            return Map.of();
+        }
+        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
+        NumberExpression<Long> subprocessCount = processInstanceEntity.count();
+
+        return queryFactory
+            .select(processInstanceEntity.parentId, subprocessCount)
+            .from(processInstanceEntity)
+            .where(processInstanceEntity.parentId.in(parentIds))
+            .groupBy(processInstanceEntity.parentId)
+            .fetch()
+            .stream()
+            .collect(
+                Collectors.toMap(
+                    tuple -> tuple.get(processInstanceEntity.parentId),
+                    tuple -> tuple.get(subprocessCount)
+                )
+            );
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<ProcessInstanceTreeNode> findHierarchyWithRecursiveQuery(String rootProcessInstanceId, int maxDepth) {
+        List<Object[]> rows = entityManager
+            .createNativeQuery(HIERARCHY_QUERY)
+            .setParameter("rootId", rootProcessInstanceId)
+            .setParameter("maxDepth", maxDepth)
+            .getResultList();
+
+        return rows
+            .stream()
+            .map(row -> {
+                ProcessInstanceTreeNode node = new ProcessInstanceTreeNode(
+                    (String) row[0],
+                    (String) row[1],
+                    (String) row[2],
+                    (String) row[3],
+                    (String) row[4],
+                    (String) row[5],
+                    ((Number) row[6]).intValue()
+                );
+                node.setChildCount(((Number) row[7]).longValue());
+                return node;
+            })
+            .toList();
+    }
+
+    private List<ProcessInstanceTreeNode> findHierarchyLevelByLevel(String rootProcessInstanceId, int maxDepth) {
+        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
+
+        List<ProcessInstanceTreeNode> hierarchy = new ArrayList<>();
+        List<ProcessInstanceTreeNode> level = findTreeNodes(processInstanceEntity.id.eq(rootProcessInstanceId), 0);
+        int depth = 0;
+        while (!level.isEmpty()) {
+            hierarchy.addAll(level);
+            List<String> levelIds = level.stream().map(ProcessInstanceTreeNode::getId).toList();
+            if (depth == maxDepth) {
+                Map<String, Long> childCounts = countSubprocessesByParentIds(levelIds);
+                level.forEach(node -> node.setChildCount(childCounts.getOrDefault(node.getId(), 0L)));
+                break;
+            }
+            depth++;
+            level = findTreeNodes(processInstanceEntity.parentId.in(levelIds), depth);
+        }
+
+        Map<String, Long> childCounts = hierarchy
+            .stream()
+            .filter(node -> node.getParentId() != null && node.getDepth() > 0)
+            .collect(Collectors.groupingBy(ProcessInstanceTreeNode::getParentId, Collectors.counting()));
+        hierarchy
+            .stream()
+            .filter(node -> node.getDepth() < maxDepth)
+            .forEach(node -> node.setChildCount(childCounts.getOrDefault(node.getId(), 0L)));
+
+        return hierarchy;
+    }
+
+    private List<ProcessInstanceTreeNode> findTreeNodes(Predicate predicate, int depth) {
+        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
+
+        List<Tuple> tuples = queryFactory
+            .select(
+                processInstanceEntity.id,
+                processInstanceEntity.parentId,
+                processInstanceEntity.name,
+                processInstanceEntity.processDefinitionKey,
+                processInstanceEntity.processDefinitionName,
+                processInstanceEntity.status
+            )
+            .from(processInstanceEntity)
+            .where(predicate)
+            .orderBy(processInstanceEntity.startDate.asc(), processInstanceEntity.id.asc())
+            .fetch();
+
+        Function<Tuple, ProcessInstanceTreeNode> toTreeNode = tuple ->
+            new ProcessInstanceTreeNode(
+                tuple.get(processInstanceEntity.id),
+                tuple.get(processInstanceEntity.parentId),
+                tuple.get(processInstanceEntity.name),
+                tuple.get(processInstanceEntity.processDefinitionKey),
+                tuple.get(processInstanceEntity.processDefinitionName),
+                Optional.ofNullable(tuple.get(processInstanceEntity.status)).map(Enum::name).orElse(null),
+                depth
+            );
+
+        return tuples.stream().map(toTreeNode).collect(Collectors.toCollection(ArrayList::new));
+    }
+
+    private boolean isRecursiveWithSupported() {
+        if (recursiveWithSupported == null) {
+            Dialect dialect = entityManager
+                .getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class)
+                .getJdbcServices()
+                .getDialect();
+            recursiveWithSupported = dialect instanceof PostgreSQLDialect || dialect instanceof H2Dialect;
+        }
+        return recursiveWithSupported;
+    }
 }
@@ -15,11 +15,17 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
 import static org.activiti.cloud.services.query.app.repository.QuerydslBindingsHelper.whitelist;
 
+import com.querydsl.core.types.Predicate;
 import com.querydsl.core.types.dsl.StringPath;
 import org.activiti.cloud.services.query.model.ProcessDefinitionEntity;
 import org.activiti.cloud.services.query.model.QProcessDefinitionEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -32,6 +38,22 @@ public interface ProcessDefinitionRepository
         QuerydslPredicateExecutor<ProcessDefinitionEntity>,
         QuerydslBinderCustomizer<QProcessDefinitionEntity>,
         CrudRepository<ProcessDefinitionEntity, String> {
+    @Override
+    @Cacheable(cacheNames = PROCESS_DEFINITIONS)
+    Page<ProcessDefinitionEntity> findAll(Predicate predicate, Pageable pageable);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_DEFINITIONS, allEntries = true)
+    <S extends ProcessDefinitionEntity> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_DEFINITIONS, allEntries = true)
+    <S extends ProcessDefinitionEntity> Iterable<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_DEFINITIONS, allEntries = true)
+    void deleteAll();
+
     @Override
     default void customize(QuerydslBindings bindings, QProcessDefinitionEntity root) {
         whitelist(root).apply(bindings);
@@ -25,7 +25,6 @@ import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.EntityGraph;
-import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -35,7 +34,7 @@ import org.springframework.data.repository.PagingAndSortingRepository;
 public interface ProcessInstanceRepository
     extends
         PagingAndSortingRepository<ProcessInstanceEntity, String>,
-        JpaSpecificationExecutor<ProcessInstanceEntity>,
+        CustomizedJpaSpecificationExecutor<ProcessInstanceEntity>,
         QuerydslPredicateExecutor<ProcessInstanceEntity>,
         QuerydslBinderCustomizer<QProcessInstanceEntity>,
         CustomizedProcessInstanceRepository,
@@ -15,11 +15,16 @@
  */
 package org.activiti.cloud.services.query.app.repository;
 
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_MODELS;
 import static org.activiti.cloud.services.query.app.repository.QuerydslBindingsHelper.whitelist;
 
 import com.querydsl.core.types.dsl.StringPath;
+import java.util.Optional;
 import org.activiti.cloud.services.query.model.ProcessModelEntity;
 import org.activiti.cloud.services.query.model.QProcessModelEntity;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
@@ -32,6 +37,29 @@ public interface ProcessModelRepository
         QuerydslPredicateExecutor<ProcessModelEntity>,
         QuerydslBinderCustomizer<QProcessModelEntity>,
         CrudRepository<ProcessModelEntity, String> {
+    /**
+     * Process models are cached together with their process definition to be usable after the
+     * persistence context is closed. A redeploy can replace both for the same process definition id,
+     * so the deploy event handler evicts the entry; other pods pick the change up once the entry
+     * expires.
+     */
+    @Override
+    @EntityGraph(attributePaths = "processDefinition")
+    @Cacheable(cacheNames = PROCESS_MODELS, unless = "#result == null")
+    Optional<ProcessModelEntity> findById(String id);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_MODELS, allEntries = true)
+    <S extends ProcessModelEntity> S save(S entity);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_MODELS, allEntries = true)
+    <S extends ProcessModelEntity> Iterable<S> saveAll(Iterable<S> entities);
+
+    @Override
+    @CacheEvict(cacheNames = PROCESS_MODELS, allEntries = true)
+    void deleteAll();
+
     @Override
     default void customize(QuerydslBindings bindings, QProcessModelEntity root) {
         whitelist(root).apply(bindings);
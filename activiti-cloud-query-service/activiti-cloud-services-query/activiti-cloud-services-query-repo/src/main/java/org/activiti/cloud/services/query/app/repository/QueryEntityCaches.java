@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.util.Objects;
+import java.util.stream.Stream;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Names of the caches holding read-mostly query entities (process definitions, process models and
+ * applications) and the eviction entry point used by the event handlers that change them.
+ * <p>
+ * Evictions requested inside a transaction are applied once it commits, so that a concurrent read
+ * cannot put back the rows that are about to be replaced.
+ */
+public class QueryEntityCaches {
+
+    public static final String PROCESS_DEFINITIONS = "queryProcessDefinitions";
+
+    public static final String PROCESS_MODELS = "queryProcessModels";
+
+    public static final String APPLICATIONS = "queryApplications";
+
+    private final CacheManager cacheManager;
+
+    public QueryEntityCaches(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public void evict(String... cacheNames) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        clear(cacheNames);
+                    }
+                }
+            );
+        } else {
+            clear(cacheNames);
+        }
+    }
+
+    /**
+     * Evicts a single entry, with the same transaction handling as {@link #evict(String...)}.
+     */
+    public void evictEntry(String cacheName, Object key) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        evictNow(cacheName, key);
+                    }
+                }
+            );
+        } else {
+            evictNow(cacheName, key);
+        }
+    }
+
+    private void evictNow(String cacheName, Object key) {
+        Cache cache = cacheManager.getCache(cacheName);
+        if (cache != null) {
+            cache.evict(key);
+        }
+    }
+
+    private void clear(String... cacheNames) {
+        Stream
+            .of(cacheNames)
+            .map(cacheManager::getCache)
+            .filter(Objects::nonNull)
+            .forEach(Cache::clear);
+    }
+}
@@ -0,0 +1,38 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import java.util.Date;
+import java.util.List;
+import org.activiti.cloud.services.query.model.TaskChangeEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface TaskChangeRepository extends CrudRepository<TaskChangeEntity, Long> {
+    List<TaskChangeEntity> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    @Query("select coalesce(max(c.id), 0) from TaskChange c where c.changeTime < :changeTime")
+    long findLastIdChangedBefore(@Param("changeTime") Date changeTime);
+
+    @Transactional
+    @Modifying
+    @Query("delete from TaskChange c where c.changeTime < :changeTime")
+    int deleteByChangeTimeBefore(@Param("changeTime") Date changeTime);
+}
@@ -20,11 +20,13 @@ import static org.activiti.cloud.services.query.app.repository.QuerydslBindingsH
 import com.querydsl.core.types.dsl.StringPath;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface TaskVariableRepository
     extends
@@ -38,4 +40,10 @@ public interface TaskVariableRepository
 
         bindings.bind(String.class).first((StringPath path, String value) -> path.eq(value));
     }
+
+    @Query(
+        "select new org.activiti.cloud.services.query.app.repository.VariableCollectionVersion(" +
+        "count(v), max(v.lastUpdatedTime)) from TaskVariable v where v.taskId = :taskId"
+    )
+    VariableCollectionVersion findCollectionVersionByTaskId(@Param("taskId") String taskId);
 }
@@ -21,11 +21,13 @@ import com.querydsl.core.types.dsl.StringPath;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QProcessVariableEntity;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.querydsl.QuerydslPredicateExecutor;
 import org.springframework.data.querydsl.binding.QuerydslBinderCustomizer;
 import org.springframework.data.querydsl.binding.QuerydslBindings;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
 
 public interface VariableRepository
     extends
@@ -40,4 +42,12 @@ public interface VariableRepository
 
         bindings.bind(String.class).first((StringPath path, String value) -> path.eq(value));
     }
+
+    @Query(
+        "select new org.activiti.cloud.services.query.app.repository.VariableCollectionVersion(" +
+        "count(v), max(v.lastUpdatedTime)) from ProcessVariable v where v.processInstanceId = :processInstanceId"
+    )
+    VariableCollectionVersion findCollectionVersionByProcessInstanceId(
+        @Param("processInstanceId") String processInstanceId
+    );
 }
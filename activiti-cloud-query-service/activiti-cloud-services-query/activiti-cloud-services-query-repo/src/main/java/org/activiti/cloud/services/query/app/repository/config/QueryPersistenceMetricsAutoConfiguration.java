@@ -0,0 +1,79 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.activiti.cloud.services.query.app.repository.metrics.QueryShapeStatisticsFactory;
+import org.activiti.cloud.services.query.app.repository.metrics.QueryShapeTimers;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.HibernateMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Opt-in publication of the query service persistence statistics through Micrometer: session, entity,
+ * second-level cache and query counters from Hibernate, plus one timer per query shape. Hikari pool
+ * metrics are already bound by the actuator data source metrics as soon as a meter registry is present.
+ */
+@AutoConfiguration
+@ConditionalOnClass({ MeterRegistry.class, HibernateMetrics.class })
+@ConditionalOnProperty(name = "activiti.cloud.services.query.metrics.hibernate.enabled", havingValue = "true")
+public class QueryPersistenceMetricsAutoConfiguration {
+
+    public static final String SESSION_FACTORY_NAME = "query";
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryShapeTimers queryShapeTimers(
+        ObjectProvider<MeterRegistry> meterRegistry,
+        @Value("${activiti.cloud.services.query.metrics.hibernate.max-query-shapes:200}") int maxQueryShapes
+    ) {
+        return new QueryShapeTimers(meterRegistry.getIfAvailable(SimpleMeterRegistry::new), maxQueryShapes);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer queryStatisticsHibernatePropertiesCustomizer(
+        ObjectProvider<QueryShapeTimers> queryShapeTimers
+    ) {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            hibernateProperties.put(
+                AvailableSettings.STATS_BUILDER,
+                new QueryShapeStatisticsFactory(queryShapeTimers::getObject)
+            );
+        };
+    }
+
+    @Bean
+    public MeterBinder queryHibernateMetrics(EntityManagerFactory entityManagerFactory) {
+        return new HibernateMetrics(
+            entityManagerFactory.unwrap(SessionFactory.class),
+            SESSION_FACTORY_NAME,
+            Tags.empty()
+        );
+    }
+}
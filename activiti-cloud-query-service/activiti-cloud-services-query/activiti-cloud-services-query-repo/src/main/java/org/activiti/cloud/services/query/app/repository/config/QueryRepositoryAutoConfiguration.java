@@ -18,11 +18,17 @@ package org.activiti.cloud.services.query.app.repository.config;
 import org.activiti.cloud.services.query.app.repository.CustomizedJpaSpecificationExecutorImpl;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.QueryEntityCaches;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
 import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.support.NoOpCacheManager;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.PropertySource;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
 
 @AutoConfiguration
@@ -31,6 +37,8 @@ import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
     repositoryBaseClass = CustomizedJpaSpecificationExecutorImpl.class
 )
 @EntityScan(basePackageClasses = ProcessInstanceEntity.class)
+@EnableCaching
+@PropertySource("classpath:config/query-repository.properties")
 public class QueryRepositoryAutoConfiguration {
 
     @Bean
@@ -38,4 +46,10 @@ public class QueryRepositoryAutoConfiguration {
     public EntityFinder entityFinder() {
         return new EntityFinder();
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public QueryEntityCaches queryEntityCaches(ObjectProvider<CacheManager> cacheManager) {
+        return new QueryEntityCaches(cacheManager.getIfAvailable(NoOpCacheManager::new));
+    }
 }
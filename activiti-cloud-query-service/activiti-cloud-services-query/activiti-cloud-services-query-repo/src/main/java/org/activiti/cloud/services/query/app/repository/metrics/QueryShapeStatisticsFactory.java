@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository.metrics;
+
+import java.util.function.Supplier;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.spi.StatisticsFactory;
+import org.hibernate.stat.spi.StatisticsImplementor;
+
+/**
+ * Plugged in through {@code hibernate.stats.factory}. The timers are resolved when the session factory is
+ * built rather than when the JPA properties are assembled, so that the meter registry does not need to exist
+ * before the persistence unit is configured.
+ */
+public class QueryShapeStatisticsFactory implements StatisticsFactory {
+
+    private final Supplier<QueryShapeTimers> queryShapeTimers;
+
+    public QueryShapeStatisticsFactory(Supplier<QueryShapeTimers> queryShapeTimers) {
+        this.queryShapeTimers = queryShapeTimers;
+    }
+
+    @Override
+    public StatisticsImplementor buildStatistics(SessionFactoryImplementor sessionFactory) {
+        return new QueryShapeStatistics(sessionFactory, queryShapeTimers.get());
+    }
+}
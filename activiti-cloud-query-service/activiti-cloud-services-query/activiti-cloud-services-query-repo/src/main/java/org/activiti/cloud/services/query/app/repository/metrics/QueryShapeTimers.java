@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records query executions reported by Hibernate as one Micrometer timer per query shape, i.e. per HQL
+ * or criteria string with its whitespace collapsed. Once {@code maxShapes} distinct shapes have been seen,
+ * any new one is recorded under the {@value #OTHER_SHAPE} tag so that the number of meters stays bounded.
+ */
+public class QueryShapeTimers {
+
+    public static final String METER_NAME = "query.hibernate.query.shape";
+
+    public static final String OTHER_SHAPE = "other";
+
+    static final int MAX_SHAPE_LENGTH = 256;
+
+    private final MeterRegistry meterRegistry;
+
+    private final int maxShapes;
+
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryShapeTimers(MeterRegistry meterRegistry, int maxShapes) {
+        this.meterRegistry = meterRegistry;
+        this.maxShapes = maxShapes;
+    }
+
+    public void record(String query, long timeInMillis) {
+        timerFor(shapeOf(query)).record(timeInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private Timer timerFor(String shape) {
+        Timer timer = timers.get(shape);
+        if (timer != null) {
+            return timer;
+        }
+        String tag = timers.size() < maxShapes ? shape : OTHER_SHAPE;
+        return timers.computeIfAbsent(
+            tag,
+            key ->
+                Timer
+                    .builder(METER_NAME)
+                    .description("Execution time of the queries sharing the same HQL or criteria shape")
+                    .tag("query", key)
+                    .register(meterRegistry)
+        );
+    }
+
+    static String shapeOf(String query) {
+        if (query == null || query.isBlank()) {
+            return OTHER_SHAPE;
+        }
+        String shape = query.strip().replaceAll("\\s+", " ");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+    }
+}
@@ -169,19 +169,63 @@ class CustomizedProcessInstanceRepositoryImplTest {
         );
         subprocessesList.addAll(createSubprocessInstances(3, processInstancesList.get(1).getId()));
 
-        QProcessInstanceEntity processInstanceEntity = QProcessInstanceEntity.processInstanceEntity;
-
-        when(queryFactory.selectFrom(processInstanceEntity)).thenReturn(jpaQuery);
-        when(jpaQuery.where(processInstanceEntity.parentId.in(parentIds))).thenReturn(jpaQuery);
-        when(jpaQuery.fetch()).thenReturn(subprocessesList);
-        when(querydsl.applyPagination(pageable, jpaQuery)).thenReturn(jpaQuery);
+        Map<String, Long> subprocessCounts = new LinkedHashMap<>();
+        subprocessCounts.put(parentIds.get(0), 2L);
+        subprocessCounts.put(parentIds.get(1), 3L);
+        repository = spy(repository);
+        doReturn(subprocessCounts).when(repository).countSubprocessesByParentIds(parentIds);
+        doReturn(repository.groupSubprocesses(subprocessesList))
+            .when(repository)
+            .findSubprocessSummaries(parentIds, null);
 
         Page<ProcessInstanceEntity> result = repository.mapSubprocesses(processInstances, pageable);
 
         assertThat(result).isNotNull();
         assertThat(result.getTotalElements()).isEqualTo(2);
-        assertThat(result.getContent().get(0).getSubprocesses()).isNotNull();
-        assertThat(result.getContent().get(1).getSubprocesses()).isNotNull();
+        assertThat(result.getContent().get(0).getSubprocesses()).hasSize(2);
+        assertThat(result.getContent().get(1).getSubprocesses()).hasSize(3);
+        verifyNoInteractions(querydsl);
+    }
+
+    @Test
+    void testMapSubprocessesCapsTheSubprocessesOfInstancesWithManyChildren() {
+        List<ProcessInstanceEntity> processInstancesList = createParentProcessInstances(2);
+        String smallParentId = processInstancesList.get(0).getId();
+        String largeParentId = processInstancesList.get(1).getId();
+        Page<ProcessInstanceEntity> processInstances = new PageImpl<>(processInstancesList);
+        List<ProcessInstanceEntity> smallSubprocesses = createSubprocessInstances(2, smallParentId);
+        int cap = CustomizedProcessInstanceRepository.MAX_SUBPROCESSES_PER_PARENT;
+        List<ProcessInstanceEntity> largeSubprocesses = createSubprocessInstances(cap, largeParentId);
+
+        Map<String, Long> subprocessCounts = new LinkedHashMap<>();
+        subprocessCounts.put(smallParentId, 2L);
+        subprocessCounts.put(largeParentId, 5000L);
+        repository = spy(repository);
+        doReturn(subprocessCounts).when(repository).countSubprocessesByParentIds(List.of(smallParentId, largeParentId));
+        doReturn(repository.groupSubprocesses(smallSubprocesses))
+            .when(repository)
+            .findSubprocessSummaries(List.of(smallParentId), null);
+        doReturn(repository.groupSubprocesses(largeSubprocesses))
+            .when(repository)
+            .findSubprocessSummaries(List.of(largeParentId), cap);
+
+        Page<ProcessInstanceEntity> result = repository.mapSubprocesses(processInstances, PageRequest.of(0, 10));
+
+        assertThat(result.getContent().get(0).getSubprocesses()).hasSize(2);
+        assertThat(result.getContent().get(1).getSubprocesses()).hasSize(cap);
+    }
+
+    @Test
+    void testMapSubprocessesWithoutChildren() {
+        List<ProcessInstanceEntity> processInstancesList = createParentProcessInstances(2);
+        Page<ProcessInstanceEntity> processInstances = new PageImpl<>(processInstancesList);
+        repository = spy(repository);
+        doReturn(Map.of()).when(repository).countSubprocessesByParentIds(repository.getParentIds(processInstances));
+
+        Page<ProcessInstanceEntity> result = repository.mapSubprocesses(processInstances, PageRequest.of(0, 10));
+
+        assertThat(result.getContent()).allSatisfy(instance -> assertThat(instance.getSubprocesses()).isEmpty());
+        verify(queryFactory, never()).selectFrom(any(QProcessInstanceEntity.class));
     }
 
     @Test
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository;
+
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.APPLICATIONS;
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_DEFINITIONS;
+import static org.activiti.cloud.services.query.app.repository.QueryEntityCaches.PROCESS_MODELS;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+public class QueryEntityCachesTest {
+
+    private ConcurrentMapCacheManager cacheManager;
+
+    private QueryEntityCaches queryEntityCaches;
+
+    @BeforeEach
+    public void setUp() {
+        cacheManager = new ConcurrentMapCacheManager(PROCESS_DEFINITIONS, PROCESS_MODELS, APPLICATIONS);
+        queryEntityCaches = new QueryEntityCaches(cacheManager);
+
+        cacheManager.getCache(PROCESS_DEFINITIONS).put("key", "processDefinitions");
+        cacheManager.getCache(APPLICATIONS).put("key", "applications");
+        cacheManager.getCache(PROCESS_MODELS).put("key", "processModel");
+        cacheManager.getCache(PROCESS_MODELS).put("otherKey", "otherProcessModel");
+    }
+
+    @AfterEach
+    public void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    public void should_clearOnlyRequestedCaches_when_noTransactionIsActive() {
+        queryEntityCaches.evict(PROCESS_DEFINITIONS);
+
+        assertThat(cacheManager.getCache(PROCESS_DEFINITIONS).get("key")).isNull();
+        assertThat(cacheManager.getCache(APPLICATIONS).get("key")).isNotNull();
+    }
+
+    @Test
+    public void should_clearCachesAfterCommit_when_transactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        queryEntityCaches.evict(PROCESS_DEFINITIONS, APPLICATIONS);
+
+        assertThat(cacheManager.getCache(PROCESS_DEFINITIONS).get("key")).isNotNull();
+        assertThat(cacheManager.getCache(APPLICATIONS).get("key")).isNotNull();
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertThat(cacheManager.getCache(PROCESS_DEFINITIONS).get("key")).isNull();
+        assertThat(cacheManager.getCache(APPLICATIONS).get("key")).isNull();
+    }
+
+    @Test
+    public void should_evictSingleEntryAfterCommit_when_transactionIsActive() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        queryEntityCaches.evictEntry(PROCESS_MODELS, "key");
+
+        assertThat(cacheManager.getCache(PROCESS_MODELS).get("key")).isNotNull();
+
+        TransactionSynchronizationUtils.triggerAfterCommit();
+
+        assertThat(cacheManager.getCache(PROCESS_MODELS).get("key")).isNull();
+        assertThat(cacheManager.getCache(PROCESS_MODELS).get("otherKey")).isNotNull();
+    }
+
+    @Test
+    public void should_ignoreUnknownCaches() {
+        queryEntityCaches.evict("unknown", APPLICATIONS);
+
+        assertThat(cacheManager.getCache(APPLICATIONS).get("key")).isNull();
+    }
+}
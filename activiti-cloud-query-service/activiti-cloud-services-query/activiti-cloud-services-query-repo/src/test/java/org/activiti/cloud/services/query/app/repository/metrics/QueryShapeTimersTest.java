@@ -0,0 +1,69 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.app.repository.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+public class QueryShapeTimersTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private QueryShapeTimers queryShapeTimers;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        queryShapeTimers = new QueryShapeTimers(meterRegistry, 2);
+    }
+
+    @Test
+    public void should_recordQueriesWithSameShapeOnOneTimer_when_onlyWhitespaceDiffers() {
+        queryShapeTimers.record("select t from Task t\n  where t.assignee = :assignee", 5);
+        queryShapeTimers.record("select t from Task t where t.assignee = :assignee", 7);
+
+        Timer timer = meterRegistry
+            .get(QueryShapeTimers.METER_NAME)
+            .tag("query", "select t from Task t where t.assignee = :assignee")
+            .timer();
+        assertThat(timer.count()).isEqualTo(2);
+        assertThat(timer.totalTime(TimeUnit.MILLISECONDS)).isEqualTo(12);
+    }
+
+    @Test
+    public void should_recordUnderOtherShape_when_maxShapesIsReached() {
+        queryShapeTimers.record("select a from A a", 1);
+        queryShapeTimers.record("select b from B b", 1);
+        queryShapeTimers.record("select c from C c", 1);
+        queryShapeTimers.record("select d from D d", 1);
+
+        assertThat(meterRegistry.get(QueryShapeTimers.METER_NAME).timers()).hasSize(3);
+        Timer other = meterRegistry.get(QueryShapeTimers.METER_NAME).tag("query", QueryShapeTimers.OTHER_SHAPE).timer();
+        assertThat(other.count()).isEqualTo(2);
+    }
+
+    @Test
+    public void should_truncateShape_when_queryIsTooLong() {
+        String shape = QueryShapeTimers.shapeOf("select t from Task t where " + "t.name = 'x' or ".repeat(100));
+
+        assertThat(shape).hasSize(QueryShapeTimers.MAX_SHAPE_LENGTH);
+    }
+}
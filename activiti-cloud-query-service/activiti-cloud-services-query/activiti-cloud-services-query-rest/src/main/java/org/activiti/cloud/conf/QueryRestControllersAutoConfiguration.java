@@ -36,6 +36,7 @@ import org.activiti.cloud.services.query.rest.ProcessModelController;
 import org.activiti.cloud.services.query.rest.ServiceTaskAdminController;
 import org.activiti.cloud.services.query.rest.ServiceTaskIntegrationContextAdminController;
 import org.activiti.cloud.services.query.rest.TaskAdminController;
+import org.activiti.cloud.services.query.rest.TaskChangeFeedController;
 import org.activiti.cloud.services.query.rest.TaskController;
 import org.activiti.cloud.services.query.rest.TaskDeleteController;
 import org.activiti.cloud.services.query.rest.TaskVariableAdminController;
@@ -70,6 +71,7 @@ import org.springframework.web.servlet.config.annotation.CorsRegistry;
         ProcessModelController.class,
         TaskAdminController.class,
         TaskController.class,
+        TaskChangeFeedController.class,
         TaskDeleteController.class,
         TaskVariableAdminController.class,
         TaskVariableController.class,
@@ -15,12 +15,16 @@
  */
 package org.activiti.cloud.conf;
 
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.TaskEntity;
@@ -29,6 +33,7 @@ import org.activiti.cloud.services.query.rest.ProcessInstanceSearchService;
 import org.activiti.cloud.services.query.rest.ProcessInstanceService;
 import org.activiti.cloud.services.query.rest.ProcessVariableService;
 import org.activiti.cloud.services.query.rest.QueryLinkRelationProvider;
+import org.activiti.cloud.services.query.rest.SlowQueryLog;
 import org.activiti.cloud.services.query.rest.TaskControllerHelper;
 import org.activiti.cloud.services.query.rest.TaskPermissionsHelper;
 import org.activiti.cloud.services.query.rest.assembler.ApplicationRepresentationModelAssembler;
@@ -39,6 +44,7 @@ import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableR
 import org.activiti.cloud.services.query.rest.assembler.ServiceTaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.changes.TaskChangeFeedService;
 import org.activiti.cloud.services.query.rest.helper.ProcessInstanceAdminControllerHelper;
 import org.activiti.cloud.services.query.rest.helper.ProcessInstanceControllerHelper;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
@@ -54,8 +60,10 @@ import org.activiti.cloud.services.security.TaskLookupRestrictionService;
 import org.activiti.cloud.services.security.TaskVariableLookupRestrictionService;
 import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
 import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 
 @AutoConfiguration
@@ -202,6 +210,15 @@ public class QueryRestWebMvcAutoConfiguration {
         );
     }
 
+    @Bean
+    @ConditionalOnMissingBean
+    public SlowQueryLog slowQueryLog(
+        @Value("${activiti.cloud.services.query.metrics.slow-query.threshold:-1ms}") Duration threshold,
+        @Value("${activiti.cloud.services.query.metrics.slow-query.sample-rate:1.0}") double sampleRate
+    ) {
+        return new SlowQueryLog(threshold, sampleRate);
+    }
+
     @Bean
     @ConditionalOnMissingBean
     public TaskControllerHelper taskControllerHelper(
@@ -212,7 +229,8 @@ public class QueryRestWebMvcAutoConfiguration {
         AlfrescoPagedModelAssembler<TaskEntity> pagedCollectionModelAssembler,
         TaskRepresentationModelAssembler taskRepresentationModelAssembler,
         TaskLookupRestrictionService taskLookupRestrictionService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        SlowQueryLog slowQueryLog
     ) {
         return new TaskControllerHelper(
             taskRepository,
@@ -223,7 +241,8 @@ public class QueryRestWebMvcAutoConfiguration {
             new QueryDslPredicateAggregator(),
             taskRepresentationModelAssembler,
             taskLookupRestrictionService,
-            securityManager
+            securityManager,
+            slowQueryLog
         );
     }
 
@@ -253,9 +272,15 @@ public class QueryRestWebMvcAutoConfiguration {
     public ProcessInstanceSearchService processInstanceSearchService(
         ProcessInstanceRepository processInstanceRepository,
         ProcessVariableService processVariableService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        SlowQueryLog slowQueryLog
     ) {
-        return new ProcessInstanceSearchService(processInstanceRepository, processVariableService, securityManager);
+        return new ProcessInstanceSearchService(
+            processInstanceRepository,
+            processVariableService,
+            securityManager,
+            slowQueryLog
+        );
     }
 
     @Bean
@@ -317,4 +342,35 @@ public class QueryRestWebMvcAutoConfiguration {
             processInstanceControllerHelper
         );
     }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(name = "activiti.cloud.services.query.task-changes.enabled", havingValue = "true")
+    public TaskChangeFeedService taskChangeFeedService(
+        TaskChangeRepository taskChangeRepository,
+        TaskControllerHelper taskControllerHelper,
+        SecurityManager securityManager,
+        @Value("${activiti.cloud.services.query.task-changes.settle-time:2s}") Duration settleTime,
+        @Value("${activiti.cloud.services.query.task-changes.poll-interval:500ms}") Duration pollInterval,
+        @Value("${activiti.cloud.services.query.task-changes.max-wait-timeout:60s}") Duration maxWaitTimeout,
+        @Value("${activiti.cloud.services.query.task-changes.poll-threads:2}") int pollThreads
+    ) {
+        ScheduledExecutorService pollScheduler = Executors.newScheduledThreadPool(
+            pollThreads,
+            runnable -> {
+                Thread thread = new Thread(runnable, "task-change-feed");
+                thread.setDaemon(true);
+                return thread;
+            }
+        );
+        return new TaskChangeFeedService(
+            taskChangeRepository,
+            taskControllerHelper,
+            securityManager,
+            pollScheduler,
+            settleTime,
+            pollInterval,
+            maxWaitTimeout
+        );
+    }
 }
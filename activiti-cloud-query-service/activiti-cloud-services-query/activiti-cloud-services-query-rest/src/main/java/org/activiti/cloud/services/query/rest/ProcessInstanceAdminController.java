@@ -15,6 +15,10 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.app.repository.CustomizedProcessInstanceRepository.MAX_HIERARCHY_DEPTH;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_DESC;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_EXAMPLE;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.HIERARCHY_MAX_DEPTH_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.VARIABLE_KEYS_DESC;
@@ -32,13 +36,17 @@ import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.process.model.QueryCloudProcessInstance;
 import org.activiti.cloud.services.query.model.JsonViews;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.compact.CompactListResponse;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
 import org.activiti.cloud.services.query.rest.helper.ProcessInstanceAdminControllerHelper;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceQueryBody;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
@@ -166,6 +174,19 @@ public class ProcessInstanceAdminController {
         );
     }
 
+    @Operation(summary = "Search process instances returning the compact representation")
+    @PostMapping(value = "/search", produces = CompactMediaTypes.COMPACT_JSON_VALUE)
+    public CompactListResponse searchProcessInstancesCompact(
+        @RequestBody ProcessInstanceSearchRequest searchRequest,
+        @Parameter(description = COMPACT_FIELDS_DESC, example = COMPACT_FIELDS_EXAMPLE) @RequestParam(
+            value = "fields",
+            required = false
+        ) List<String> fields,
+        Pageable pageable
+    ) {
+        return CompactListResponse.of(processInstanceAdminService.searchCompact(searchRequest, pageable, fields));
+    }
+
     @JsonView(JsonViews.General.class)
     @RequestMapping(value = "/{processInstanceId}", method = RequestMethod.GET)
     public EntityModel<QueryCloudProcessInstance> findByIdProcessAdmin(@PathVariable String processInstanceId) {
@@ -183,4 +204,22 @@ public class ProcessInstanceAdminController {
     ) {
         return processInstanceAdminService.findAllAppVersions(predicate);
     }
+
+    @Operation(summary = "Find the subprocess hierarchy of a process instance")
+    @RequestMapping(value = "/{processInstanceId}/hierarchy", method = RequestMethod.GET)
+    public CollectionModel<EntityModel<ProcessInstanceTreeNode>> hierarchyAdmin(
+        @PathVariable String processInstanceId,
+        @Parameter(description = HIERARCHY_MAX_DEPTH_DESC) @RequestParam(
+            value = "maxDepth",
+            required = false
+        ) Integer maxDepth
+    ) {
+        List<EntityModel<ProcessInstanceTreeNode>> nodes = processInstanceAdminControllerHelper
+            .findHierarchyAdmin(processInstanceId, Optional.ofNullable(maxDepth).orElse(MAX_HIERARCHY_DEPTH))
+            .stream()
+            .map(EntityModel::of)
+            .toList();
+
+        return CollectionModel.of(nodes);
+    }
 }
@@ -22,6 +22,7 @@ import com.querydsl.jpa.impl.JPAQueryFactory;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
@@ -29,6 +30,7 @@ import java.util.stream.Collectors;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
@@ -111,6 +113,13 @@ public class ProcessInstanceAdminService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public List<ProcessInstanceTreeNode> hierarchy(String processInstanceId, int maxDepth) {
+        findById(processInstanceId);
+
+        return processInstanceRepository.findHierarchy(processInstanceId, maxDepth);
+    }
+
     public Set<String> findAllAppVersions(Predicate predicate) {
         Predicate transformedPredicate = Optional.ofNullable(predicate).orElseGet(BooleanBuilder::new);
         JPAQuery<?> query = new JPAQueryFactory(entityManager).query();
@@ -130,4 +139,13 @@ public class ProcessInstanceAdminService {
     public Page<ProcessInstanceEntity> search(ProcessInstanceSearchRequest searchRequest, Pageable pageable) {
         return processInstanceSearchService.searchUnrestricted(searchRequest, pageable);
     }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchCompact(
+        ProcessInstanceSearchRequest searchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return processInstanceSearchService.searchUnrestrictedCompact(searchRequest, pageable, fields);
+    }
 }
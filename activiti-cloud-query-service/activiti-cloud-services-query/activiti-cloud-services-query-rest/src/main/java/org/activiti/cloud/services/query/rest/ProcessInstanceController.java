@@ -15,6 +15,10 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.app.repository.CustomizedProcessInstanceRepository.MAX_HIERARCHY_DEPTH;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_DESC;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_EXAMPLE;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.HIERARCHY_MAX_DEPTH_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.VARIABLE_KEYS_DESC;
@@ -25,16 +29,21 @@ import com.querydsl.core.types.Predicate;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import java.util.List;
+import java.util.Optional;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
 import org.activiti.cloud.api.process.model.QueryCloudProcessInstance;
 import org.activiti.cloud.services.query.model.JsonViews;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.compact.CompactListResponse;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
 import org.activiti.cloud.services.query.rest.helper.ProcessInstanceControllerHelper;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
+import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
@@ -46,6 +55,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(
@@ -122,12 +132,32 @@ public class ProcessInstanceController {
         );
     }
 
+    @Operation(summary = "Search process instances returning the compact representation")
+    @PostMapping(value = "/search", produces = CompactMediaTypes.COMPACT_JSON_VALUE)
+    public CompactListResponse searchProcessInstancesCompact(
+        @RequestBody ProcessInstanceSearchRequest searchRequest,
+        @Parameter(description = COMPACT_FIELDS_DESC, example = COMPACT_FIELDS_EXAMPLE) @RequestParam(
+            value = "fields",
+            required = false
+        ) List<String> fields,
+        Pageable pageable
+    ) {
+        return CompactListResponse.of(
+            processInstanceControllerHelper.searchProcessInstancesCompact(searchRequest, pageable, fields)
+        );
+    }
+
     @JsonView(JsonViews.General.class)
     @RequestMapping(value = "/{processInstanceId}", method = RequestMethod.GET)
-    public EntityModel<QueryCloudProcessInstance> findByIdProcess(@PathVariable String processInstanceId) {
-        return processInstanceRepresentationModelAssembler.toModel(
-            processInstanceControllerHelper.findById(processInstanceId)
+    public EntityModel<QueryCloudProcessInstance> findByIdProcess(
+        @PathVariable String processInstanceId,
+        WebRequest request
+    ) {
+        ProcessInstanceEntity processInstance = processInstanceControllerHelper.findByIdIfModified(
+            processInstanceId,
+            request
         );
+        return processInstance != null ? processInstanceRepresentationModelAssembler.toModel(processInstance) : null;
     }
 
     @JsonView(JsonViews.General.class)
@@ -145,4 +175,22 @@ public class ProcessInstanceController {
             processInstanceRepresentationModelAssembler
         );
     }
+
+    @Operation(summary = "Find the subprocess hierarchy of a process instance")
+    @RequestMapping(value = "/{processInstanceId}/hierarchy", method = RequestMethod.GET)
+    public CollectionModel<EntityModel<ProcessInstanceTreeNode>> hierarchy(
+        @PathVariable String processInstanceId,
+        @Parameter(description = HIERARCHY_MAX_DEPTH_DESC) @RequestParam(
+            value = "maxDepth",
+            required = false
+        ) Integer maxDepth
+    ) {
+        List<EntityModel<ProcessInstanceTreeNode>> nodes = processInstanceControllerHelper
+            .findHierarchy(processInstanceId, Optional.ofNullable(maxDepth).orElse(MAX_HIERARCHY_DEPTH))
+            .stream()
+            .map(EntityModel::of)
+            .toList();
+
+        return CollectionModel.of(nodes);
+    }
 }
@@ -61,6 +61,8 @@ public class ProcessInstanceDeleteController {
 
     private final BPMNSequenceFlowRepository bpmnSequenceFlowRepository;
 
+    private final ProcessDiagramStateRepository processDiagramStateRepository;
+
     private ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler;
 
     @Autowired
@@ -71,6 +73,7 @@ public class ProcessInstanceDeleteController {
         ServiceTaskRepository serviceTaskRepository,
         BPMNActivityRepository bpmnActivityRepository,
         BPMNSequenceFlowRepository bpmnSequenceFlowRepository,
+        ProcessDiagramStateRepository processDiagramStateRepository,
         ProcessInstanceRepresentationModelAssembler processInstanceRepresentationModelAssembler
     ) {
         this.processInstanceRepository = processInstanceRepository;
@@ -79,6 +82,7 @@ public class ProcessInstanceDeleteController {
         this.serviceTaskRepository = serviceTaskRepository;
         this.bpmnActivityRepository = bpmnActivityRepository;
         this.bpmnSequenceFlowRepository = bpmnSequenceFlowRepository;
+        this.processDiagramStateRepository = processDiagramStateRepository;
         this.processInstanceRepresentationModelAssembler = processInstanceRepresentationModelAssembler;
     }
 
@@ -99,6 +103,7 @@ public class ProcessInstanceDeleteController {
             Optional.ofNullable(entity.getServiceTasks()).ifPresent(serviceTaskRepository::deleteAll);
             Optional.ofNullable(entity.getActivities()).ifPresent(bpmnActivityRepository::deleteAll);
             Optional.ofNullable(entity.getSequenceFlows()).ifPresent(bpmnSequenceFlowRepository::deleteAll);
+            processDiagramStateRepository.deleteById(entity.getId());
 
             result.add(processInstanceRepresentationModelAssembler.toModel(entity));
         }
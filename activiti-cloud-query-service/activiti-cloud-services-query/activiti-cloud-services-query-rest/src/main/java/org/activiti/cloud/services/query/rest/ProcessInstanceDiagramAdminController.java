@@ -31,6 +31,7 @@ public class ProcessInstanceDiagramAdminController extends ProcessInstanceDiagra
         ProcessDiagramGeneratorWrapper processDiagramGenerator,
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
+        ProcessDiagramStateRepository processDiagramStateRepository,
         EntityFinder entityFinder
     ) {
         super(
@@ -39,6 +40,7 @@ public class ProcessInstanceDiagramAdminController extends ProcessInstanceDiagra
             processDiagramGenerator,
             processInstanceRepository,
             bpmnActivityRepository,
+            processDiagramStateRepository,
             entityFinder
         );
     }
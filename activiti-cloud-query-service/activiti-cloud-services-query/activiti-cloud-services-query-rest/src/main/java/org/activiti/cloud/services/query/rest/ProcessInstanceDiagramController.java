@@ -43,6 +43,7 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
         ProcessDiagramGeneratorWrapper processDiagramGenerator,
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
+        ProcessDiagramStateRepository processDiagramStateRepository,
         EntityFinder entityFinder,
         SecurityPoliciesManager securityPoliciesManager,
         SecurityManager securityManager
@@ -53,6 +54,7 @@ public class ProcessInstanceDiagramController extends ProcessInstanceDiagramCont
             processDiagramGenerator,
             processInstanceRepository,
             bpmnActivityRepository,
+            processDiagramStateRepository,
             entityFinder
         );
         this.securityPoliciesManager = securityPoliciesManager;
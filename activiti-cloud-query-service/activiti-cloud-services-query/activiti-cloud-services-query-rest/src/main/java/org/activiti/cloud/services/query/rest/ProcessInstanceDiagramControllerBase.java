@@ -17,7 +17,9 @@ package org.activiti.cloud.services.query.rest;
 
 import java.io.ByteArrayInputStream;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 import java.util.stream.Collectors;
 import org.activiti.bpmn.BpmnAutoLayout;
 import org.activiti.bpmn.model.BpmnModel;
@@ -27,6 +29,7 @@ import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
 import org.activiti.cloud.services.query.app.repository.*;
 import org.activiti.cloud.services.query.model.BPMNActivityEntity;
 import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
+import org.activiti.cloud.services.query.model.ProcessDiagramStateEntity;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessModelEntity;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -47,6 +50,8 @@ public abstract class ProcessInstanceDiagramControllerBase {
 
     protected final ProcessDiagramGeneratorWrapper processDiagramGenerator;
 
+    protected final ProcessDiagramStateRepository processDiagramStateRepository;
+
     @Autowired
     public ProcessInstanceDiagramControllerBase(
         ProcessModelRepository processModelRepository,
@@ -54,6 +59,7 @@ public abstract class ProcessInstanceDiagramControllerBase {
         ProcessDiagramGeneratorWrapper processDiagramGenerator,
         ProcessInstanceRepository processInstanceRepository,
         BPMNActivityRepository bpmnActivityRepository,
+        ProcessDiagramStateRepository processDiagramStateRepository,
         EntityFinder entityFinder
     ) {
         this.processInstanceRepository = processInstanceRepository;
@@ -62,6 +68,7 @@ public abstract class ProcessInstanceDiagramControllerBase {
         this.processDiagramGenerator = processDiagramGenerator;
         this.bpmnActivityRepository = bpmnActivityRepository;
         this.bpmnSequenceFlowRepository = bpmnSequenceFlowRepository;
+        this.processDiagramStateRepository = processDiagramStateRepository;
     }
 
     public String generateDiagram(String processInstanceId) {
@@ -70,10 +77,24 @@ public abstract class ProcessInstanceDiagramControllerBase {
 
         if (!bpmnModel.hasDiagramInterchangeInfo()) new BpmnAutoLayout(bpmnModel).execute();
 
-        List<String> highLightedActivities = resolveCompletedActivitiesIds(processInstanceId);
-        List<String> highLightedFlows = resolveCompletedFlows(bpmnModel, processInstanceId);
-        List<String> currentActivities = resolveStartedActivitiesIds(processInstanceId);
-        List<String> erroredActivities = resolveErroredActivitiesIds(processInstanceId);
+        List<String> highLightedActivities;
+        List<String> highLightedFlows;
+        List<String> currentActivities;
+        List<String> erroredActivities;
+
+        // instances recorded in compact mode are rendered from a single row instead of the activity tables
+        Optional<ProcessDiagramStateEntity> diagramState = processDiagramStateRepository.findById(processInstanceId);
+        if (diagramState.isPresent()) {
+            highLightedActivities = new ArrayList<>(diagramState.get().getCompletedActivities());
+            highLightedFlows = new ArrayList<>(diagramState.get().getTakenFlows());
+            currentActivities = new ArrayList<>(diagramState.get().getActiveActivities());
+            erroredActivities = new ArrayList<>(diagramState.get().getErroredActivities());
+        } else {
+            highLightedActivities = resolveCompletedActivitiesIds(processInstanceId);
+            highLightedFlows = resolveCompletedFlows(bpmnModel, processInstanceId);
+            currentActivities = resolveStartedActivitiesIds(processInstanceId);
+            erroredActivities = resolveErroredActivitiesIds(processInstanceId);
+        }
 
         return new String(
             processDiagramGenerator.generateDiagram(
@@ -15,11 +15,14 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableKey;
+import org.activiti.cloud.services.query.rest.compact.CompactFieldSelection;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.activiti.cloud.services.query.rest.specification.ProcessInstanceSpecification;
 import org.springframework.data.domain.Page;
@@ -34,14 +37,18 @@ public class ProcessInstanceSearchService {
 
     private final SecurityManager securityManager;
 
+    private final SlowQueryLog slowQueryLog;
+
     public ProcessInstanceSearchService(
         ProcessInstanceRepository processInstanceRepository,
         ProcessVariableService processVariableService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        SlowQueryLog slowQueryLog
     ) {
         this.processInstanceRepository = processInstanceRepository;
         this.processVariableService = processVariableService;
         this.securityManager = securityManager;
+        this.slowQueryLog = slowQueryLog;
     }
 
     @Transactional(readOnly = true)
@@ -65,6 +72,28 @@ public class ProcessInstanceSearchService {
         );
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchRestrictedCompact(
+        ProcessInstanceSearchRequest searchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return searchCompact(
+            pageable,
+            fields,
+            ProcessInstanceSpecification.restricted(searchRequest, securityManager.getAuthenticatedUserId())
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchUnrestrictedCompact(
+        ProcessInstanceSearchRequest searchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return searchCompact(pageable, fields, ProcessInstanceSpecification.unrestricted(searchRequest));
+    }
+
     /**
      * @param processVariableKeys the process variables to fetch for each process instance, each represented by process definition key and variable name
      * @param pageable the page request. N.B. the sort contained in this pageable will be ignored and the sort from the search request will be used instead
@@ -76,11 +105,31 @@ public class ProcessInstanceSearchService {
         Pageable pageable,
         ProcessInstanceSpecification specification
     ) {
-        Page<ProcessInstanceEntity> processInstances = processInstanceRepository.findAll(specification, pageable);
+        Page<ProcessInstanceEntity> processInstances = slowQueryLog.execute(
+            specification,
+            pageable,
+            () -> processInstanceRepository.findAll(specification, pageable)
+        );
         processVariableService.fetchProcessVariablesForProcessInstances(
             processInstances.getContent(),
             processVariableKeys
         );
         return processInstances;
     }
+
+    /**
+     * Same as the full search, but only the requested scalar fields are selected and no process variables are fetched.
+     */
+    private Page<Map<String, Object>> searchCompact(
+        Pageable pageable,
+        List<String> fields,
+        ProcessInstanceSpecification specification
+    ) {
+        List<String> attributes = CompactFieldSelection.PROCESS_INSTANCES.resolve(fields);
+        return slowQueryLog.execute(
+            specification,
+            pageable,
+            () -> processInstanceRepository.findAllProjected(specification, attributes, pageable)
+        );
+    }
 }
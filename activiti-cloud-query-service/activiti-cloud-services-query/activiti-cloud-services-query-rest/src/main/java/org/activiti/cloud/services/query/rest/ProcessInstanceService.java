@@ -22,12 +22,14 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import org.activiti.api.runtime.shared.security.SecurityManager;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.model.QProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.QTaskEntity;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
@@ -166,11 +168,27 @@ public class ProcessInstanceService {
         return processInstanceRepository.findAll(extendedPredicate, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public List<ProcessInstanceTreeNode> hierarchy(String processInstanceId, int maxDepth) {
+        findById(processInstanceId);
+
+        return processInstanceRepository.findHierarchy(processInstanceId, maxDepth);
+    }
+
     @Transactional(readOnly = true)
     public Page<ProcessInstanceEntity> search(ProcessInstanceSearchRequest searchRequest, Pageable pageable) {
         return processInstanceSearchService.searchRestricted(searchRequest, pageable);
     }
 
+    @Transactional(readOnly = true)
+    public Page<Map<String, Object>> searchCompact(
+        ProcessInstanceSearchRequest searchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return processInstanceSearchService.searchRestrictedCompact(searchRequest, pageable, fields);
+    }
+
     private boolean canRead(ProcessInstanceEntity processInstanceEntity) {
         return (
             securityPoliciesApplicationService.canRead(
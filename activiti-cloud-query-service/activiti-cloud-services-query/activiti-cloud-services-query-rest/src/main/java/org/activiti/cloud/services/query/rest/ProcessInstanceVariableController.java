@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.rest.RestDocConstants.INCLUDE_VALUES_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 
@@ -24,23 +25,26 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import io.swagger.v3.oas.annotations.Parameter;
 import java.util.Optional;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
-import org.activiti.cloud.api.model.shared.CloudVariableInstance;
+import org.activiti.cloud.services.query.app.repository.VariableCollectionVersion;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
+import org.activiti.cloud.services.query.model.JsonViews;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.query.model.QProcessVariableEntity;
 import org.activiti.cloud.services.query.rest.assembler.ProcessInstanceVariableRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.helper.EntityTags;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(
@@ -67,13 +71,22 @@ public class ProcessInstanceVariableController {
     }
 
     @RequestMapping(value = "/variables", method = RequestMethod.GET)
-    public PagedModel<EntityModel<CloudVariableInstance>> getVariablesProcess(
+    public MappingJacksonValue getVariablesProcess(
         @PathVariable String processInstanceId,
         @Parameter(description = PREDICATE_DESC, example = PREDICATE_EXAMPLE) @QuerydslPredicate(
             root = ProcessVariableEntity.class
         ) Predicate predicate,
-        Pageable pageable
+        @Parameter(description = INCLUDE_VALUES_DESC) @RequestParam(
+            name = "includeValues",
+            defaultValue = "true"
+        ) Boolean includeValues,
+        Pageable pageable,
+        WebRequest request
     ) {
+        if (request.checkNotModified(variablesEntityTag(processInstanceId, request))) {
+            return null;
+        }
+
         predicate = Optional.ofNullable(predicate).orElseGet(BooleanBuilder::new);
 
         QProcessVariableEntity variable = QProcessVariableEntity.processVariableEntity;
@@ -89,6 +102,20 @@ public class ProcessInstanceVariableController {
 
         Page<ProcessVariableEntity> variables = variableRepository.findAll(extendedPredicate, pageable);
 
-        return pagedCollectionModelAssembler.toModel(pageable, variables, variableRepresentationModelAssembler);
+        MappingJacksonValue result = new MappingJacksonValue(
+            pagedCollectionModelAssembler.toModel(pageable, variables, variableRepresentationModelAssembler)
+        );
+        if (Boolean.FALSE.equals(includeValues)) {
+            result.setSerializationView(JsonViews.General.class);
+        }
+
+        return result;
+    }
+
+    private String variablesEntityTag(String processInstanceId, WebRequest request) {
+        VariableCollectionVersion version = variableRepository.findCollectionVersionByProcessInstanceId(processInstanceId);
+        return version != null
+            ? EntityTags.of(request, processInstanceId, version.count(), version.lastUpdatedTime())
+            : EntityTags.of(request, processInstanceId);
     }
 }
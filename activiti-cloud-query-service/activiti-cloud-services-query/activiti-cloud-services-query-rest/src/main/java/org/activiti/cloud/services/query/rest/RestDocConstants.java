@@ -32,5 +32,31 @@ public class RestDocConstants {
 
     public static final String VARIABLE_KEYS_EXAMPLE = "Process_90W_3nLpw/initializedVar";
 
+    public static final String INCLUDE_VALUES_DESC =
+        "Whether variable values should be loaded and returned. " +
+        "When set to false only names, types and metadata are returned and the values are never read from the database.";
+
+    public static final String INCLUDE_PAYLOAD_DESC =
+        "Whether the inbound and outbound variables and the stack trace should be loaded and returned. " +
+        "When set to false these columns are never read from the database.";
+
+    public static final String HIERARCHY_MAX_DEPTH_DESC =
+        "Maximum depth of the returned hierarchy, relative to the requested process instance. " +
+        "When omitted the whole hierarchy is returned, up to 100 levels.";
+
+    public static final String COMPACT_FIELDS_DESC =
+        "Fields to return for each entry of the compact representation, in order. " +
+        "When omitted a default set of fields is returned. Only the selected columns are read from the database.";
+
+    public static final String COMPACT_FIELDS_EXAMPLE = "id,name,status";
+
+    public static final String TASK_CHANGES_CURSOR_DESC =
+        "Cursor returned by the previous call. " +
+        "When omitted no changes are returned, only the cursor of the current head of the change sequence.";
+
+    public static final String TASK_CHANGES_WAIT_SECONDS_DESC =
+        "How many seconds to wait for a change when there is none yet after the cursor. " +
+        "The wait is capped by the server configuration.";
+
     private RestDocConstants() {}
 }
@@ -19,8 +19,12 @@ import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 
 import com.querydsl.core.types.Predicate;
+import io.swagger.v3.oas.annotations.Hidden;
 import io.swagger.v3.oas.annotations.Parameter;
+import java.util.List;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.AlfrescoStreamingListAssembler;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
 import org.activiti.cloud.api.process.model.CloudServiceTask;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ServiceTaskRepository;
@@ -28,11 +32,13 @@ import org.activiti.cloud.services.query.model.QServiceTaskEntity;
 import org.activiti.cloud.services.query.model.ServiceTaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.ServiceTaskRepresentationModelAssembler;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.hateoas.PagedModel;
 import org.springframework.http.MediaType;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
@@ -45,24 +51,30 @@ import org.springframework.web.bind.annotation.RestController;
 )
 public class ServiceTaskAdminController {
 
+    private static final int STREAMING_WINDOW_SIZE = 500;
+
     private final ServiceTaskRepository serviceTaskRepository;
 
     private final ServiceTaskRepresentationModelAssembler representationModelAssembler;
 
     private final AlfrescoPagedModelAssembler<ServiceTaskEntity> pagedCollectionModelAssembler;
 
+    private final AlfrescoStreamingListAssembler streamingListAssembler;
+
     private final EntityFinder entityFinder;
 
     public ServiceTaskAdminController(
         ServiceTaskRepository serviceTaskRepository,
         ServiceTaskRepresentationModelAssembler representationModelAssembler,
         AlfrescoPagedModelAssembler<ServiceTaskEntity> pagedCollectionModelAssembler,
+        AlfrescoStreamingListAssembler streamingListAssembler,
         EntityFinder entityFinder
     ) {
         this.serviceTaskRepository = serviceTaskRepository;
         this.representationModelAssembler = representationModelAssembler;
         this.entityFinder = entityFinder;
         this.pagedCollectionModelAssembler = pagedCollectionModelAssembler;
+        this.streamingListAssembler = streamingListAssembler;
     }
 
     @RequestMapping(method = RequestMethod.GET)
@@ -79,6 +91,33 @@ public class ServiceTaskAdminController {
         );
     }
 
+    /**
+     * Same list as the Alfresco format of {@link #findAllServiceTasks}, written straight from a scrolled query
+     * without materializing the page. Left out of the API docs because the body is written by a custom serializer
+     * that the generated schema would not describe.
+     */
+    @Hidden
+    @RequestMapping(method = RequestMethod.GET, produces = AlfrescoStreamingListAssembler.STREAMING_JSON_VALUE)
+    public StreamingListResponseContent<ServiceTaskEntity> streamServiceTasks(
+        @QuerydslPredicate(root = ServiceTaskEntity.class) Predicate predicate,
+        Pageable pageable
+    ) throws HttpMediaTypeNotAcceptableException {
+        if (!streamingListAssembler.isStreamingEnabled()) {
+            throw new HttpMediaTypeNotAcceptableException(List.of(MediaTypes.HAL_JSON, MediaType.APPLICATION_JSON));
+        }
+        Sort sort = pageable.getSort().getOrderFor("id") == null
+            ? pageable.getSort().and(Sort.by("id"))
+            : pageable.getSort();
+        int windowSize = Math.min(pageable.getPageSize(), STREAMING_WINDOW_SIZE);
+
+        return streamingListAssembler.toStreamingListResponseContent(
+            pageable,
+            serviceTaskRepository.count(predicate),
+            position ->
+                serviceTaskRepository.findBy(predicate, query -> query.sortBy(sort).limit(windowSize).scroll(position))
+        );
+    }
+
     @RequestMapping(value = "/{serviceTaskId}", method = RequestMethod.GET)
     public EntityModel<CloudServiceTask> findByIdServiceTaskAdmin(@PathVariable String serviceTaskId) {
         Predicate filter = QServiceTaskEntity.serviceTaskEntity.id.eq(serviceTaskId);
@@ -15,17 +15,21 @@
  */
 package org.activiti.cloud.services.query.rest;
 
-import org.activiti.cloud.api.process.model.CloudIntegrationContext;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.INCLUDE_PAYLOAD_DESC;
+
+import io.swagger.v3.oas.annotations.Parameter;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.IntegrationContextRepository;
 import org.activiti.cloud.services.query.model.IntegrationContextEntity;
+import org.activiti.cloud.services.query.model.JsonViews;
 import org.activiti.cloud.services.query.rest.assembler.IntegrationContextRepresentationModelAssembler;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -52,13 +56,24 @@ public class ServiceTaskIntegrationContextAdminController {
     }
 
     @RequestMapping(value = "/{serviceTaskId}/integration-context", method = RequestMethod.GET)
-    public EntityModel<CloudIntegrationContext> findById(@PathVariable String serviceTaskId) {
+    public MappingJacksonValue findById(
+        @PathVariable String serviceTaskId,
+        @Parameter(description = INCLUDE_PAYLOAD_DESC) @RequestParam(
+            name = "includePayload",
+            defaultValue = "true"
+        ) Boolean includePayload
+    ) {
         IntegrationContextEntity entity = entityFinder.findById(
             repository,
             serviceTaskId,
             "Unable to find integration context entity for the given id:'" + serviceTaskId + "'"
         );
 
-        return representationModelAssembler.toModel(entity);
+        MappingJacksonValue result = new MappingJacksonValue(representationModelAssembler.toModel(entity));
+        if (Boolean.FALSE.equals(includePayload)) {
+            result.setSerializationView(JsonViews.General.class);
+        }
+
+        return result;
     }
 }
@@ -0,0 +1,76 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+import org.activiti.cloud.services.query.rest.specification.SpecificationSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+/**
+ * Times specification based searches and logs a sample of the ones slower than the threshold together with
+ * the shape of their filters, so that the request patterns behind a slow inbox can be told apart without
+ * logging any filter value. A negative threshold or a zero sample rate disables it.
+ */
+public class SlowQueryLog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SlowQueryLog.class);
+
+    private final Duration threshold;
+
+    private final double sampleRate;
+
+    public SlowQueryLog(Duration threshold, double sampleRate) {
+        this.threshold = threshold;
+        this.sampleRate = sampleRate;
+    }
+
+    public static SlowQueryLog disabled() {
+        return new SlowQueryLog(Duration.ofMillis(-1), 0);
+    }
+
+    public boolean isEnabled() {
+        return !threshold.isNegative() && sampleRate > 0;
+    }
+
+    public <T> Page<T> execute(SpecificationSupport<?, ?> specification, Pageable pageable, Supplier<Page<T>> query) {
+        if (!isEnabled()) {
+            return query.get();
+        }
+        long start = System.nanoTime();
+        Page<T> page = query.get();
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        if (elapsed.compareTo(threshold) >= 0 && isSampled()) {
+            LOGGER.warn(
+                "Slow query: {} took {} ms for {} returning {} of {} elements",
+                specification.describeFilterShape(),
+                elapsed.toMillis(),
+                pageable,
+                page.getNumberOfElements(),
+                page.getTotalElements()
+            );
+        }
+        return page;
+    }
+
+    private boolean isSampled() {
+        return sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate;
+    }
+}
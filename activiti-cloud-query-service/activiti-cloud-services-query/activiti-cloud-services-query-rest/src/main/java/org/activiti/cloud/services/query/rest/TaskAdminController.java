@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_DESC;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.ROOT_TASKS_DESC;
@@ -38,6 +40,8 @@ import org.activiti.cloud.services.query.model.TaskCandidateGroupEntity;
 import org.activiti.cloud.services.query.model.TaskCandidateUserEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.compact.CompactListResponse;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
 import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
 import org.activiti.cloud.services.query.rest.payload.TasksQueryBody;
 import org.activiti.cloud.services.query.rest.predicate.RootTasksFilter;
@@ -151,6 +155,19 @@ public class TaskAdminController {
         return taskControllerHelper.searchTasksUnrestricted(taskSearchRequest, pageable);
     }
 
+    @Operation(summary = "Search tasks returning the compact representation")
+    @PostMapping(value = "/search", produces = CompactMediaTypes.COMPACT_JSON_VALUE)
+    public CompactListResponse searchTasksCompact(
+        @RequestBody TaskSearchRequest taskSearchRequest,
+        @Parameter(description = COMPACT_FIELDS_DESC, example = COMPACT_FIELDS_EXAMPLE) @RequestParam(
+            value = "fields",
+            required = false
+        ) List<String> fields,
+        Pageable pageable
+    ) {
+        return taskControllerHelper.searchTasksUnrestrictedCompact(taskSearchRequest, pageable, fields);
+    }
+
     @RequestMapping(method = RequestMethod.POST)
     public MappingJacksonValue findAllFromBodyTaskAdmin(
         @Parameter(description = PREDICATE_DESC, example = PREDICATE_EXAMPLE) @QuerydslPredicate(
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.activiti.cloud.services.query.rest.RestDocConstants.TASK_CHANGES_CURSOR_DESC;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.TASK_CHANGES_WAIT_SECONDS_DESC;
+
+import com.fasterxml.jackson.annotation.JsonView;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import java.time.Duration;
+import java.util.Set;
+import org.activiti.cloud.services.query.model.JsonViews;
+import org.activiti.cloud.services.query.rest.changes.TaskChangeFeed;
+import org.activiti.cloud.services.query.rest.changes.TaskChangeFeedService;
+import org.activiti.cloud.services.query.rest.payload.TaskChangeFeedRequest;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
+
+@ConditionalOnProperty(name = "activiti.cloud.services.query.task-changes.enabled", havingValue = "true")
+@RestController
+@RequestMapping(value = "/v1/tasks", produces = MediaType.APPLICATION_JSON_VALUE)
+public class TaskChangeFeedController {
+
+    private static final int MAX_ITEMS_LIMIT = 1000;
+
+    /**
+     * Time allowed on top of the requested wait for the last poll to resolve its changes before the request times out.
+     */
+    private static final Duration RESPONSE_TIMEOUT_MARGIN = Duration.ofSeconds(30);
+
+    private final TaskChangeFeedService taskChangeFeedService;
+
+    public TaskChangeFeedController(TaskChangeFeedService taskChangeFeedService) {
+        this.taskChangeFeedService = taskChangeFeedService;
+    }
+
+    @Operation(summary = "Get the tasks created, updated or removed from the visible set since a cursor")
+    @JsonView(JsonViews.ProcessVariables.class)
+    @PostMapping("/changes")
+    public DeferredResult<TaskChangeFeed> getTaskChanges(
+        @RequestBody TaskChangeFeedRequest taskChangeFeedRequest,
+        @Parameter(description = TASK_CHANGES_CURSOR_DESC) @RequestParam(
+            value = "cursor",
+            required = false
+        ) String cursor,
+        @RequestParam(value = "maxItems", defaultValue = "100") int maxItems,
+        @Parameter(description = TASK_CHANGES_WAIT_SECONDS_DESC) @RequestParam(
+            value = "waitSeconds",
+            defaultValue = "0"
+        ) int waitSeconds
+    ) {
+        if (maxItems < 1 || maxItems > MAX_ITEMS_LIMIT) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "maxItems must be between 1 and " + MAX_ITEMS_LIMIT);
+        }
+        if (waitSeconds < 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "waitSeconds must not be negative");
+        }
+        if (taskChangeFeedRequest.filter() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "filter is required");
+        }
+        Set<String> knownTaskIds = taskChangeFeedRequest.knownTaskIds();
+        Duration waitTimeout = Duration.ofSeconds(waitSeconds);
+        DeferredResult<TaskChangeFeed> result = new DeferredResult<>(
+            waitTimeout.plus(RESPONSE_TIMEOUT_MARGIN).toMillis()
+        );
+        taskChangeFeedService
+            .getChanges(
+                taskChangeFeedRequest.filter(),
+                knownTaskIds == null ? Set.of() : knownTaskIds,
+                cursor,
+                maxItems,
+                waitTimeout
+            )
+            .whenComplete((feed, error) -> {
+                if (error == null) {
+                    result.setResult(feed);
+                } else {
+                    result.setErrorResult(error);
+                }
+            });
+        return result;
+    }
+}
@@ -15,6 +15,8 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_DESC;
+import static org.activiti.cloud.services.query.rest.RestDocConstants.COMPACT_FIELDS_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.ROOT_TASKS_DESC;
@@ -40,6 +42,9 @@ import org.activiti.cloud.services.query.model.TaskCandidateGroupEntity;
 import org.activiti.cloud.services.query.model.TaskCandidateUserEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.compact.CompactListResponse;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
+import org.activiti.cloud.services.query.rest.helper.EntityTags;
 import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
 import org.activiti.cloud.services.query.rest.predicate.RootTasksFilter;
 import org.activiti.cloud.services.query.rest.predicate.StandAloneTaskFilter;
@@ -60,6 +65,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping(value = "/v1/tasks", produces = { MediaTypes.HAL_JSON_VALUE, MediaType.APPLICATION_JSON_VALUE })
@@ -139,6 +145,19 @@ public class TaskController {
         return taskControllerHelper.searchTasksRestricted(taskSearchRequest, pageable);
     }
 
+    @Operation(summary = "Search tasks returning the compact representation")
+    @PostMapping(value = "/search", produces = CompactMediaTypes.COMPACT_JSON_VALUE)
+    public CompactListResponse searchTasksCompact(
+        @RequestBody TaskSearchRequest taskSearchRequest,
+        @Parameter(description = COMPACT_FIELDS_DESC, example = COMPACT_FIELDS_EXAMPLE) @RequestParam(
+            value = "fields",
+            required = false
+        ) List<String> fields,
+        Pageable pageable
+    ) {
+        return taskControllerHelper.searchTasksRestrictedCompact(taskSearchRequest, pageable, fields);
+    }
+
     @Operation(summary = "Find tasks")
     @JsonView(JsonViews.ProcessVariables.class)
     @RequestMapping(method = RequestMethod.GET, params = "variableKeys")
@@ -175,7 +194,7 @@ public class TaskController {
 
     @JsonView(JsonViews.General.class)
     @RequestMapping(value = "/{taskId}", method = RequestMethod.GET)
-    public EntityModel<QueryCloudTask> findByIdTask(@PathVariable String taskId) {
+    public EntityModel<QueryCloudTask> findByIdTask(@PathVariable String taskId, WebRequest request) {
         TaskEntity taskEntity = entityFinder.findById(
             taskRepository,
             taskId,
@@ -191,6 +210,9 @@ public class TaskController {
             );
             throw new ActivitiForbiddenException("Operation not permitted for " + taskId);
         }
+        if (request.checkNotModified(taskEntityTag(taskEntity, request))) {
+            return null;
+        }
         return taskRepresentationModelAssembler.toModel(taskEntity);
     }
 
@@ -243,4 +265,15 @@ public class TaskController {
                 .collect(Collectors.toList())
             : null;
     }
+
+    private String taskEntityTag(TaskEntity taskEntity, WebRequest request) {
+        return EntityTags.of(
+            request,
+            taskEntity.getId(),
+            taskEntity.getEntityVersion(),
+            taskEntity.getPermissions(),
+            taskEntity.getCandidateUsers(),
+            taskEntity.getCandidateGroups()
+        );
+    }
 }
@@ -31,7 +31,10 @@ import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.model.TaskCandidateGroupEntity;
 import org.activiti.cloud.services.query.model.TaskCandidateUserEntity;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.model.TaskEntity_;
 import org.activiti.cloud.services.query.rest.assembler.TaskRepresentationModelAssembler;
+import org.activiti.cloud.services.query.rest.compact.CompactFieldSelection;
+import org.activiti.cloud.services.query.rest.compact.CompactListResponse;
 import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateAggregator;
 import org.activiti.cloud.services.query.rest.predicate.QueryDslPredicateFilter;
@@ -63,6 +66,8 @@ public class TaskControllerHelper {
 
     private final SecurityManager securityManager;
 
+    private final SlowQueryLog slowQueryLog;
+
     public TaskControllerHelper(
         TaskRepository taskRepository,
         TaskCandidateUserRepository taskCandidateUserRepository,
@@ -72,7 +77,8 @@ public class TaskControllerHelper {
         QueryDslPredicateAggregator predicateAggregator,
         TaskRepresentationModelAssembler taskRepresentationModelAssembler,
         TaskLookupRestrictionService taskLookupRestrictionService,
-        SecurityManager securityManager
+        SecurityManager securityManager,
+        SlowQueryLog slowQueryLog
     ) {
         this.taskRepository = taskRepository;
         this.taskCandidateUserRepository = taskCandidateUserRepository;
@@ -83,6 +89,7 @@ public class TaskControllerHelper {
         this.taskRepresentationModelAssembler = taskRepresentationModelAssembler;
         this.taskLookupRestrictionService = taskLookupRestrictionService;
         this.securityManager = securityManager;
+        this.slowQueryLog = slowQueryLog;
     }
 
     public PagedModel<EntityModel<QueryCloudTask>> findAll(
@@ -132,12 +139,79 @@ public class TaskControllerHelper {
         return searchTasks(taskSearchRequest, pageable, TaskSpecification.unrestricted(taskSearchRequest));
     }
 
+    @Transactional(readOnly = true)
+    public CompactListResponse searchTasksRestrictedCompact(
+        TaskSearchRequest taskSearchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return searchTasksCompact(
+            pageable,
+            fields,
+            TaskSpecification.restricted(
+                taskSearchRequest,
+                securityManager.getAuthenticatedUserId(),
+                securityManager.getAuthenticatedUserGroups()
+            )
+        );
+    }
+
+    @Transactional(readOnly = true)
+    public CompactListResponse searchTasksUnrestrictedCompact(
+        TaskSearchRequest taskSearchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return searchTasksCompact(pageable, fields, TaskSpecification.unrestricted(taskSearchRequest));
+    }
+
+    /**
+     * Loads the tasks among the given ids that match the request and are visible to the given user, with their
+     * candidates and the requested process variables. The user is passed in rather than read from the security context
+     * so that the change feed can resolve its changes away from the request thread.
+     */
+    @Transactional(readOnly = true)
+    public List<TaskEntity> findTasksRestricted(
+        TaskSearchRequest taskSearchRequest,
+        Collection<String> taskIds,
+        String userId,
+        Collection<String> userGroups
+    ) {
+        TaskSpecification taskSpecification = TaskSpecification.restricted(taskSearchRequest, userId, userGroups);
+        List<TaskEntity> tasks = taskRepository.findAll(
+            taskSpecification.and((root, query, criteriaBuilder) -> root.get(TaskEntity_.id).in(taskIds))
+        );
+        fetchTaskCandidateUsers(tasks);
+        fetchTaskCandidateGroups(tasks);
+        processVariableService.fetchProcessVariablesForTasks(tasks, taskSearchRequest.processVariableKeys());
+        return tasks;
+    }
+
+    private CompactListResponse searchTasksCompact(
+        Pageable pageable,
+        List<String> fields,
+        TaskSpecification taskSpecification
+    ) {
+        List<String> attributes = CompactFieldSelection.TASKS.resolve(fields);
+        return CompactListResponse.of(
+            slowQueryLog.execute(
+                taskSpecification,
+                pageable,
+                () -> taskRepository.findAllProjected(taskSpecification, attributes, pageable)
+            )
+        );
+    }
+
     private PagedModel<EntityModel<QueryCloudTask>> searchTasks(
         TaskSearchRequest taskSearchRequest,
         Pageable pageable,
         TaskSpecification taskSpecification
     ) {
-        Page<TaskEntity> tasks = taskRepository.findAll(taskSpecification, pageable);
+        Page<TaskEntity> tasks = slowQueryLog.execute(
+            taskSpecification,
+            pageable,
+            () -> taskRepository.findAll(taskSpecification, pageable)
+        );
         fetchTaskCandidateUsers(tasks.getContent());
         fetchTaskCandidateGroups(tasks.getContent());
         processVariableService.fetchProcessVariablesForTasks(
@@ -15,6 +15,7 @@
  */
 package org.activiti.cloud.services.query.rest;
 
+import static org.activiti.cloud.services.query.rest.RestDocConstants.INCLUDE_VALUES_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_DESC;
 import static org.activiti.cloud.services.query.rest.RestDocConstants.PREDICATE_EXAMPLE;
 
@@ -24,21 +25,21 @@ import com.querydsl.core.types.dsl.BooleanExpression;
 import io.swagger.v3.oas.annotations.Parameter;
 import java.util.Optional;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
-import org.activiti.cloud.api.model.shared.CloudVariableInstance;
 import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.model.JsonViews;
 import org.activiti.cloud.services.query.model.QTaskVariableEntity;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
 import org.activiti.cloud.services.query.rest.assembler.TaskVariableRepresentationModelAssembler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.querydsl.binding.QuerydslPredicate;
-import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.MediaTypes;
-import org.springframework.hateoas.PagedModel;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -66,11 +67,15 @@ public class TaskVariableAdminController {
     }
 
     @RequestMapping(method = RequestMethod.GET)
-    public PagedModel<EntityModel<CloudVariableInstance>> getVariablesTaskAdmin(
+    public MappingJacksonValue getVariablesTaskAdmin(
         @PathVariable String td,
         @Parameter(description = PREDICATE_DESC, example = PREDICATE_EXAMPLE) @QuerydslPredicate(
             root = TaskVariableEntity.class
         ) Predicate predicate,
+        @Parameter(description = INCLUDE_VALUES_DESC) @RequestParam(
+            name = "includeValues",
+            defaultValue = "true"
+        ) Boolean includeValues,
         Pageable pageable
     ) {
         predicate = Optional.ofNullable(predicate).orElseGet(BooleanBuilder::new);
@@ -86,10 +91,17 @@ public class TaskVariableAdminController {
 
         Predicate extendedPredicated = expression;
 
-        return pagedVariablesCollectionModelAssembler.toModel(
-            pageable,
-            variableRepository.findAll(extendedPredicated, pageable),
-            variableRepresentationModelAssembler
+        MappingJacksonValue result = new MappingJacksonValue(
+            pagedVariablesCollectionModelAssembler.toModel(
+                pageable,
+                variableRepository.findAll(extendedPredicated, pageable),
+                variableRepresentationModelAssembler
+            )
         );
+        if (Boolean.FALSE.equals(includeValues)) {
+            result.setSerializationView(JsonViews.General.class);
+        }
+
+        return result;
     }
 }
@@ -30,7 +30,9 @@ public class IntegrationContextRepresentationModelAssembler
 
     @Override
     public EntityModel<CloudIntegrationContext> toModel(IntegrationContextEntity entity) {
-        Link selfRel = linkTo(methodOn(ServiceTaskIntegrationContextAdminController.class).findById(entity.getId()))
+        Link selfRel = linkTo(
+            methodOn(ServiceTaskIntegrationContextAdminController.class).findById(entity.getId(), null)
+        )
             .withSelfRel();
 
         return EntityModel.of(entity, selfRel);
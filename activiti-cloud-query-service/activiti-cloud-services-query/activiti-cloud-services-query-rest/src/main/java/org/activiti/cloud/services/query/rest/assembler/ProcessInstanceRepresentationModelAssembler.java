@@ -32,11 +32,12 @@ public class ProcessInstanceRepresentationModelAssembler
 
     @Override
     public EntityModel<QueryCloudProcessInstance> toModel(ProcessInstanceEntity entity) {
-        Link selfRel = linkTo(methodOn(ProcessInstanceController.class).findByIdProcess(entity.getId())).withSelfRel();
+        Link selfRel = linkTo(methodOn(ProcessInstanceController.class).findByIdProcess(entity.getId(), null))
+            .withSelfRel();
         Link tasksRel = linkTo(methodOn(ProcessInstanceTasksController.class).getTasks(entity.getId(), null))
             .withRel("tasks");
         Link variablesRel = linkTo(
-            methodOn(ProcessInstanceVariableController.class).getVariablesProcess(entity.getId(), null, null)
+            methodOn(ProcessInstanceVariableController.class).getVariablesProcess(entity.getId(), null, null, null, null)
         )
             .withRel("variables");
         return EntityModel.of(entity, selfRel, tasksRel, variablesRel);
@@ -30,7 +30,7 @@ public class TaskRepresentationModelAssembler
 
     @Override
     public EntityModel<QueryCloudTask> toModel(TaskEntity entity) {
-        Link selfRel = linkTo(methodOn(TaskController.class).findByIdTask(entity.getId())).withSelfRel();
+        Link selfRel = linkTo(methodOn(TaskController.class).findByIdTask(entity.getId(), null)).withSelfRel();
         return EntityModel.of(entity, selfRel);
     }
 }
@@ -0,0 +1,50 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.changes;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Encodes the position in the task change sequence as the opaque cursor handed out to clients.
+ */
+public final class TaskChangeCursor {
+
+    private TaskChangeCursor() {}
+
+    public static String encode(long position) {
+        return Base64
+            .getUrlEncoder()
+            .withoutPadding()
+            .encodeToString(Long.toString(position).getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static long decode(String cursor) {
+        try {
+            long position = Long.parseLong(
+                new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII)
+            );
+            if (position < 0) {
+                throw new IllegalArgumentException("Negative position " + position);
+            }
+            return position;
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid task change cursor: " + cursor, e);
+        }
+    }
+}
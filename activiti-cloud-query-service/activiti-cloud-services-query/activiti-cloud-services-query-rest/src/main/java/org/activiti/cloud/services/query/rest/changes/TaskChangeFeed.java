@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.changes;
+
+import java.util.List;
+import org.activiti.cloud.api.task.model.QueryCloudTask;
+import org.activiti.cloud.services.query.model.TaskChangeType;
+
+/**
+ * Body of the task change feed. {@code cursor} is the position to resume from on the next call and {@code hasMore}
+ * tells whether further changes are already available past it.
+ */
+public record TaskChangeFeed(String cursor, boolean hasMore, List<Entry> changes) {
+    /**
+     * A task that entered or changed in the visible set carries its current state, a task that left it only its id.
+     */
+    public record Entry(String taskId, TaskChangeType changeType, QueryCloudTask task) {}
+}
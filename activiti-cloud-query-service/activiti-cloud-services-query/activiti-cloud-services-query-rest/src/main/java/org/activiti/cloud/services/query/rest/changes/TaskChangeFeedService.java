@@ -0,0 +1,246 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.changes;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
+import org.activiti.cloud.services.query.model.TaskChangeEntity;
+import org.activiti.cloud.services.query.model.TaskChangeType;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.TaskControllerHelper;
+import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
+import org.springframework.data.domain.PageRequest;
+
+/**
+ * Reads the task change sequence recorded by the query consumer and resolves it against the tasks the caller can
+ * see. Changed tasks that still match the search request under the {@code TaskSpecification} visibility rules are
+ * returned with their current state. The others are reported as removed only when the client says it holds them, so
+ * the feed never discloses the id of a task the caller has not been allowed to see.
+ * <p>
+ * Sequence values are allocated when a change is written, right before the consumer transaction commits, but only
+ * become visible once the commit completes, so a change with a lower position can show up after a later one. Changes
+ * younger than the settle time are therefore held back, which covers commits that complete within that time.
+ * <p>
+ * Requests that wait for changes are answered asynchronously: their polls run on a scheduler instead of holding a
+ * request thread, with the tasks resolved for the user that made the request.
+ */
+public class TaskChangeFeedService {
+
+    private final TaskChangeRepository taskChangeRepository;
+
+    private final TaskControllerHelper taskControllerHelper;
+
+    private final SecurityManager securityManager;
+
+    private final ScheduledExecutorService pollScheduler;
+
+    private final Duration settleTime;
+
+    private final Duration pollInterval;
+
+    private final Duration maxWaitTimeout;
+
+    /**
+     * @param pollScheduler runs the polls of the requests waiting for a change, so that they do not hold a request
+     *     thread; it is shut down with this service
+     */
+    public TaskChangeFeedService(
+        TaskChangeRepository taskChangeRepository,
+        TaskControllerHelper taskControllerHelper,
+        SecurityManager securityManager,
+        ScheduledExecutorService pollScheduler,
+        Duration settleTime,
+        Duration pollInterval,
+        Duration maxWaitTimeout
+    ) {
+        this.taskChangeRepository = taskChangeRepository;
+        this.taskControllerHelper = taskControllerHelper;
+        this.securityManager = securityManager;
+        this.pollScheduler = pollScheduler;
+        this.settleTime = settleTime;
+        this.pollInterval = pollInterval;
+        this.maxWaitTimeout = maxWaitTimeout;
+    }
+
+    /**
+     * Returns the changes after the given cursor, completed once the first one has settled or after {@code waitTimeout}
+     * without any. Without a cursor the head of the settled sequence is returned, which clients should fetch before
+     * their initial search.
+     */
+    public CompletableFuture<TaskChangeFeed> getChanges(
+        TaskSearchRequest taskSearchRequest,
+        Set<String> knownTaskIds,
+        String cursor,
+        int maxItems,
+        Duration waitTimeout
+    ) {
+        if (cursor == null) {
+            String head = TaskChangeCursor.encode(taskChangeRepository.findLastIdChangedBefore(settledBefore()));
+            return CompletableFuture.completedFuture(new TaskChangeFeed(head, false, List.of()));
+        }
+        ChangePoll poll = new ChangePoll(
+            taskSearchRequest,
+            knownTaskIds,
+            cursor,
+            TaskChangeCursor.decode(cursor),
+            maxItems,
+            System.nanoTime() + min(waitTimeout, maxWaitTimeout).toNanos(),
+            securityManager.getAuthenticatedUserId(),
+            securityManager.getAuthenticatedUserGroups()
+        );
+        poll.run();
+        return poll.feed;
+    }
+
+    public void shutdown() {
+        pollScheduler.shutdownNow();
+    }
+
+    private Date settledBefore() {
+        return new Date(System.currentTimeMillis() - settleTime.toMillis());
+    }
+
+    private List<TaskChangeEntity> findSettledChanges(long position, int limit) {
+        Date settledBefore = settledBefore();
+        List<TaskChangeEntity> changes = taskChangeRepository.findByIdGreaterThanOrderByIdAsc(
+            position,
+            PageRequest.ofSize(limit)
+        );
+        // stop at the first unsettled change so that no position is skipped
+        List<TaskChangeEntity> settled = new ArrayList<>(changes.size());
+        for (TaskChangeEntity change : changes) {
+            if (!change.getChangeTime().before(settledBefore)) {
+                break;
+            }
+            settled.add(change);
+        }
+        return settled;
+    }
+
+    private List<TaskChangeFeed.Entry> resolve(ChangePoll poll, List<TaskChangeEntity> changes) {
+        Map<String, Boolean> createdByTaskId = new LinkedHashMap<>();
+        changes.forEach(change ->
+            createdByTaskId.merge(
+                change.getTaskId(),
+                change.getChangeType() == TaskChangeType.CREATED,
+                Boolean::logicalOr
+            )
+        );
+
+        Map<String, TaskEntity> visibleTasks = taskControllerHelper
+            .findTasksRestricted(poll.taskSearchRequest, createdByTaskId.keySet(), poll.userId, poll.userGroups)
+            .stream()
+            .collect(Collectors.toMap(TaskEntity::getId, Function.identity()));
+
+        List<TaskChangeFeed.Entry> entries = new ArrayList<>(createdByTaskId.size());
+        createdByTaskId.forEach((taskId, created) -> {
+            TaskEntity task = visibleTasks.get(taskId);
+            if (task == null) {
+                if (poll.knownTaskIds.contains(taskId)) {
+                    entries.add(new TaskChangeFeed.Entry(taskId, TaskChangeType.REMOVED, null));
+                }
+            } else {
+                TaskChangeType changeType = created ? TaskChangeType.CREATED : TaskChangeType.UPDATED;
+                entries.add(new TaskChangeFeed.Entry(taskId, changeType, task));
+            }
+        });
+        return entries;
+    }
+
+    /**
+     * One request waiting for changes: checks for settled changes and, until the deadline, schedules itself again when
+     * there are none yet.
+     */
+    private class ChangePoll implements Runnable {
+
+        private final TaskSearchRequest taskSearchRequest;
+
+        private final Set<String> knownTaskIds;
+
+        private final String cursor;
+
+        private final long position;
+
+        private final int maxItems;
+
+        private final long deadline;
+
+        private final String userId;
+
+        private final List<String> userGroups;
+
+        private final CompletableFuture<TaskChangeFeed> feed = new CompletableFuture<>();
+
+        ChangePoll(
+            TaskSearchRequest taskSearchRequest,
+            Set<String> knownTaskIds,
+            String cursor,
+            long position,
+            int maxItems,
+            long deadline,
+            String userId,
+            List<String> userGroups
+        ) {
+            this.taskSearchRequest = taskSearchRequest;
+            this.knownTaskIds = knownTaskIds;
+            this.cursor = cursor;
+            this.position = position;
+            this.maxItems = maxItems;
+            this.deadline = deadline;
+            this.userId = userId;
+            this.userGroups = userGroups;
+        }
+
+        @Override
+        public void run() {
+            try {
+                List<TaskChangeEntity> changes = findSettledChanges(position, maxItems + 1);
+                if (!changes.isEmpty()) {
+                    feed.complete(toFeed(changes));
+                } else if (System.nanoTime() - deadline >= 0) {
+                    feed.complete(new TaskChangeFeed(cursor, false, List.of()));
+                } else {
+                    pollScheduler.schedule(this, pollInterval.toMillis(), TimeUnit.MILLISECONDS);
+                }
+            } catch (RuntimeException e) {
+                feed.completeExceptionally(e);
+            }
+        }
+
+        private TaskChangeFeed toFeed(List<TaskChangeEntity> changes) {
+            boolean hasMore = changes.size() > maxItems;
+            List<TaskChangeEntity> page = hasMore ? changes.subList(0, maxItems) : changes;
+            long nextPosition = page.get(page.size() - 1).getId();
+            return new TaskChangeFeed(TaskChangeCursor.encode(nextPosition), hasMore, resolve(this, page));
+        }
+    }
+
+    private static Duration min(Duration first, Duration second) {
+        return first.compareTo(second) <= 0 ? first : second;
+    }
+}
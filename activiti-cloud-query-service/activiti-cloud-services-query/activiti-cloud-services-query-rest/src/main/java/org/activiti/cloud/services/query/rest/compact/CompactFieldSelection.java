@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.compact;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.CollectionUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * The scalar fields an entity exposes in the compact representation, and the ones returned when the client does
+ * not ask for specific fields. The resolved names are entity attributes and are pushed down into the query as a
+ * projection.
+ */
+public final class CompactFieldSelection {
+
+    public static final CompactFieldSelection TASKS = new CompactFieldSelection(
+        Set.of(
+            "id",
+            "name",
+            "description",
+            "assignee",
+            "owner",
+            "status",
+            "priority",
+            "createdDate",
+            "dueDate",
+            "claimedDate",
+            "completedDate",
+            "completedBy",
+            "lastModified",
+            "duration",
+            "processDefinitionId",
+            "processDefinitionName",
+            "processDefinitionVersion",
+            "processInstanceId",
+            "businessKey",
+            "taskDefinitionKey",
+            "parentTaskId",
+            "formKey",
+            "appName",
+            "appVersion"
+        ),
+        List.of(
+            "id",
+            "name",
+            "assignee",
+            "status",
+            "priority",
+            "createdDate",
+            "dueDate",
+            "processInstanceId",
+            "processDefinitionName"
+        )
+    );
+
+    public static final CompactFieldSelection PROCESS_INSTANCES = new CompactFieldSelection(
+        Set.of(
+            "id",
+            "name",
+            "processDefinitionId",
+            "processDefinitionKey",
+            "processDefinitionName",
+            "processDefinitionVersion",
+            "initiator",
+            "businessKey",
+            "status",
+            "startDate",
+            "completedDate",
+            "suspendedDate",
+            "lastModified",
+            "parentId",
+            "appName",
+            "appVersion"
+        ),
+        List.of(
+            "id",
+            "name",
+            "status",
+            "initiator",
+            "startDate",
+            "processDefinitionKey",
+            "processDefinitionName",
+            "businessKey"
+        )
+    );
+
+    private final Set<String> allowedFields;
+
+    private final List<String> defaultFields;
+
+    private CompactFieldSelection(Set<String> allowedFields, List<String> defaultFields) {
+        this.allowedFields = allowedFields;
+        this.defaultFields = defaultFields;
+    }
+
+    /**
+     * @param requestedFields the fields asked for by the client, in the order they should be returned
+     * @return the requested fields without duplicates, or the default fields when none were requested
+     * @throws ResponseStatusException with status 400 if a requested field is not available
+     */
+    public List<String> resolve(List<String> requestedFields) {
+        if (CollectionUtils.isEmpty(requestedFields)) {
+            return defaultFields;
+        }
+        Set<String> fields = new LinkedHashSet<>();
+        for (String requestedField : requestedFields) {
+            String field = requestedField.trim();
+            if (field.isEmpty()) {
+                continue;
+            }
+            if (!allowedFields.contains(field)) {
+                throw new ResponseStatusException(
+                    HttpStatus.BAD_REQUEST,
+                    "Field '" + field + "' is not available in the compact representation"
+                );
+            }
+            fields.add(field);
+        }
+        return fields.isEmpty() ? defaultFields : List.copyOf(fields);
+    }
+
+    public List<String> getDefaultFields() {
+        return defaultFields;
+    }
+}
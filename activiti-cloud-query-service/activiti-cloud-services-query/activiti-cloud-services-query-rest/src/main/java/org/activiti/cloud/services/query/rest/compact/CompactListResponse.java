@@ -0,0 +1,40 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.compact;
+
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
+import org.springframework.data.domain.Page;
+
+/**
+ * Body of the compact representation: one map of projected fields per entry plus the usual pagination block.
+ */
+public record CompactListResponse(List<Map<String, Object>> entries, PaginationMetadata pagination) {
+    public static CompactListResponse of(Page<Map<String, Object>> page) {
+        long skipCount = page.getPageable().isPaged() ? page.getPageable().getOffset() : 0;
+        return new CompactListResponse(
+            page.getContent(),
+            new PaginationMetadata(
+                skipCount,
+                page.getSize(),
+                page.getNumberOfElements(),
+                skipCount + page.getNumberOfElements() < page.getTotalElements(),
+                page.getTotalElements()
+            )
+        );
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.compact;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Media types for the compact list representation of search results: a flat array of projected fields per entry,
+ * without HAL links or per-entry wrappers.
+ */
+public final class CompactMediaTypes {
+
+    public static final String COMPACT_JSON_VALUE = "application/vnd.activiti.compact+json";
+
+    public static final MediaType COMPACT_JSON = MediaType.valueOf(COMPACT_JSON_VALUE);
+
+    private CompactMediaTypes() {}
+}
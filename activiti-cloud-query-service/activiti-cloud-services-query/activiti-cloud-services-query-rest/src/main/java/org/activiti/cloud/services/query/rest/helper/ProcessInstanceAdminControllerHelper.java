@@ -19,6 +19,7 @@ import com.querydsl.core.types.Predicate;
 import java.util.List;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.rest.ProcessInstanceAdminService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -61,4 +62,8 @@ public class ProcessInstanceAdminControllerHelper {
         ProcessInstanceEntity processInstance = processInstanceAdminService.findById(processInstanceId);
         return processInstanceRepository.mapSubprocesses(processInstance);
     }
+
+    public List<ProcessInstanceTreeNode> findHierarchyAdmin(String processInstanceId, int maxDepth) {
+        return processInstanceAdminService.hierarchy(processInstanceId, maxDepth);
+    }
 }
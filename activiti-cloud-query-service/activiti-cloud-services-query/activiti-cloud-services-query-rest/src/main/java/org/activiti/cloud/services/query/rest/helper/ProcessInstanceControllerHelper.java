@@ -17,12 +17,15 @@ package org.activiti.cloud.services.query.rest.helper;
 
 import com.querydsl.core.types.Predicate;
 import java.util.List;
+import java.util.Map;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.activiti.cloud.services.query.rest.ProcessInstanceService;
 import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.context.request.WebRequest;
 
 public class ProcessInstanceControllerHelper {
 
@@ -60,6 +63,28 @@ public class ProcessInstanceControllerHelper {
         return processInstanceRepository.mapSubprocesses(processInstance);
     }
 
+    /**
+     * Same as {@link #findById(String)}, but answers the conditional request before the subprocesses are mapped.
+     *
+     * @return the process instance, or {@code null} when the client copy is still current
+     */
+    public ProcessInstanceEntity findByIdIfModified(String processInstanceId, WebRequest request) {
+        ProcessInstanceEntity processInstance = processInstanceService.findById(processInstanceId);
+        long subprocessCount = processInstanceRepository
+            .countSubprocessesByParentIds(List.of(processInstanceId))
+            .getOrDefault(processInstanceId, 0L);
+        String entityTag = EntityTags.of(
+            request,
+            processInstance.getId(),
+            processInstance.getEntityVersion(),
+            subprocessCount
+        );
+        if (request.checkNotModified(entityTag)) {
+            return null;
+        }
+        return processInstanceRepository.mapSubprocesses(processInstance);
+    }
+
     public Page<ProcessInstanceEntity> searchProcessInstances(
         ProcessInstanceSearchRequest searchRequest,
         Pageable pageable
@@ -68,6 +93,14 @@ public class ProcessInstanceControllerHelper {
         return mapAllSubprocesses(processInstances, pageable);
     }
 
+    public Page<Map<String, Object>> searchProcessInstancesCompact(
+        ProcessInstanceSearchRequest searchRequest,
+        Pageable pageable,
+        List<String> fields
+    ) {
+        return processInstanceService.searchCompact(searchRequest, pageable, fields);
+    }
+
     public Page<ProcessInstanceEntity> searchSubprocesses(
         String processInstanceId,
         Predicate predicate,
@@ -81,6 +114,10 @@ public class ProcessInstanceControllerHelper {
         return mapAllSubprocesses(processInstanceSubprocesses, pageable);
     }
 
+    public List<ProcessInstanceTreeNode> findHierarchy(String processInstanceId, int maxDepth) {
+        return processInstanceService.hierarchy(processInstanceId, maxDepth);
+    }
+
     public Page<ProcessInstanceEntity> mapAllSubprocesses(
         Page<ProcessInstanceEntity> processInstances,
         Pageable pageable
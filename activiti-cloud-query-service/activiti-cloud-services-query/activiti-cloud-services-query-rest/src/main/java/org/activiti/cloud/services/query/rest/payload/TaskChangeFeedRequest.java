@@ -0,0 +1,25 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.payload;
+
+import java.util.Set;
+
+/**
+ * Body of the task change feed: {@code filter} selects the tasks to follow and {@code knownTaskIds} lists the tasks
+ * the client currently holds, i.e. the ones it got from its initial search and from the feed since. Only those can be
+ * reported as removed.
+ */
+public record TaskChangeFeedRequest(TaskSearchRequest filter, Set<String> knownTaskIds) {}
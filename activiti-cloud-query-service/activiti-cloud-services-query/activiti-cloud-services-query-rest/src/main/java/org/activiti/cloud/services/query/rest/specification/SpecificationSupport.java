@@ -25,6 +25,7 @@ import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.SetJoin;
 import jakarta.persistence.metamodel.SetAttribute;
 import jakarta.persistence.metamodel.SingularAttribute;
+import java.lang.reflect.RecordComponent;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -32,7 +33,9 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.StringJoiner;
 import java.util.function.Supplier;
 import org.activiti.cloud.services.query.model.AbstractVariableEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
@@ -78,6 +81,43 @@ public abstract class SpecificationSupport<T, R extends CloudRuntimeEntityFilter
         pvJoin = null;
     }
 
+    /**
+     * Describes which filters of the search request are set, without their values, e.g.
+     * {@code TaskSpecification[assignee, processVariableFilters(2), sort=name]}. Used to log query shapes.
+     */
+    public String describeFilterShape() {
+        StringJoiner shape = new StringJoiner(", ", getClass().getSimpleName() + "[", "]");
+        if (searchRequest != null && searchRequest.getClass().isRecord()) {
+            for (RecordComponent component : searchRequest.getClass().getRecordComponents()) {
+                describeFilter(component).ifPresent(shape::add);
+            }
+        }
+        return shape.toString();
+    }
+
+    private Optional<String> describeFilter(RecordComponent component) {
+        Object value;
+        try {
+            value = component.getAccessor().invoke(searchRequest);
+        } catch (ReflectiveOperationException e) {
+            return Optional.empty();
+        }
+        if (value == null || Boolean.FALSE.equals(value)) {
+            return Optional.empty();
+        }
+        if (value instanceof Collection<?> collection) {
+            return collection.isEmpty()
+                ? Optional.empty()
+                : Optional.of(component.getName() + "(" + collection.size() + ")");
+        }
+        if (value instanceof CloudRuntimeEntitySort sort) {
+            return Optional.of(
+                component.getName() + "=" + (sort.isProcessVariable() ? "processVariable:" : "") + sort.field()
+            );
+        }
+        return Optional.of(component.getName());
+    }
+
     @Override
     public Predicate toPredicate(Root<T> root, CriteriaQuery<?> query, CriteriaBuilder criteriaBuilder) {
         applyProcessVariableFilters(joinProcessVariables(root), criteriaBuilder);
@@ -16,16 +16,19 @@
 
 package org.activiti.cloud.services.query.repos;
 
+import static org.activiti.cloud.services.query.app.repository.CustomizedProcessInstanceRepository.MAX_SUBPROCESSES_PER_PARENT;
 import static org.activiti.cloud.services.query.util.ProcessInstanceTestUtils.buildProcessInstanceEntity;
 import static org.assertj.core.api.Assertions.assertThat;
 
 import jakarta.persistence.EntityManager;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import org.activiti.QueryRestTestApplication;
 import org.activiti.cloud.services.query.app.repository.CustomizedProcessInstanceRepositoryImpl;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceTreeNode;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -115,6 +118,27 @@ class CustomizedProcessInstanceRepositoryImplIT {
         assertThat(parentInstance2.getSubprocesses()).hasSize(3);
     }
 
+    @Test
+    void testMapSubprocessesForPageCapsTheSubprocessesPerInstance() {
+        Pageable pageable = PageRequest.of(0, 10);
+        List<ProcessInstanceEntity> processInstancesList = buildDefaultProcessInstances(2);
+        String largeParentId = processInstancesList.getFirst().getId();
+        setSubprocesses(buildDefaultProcessInstances(MAX_SUBPROCESSES_PER_PARENT + 1), largeParentId);
+        String smallParentId = processInstancesList.getLast().getId();
+        setSubprocesses(buildDefaultProcessInstances(2), smallParentId);
+
+        entityManager.flush();
+
+        Page<ProcessInstanceEntity> result = repository.mapSubprocesses(
+            new PageImpl<>(processInstancesList, pageable, processInstancesList.size()),
+            pageable
+        );
+
+        assertThat(result.getContent())
+            .extracting(instance -> instance.getSubprocesses().size())
+            .containsExactly(MAX_SUBPROCESSES_PER_PARENT, 2);
+    }
+
     @Test
     void testMapSubprocessesForProcessInstance() {
         List<ProcessInstanceEntity> processInstances = buildDefaultProcessInstances(5);
@@ -129,6 +153,66 @@ class CustomizedProcessInstanceRepositoryImplIT {
         assertThat(result.getSubprocesses().stream().toList().getLast().getId()).isNotNull();
     }
 
+    @Test
+    void testFindHierarchy() {
+        ProcessInstanceEntity root = buildDefaultProcessInstances(1).getFirst();
+        List<ProcessInstanceEntity> children = buildDefaultProcessInstances(2);
+        setSubprocesses(children, root.getId());
+        List<ProcessInstanceEntity> grandChildren = buildDefaultProcessInstances(3);
+        setSubprocesses(grandChildren, children.getFirst().getId());
+
+        entityManager.flush();
+
+        List<ProcessInstanceTreeNode> hierarchy = repository.findHierarchy(root.getId(), 10);
+
+        assertThat(hierarchy).hasSize(6);
+        assertThat(hierarchy.getFirst().getId()).isEqualTo(root.getId());
+        assertThat(hierarchy.getFirst().getDepth()).isZero();
+        assertThat(hierarchy.getFirst().getChildCount()).isEqualTo(2);
+        assertThat(hierarchy).filteredOn(node -> node.getDepth() == 1).hasSize(2);
+        assertThat(hierarchy)
+            .filteredOn(node -> node.getDepth() == 2)
+            .hasSize(3)
+            .allMatch(node -> node.getParentId().equals(children.getFirst().getId()));
+    }
+
+    @Test
+    void testFindHierarchyUpToMaxDepth() {
+        ProcessInstanceEntity root = buildDefaultProcessInstances(1).getFirst();
+        List<ProcessInstanceEntity> children = buildDefaultProcessInstances(2);
+        setSubprocesses(children, root.getId());
+        setSubprocesses(buildDefaultProcessInstances(3), children.getFirst().getId());
+
+        entityManager.flush();
+
+        List<ProcessInstanceTreeNode> hierarchy = repository.findHierarchy(root.getId(), 1);
+
+        assertThat(hierarchy).hasSize(3);
+        assertThat(hierarchy)
+            .filteredOn(node -> node.getId().equals(children.getFirst().getId()))
+            .singleElement()
+            .extracting(ProcessInstanceTreeNode::getChildCount)
+            .isEqualTo(3L);
+    }
+
+    @Test
+    void testCountSubprocessesByParentIds() {
+        List<ProcessInstanceEntity> parents = buildDefaultProcessInstances(3);
+        setSubprocesses(buildDefaultProcessInstances(2), parents.getFirst().getId());
+        setSubprocesses(buildDefaultProcessInstances(1), parents.getLast().getId());
+
+        entityManager.flush();
+
+        Map<String, Long> counts = repository.countSubprocessesByParentIds(
+            parents.stream().map(ProcessInstanceEntity::getId).toList()
+        );
+
+        assertThat(counts)
+            .containsEntry(parents.getFirst().getId(), 2L)
+            .containsEntry(parents.getLast().getId(), 1L)
+            .doesNotContainKey(parents.get(1).getId());
+    }
+
     private List<ProcessInstanceEntity> buildDefaultProcessInstances(int count) {
         List<ProcessInstanceEntity> entities = new ArrayList<>();
         for (int i = 1; i <= count; i++) {
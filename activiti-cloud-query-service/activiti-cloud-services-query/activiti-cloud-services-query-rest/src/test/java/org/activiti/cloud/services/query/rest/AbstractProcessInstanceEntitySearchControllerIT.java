@@ -24,7 +24,9 @@ import static org.hamcrest.Matchers.containsInRelativeOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.hasItem;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
@@ -36,6 +38,8 @@ import org.activiti.api.process.model.ProcessInstance;
 import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableKey;
+import org.activiti.cloud.services.query.rest.compact.CompactFieldSelection;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
 import org.activiti.cloud.services.query.rest.filter.FilterOperator;
 import org.activiti.cloud.services.query.rest.filter.VariableFilter;
 import org.activiti.cloud.services.query.rest.filter.VariableType;
@@ -2803,4 +2807,58 @@ abstract class AbstractProcessInstanceEntitySearchControllerIT {
             .statusCode(200)
             .body(PROCESS_INSTANCES_JSON_PATH, hasSize(10));
     }
+
+    @Test
+    void should_returnCompactProcessInstances_when_compactMediaTypeIsAccepted() {
+        queryTestUtils.buildProcessInstance().withId("id1").withName("b").withInitiator(USER).buildAndSave();
+        queryTestUtils.buildProcessInstance().withId("id2").withName("a").withInitiator(USER).buildAndSave();
+
+        ProcessInstanceSearchRequestBuilder requestBuilder = new ProcessInstanceSearchRequestBuilder()
+            .withSort(new CloudRuntimeEntitySort("name", Sort.Direction.ASC, false, null, null));
+
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .queryParam("fields", "id,initiator")
+            .body(requestBuilder.buildJson())
+            .when()
+            .post(getSearchEndpoint())
+            .then()
+            .statusCode(200)
+            .body("entries.id", contains("id2", "id1"))
+            .body("entries.initiator", contains(USER, USER))
+            .body("entries[0]", not(hasKey("name")))
+            .body("entries[0]", not(hasKey("_links")))
+            .body("pagination.totalItems", is(2));
+    }
+
+    @Test
+    void should_returnDefaultCompactFields_when_noFieldsAreRequested() {
+        queryTestUtils.buildProcessInstance().withId("id1").withInitiator(USER).buildAndSave();
+        Object[] defaultFields = CompactFieldSelection.PROCESS_INSTANCES.getDefaultFields().toArray();
+
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .body("{}")
+            .when()
+            .post(getSearchEndpoint())
+            .then()
+            .statusCode(200)
+            .body("entries", hasSize(1))
+            .body("entries[0].keySet()", contains(defaultFields));
+    }
+
+    @Test
+    void should_returnBadRequest_when_compactFieldIsNotAvailable() {
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .queryParam("fields", "id,variables")
+            .body("{}")
+            .when()
+            .post(getSearchEndpoint())
+            .then()
+            .statusCode(400);
+    }
 }
@@ -21,7 +21,9 @@ import static io.restassured.module.mockmvc.RestAssuredMockMvc.webAppContextSetu
 import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasKey;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
 
@@ -33,6 +35,8 @@ import org.activiti.api.task.model.Task;
 import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
 import org.activiti.cloud.services.query.model.ProcessVariableKey;
 import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.compact.CompactFieldSelection;
+import org.activiti.cloud.services.query.rest.compact.CompactMediaTypes;
 import org.activiti.cloud.services.query.rest.filter.FilterOperator;
 import org.activiti.cloud.services.query.rest.filter.VariableFilter;
 import org.activiti.cloud.services.query.rest.filter.VariableType;
@@ -4495,4 +4499,59 @@ public abstract class AbstractTaskControllerIT {
             .withVariables(new QueryTestUtils.VariableInput(varToSortBy, VariableType.INTEGER, 3))
             .buildAndSave();
     }
+
+    @Test
+    void should_returnCompactTasks_when_compactMediaTypeIsAccepted() {
+        queryTestUtils.buildTask().withId(TASK_ID_1).withName("b").withAssignee(CURRENT_USER).buildAndSave();
+        queryTestUtils.buildTask().withId(TASK_ID_2).withName("a").withAssignee(CURRENT_USER).buildAndSave();
+        queryTestUtils.buildTask().withId(TASK_ID_3).withName("c").withAssignee(CURRENT_USER).buildAndSave();
+
+        TaskSearchRequestBuilder requestBuilder = new TaskSearchRequestBuilder()
+            .withSort(new CloudRuntimeEntitySort("name", Sort.Direction.DESC, false, null, null));
+
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .queryParam("fields", "id,assignee")
+            .body(requestBuilder.buildJson())
+            .when()
+            .post(getSearchEndpointHttpPost())
+            .then()
+            .statusCode(200)
+            .body("entries.id", contains(TASK_ID_3, TASK_ID_1, TASK_ID_2))
+            .body("entries.assignee", contains(CURRENT_USER, CURRENT_USER, CURRENT_USER))
+            .body("entries[0].keySet()", contains("id", "assignee"))
+            .body("entries[0]", not(hasKey("_links")))
+            .body("pagination.totalItems", is(3));
+    }
+
+    @Test
+    void should_returnDefaultCompactTaskFields_when_noFieldsAreRequested() {
+        queryTestUtils.buildTask().withId(TASK_ID_1).withAssignee(CURRENT_USER).buildAndSave();
+        Object[] defaultFields = CompactFieldSelection.TASKS.getDefaultFields().toArray();
+
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .body("{}")
+            .when()
+            .post(getSearchEndpointHttpPost())
+            .then()
+            .statusCode(200)
+            .body("entries", hasSize(1))
+            .body("entries[0].keySet()", contains(defaultFields));
+    }
+
+    @Test
+    void should_returnBadRequest_when_compactTaskFieldIsNotAvailable() {
+        given()
+            .contentType(MediaType.APPLICATION_JSON)
+            .accept(CompactMediaTypes.COMPACT_JSON_VALUE)
+            .queryParam("fields", "id,variables")
+            .body("{}")
+            .when()
+            .post(getSearchEndpointHttpPost())
+            .then()
+            .statusCode(400);
+    }
 }
@@ -0,0 +1,171 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.activiti.cloud.api.process.model.CloudBPMNActivity.COMPLETED;
+import static org.activiti.cloud.api.process.model.CloudBPMNActivity.ERROR;
+import static org.activiti.cloud.api.process.model.CloudBPMNActivity.STARTED;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.bpmn.model.BpmnModel;
+import org.activiti.cloud.services.query.ProcessDiagramGeneratorWrapper;
+import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
+import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
+import org.activiti.cloud.services.query.app.repository.EntityFinder;
+import org.activiti.cloud.services.query.app.repository.ProcessDiagramStateRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessModelRepository;
+import org.activiti.cloud.services.query.model.BPMNActivityEntity;
+import org.activiti.cloud.services.query.model.BPMNSequenceFlowEntity;
+import org.activiti.cloud.services.query.model.ProcessDiagramStateEntity;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.ProcessModelEntity;
+import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ProcessInstanceDiagramControllerTest {
+
+    private static final String PROCESS_INSTANCE_ID = "processInstanceId";
+
+    private static final String DIAGRAM = "<svg/>";
+
+    @InjectMocks
+    private ProcessInstanceDiagramController controller;
+
+    @Mock
+    private ProcessModelRepository processModelRepository;
+
+    @Mock
+    private BPMNSequenceFlowRepository bpmnSequenceFlowRepository;
+
+    @Mock
+    private ProcessDiagramGeneratorWrapper processDiagramGenerator;
+
+    @Mock
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Mock
+    private BPMNActivityRepository bpmnActivityRepository;
+
+    @Mock
+    private ProcessDiagramStateRepository processDiagramStateRepository;
+
+    @Mock
+    private EntityFinder entityFinder;
+
+    @Mock
+    private SecurityPoliciesManager securityPoliciesManager;
+
+    @Mock
+    private SecurityManager securityManager;
+
+    @Mock
+    private BpmnModel bpmnModel;
+
+    @BeforeEach
+    void setUp() {
+        ProcessInstanceEntity processInstance = new ProcessInstanceEntity();
+        processInstance.setId(PROCESS_INSTANCE_ID);
+        processInstance.setProcessDefinitionId("processDefinitionId");
+        given(entityFinder.findById(eq(processInstanceRepository), eq(PROCESS_INSTANCE_ID), anyString()))
+            .willReturn(processInstance);
+
+        ProcessModelEntity processModel = new ProcessModelEntity(null, "<definitions/>");
+        given(entityFinder.findById(eq(processModelRepository), eq("processDefinitionId"), anyString()))
+            .willReturn(processModel);
+        given(processDiagramGenerator.parseBpmnModelXml(any())).willReturn(bpmnModel);
+        given(bpmnModel.hasDiagramInterchangeInfo()).willReturn(true);
+    }
+
+    @Test
+    void should_renderFromDiagramState_when_instanceIsRecordedInCompactMode() {
+        ProcessDiagramStateEntity state = new ProcessDiagramStateEntity(PROCESS_INSTANCE_ID);
+        state.activityCompleted("1", "start");
+        state.flowTaken("flow1");
+        state.activityStarted("2", "task");
+        state.activityErrored("3", "serviceTask");
+        given(processDiagramStateRepository.findById(PROCESS_INSTANCE_ID)).willReturn(Optional.of(state));
+        given(
+            processDiagramGenerator.generateDiagram(
+                bpmnModel,
+                List.of("start"),
+                List.of("flow1"),
+                List.of("task"),
+                List.of("serviceTask")
+            )
+        )
+            .willReturn(DIAGRAM.getBytes(StandardCharsets.UTF_8));
+
+        String diagram = controller.getProcessDiagram(PROCESS_INSTANCE_ID);
+
+        assertThat(diagram).isEqualTo(DIAGRAM);
+        verifyNoInteractions(bpmnActivityRepository, bpmnSequenceFlowRepository);
+    }
+
+    @Test
+    void should_renderFromActivityRows_when_instanceHasNoDiagramState() {
+        given(processDiagramStateRepository.findById(PROCESS_INSTANCE_ID)).willReturn(Optional.empty());
+        given(bpmnActivityRepository.findByProcessInstanceIdAndStatus(PROCESS_INSTANCE_ID, COMPLETED))
+            .willReturn(List.of(buildActivity("start")));
+        given(bpmnActivityRepository.findByProcessInstanceIdAndStatus(PROCESS_INSTANCE_ID, STARTED))
+            .willReturn(List.of(buildActivity("task")));
+        given(bpmnActivityRepository.findByProcessInstanceIdAndStatus(PROCESS_INSTANCE_ID, ERROR))
+            .willReturn(List.of());
+        given(bpmnSequenceFlowRepository.findByProcessInstanceId(PROCESS_INSTANCE_ID))
+            .willReturn(List.of(buildSequenceFlow("flow1"), buildSequenceFlow("flow1")));
+        given(
+            processDiagramGenerator.generateDiagram(
+                bpmnModel,
+                List.of("start"),
+                List.of("flow1"),
+                List.of("task"),
+                List.of()
+            )
+        )
+            .willReturn(DIAGRAM.getBytes(StandardCharsets.UTF_8));
+
+        String diagram = controller.getProcessDiagram(PROCESS_INSTANCE_ID);
+
+        assertThat(diagram).isEqualTo(DIAGRAM);
+    }
+
+    private BPMNActivityEntity buildActivity(String elementId) {
+        BPMNActivityEntity activity = new BPMNActivityEntity();
+        activity.setElementId(elementId);
+        return activity;
+    }
+
+    private BPMNSequenceFlowEntity buildSequenceFlow(String elementId) {
+        BPMNSequenceFlowEntity sequenceFlow = new BPMNSequenceFlowEntity();
+        sequenceFlow.setElementId(elementId);
+        return sequenceFlow;
+    }
+}
@@ -20,7 +20,11 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -60,6 +64,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
@@ -221,4 +226,46 @@ class ProcessInstanceEntityControllerIT {
             .andExpect(jsonPath("$.entry.id").value(processInstanceEntity.getId()))
             .andExpect(jsonPath("$.entry.status").value(processInstanceEntity.getStatus().name()));
     }
+
+    @Test
+    void findByIdShouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        //given
+        ProcessInstanceEntity processInstanceEntity = buildDefaultProcessInstance();
+        processInstanceEntity.setInitiator("testuser");
+        given(entityFinder.findById(eq(processInstanceRepository), eq(processInstanceEntity.getId()), any()))
+            .willReturn(processInstanceEntity);
+        given(
+            securityPoliciesApplicationService.canRead(
+                processInstanceEntity.getProcessDefinitionKey(),
+                processInstanceEntity.getServiceName()
+            )
+        )
+            .willReturn(true);
+        given(securityManager.getAuthenticatedUserId()).willReturn("testuser");
+        given(processInstanceRepository.mapSubprocesses(any(ProcessInstanceEntity.class)))
+            .willReturn(processInstanceEntity);
+
+        String entityTag =
+            this.mockMvc.perform(
+                    get("/v1/process-instances/{processInstanceId}", processInstanceEntity.getId())
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                )
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        this.mockMvc.perform(
+                get("/v1/process-instances/{processInstanceId}", processInstanceEntity.getId())
+                    .accept(MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(processInstanceRepository, times(1)).mapSubprocesses(any(ProcessInstanceEntity.class));
+    }
 }
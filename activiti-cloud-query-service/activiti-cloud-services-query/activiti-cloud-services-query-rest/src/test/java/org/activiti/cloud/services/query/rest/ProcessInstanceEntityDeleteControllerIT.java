@@ -41,6 +41,7 @@ import org.activiti.cloud.services.query.app.repository.BPMNActivityRepository;
 import org.activiti.cloud.services.query.app.repository.BPMNSequenceFlowRepository;
 import org.activiti.cloud.services.query.app.repository.EntityFinder;
 import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessDiagramStateRepository;
 import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
 import org.activiti.cloud.services.query.app.repository.ServiceTaskRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
@@ -125,6 +126,9 @@ public class ProcessInstanceEntityDeleteControllerIT {
     @MockBean
     private BPMNActivityRepository bpmnActivityRepository;
 
+    @MockBean
+    private ProcessDiagramStateRepository processDiagramStateRepository;
+
     @MockBean
     private EntityManagerFactory entityManagerFactory;
 
@@ -173,6 +177,7 @@ public class ProcessInstanceEntityDeleteControllerIT {
         verify(bpmnActivityRepository).deleteAll(processInstanceEntity.getActivities());
         verify(serviceTaskRepository).deleteAll(processInstanceEntity.getServiceTasks());
         verify(bpmnSequenceFlowRepository).deleteAll(processInstanceEntity.getSequenceFlows());
+        verify(processDiagramStateRepository).deleteById(processInstanceEntity.getId());
 
         verify(processInstanceRepository).deleteAll(processInstanceEntities);
     }
@@ -20,7 +20,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.querydsl.core.types.Predicate;
@@ -38,6 +42,7 @@ import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepositor
 import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
 import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.VariableCollectionVersion;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.ProcessVariableEntity;
 import org.activiti.cloud.services.security.TaskLookupRestrictionService;
@@ -54,6 +59,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -177,6 +183,148 @@ public class ProcessInstanceEntityVariableEntityControllerIT {
             .andExpect(status().isOk());
     }
 
+    @Test
+    public void getVariablesShouldNotReturnValuesWhenIncludeValuesIsFalse() throws Exception {
+        //given
+        AlfrescoPageRequest pageRequest = new AlfrescoPageRequest(0, 10, PageRequest.of(0, 20));
+
+        ProcessVariableEntity variableEntity = buildVariable();
+
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+
+        //when
+        MvcResult result = mockMvc
+            .perform(
+                get(
+                    "/v1/process-instances/{processInstanceId}/variables?skipCount=0&maxItems=10&includeValues=false",
+                    variableEntity.getProcessInstanceId()
+                )
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString())
+            .node("list.entries[0].entry.name")
+            .isEqualTo("firstName")
+            .node("list.entries[0].entry.type")
+            .isEqualTo(String.class.getName())
+            .node("list.entries[0].entry.value")
+            .isAbsent();
+    }
+
+    @Test
+    public void getVariablesShouldReturnValuesByDefault() throws Exception {
+        //given
+        AlfrescoPageRequest pageRequest = new AlfrescoPageRequest(0, 10, PageRequest.of(0, 20));
+
+        ProcessVariableEntity variableEntity = buildVariable();
+
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+
+        //when
+        MvcResult result = mockMvc
+            .perform(
+                get(
+                    "/v1/process-instances/{processInstanceId}/variables?skipCount=0&maxItems=10",
+                    variableEntity.getProcessInstanceId()
+                )
+                    .accept(MediaType.APPLICATION_JSON)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andReturn();
+
+        assertThatJson(result.getResponse().getContentAsString())
+            .node("list.entries[0].entry.value")
+            .isEqualTo("John");
+    }
+
+    @Test
+    public void getVariablesShouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        //given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        ProcessVariableEntity variableEntity = buildVariable();
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+        given(variableRepository.findCollectionVersionByProcessInstanceId(variableEntity.getProcessInstanceId()))
+            .willReturn(new VariableCollectionVersion(1L, new Date(1000)));
+
+        String entityTag = mockMvc
+            .perform(
+                get("/v1/process-instances/{processInstanceId}/variables", variableEntity.getProcessInstanceId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        //when
+        mockMvc
+            .perform(
+                get("/v1/process-instances/{processInstanceId}/variables", variableEntity.getProcessInstanceId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(variableRepository, times(1)).findAll(any(Predicate.class), eq(pageRequest));
+    }
+
+    @Test
+    public void getVariablesShouldReturnNewEntityTagWhenCollectionChanged() throws Exception {
+        //given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        ProcessVariableEntity variableEntity = buildVariable();
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+        given(variableRepository.findCollectionVersionByProcessInstanceId(variableEntity.getProcessInstanceId()))
+            .willReturn(new VariableCollectionVersion(1L, new Date(1000)));
+
+        String entityTag = mockMvc
+            .perform(
+                get("/v1/process-instances/{processInstanceId}/variables", variableEntity.getProcessInstanceId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        given(variableRepository.findCollectionVersionByProcessInstanceId(variableEntity.getProcessInstanceId()))
+            .willReturn(new VariableCollectionVersion(2L, new Date(2000)));
+
+        //when
+        String newEntityTag = mockMvc
+            .perform(
+                get("/v1/process-instances/{processInstanceId}/variables", variableEntity.getProcessInstanceId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        assertThat(newEntityTag).isNotNull().isNotEqualTo(entityTag);
+    }
+
     private ProcessVariableEntity buildVariable() {
         ProcessVariableEntity variableEntity = new ProcessVariableEntity(
             1L,
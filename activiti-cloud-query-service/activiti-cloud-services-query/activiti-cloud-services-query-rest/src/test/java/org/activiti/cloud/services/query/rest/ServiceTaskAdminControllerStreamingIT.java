@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.given;
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.postProcessors;
+import static io.restassured.module.mockmvc.RestAssuredMockMvc.webAppContextSetup;
+import static org.activiti.cloud.services.query.rest.TaskControllerIT.CURRENT_USER;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.collection.IsCollectionWithSize.hasSize;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+
+import org.activiti.QueryRestTestApplication;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.alfresco.data.domain.AlfrescoStreamingListAssembler;
+import org.activiti.cloud.services.query.util.QueryTestUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.testcontainers.service.connection.ServiceConnection;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.context.WebApplicationContext;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(
+    classes = { QueryRestTestApplication.class, AlfrescoWebAutoConfiguration.class },
+    properties = { "spring.main.banner-mode=off", "activiti.cloud.rest.streaming.enabled=true" }
+)
+@TestPropertySource("classpath:application-test.properties")
+@Testcontainers
+@WithMockUser(username = CURRENT_USER, roles = "ACTIVITI_ADMIN")
+class ServiceTaskAdminControllerStreamingIT {
+
+    @Autowired
+    private QueryTestUtils queryTestUtils;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Container
+    @ServiceConnection
+    static PostgreSQLContainer<?> postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+
+    private static final String SERVICE_TASKS_ENDPOINT = "/admin/v1/service-tasks";
+
+    @BeforeEach
+    void setUp() {
+        webAppContextSetup(context);
+        postProcessors(csrf().asHeader());
+        for (String id : new String[] { "1", "2", "3", "4", "5" }) {
+            queryTestUtils.buildServiceTask().withId(id).save();
+        }
+    }
+
+    @AfterEach
+    void cleanUp() {
+        queryTestUtils.cleanUp();
+    }
+
+    @Test
+    void should_streamRequestedPage_when_streamingFormatIsRequested() {
+        given()
+            .param("skipCount", 1)
+            .param("maxItems", 3)
+            .param("sort", "id,asc")
+            .accept(AlfrescoStreamingListAssembler.STREAMING_JSON)
+            .when()
+            .get(SERVICE_TASKS_ENDPOINT)
+            .then()
+            .statusCode(200)
+            .contentType(AlfrescoStreamingListAssembler.STREAMING_JSON_VALUE)
+            .body("list.entries", hasSize(3))
+            .body("list.entries.entry.id", contains("2", "3", "4"))
+            .body("list.pagination.skipCount", equalTo(1))
+            .body("list.pagination.maxItems", equalTo(3))
+            .body("list.pagination.count", equalTo(3))
+            .body("list.pagination.hasMoreItems", equalTo(true))
+            .body("list.pagination.totalItems", equalTo(5));
+    }
+
+    @Test
+    void should_returnLastPageWithoutMoreItems_when_streaming() {
+        given()
+            .param("skipCount", 3)
+            .param("maxItems", 3)
+            .param("sort", "id,asc")
+            .accept(AlfrescoStreamingListAssembler.STREAMING_JSON)
+            .when()
+            .get(SERVICE_TASKS_ENDPOINT)
+            .then()
+            .statusCode(200)
+            .body("list.entries.entry.id", contains("4", "5"))
+            .body("list.pagination.count", equalTo(2))
+            .body("list.pagination.hasMoreItems", equalTo(false));
+    }
+
+    @Test
+    void should_keepPagedAlfrescoList_when_jsonIsRequested() {
+        given()
+            .param("skipCount", 1)
+            .param("maxItems", 3)
+            .param("sort", "id,asc")
+            .accept(MediaType.APPLICATION_JSON)
+            .when()
+            .get(SERVICE_TASKS_ENDPOINT)
+            .then()
+            .statusCode(200)
+            .body("list.entries.entry.id", contains("2", "3", "4"))
+            .body("list.pagination.totalItems", equalTo(5));
+    }
+
+    @Test
+    void should_keepHalPagedModel_when_halIsRequested() {
+        given()
+            .param("maxItems", 3)
+            .accept(MediaTypes.HAL_JSON)
+            .when()
+            .get(SERVICE_TASKS_ENDPOINT)
+            .then()
+            .statusCode(200)
+            .body("page.size", equalTo(3))
+            .body("page.totalElements", equalTo(5))
+            .body("list", nullValue());
+    }
+}
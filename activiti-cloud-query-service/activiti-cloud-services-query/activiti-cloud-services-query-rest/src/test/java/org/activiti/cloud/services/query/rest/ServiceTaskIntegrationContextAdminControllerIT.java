@@ -0,0 +1,178 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Map;
+import org.activiti.api.runtime.conf.impl.CommonModelAutoConfiguration;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.alfresco.config.AlfrescoWebAutoConfiguration;
+import org.activiti.cloud.conf.QueryRestWebMvcAutoConfiguration;
+import org.activiti.cloud.services.query.app.repository.EntityFinder;
+import org.activiti.cloud.services.query.app.repository.IntegrationContextRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessDefinitionRepository;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupRepository;
+import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.VariableRepository;
+import org.activiti.cloud.services.query.model.IntegrationContextEntity;
+import org.activiti.cloud.services.security.TaskLookupRestrictionService;
+import org.activiti.core.common.spring.security.policies.SecurityPoliciesManager;
+import org.activiti.core.common.spring.security.policies.conf.SecurityPoliciesProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.hateoas.MediaTypes;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@WebMvcTest(ServiceTaskIntegrationContextAdminController.class)
+@Import(
+    { QueryRestWebMvcAutoConfiguration.class, CommonModelAutoConfiguration.class, AlfrescoWebAutoConfiguration.class }
+)
+@EnableSpringDataWebSupport
+@AutoConfigureMockMvc
+@WithMockUser
+@TestPropertySource("classpath:application-test.properties")
+class ServiceTaskIntegrationContextAdminControllerIT {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private IntegrationContextRepository integrationContextRepository;
+
+    @MockBean
+    private EntityFinder entityFinder;
+
+    @MockBean
+    private VariableRepository variableRepository;
+
+    @MockBean
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @MockBean
+    private TaskCandidateUserRepository taskCandidateUserRepository;
+
+    @MockBean
+    private TaskCandidateGroupRepository taskCandidateGroupRepository;
+
+    @MockBean
+    private SecurityManager securityManager;
+
+    @MockBean
+    private SecurityPoliciesManager securityPoliciesManager;
+
+    @MockBean
+    private ProcessDefinitionRepository processDefinitionRepository;
+
+    @MockBean
+    private SecurityPoliciesProperties securityPoliciesProperties;
+
+    @MockBean
+    private TaskLookupRestrictionService taskLookupRestrictionService;
+
+    @MockBean
+    private TaskRepository taskRepository;
+
+    @MockBean
+    private ProcessInstanceAdminService processInstanceAdminService;
+
+    @MockBean
+    private ProcessInstanceService processInstanceService;
+
+    @MockBean
+    private EntityManagerFactory entityManagerFactory;
+
+    @BeforeEach
+    void setUp() {
+        assertThat(processInstanceAdminService).isNotNull();
+        assertThat(processInstanceService).isNotNull();
+        assertThat(entityManagerFactory).isNotNull();
+    }
+
+    @Test
+    void findByIdShouldReturnPayloadByDefault() throws Exception {
+        //given
+        IntegrationContextEntity integrationContext = buildIntegrationContext();
+        given(entityFinder.findById(eq(integrationContextRepository), eq(integrationContext.getId()), anyString()))
+            .willReturn(integrationContext);
+
+        //when
+        mockMvc
+            .perform(
+                get("/admin/v1/service-tasks/{serviceTaskId}/integration-context", integrationContext.getId())
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(integrationContext.getId()))
+            .andExpect(jsonPath("$.inBoundVariables.input").value("in"))
+            .andExpect(jsonPath("$.outBoundVariables.output").value("out"))
+            .andExpect(jsonPath("$.stackTraceElements").isArray());
+    }
+
+    @Test
+    void findByIdShouldLeaveOutPayloadWhenIncludePayloadIsFalse() throws Exception {
+        //given
+        IntegrationContextEntity integrationContext = buildIntegrationContext();
+        given(entityFinder.findById(eq(integrationContextRepository), eq(integrationContext.getId()), anyString()))
+            .willReturn(integrationContext);
+
+        //when
+        mockMvc
+            .perform(
+                get("/admin/v1/service-tasks/{serviceTaskId}/integration-context", integrationContext.getId())
+                    .param("includePayload", "false")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.id").value(integrationContext.getId()))
+            .andExpect(jsonPath("$.errorMessage").value("failed"))
+            .andExpect(jsonPath("$.inBoundVariables").doesNotExist())
+            .andExpect(jsonPath("$.outBoundVariables").doesNotExist())
+            .andExpect(jsonPath("$.stackTraceElements").doesNotExist());
+    }
+
+    private IntegrationContextEntity buildIntegrationContext() {
+        IntegrationContextEntity integrationContext = new IntegrationContextEntity();
+        integrationContext.setId("serviceTaskId");
+        integrationContext.setInBoundVariables(Map.of("input", "in"));
+        integrationContext.setOutBoundVariables(Map.of("output", "out"));
+        integrationContext.setErrorMessage("failed");
+        integrationContext.setStackTraceElements(
+            List.of(new StackTraceElement("org.acme.Connector", "execute", "Connector.java", 42))
+        );
+        return integrationContext;
+    }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.activiti.cloud.services.query.rest.filter.FilterOperator;
+import org.activiti.cloud.services.query.rest.filter.VariableFilter;
+import org.activiti.cloud.services.query.rest.filter.VariableType;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
+import org.activiti.cloud.services.query.rest.specification.TaskSpecification;
+import org.activiti.cloud.services.query.util.TaskSearchRequestBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+public class SlowQueryLogTest {
+
+    private final TaskSpecification specification = TaskSpecification.unrestricted(
+        new TaskSearchRequestBuilder()
+            .onlyRoot()
+            .withAssignees("john", "jane")
+            .withProcessVariableFilters(
+                new VariableFilter("process", "var", VariableType.STRING, "secret", FilterOperator.EQUALS)
+            )
+            .withSort(new CloudRuntimeEntitySort("name", Sort.Direction.ASC, false, null, null))
+            .build()
+    );
+
+    @Test
+    public void should_describeSetFiltersWithoutValues() {
+        String shape = specification.describeFilterShape();
+
+        assertThat(shape)
+            .isEqualTo(
+                "TaskSpecification[onlyRoot, assignee(2), processVariableFilters(1), processVariableKeys(1), sort=name]"
+            )
+            .doesNotContain("john", "secret");
+    }
+
+    @Test
+    public void should_runQueryOnce_when_enabled() {
+        AtomicInteger executions = new AtomicInteger();
+        SlowQueryLog slowQueryLog = new SlowQueryLog(Duration.ZERO, 1);
+
+        Page<String> page = slowQueryLog.execute(
+            specification,
+            PageRequest.of(0, 10),
+            () -> {
+                executions.incrementAndGet();
+                return new PageImpl<>(List.of("task"));
+            }
+        );
+
+        assertThat(slowQueryLog.isEnabled()).isTrue();
+        assertThat(page.getContent()).containsExactly("task");
+        assertThat(executions).hasValue(1);
+    }
+
+    @Test
+    public void should_beDisabled_when_thresholdIsNegative() {
+        SlowQueryLog slowQueryLog = SlowQueryLog.disabled();
+
+        Page<String> page = slowQueryLog.execute(specification, PageRequest.of(0, 10), () -> Page.empty());
+
+        assertThat(slowQueryLog.isEnabled()).isFalse();
+        assertThat(page).isEmpty();
+    }
+}
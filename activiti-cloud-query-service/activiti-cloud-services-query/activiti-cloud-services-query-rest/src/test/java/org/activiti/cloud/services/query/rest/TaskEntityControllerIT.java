@@ -26,6 +26,8 @@ import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -65,6 +67,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.TestPropertySource;
@@ -279,6 +282,72 @@ class TaskEntityControllerIT {
             .thatContains(TaskPermissions.VIEW);
     }
 
+    @Test
+    void findByIdShouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        //given
+        TaskEntity taskEntity = buildDefaultTask();
+        given(entityFinder.findById(eq(taskRepository), eq(taskEntity.getId()), anyString())).willReturn(taskEntity);
+
+        Predicate restrictionPredicate = mock(Predicate.class);
+        given(taskLookupRestrictionService.restrictToInvolvedUsersQuery(any())).willReturn(restrictionPredicate);
+        given(taskRepository.existsInProcessInstanceScope(restrictionPredicate)).willReturn(true);
+
+        String entityTag =
+            this.mockMvc.perform(get("/v1/tasks/{taskId}", taskEntity.getId()).accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        //when
+        this.mockMvc.perform(
+                get("/v1/tasks/{taskId}", taskEntity.getId())
+                    .accept(MediaType.APPLICATION_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+    }
+
+    @Test
+    void findByIdShouldReturnNewEntityTagWhenTaskChanged() throws Exception {
+        //given
+        TaskEntity taskEntity = buildDefaultTask();
+        given(entityFinder.findById(eq(taskRepository), eq(taskEntity.getId()), anyString())).willReturn(taskEntity);
+
+        Predicate restrictionPredicate = mock(Predicate.class);
+        given(taskLookupRestrictionService.restrictToInvolvedUsersQuery(any())).willReturn(restrictionPredicate);
+        given(taskRepository.existsInProcessInstanceScope(restrictionPredicate)).willReturn(true);
+
+        String entityTag =
+            this.mockMvc.perform(get("/v1/tasks/{taskId}", taskEntity.getId()).accept(MediaType.APPLICATION_JSON_VALUE))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getHeader(HttpHeaders.ETAG);
+
+        taskEntity.setTaskCandidateUsers(buildCandidateUsers(taskEntity));
+
+        //when
+        MvcResult mvcResult =
+            this.mockMvc.perform(
+                    get("/v1/tasks/{taskId}", taskEntity.getId())
+                        .accept(MediaType.APPLICATION_JSON_VALUE)
+                        .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+                )
+                //then
+                .andExpect(status().isOk())
+                .andReturn();
+
+        assertThat(mvcResult.getResponse().getHeader(HttpHeaders.ETAG)).isNotNull().isNotEqualTo(entityTag);
+        assertThatJson(mvcResult.getResponse().getContentAsString())
+            .node("entry.candidateUsers")
+            .isArray()
+            .thatContains("testuser");
+    }
+
     @Test
     void should_returnBadRequest_when_invokeWithPagingParametersExceedingLimits() throws Exception {
         //given
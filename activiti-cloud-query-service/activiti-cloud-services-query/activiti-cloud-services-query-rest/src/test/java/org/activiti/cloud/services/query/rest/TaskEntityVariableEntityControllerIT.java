@@ -20,7 +20,11 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.querydsl.core.types.Predicate;
@@ -39,6 +43,7 @@ import org.activiti.cloud.services.query.app.repository.TaskCandidateGroupReposi
 import org.activiti.cloud.services.query.app.repository.TaskCandidateUserRepository;
 import org.activiti.cloud.services.query.app.repository.TaskRepository;
 import org.activiti.cloud.services.query.app.repository.TaskVariableRepository;
+import org.activiti.cloud.services.query.app.repository.VariableCollectionVersion;
 import org.activiti.cloud.services.query.app.repository.VariableRepository;
 import org.activiti.cloud.services.query.model.TaskVariableEntity;
 import org.activiti.cloud.services.security.TaskLookupRestrictionService;
@@ -55,6 +60,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
 import org.springframework.hateoas.MediaTypes;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.web.servlet.MockMvc;
@@ -171,6 +177,88 @@ public class TaskEntityVariableEntityControllerIT {
             .andExpect(status().isOk());
     }
 
+    @Test
+    public void getVariablesShouldReturnNotModifiedWhenEntityTagMatches() throws Exception {
+        //given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        TaskVariableEntity variableEntity = buildVariable();
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+        given(variableRepository.findCollectionVersionByTaskId(variableEntity.getTaskId()))
+            .willReturn(new VariableCollectionVersion(1L, new Date(1000)));
+
+        String entityTag = mockMvc
+            .perform(
+                get("/v1/tasks/{taskId}/variables", variableEntity.getTaskId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            .andExpect(status().isOk())
+            .andExpect(header().exists(HttpHeaders.ETAG))
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        //when
+        mockMvc
+            .perform(
+                get("/v1/tasks/{taskId}/variables", variableEntity.getTaskId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isNotModified())
+            .andExpect(content().string(""));
+
+        verify(variableRepository, times(1)).findAll(any(Predicate.class), eq(pageRequest));
+    }
+
+    @Test
+    public void getVariablesShouldReturnNewEntityTagWhenCollectionChanged() throws Exception {
+        //given
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        TaskVariableEntity variableEntity = buildVariable();
+        given(variableRepository.findAll(any(Predicate.class), eq(pageRequest)))
+            .willReturn(new PageImpl<>(Collections.singletonList(variableEntity), pageRequest, 1));
+        given(variableRepository.findCollectionVersionByTaskId(variableEntity.getTaskId()))
+            .willReturn(new VariableCollectionVersion(1L, new Date(1000)));
+
+        String entityTag = mockMvc
+            .perform(
+                get("/v1/tasks/{taskId}/variables", variableEntity.getTaskId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+            )
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        given(variableRepository.findCollectionVersionByTaskId(variableEntity.getTaskId()))
+            .willReturn(new VariableCollectionVersion(2L, new Date(2000)));
+
+        //when
+        String newEntityTag = mockMvc
+            .perform(
+                get("/v1/tasks/{taskId}/variables", variableEntity.getTaskId())
+                    .param("page", "0")
+                    .param("size", "10")
+                    .accept(MediaTypes.HAL_JSON_VALUE)
+                    .header(HttpHeaders.IF_NONE_MATCH, entityTag)
+            )
+            //then
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getHeader(HttpHeaders.ETAG);
+
+        assertThat(newEntityTag).isNotNull().isNotEqualTo(entityTag);
+    }
+
     private TaskVariableEntity buildVariable() {
         TaskVariableEntity variableEntity = new TaskVariableEntity(
             1L,
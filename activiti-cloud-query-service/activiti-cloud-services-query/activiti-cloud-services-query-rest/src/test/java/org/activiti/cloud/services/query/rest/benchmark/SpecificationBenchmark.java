@@ -0,0 +1,306 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.benchmark;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Root;
+import java.util.List;
+import org.activiti.api.task.model.Task;
+import org.activiti.cloud.dialect.CustomPostgreSQLDialect;
+import org.activiti.cloud.services.benchmark.BenchmarkDefaults;
+import org.activiti.cloud.services.benchmark.BenchmarkRunner;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.app.repository.config.QueryRepositoryAutoConfiguration;
+import org.activiti.cloud.services.query.liquibase.ActivitiCloudQueryLiquibaseAutoConfiguration;
+import org.activiti.cloud.services.query.model.ProcessInstanceEntity;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.filter.FilterOperator;
+import org.activiti.cloud.services.query.rest.filter.VariableFilter;
+import org.activiti.cloud.services.query.rest.filter.VariableType;
+import org.activiti.cloud.services.query.rest.payload.CloudRuntimeEntitySort;
+import org.activiti.cloud.services.query.rest.payload.ProcessInstanceSearchRequest;
+import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
+import org.activiti.cloud.services.query.rest.specification.ProcessInstanceSpecification;
+import org.activiti.cloud.services.query.rest.specification.TaskSpecification;
+import org.activiti.cloud.services.query.util.ProcessInstanceSearchRequestBuilder;
+import org.activiti.cloud.services.query.util.QueryTestUtils;
+import org.activiti.cloud.services.query.util.TaskSearchRequestBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Measures the task and process instance search specifications against a PostgreSQL container seeded with process
+ * instances, their tasks and two process variables each. PostgreSQL rather than H2 because variable filters and
+ * sorting rely on the JSON functions of {@link CustomPostgreSQLDialect}. The {@code build*} benchmarks cover building
+ * the criteria query from a search request, without running it; the {@code search*} benchmarks run the same search
+ * end to end through the repository, count query included. Needs Docker for the container.
+ */
+public class SpecificationBenchmark extends BenchmarkDefaults {
+
+    private static final String PROCESS_DEFINITION_KEY = "benchmark-process";
+
+    private static final String LABEL_VARIABLE = "label";
+
+    private static final String AMOUNT_VARIABLE = "amount";
+
+    private static final int USERS = 20;
+
+    @Param({ "1000", "5000" })
+    private int processInstances;
+
+    @Param
+    private FilterMix filterMix;
+
+    private final Pageable pageable = PageRequest.of(0, 20);
+
+    private PostgreSQLContainer<?> postgres;
+
+    private ConfigurableApplicationContext context;
+
+    private EntityManager entityManager;
+
+    private TaskRepository taskRepository;
+
+    private ProcessInstanceRepository processInstanceRepository;
+
+    private TaskSearchRequest taskSearchRequest;
+
+    private ProcessInstanceSearchRequest processInstanceSearchRequest;
+
+    @Setup
+    public void setUp() {
+        postgres = new PostgreSQLContainer<>("postgres:15-alpine");
+        postgres.start();
+        context =
+            new SpringApplicationBuilder(BenchmarkConfiguration.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                    "spring.main.banner-mode=off",
+                    "spring.datasource.url=" + postgres.getJdbcUrl(),
+                    "spring.datasource.username=" + postgres.getUsername(),
+                    "spring.datasource.password=" + postgres.getPassword(),
+                    "spring.jpa.database-platform=" + CustomPostgreSQLDialect.class.getName(),
+                    "logging.level.root=WARN"
+                )
+                .run();
+        entityManager = context.getBean(EntityManagerFactory.class).createEntityManager();
+        taskRepository = context.getBean(TaskRepository.class);
+        processInstanceRepository = context.getBean(ProcessInstanceRepository.class);
+        seed(context.getAutowireCapableBeanFactory().createBean(QueryTestUtils.class));
+
+        taskSearchRequest = filterMix.taskSearchRequest();
+        processInstanceSearchRequest = filterMix.processInstanceSearchRequest();
+    }
+
+    @TearDown
+    public void tearDown() {
+        entityManager.close();
+        context.close();
+        postgres.stop();
+    }
+
+    private void seed(QueryTestUtils queryTestUtils) {
+        for (int i = 0; i < processInstances; i++) {
+            String user = "user-" + (i % USERS);
+            queryTestUtils
+                .buildProcessInstance()
+                .withId("process-" + i)
+                .withName("Process " + i)
+                .withProcessDefinitionKey(PROCESS_DEFINITION_KEY)
+                .withInitiator(user)
+                .withVariables(
+                    new QueryTestUtils.VariableInput(LABEL_VARIABLE, VariableType.STRING, i % 4 == 0 ? "high" : "low"),
+                    new QueryTestUtils.VariableInput(AMOUNT_VARIABLE, VariableType.INTEGER, i % 1000)
+                )
+                .withTasks(
+                    queryTestUtils.buildTask().withName("Review " + i).withAssignee(user),
+                    queryTestUtils
+                        .buildTask()
+                        .withName("Approve " + i)
+                        .withAssignee(user)
+                        .withStatus(i % 3 == 0 ? Task.TaskStatus.COMPLETED : Task.TaskStatus.ASSIGNED)
+                )
+                .buildAndSave();
+        }
+    }
+
+    @Benchmark
+    public TypedQuery<TaskEntity> buildTaskQuery() {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskEntity> query = criteriaBuilder.createQuery(TaskEntity.class);
+        Root<TaskEntity> root = query.from(TaskEntity.class);
+        query.where(restrictedTaskSpecification().toPredicate(root, query, criteriaBuilder));
+        return entityManager.createQuery(query);
+    }
+
+    @Benchmark
+    public TypedQuery<ProcessInstanceEntity> buildProcessInstanceQuery() {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<ProcessInstanceEntity> query = criteriaBuilder.createQuery(ProcessInstanceEntity.class);
+        Root<ProcessInstanceEntity> root = query.from(ProcessInstanceEntity.class);
+        query.where(
+            ProcessInstanceSpecification
+                .unrestricted(processInstanceSearchRequest)
+                .toPredicate(root, query, criteriaBuilder)
+        );
+        return entityManager.createQuery(query);
+    }
+
+    @Benchmark
+    public Page<TaskEntity> searchTasks() {
+        return taskRepository.findAll(restrictedTaskSpecification(), pageable);
+    }
+
+    @Benchmark
+    public Page<ProcessInstanceEntity> searchProcessInstances() {
+        return processInstanceRepository.findAll(
+            ProcessInstanceSpecification.unrestricted(processInstanceSearchRequest),
+            pageable
+        );
+    }
+
+    private TaskSpecification restrictedTaskSpecification() {
+        return TaskSpecification.restricted(taskSearchRequest, "user-1", List.of("group-1"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(SpecificationBenchmark.class);
+    }
+
+    /**
+     * Realistic combinations of search filters, from plain column filters to variable filters combined with a sort
+     * on a variable value.
+     */
+    public enum FilterMix {
+        COLUMNS {
+            @Override
+            TaskSearchRequest taskSearchRequest() {
+                return new TaskSearchRequestBuilder()
+                    .withStatus(Task.TaskStatus.ASSIGNED)
+                    .withSort(new CloudRuntimeEntitySort("createdDate", Sort.Direction.DESC, false, null, null))
+                    .build();
+            }
+
+            @Override
+            ProcessInstanceSearchRequest processInstanceSearchRequest() {
+                return new ProcessInstanceSearchRequestBuilder()
+                    .withInitiators("user-1", "user-2")
+                    .withSort(new CloudRuntimeEntitySort("name", Sort.Direction.ASC, false, null, null))
+                    .build();
+            }
+        },
+        MULTI_VARIABLE {
+            @Override
+            TaskSearchRequest taskSearchRequest() {
+                return new TaskSearchRequestBuilder()
+                    .withStatus(Task.TaskStatus.ASSIGNED)
+                    .withProcessVariableFilters(labelFilter(), amountFilter())
+                    .build();
+            }
+
+            @Override
+            ProcessInstanceSearchRequest processInstanceSearchRequest() {
+                return new ProcessInstanceSearchRequestBuilder()
+                    .withProcessVariableFilters(labelFilter(), amountFilter())
+                    .build();
+            }
+        },
+        SORT_BY_VARIABLE {
+            @Override
+            TaskSearchRequest taskSearchRequest() {
+                return new TaskSearchRequestBuilder()
+                    .withProcessVariableFilters(labelFilter())
+                    .withSort(amountSort())
+                    .build();
+            }
+
+            @Override
+            ProcessInstanceSearchRequest processInstanceSearchRequest() {
+                return new ProcessInstanceSearchRequestBuilder()
+                    .withProcessVariableFilters(labelFilter())
+                    .withSort(amountSort())
+                    .build();
+            }
+        };
+
+        abstract TaskSearchRequest taskSearchRequest();
+
+        abstract ProcessInstanceSearchRequest processInstanceSearchRequest();
+
+        private static VariableFilter labelFilter() {
+            return new VariableFilter(
+                PROCESS_DEFINITION_KEY,
+                LABEL_VARIABLE,
+                VariableType.STRING,
+                "high",
+                FilterOperator.EQUALS
+            );
+        }
+
+        private static VariableFilter amountFilter() {
+            return new VariableFilter(
+                PROCESS_DEFINITION_KEY,
+                AMOUNT_VARIABLE,
+                VariableType.INTEGER,
+                "500",
+                FilterOperator.GREATER_THAN
+            );
+        }
+
+        private static CloudRuntimeEntitySort amountSort() {
+            return new CloudRuntimeEntitySort(
+                AMOUNT_VARIABLE,
+                Sort.Direction.DESC,
+                true,
+                PROCESS_DEFINITION_KEY,
+                VariableType.INTEGER
+            );
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ImportAutoConfiguration(
+        {
+            DataSourceAutoConfiguration.class,
+            HibernateJpaAutoConfiguration.class,
+            TransactionAutoConfiguration.class,
+            ActivitiCloudQueryLiquibaseAutoConfiguration.class,
+            QueryRepositoryAutoConfiguration.class,
+        }
+    )
+    static class BenchmarkConfiguration {}
+}
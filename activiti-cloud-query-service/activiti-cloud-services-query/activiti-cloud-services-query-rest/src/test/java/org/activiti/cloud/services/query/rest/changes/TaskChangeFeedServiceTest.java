@@ -0,0 +1,262 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.changes;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import org.activiti.api.runtime.shared.security.SecurityManager;
+import org.activiti.cloud.services.query.app.repository.TaskChangeRepository;
+import org.activiti.cloud.services.query.model.TaskChangeEntity;
+import org.activiti.cloud.services.query.model.TaskChangeType;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.query.rest.TaskControllerHelper;
+import org.activiti.cloud.services.query.rest.payload.TaskSearchRequest;
+import org.activiti.cloud.services.query.util.TaskSearchRequestBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+
+@ExtendWith(MockitoExtension.class)
+public class TaskChangeFeedServiceTest {
+
+    @Mock
+    private TaskChangeRepository taskChangeRepository;
+
+    @Mock
+    private TaskControllerHelper taskControllerHelper;
+
+    @Mock
+    private SecurityManager securityManager;
+
+    private final ScheduledExecutorService pollScheduler = Executors.newSingleThreadScheduledExecutor();
+
+    private TaskChangeFeedService taskChangeFeedService;
+
+    private final TaskSearchRequest taskSearchRequest = new TaskSearchRequestBuilder().build();
+
+    @BeforeEach
+    public void setUp() {
+        taskChangeFeedService =
+            new TaskChangeFeedService(
+                taskChangeRepository,
+                taskControllerHelper,
+                securityManager,
+                pollScheduler,
+                Duration.ofSeconds(2),
+                Duration.ofMillis(10),
+                Duration.ofSeconds(1)
+            );
+    }
+
+    @AfterEach
+    public void tearDown() {
+        taskChangeFeedService.shutdown();
+    }
+
+    @Test
+    public void should_returnSettledHeadCursor_when_noCursorIsGiven() {
+        ArgumentCaptor<Date> settledBefore = ArgumentCaptor.forClass(Date.class);
+        when(taskChangeRepository.findLastIdChangedBefore(settledBefore.capture())).thenReturn(42L);
+        long now = System.currentTimeMillis();
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(taskSearchRequest, Set.of(), null, 10, Duration.ZERO)
+            .join();
+
+        assertThat(TaskChangeCursor.decode(feed.cursor())).isEqualTo(42L);
+        assertThat(feed.changes()).isEmpty();
+        assertThat(settledBefore.getValue().getTime()).isLessThanOrEqualTo(now - 2000);
+        verifyNoInteractions(taskControllerHelper);
+    }
+
+    @Test
+    public void should_resolveChangesAgainstVisibleTasks_when_changesAreSettled() {
+        Date settled = new Date(System.currentTimeMillis() - 10_000);
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class)))
+            .thenReturn(
+                List.of(
+                    change(6L, "task1", TaskChangeType.CREATED, settled),
+                    change(7L, "task2", TaskChangeType.UPDATED, settled),
+                    change(8L, "task1", TaskChangeType.UPDATED, settled),
+                    change(9L, "task3", TaskChangeType.UPDATED, settled)
+                )
+            );
+        TaskEntity task1 = new TaskEntity();
+        task1.setId("task1");
+        TaskEntity task2 = new TaskEntity();
+        task2.setId("task2");
+        when(taskControllerHelper.findTasksRestricted(eq(taskSearchRequest), any(), any(), any()))
+            .thenReturn(List.of(task1, task2));
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(taskSearchRequest, Set.of(), TaskChangeCursor.encode(5L), 3, Duration.ZERO)
+            .join();
+
+        assertThat(TaskChangeCursor.decode(feed.cursor())).isEqualTo(8L);
+        assertThat(feed.hasMore()).isTrue();
+        assertThat(feed.changes())
+            .extracting(TaskChangeFeed.Entry::taskId, TaskChangeFeed.Entry::changeType, TaskChangeFeed.Entry::task)
+            .containsExactly(
+                tuple("task1", TaskChangeType.CREATED, task1),
+                tuple("task2", TaskChangeType.UPDATED, task2)
+            );
+    }
+
+    @Test
+    public void should_reportRemoved_when_changedTaskIsNoLongerVisible() {
+        Date settled = new Date(System.currentTimeMillis() - 10_000);
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(List.of(change(1L, "task1", TaskChangeType.UPDATED, settled)));
+        when(taskControllerHelper.findTasksRestricted(eq(taskSearchRequest), any(), any(), any()))
+            .thenReturn(List.of());
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(taskSearchRequest, Set.of("task1"), TaskChangeCursor.encode(0L), 10, Duration.ZERO)
+            .join();
+
+        assertThat(feed.hasMore()).isFalse();
+        assertThat(feed.changes())
+            .extracting(TaskChangeFeed.Entry::taskId, TaskChangeFeed.Entry::changeType, TaskChangeFeed.Entry::task)
+            .containsExactly(tuple("task1", TaskChangeType.REMOVED, null));
+    }
+
+    @Test
+    public void should_notDiscloseTask_when_changedTaskIsNeitherVisibleNorKnown() {
+        Date settled = new Date(System.currentTimeMillis() - 10_000);
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(0L), any(Pageable.class)))
+            .thenReturn(
+                List.of(
+                    change(1L, "task1", TaskChangeType.UPDATED, settled),
+                    change(2L, "someoneElsesTask", TaskChangeType.CREATED, settled)
+                )
+            );
+        when(taskControllerHelper.findTasksRestricted(eq(taskSearchRequest), any(), any(), any()))
+            .thenReturn(List.of());
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(taskSearchRequest, Set.of("task1"), TaskChangeCursor.encode(0L), 10, Duration.ZERO)
+            .join();
+
+        assertThat(TaskChangeCursor.decode(feed.cursor())).isEqualTo(2L);
+        assertThat(feed.changes())
+            .extracting(TaskChangeFeed.Entry::taskId, TaskChangeFeed.Entry::changeType)
+            .containsExactly(tuple("task1", TaskChangeType.REMOVED));
+    }
+
+    @Test
+    public void should_holdBackChanges_when_notSettledYet() {
+        Date settled = new Date(System.currentTimeMillis() - 10_000);
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class)))
+            .thenReturn(
+                List.of(
+                    change(6L, "task1", TaskChangeType.UPDATED, settled),
+                    change(7L, "task2", TaskChangeType.UPDATED, new Date()),
+                    change(8L, "task3", TaskChangeType.UPDATED, settled)
+                )
+            );
+        when(taskControllerHelper.findTasksRestricted(eq(taskSearchRequest), any(), any(), any()))
+            .thenReturn(List.of());
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(
+                taskSearchRequest,
+                Set.of("task1", "task2", "task3"),
+                TaskChangeCursor.encode(5L),
+                10,
+                Duration.ZERO
+            )
+            .join();
+
+        assertThat(TaskChangeCursor.decode(feed.cursor())).isEqualTo(6L);
+        assertThat(feed.changes()).extracting(TaskChangeFeed.Entry::taskId).containsExactly("task1");
+    }
+
+    @Test
+    public void should_returnSameCursor_when_noChangeArrivesWithinWaitTimeout() {
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class))).thenReturn(List.of());
+        String cursor = TaskChangeCursor.encode(5L);
+
+        TaskChangeFeed feed = taskChangeFeedService
+            .getChanges(taskSearchRequest, Set.of(), cursor, 10, Duration.ofMillis(50))
+            .join();
+
+        assertThat(feed.cursor()).isEqualTo(cursor);
+        assertThat(feed.changes()).isEmpty();
+    }
+
+    @Test
+    public void should_completeFromScheduler_when_changeArrivesWhileWaiting() {
+        Date settled = new Date(System.currentTimeMillis() - 10_000);
+        when(taskChangeRepository.findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class)))
+            .thenReturn(List.of())
+            .thenReturn(List.of(change(6L, "task1", TaskChangeType.UPDATED, settled)));
+        when(securityManager.getAuthenticatedUserId()).thenReturn("user");
+        when(securityManager.getAuthenticatedUserGroups()).thenReturn(List.of("group"));
+        TaskEntity task1 = new TaskEntity();
+        task1.setId("task1");
+        when(taskControllerHelper.findTasksRestricted(eq(taskSearchRequest), any(), eq("user"), eq(List.of("group"))))
+            .thenReturn(List.of(task1));
+
+        CompletableFuture<TaskChangeFeed> pending = taskChangeFeedService.getChanges(
+            taskSearchRequest,
+            Set.of(),
+            TaskChangeCursor.encode(5L),
+            10,
+            Duration.ofSeconds(1)
+        );
+
+        TaskChangeFeed feed = pending.join();
+        assertThat(TaskChangeCursor.decode(feed.cursor())).isEqualTo(6L);
+        verify(taskChangeRepository, times(2)).findByIdGreaterThanOrderByIdAsc(eq(5L), any(Pageable.class));
+        assertThat(feed.changes()).extracting(TaskChangeFeed.Entry::task).containsExactly(task1);
+    }
+
+    @Test
+    public void should_rejectCursor_when_notIssuedByTheFeed() {
+        assertThatThrownBy(() ->
+                taskChangeFeedService.getChanges(taskSearchRequest, Set.of(), "not-a-cursor", 10, Duration.ZERO)
+            )
+            .isInstanceOf(ResponseStatusException.class);
+    }
+
+    private static TaskChangeEntity change(long id, String taskId, TaskChangeType changeType, Date changeTime) {
+        TaskChangeEntity change = new TaskChangeEntity(taskId, changeType, changeTime);
+        ReflectionTestUtils.setField(change, "id", id);
+        return change;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.query.rest.compact;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatExceptionOfType;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+public class CompactFieldSelectionTest {
+
+    @Test
+    public void should_returnDefaultFields_when_noFieldsAreRequested() {
+        assertThat(CompactFieldSelection.TASKS.resolve(null)).isEqualTo(CompactFieldSelection.TASKS.getDefaultFields());
+        assertThat(CompactFieldSelection.TASKS.resolve(List.of(" "))).contains("id", "name", "status");
+    }
+
+    @Test
+    public void should_keepRequestedOrderWithoutDuplicates() {
+        List<String> fields = CompactFieldSelection.PROCESS_INSTANCES.resolve(List.of("status", " id", "status"));
+
+        assertThat(fields).containsExactly("status", "id");
+    }
+
+    @Test
+    public void should_rejectFields_when_notAvailable() {
+        assertThatExceptionOfType(ResponseStatusException.class)
+            .isThrownBy(() -> CompactFieldSelection.TASKS.resolve(List.of("id", "processVariables")))
+            .satisfies(e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    @Test
+    public void should_computePagination_from_page() {
+        List<Map<String, Object>> entries = List.of(Map.of("id", "1"), Map.of("id", "2"));
+
+        CompactListResponse response = CompactListResponse.of(new PageImpl<>(entries, PageRequest.of(1, 2), 5));
+
+        assertThat(response.entries()).hasSize(2);
+        assertThat(response.pagination().getSkipCount()).isEqualTo(2);
+        assertThat(response.pagination().getMaxItems()).isEqualTo(2);
+        assertThat(response.pagination().getCount()).isEqualTo(2);
+        assertThat(response.pagination().isHasMoreItems()).isTrue();
+        assertThat(response.pagination().getTotalItems()).isEqualTo(5);
+    }
+}
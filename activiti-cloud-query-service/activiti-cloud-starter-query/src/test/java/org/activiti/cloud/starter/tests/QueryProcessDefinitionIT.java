@@ -291,6 +291,38 @@ public class QueryProcessDefinitionIT {
             .isXmlEqualToContentOf(new File("src/test/resources/parse-for-test/SimpleProcess.bpmn20.xml"));
     }
 
+    @Test
+    public void shouldReturnRedeployedProcessModel_when_previousModelWasCached() throws Exception {
+        //given
+        ProcessDefinitionImpl processDefinition = new ProcessDefinitionImpl();
+        processDefinition.setId(UUID.randomUUID().toString());
+        processDefinition.setKey("myFirstProcessKey");
+        processDefinition.setName("My First Process");
+
+        CloudProcessDeployedEventImpl firstProcessDeployedEvent = new CloudProcessDeployedEventImpl(processDefinition);
+        firstProcessDeployedEvent.setProcessModelContent(readModel("parse-for-test/processWithVariables.bpmn20.xml"));
+        producer.send(firstProcessDeployedEvent, createCandidateStarterEventForProcess(processDefinition.getId()));
+
+        assertThat(restTemplate.getProcDefinitionModel(processDefinition.getId()).getBody())
+            .isXmlEqualToContentOf(new File("src/test/resources/parse-for-test/processWithVariables.bpmn20.xml"));
+
+        //when
+        CloudProcessDeployedEventImpl secondProcessDeployedEvent = new CloudProcessDeployedEventImpl(processDefinition);
+        secondProcessDeployedEvent.setProcessModelContent(readModel("parse-for-test/SimpleProcess.bpmn20.xml"));
+        producer.send(secondProcessDeployedEvent);
+
+        //then
+        assertThat(restTemplate.getProcDefinitionModel(processDefinition.getId()).getBody())
+            .isXmlEqualToContentOf(new File("src/test/resources/parse-for-test/SimpleProcess.bpmn20.xml"));
+    }
+
+    private String readModel(String resource) throws Exception {
+        return StreamUtils.copyToString(
+            Thread.currentThread().getContextClassLoader().getResourceAsStream(resource),
+            StandardCharsets.UTF_8
+        );
+    }
+
     private CloudProcessCandidateStarterUserAddedEventImpl createCandidateStarterEventForProcess(
         String processDefinitionId
     ) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.starter.tests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.activiti.api.process.model.ProcessInstance;
+import org.activiti.api.task.model.Task;
+import org.activiti.cloud.services.query.app.repository.ProcessInstanceRepository;
+import org.activiti.cloud.services.query.app.repository.TaskRepository;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildCheckpoint;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildCheckpointStore;
+import org.activiti.cloud.services.query.events.rebuild.ProjectionRebuildLifecycle;
+import org.activiti.cloud.services.query.model.TaskEntity;
+import org.activiti.cloud.services.test.containers.KeycloakContainerApplicationInitializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cloud.stream.binder.test.TestChannelBinderConfiguration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@TestPropertySource(
+    locations = "classpath:application-test.properties",
+    properties = {
+        "activiti.cloud.services.query.rebuild.enabled=true",
+        "activiti.cloud.services.query.rebuild.name=rebuild-it",
+        "activiti.cloud.services.query.rebuild.batch-size=2"
+    }
+)
+@Import(TestChannelBinderConfiguration.class)
+@ContextConfiguration(initializers = { KeycloakContainerApplicationInitializer.class })
+@DirtiesContext
+public class QueryProjectionRebuildIT {
+
+    private static final List<String> REQUESTS = new CopyOnWriteArrayList<>();
+
+    private static HttpServer auditService;
+
+    @Autowired
+    private ProcessInstanceRepository processInstanceRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private ProjectionRebuildCheckpointStore checkpointStore;
+
+    @Autowired
+    private ProjectionRebuildLifecycle projectionRebuildLifecycle;
+
+    @DynamicPropertySource
+    static void auditEventsUrl(DynamicPropertyRegistry registry) throws IOException {
+        auditService = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        auditService.createContext(
+            "/admin/v1/events/keyset",
+            exchange -> {
+                String query = exchange.getRequestURI().getQuery();
+                REQUESTS.add(query);
+                String page = query.contains("cursor=second-page") ? "page-2" : "page-1";
+                byte[] body;
+                try (InputStream resource = resource("/rebuild/audit-events-" + page + ".json")) {
+                    body = resource.readAllBytes();
+                }
+                exchange.getResponseHeaders().add("Content-Type", "application/json");
+                exchange.sendResponseHeaders(200, body.length);
+                try (OutputStream response = exchange.getResponseBody()) {
+                    response.write(body);
+                }
+            }
+        );
+        auditService.start();
+
+        registry.add(
+            "activiti.cloud.services.query.rebuild.audit-events-url",
+            () -> "http://localhost:" + auditService.getAddress().getPort() + "/admin/v1/events"
+        );
+    }
+
+    @AfterAll
+    static void stopAuditService() {
+        auditService.stop(0);
+    }
+
+    @Test
+    void should_rebuildProjectionsFromAuditEvents_when_applicationStarts() {
+        projectionRebuildLifecycle.awaitCompletion();
+        assertThat(projectionRebuildLifecycle.getResult().events()).isEqualTo(4);
+
+        assertThat(processInstanceRepository.findById("rebuild-process-instance"))
+            .hasValueSatisfying(processInstance -> {
+                assertThat(processInstance.getStatus()).isEqualTo(ProcessInstance.ProcessInstanceStatus.RUNNING);
+                assertThat(processInstance.getAppName()).isEqualTo("rebuild-app");
+            });
+
+        assertThat(taskRepository.findById("rebuild-process-task"))
+            .hasValueSatisfying(task -> {
+                assertThat(task.getStatus()).isEqualTo(Task.TaskStatus.CREATED);
+                assertThat(task.getProcessInstanceId()).isEqualTo("rebuild-process-instance");
+            });
+        assertThat(taskRepository.findById("rebuild-standalone-task"))
+            .map(TaskEntity::isStandalone)
+            .hasValue(true);
+
+        assertThat(checkpointStore.load("rebuild-it")).isEqualTo(new ProjectionRebuildCheckpoint(4, null));
+        assertThat(REQUESTS)
+            .containsExactly("direction=ASC&maxItems=2", "direction=ASC&maxItems=2&cursor=second-page");
+    }
+
+    private static InputStream resource(String name) {
+        return QueryProjectionRebuildIT.class.getResourceAsStream(name);
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.admission;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+/**
+ * Admits each request through the limiter of the first concurrency class whose paths match it, or through the
+ * default limiter otherwise. Requests that cannot be admitted in time get a {@code 503} with a {@code Retry-After}
+ * header, so that callers back off instead of piling up on the connection pool.
+ */
+public class AdmissionControlFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AdmissionControlFilter.class);
+
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    private final Map<AdmissionLimiter, List<String>> limiterPaths;
+
+    private final AdmissionLimiter defaultLimiter;
+
+    private final List<String> excludedPaths;
+
+    private final PathMatcher pathMatcher = new AntPathMatcher();
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    /**
+     * @param limiterPaths the path patterns of each concurrency class, in matching order
+     */
+    public AdmissionControlFilter(
+        Map<AdmissionLimiter, List<String>> limiterPaths,
+        AdmissionLimiter defaultLimiter,
+        List<String> excludedPaths
+    ) {
+        this.limiterPaths = limiterPaths;
+        this.defaultLimiter = defaultLimiter;
+        this.excludedPaths = excludedPaths;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        return excludedPaths.stream().anyMatch(pattern -> pathMatcher.match(pattern, path));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        AdmissionLimiter limiter = resolveLimiter(urlPathHelper.getPathWithinApplication(request));
+        boolean admitted;
+        try {
+            admitted = limiter.tryAcquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            admitted = false;
+        }
+        if (!admitted) {
+            LOGGER.debug(
+                "Rejecting {} {}: concurrency class '{}' is saturated",
+                request.getMethod(),
+                request.getRequestURI(),
+                limiter.getName()
+            );
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER_SECONDS);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value());
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release();
+        }
+    }
+
+    AdmissionLimiter resolveLimiter(String path) {
+        return limiterPaths
+            .entrySet()
+            .stream()
+            .filter(entry -> entry.getValue().stream().anyMatch(pattern -> pathMatcher.match(pattern, path)))
+            .map(Map.Entry::getKey)
+            .findFirst()
+            .orElse(defaultLimiter);
+    }
+}
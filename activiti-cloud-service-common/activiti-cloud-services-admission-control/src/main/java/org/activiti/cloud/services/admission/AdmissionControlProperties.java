@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.admission;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+@ConfigurationProperties("activiti.cloud.rest.admission")
+public class AdmissionControlProperties {
+
+    /**
+     * Maximum number of requests outside any concurrency class running at the same time. Defaults to the maximum
+     * size of the Hikari pool.
+     */
+    private Integer maxConcurrent;
+
+    /**
+     * How long a request may wait for a slot before being rejected.
+     */
+    private Duration queueTimeout = Duration.ofMillis(500);
+
+    /**
+     * Paths never subject to admission control.
+     */
+    private List<String> excludedPaths = new ArrayList<>(List.of("/actuator/**"));
+
+    /**
+     * Concurrency classes by name, matched in declaration order against the request path.
+     */
+    private Map<String, ConcurrencyClass> classes = new LinkedHashMap<>();
+
+    public Integer getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public void setMaxConcurrent(Integer maxConcurrent) {
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    public Duration getQueueTimeout() {
+        return queueTimeout;
+    }
+
+    public void setQueueTimeout(Duration queueTimeout) {
+        this.queueTimeout = queueTimeout;
+    }
+
+    public List<String> getExcludedPaths() {
+        return excludedPaths;
+    }
+
+    public void setExcludedPaths(List<String> excludedPaths) {
+        this.excludedPaths = excludedPaths;
+    }
+
+    public Map<String, ConcurrencyClass> getClasses() {
+        return classes;
+    }
+
+    public void setClasses(Map<String, ConcurrencyClass> classes) {
+        this.classes = classes;
+    }
+
+    public static class ConcurrencyClass {
+
+        /**
+         * Ant-style path patterns of the endpoints belonging to the class.
+         */
+        private List<String> paths = new ArrayList<>();
+
+        /**
+         * Maximum number of requests of the class running at the same time.
+         */
+        private int maxConcurrent = 1;
+
+        /**
+         * Overrides the global queue timeout for the class.
+         */
+        private Duration queueTimeout;
+
+        public List<String> getPaths() {
+            return paths;
+        }
+
+        public void setPaths(List<String> paths) {
+            this.paths = paths;
+        }
+
+        public int getMaxConcurrent() {
+            return maxConcurrent;
+        }
+
+        public void setMaxConcurrent(int maxConcurrent) {
+            this.maxConcurrent = maxConcurrent;
+        }
+
+        public Duration getQueueTimeout() {
+            return queueTimeout;
+        }
+
+        public void setQueueTimeout(Duration queueTimeout) {
+            this.queueTimeout = queueTimeout;
+        }
+    }
+}
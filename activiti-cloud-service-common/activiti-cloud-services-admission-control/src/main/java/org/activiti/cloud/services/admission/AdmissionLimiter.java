@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.admission;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps the number of requests of one concurrency class running at the same time. Requests over the limit wait,
+ * in arrival order, up to the queue timeout and are rejected afterwards.
+ */
+public class AdmissionLimiter {
+
+    public static final String METRIC_PREFIX = "activiti.rest.admission";
+
+    private final String name;
+
+    private final int maxConcurrent;
+
+    private final Duration queueTimeout;
+
+    private final Semaphore permits;
+
+    private final Timer waitTimer;
+
+    private final Counter rejectedCounter;
+
+    public AdmissionLimiter(String name, int maxConcurrent, Duration queueTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.queueTimeout = queueTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.waitTimer =
+            Timer
+                .builder(METRIC_PREFIX + ".wait")
+                .description("Time spent by admitted requests waiting for a slot")
+                .tag("class", name)
+                .register(meterRegistry);
+        this.rejectedCounter =
+            Counter
+                .builder(METRIC_PREFIX + ".rejected")
+                .description("Requests rejected because no slot became free within the queue timeout")
+                .tag("class", name)
+                .register(meterRegistry);
+        Gauge
+            .builder(METRIC_PREFIX + ".active", this, AdmissionLimiter::getActive)
+            .description("Requests currently holding a slot")
+            .tag("class", name)
+            .register(meterRegistry);
+        Gauge
+            .builder(METRIC_PREFIX + ".queued", this, AdmissionLimiter::getQueued)
+            .description("Requests currently waiting for a slot")
+            .tag("class", name)
+            .register(meterRegistry);
+        Gauge
+            .builder(METRIC_PREFIX + ".limit", this, AdmissionLimiter::getMaxConcurrent)
+            .description("Maximum number of requests running at the same time")
+            .tag("class", name)
+            .register(meterRegistry);
+    }
+
+    /**
+     * @return {@code true} when a slot was obtained and must be released with {@link #release()}
+     */
+    public boolean tryAcquire() throws InterruptedException {
+        if (permits.tryAcquire()) {
+            waitTimer.record(Duration.ZERO);
+            return true;
+        }
+        long start = System.nanoTime();
+        if (permits.tryAcquire(queueTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+            waitTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return true;
+        }
+        rejectedCounter.increment();
+        return false;
+    }
+
+    public void release() {
+        permits.release();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMaxConcurrent() {
+        return maxConcurrent;
+    }
+
+    public int getActive() {
+        return maxConcurrent - permits.availablePermits();
+    }
+
+    public int getQueued() {
+        return permits.getQueueLength();
+    }
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.admission.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.activiti.cloud.services.admission.AdmissionControlFilter;
+import org.activiti.cloud.services.admission.AdmissionControlProperties;
+import org.activiti.cloud.services.admission.AdmissionLimiter;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+
+/**
+ * Bounds the number of requests hitting the database at the same time. It is meant to be paired with virtual
+ * threads ({@code spring.threads.virtual.enabled=true}), where the container no longer limits concurrency, and is
+ * therefore enabled along with them unless {@code activiti.cloud.rest.admission.enabled} says otherwise.
+ */
+@AutoConfiguration
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnExpression("${activiti.cloud.rest.admission.enabled:${spring.threads.virtual.enabled:false}}")
+@EnableConfigurationProperties(AdmissionControlProperties.class)
+public class AdmissionControlAutoConfiguration {
+
+    public static final String DEFAULT_CLASS = "default";
+
+    /**
+     * Right after the Spring Security filter chain, so that unauthenticated requests never take a slot.
+     */
+    public static final int FILTER_ORDER = -90;
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AdmissionControlFilter admissionControlFilter(
+        AdmissionControlProperties properties,
+        ObjectProvider<MeterRegistry> meterRegistryProvider,
+        @Value("${spring.datasource.hikari.maximum-pool-size:10}") int connectionPoolSize
+    ) {
+        MeterRegistry meterRegistry = meterRegistryProvider.getIfAvailable(SimpleMeterRegistry::new);
+        Map<AdmissionLimiter, List<String>> limiterPaths = new LinkedHashMap<>();
+        properties
+            .getClasses()
+            .forEach((name, concurrencyClass) ->
+                limiterPaths.put(
+                    new AdmissionLimiter(
+                        name,
+                        concurrencyClass.getMaxConcurrent(),
+                        concurrencyClass.getQueueTimeout() != null
+                            ? concurrencyClass.getQueueTimeout()
+                            : properties.getQueueTimeout(),
+                        meterRegistry
+                    ),
+                    concurrencyClass.getPaths()
+                )
+            );
+        AdmissionLimiter defaultLimiter = new AdmissionLimiter(
+            DEFAULT_CLASS,
+            properties.getMaxConcurrent() != null ? properties.getMaxConcurrent() : connectionPoolSize,
+            properties.getQueueTimeout(),
+            meterRegistry
+        );
+        return new AdmissionControlFilter(limiterPaths, defaultLimiter, properties.getExcludedPaths());
+    }
+
+    @Bean
+    public FilterRegistrationBean<AdmissionControlFilter> admissionControlFilterRegistration(
+        AdmissionControlFilter admissionControlFilter
+    ) {
+        FilterRegistrationBean<AdmissionControlFilter> registration = new FilterRegistrationBean<>(
+            admissionControlFilter
+        );
+        registration.setOrder(FILTER_ORDER);
+        return registration;
+    }
+}
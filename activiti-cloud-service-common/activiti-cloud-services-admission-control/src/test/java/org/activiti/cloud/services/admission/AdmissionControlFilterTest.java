@@ -0,0 +1,116 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.admission;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+public class AdmissionControlFilterTest {
+
+    private SimpleMeterRegistry meterRegistry;
+
+    private AdmissionLimiter searchLimiter;
+
+    private AdmissionLimiter defaultLimiter;
+
+    private AdmissionControlFilter filter;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchLimiter = new AdmissionLimiter("search", 1, Duration.ZERO, meterRegistry);
+        defaultLimiter = new AdmissionLimiter("default", 2, Duration.ZERO, meterRegistry);
+        Map<AdmissionLimiter, List<String>> limiterPaths = new LinkedHashMap<>();
+        limiterPaths.put(searchLimiter, List.of("/v1/tasks/search", "/admin/v1/*/search"));
+        filter = new AdmissionControlFilter(limiterPaths, defaultLimiter, List.of("/actuator/**"));
+    }
+
+    @Test
+    public void should_resolveConcurrencyClassByPath() {
+        assertThat(filter.resolveLimiter("/v1/tasks/search")).isSameAs(searchLimiter);
+        assertThat(filter.resolveLimiter("/admin/v1/process-instances/search")).isSameAs(searchLimiter);
+        assertThat(filter.resolveLimiter("/v1/tasks")).isSameAs(defaultLimiter);
+    }
+
+    @Test
+    public void should_holdSlotWhileRequestRunsAndReleaseItAfterwards() throws Exception {
+        AtomicInteger activeDuringRequest = new AtomicInteger();
+        MockFilterChain chain = new MockFilterChain(
+            new HttpServlet() {
+                @Override
+                protected void service(HttpServletRequest request, HttpServletResponse response) {
+                    activeDuringRequest.set(searchLimiter.getActive());
+                }
+            }
+        );
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/tasks/search"), new MockHttpServletResponse(), chain);
+
+        assertThat(activeDuringRequest).hasValue(1);
+        assertThat(searchLimiter.getActive()).isZero();
+    }
+
+    @Test
+    public void should_rejectWithRetryAfter_when_classIsSaturated() throws Exception {
+        assertThat(searchLimiter.tryAcquire()).isTrue();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/v1/tasks/search"), response, chain);
+
+        assertThat(response.getStatus()).isEqualTo(503);
+        assertThat(response.getHeader(HttpHeaders.RETRY_AFTER)).isEqualTo("1");
+        assertThat(chain.getRequest()).isNull();
+        assertThat(meterRegistry.get("activiti.rest.admission.rejected").tag("class", "search").counter().count())
+            .isEqualTo(1);
+    }
+
+    @Test
+    public void should_notLimitOtherClasses_when_oneClassIsSaturated() throws Exception {
+        assertThat(searchLimiter.tryAcquire()).isTrue();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/v1/tasks"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+
+    @Test
+    public void should_skipExcludedPaths() throws Exception {
+        assertThat(defaultLimiter.tryAcquire()).isTrue();
+        assertThat(defaultLimiter.tryAcquire()).isTrue();
+        MockFilterChain chain = new MockFilterChain();
+
+        filter.doFilter(new MockHttpServletRequest("GET", "/actuator/health"), new MockHttpServletResponse(), chain);
+
+        assertThat(chain.getRequest()).isNotNull();
+    }
+}
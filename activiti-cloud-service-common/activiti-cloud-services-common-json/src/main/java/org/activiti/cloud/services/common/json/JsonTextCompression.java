@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.common.json;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Optional gzip compression of JSON text columns. Compressed values are stored base64 encoded behind a prefix that
+ * can never start a JSON document, so both forms can be read back regardless of the current setting and existing rows
+ * need no migration. The threshold is static because the column converters are instantiated by Hibernate; it is set
+ * by {@link JsonTextCompressionInitializer}.
+ */
+public final class JsonTextCompression {
+
+    public static final String GZIP_PREFIX = "gzip:";
+
+    private static volatile int minCompressedLength = -1;
+
+    private JsonTextCompression() {}
+
+    /**
+     * @param minLength minimum length of the JSON text to compress, or a negative value to disable compression
+     */
+    public static void setMinCompressedLength(int minLength) {
+        minCompressedLength = minLength;
+    }
+
+    public static String compress(String json) {
+        int minLength = minCompressedLength;
+        if (json == null || minLength < 0 || json.length() < minLength) {
+            return json;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(bytes)) {
+            gzip.write(json.getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to compress JSON text", e);
+        }
+        return GZIP_PREFIX + Base64.getEncoder().encodeToString(bytes.toByteArray());
+    }
+
+    public static String decompress(String text) {
+        if (text == null || !text.startsWith(GZIP_PREFIX)) {
+            return text;
+        }
+        byte[] compressed = Base64.getDecoder().decode(text.substring(GZIP_PREFIX.length()));
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(compressed))) {
+            return new String(gzip.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to decompress JSON text", e);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.common.json;
+
+import java.util.Collection;
+import java.util.stream.Collectors;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.ListableBeanFactory;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+/**
+ * Applies the compression threshold of the JSON text columns. Their converters are instantiated by Hibernate, so the
+ * threshold is shared through {@link JsonTextCompression} and has to be set once the context starts.
+ * <p>
+ * Each service registers its own initializer under its own property. When several services run in one application,
+ * the shared threshold can only hold one value, so startup fails unless all their properties agree.
+ */
+public class JsonTextCompressionInitializer implements InitializingBean, BeanFactoryAware, SmartInitializingSingleton {
+
+    private final String property;
+
+    private final int minCompressedLength;
+
+    private ListableBeanFactory beanFactory;
+
+    /**
+     * @param property name of the property the threshold is read from, used to report conflicting settings
+     * @param minCompressedLength minimum length of the JSON text to compress, or a negative value to disable it
+     */
+    public JsonTextCompressionInitializer(String property, int minCompressedLength) {
+        this.property = property;
+        this.minCompressedLength = minCompressedLength;
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) {
+        if (beanFactory instanceof ListableBeanFactory listableBeanFactory) {
+            this.beanFactory = listableBeanFactory;
+        }
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        JsonTextCompression.setMinCompressedLength(minCompressedLength);
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        if (beanFactory == null) {
+            return;
+        }
+        Collection<JsonTextCompressionInitializer> initializers = beanFactory
+            .getBeansOfType(JsonTextCompressionInitializer.class)
+            .values();
+        if (initializers.stream().anyMatch(initializer -> initializer.minCompressedLength != minCompressedLength)) {
+            throw new IllegalStateException(
+                "JSON text compression is shared by all services of the application, so these properties must have " +
+                "the same value: " +
+                initializers
+                    .stream()
+                    .map(initializer -> initializer.property + "=" + initializer.minCompressedLength)
+                    .collect(Collectors.joining(", "))
+            );
+        }
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.common.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+
+class JsonTextCompressionTest {
+
+    private static final String PROPERTY = "test.compression-min-length";
+
+    private static final String JSON = "{\"name\":\"" + "value".repeat(100) + "\"}";
+
+    @AfterEach
+    void resetCompression() {
+        JsonTextCompression.setMinCompressedLength(-1);
+    }
+
+    @Test
+    void should_storeTextPlain_when_compressionIsDisabled() {
+        assertThat(JsonTextCompression.compress(JSON)).isEqualTo(JSON);
+    }
+
+    @Test
+    void should_storeTextPlain_when_shorterThanMinLength() {
+        new JsonTextCompressionInitializer(PROPERTY, JSON.length() + 1).afterPropertiesSet();
+
+        assertThat(JsonTextCompression.compress(JSON)).isEqualTo(JSON);
+    }
+
+    @Test
+    void should_readBackCompressedAndPlainText() {
+        new JsonTextCompressionInitializer(PROPERTY, 0).afterPropertiesSet();
+
+        String compressed = JsonTextCompression.compress(JSON);
+
+        assertThat(compressed).startsWith(JsonTextCompression.GZIP_PREFIX);
+        assertThat(compressed.length()).isLessThan(JSON.length());
+        assertThat(JsonTextCompression.decompress(compressed)).isEqualTo(JSON);
+        assertThat(JsonTextCompression.decompress(JSON)).isEqualTo(JSON);
+        assertThat(JsonTextCompression.decompress(null)).isNull();
+    }
+
+    @Test
+    void should_failOnStartup_when_initializersDisagree() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        JsonTextCompressionInitializer auditInitializer = new JsonTextCompressionInitializer("audit.min-length", 1024);
+        beanFactory.registerSingleton("auditInitializer", auditInitializer);
+        beanFactory.registerSingleton("queryInitializer", new JsonTextCompressionInitializer("query.min-length", -1));
+        auditInitializer.setBeanFactory(beanFactory);
+
+        assertThatThrownBy(auditInitializer::afterSingletonsInstantiated)
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessageContaining("audit.min-length=1024")
+            .hasMessageContaining("query.min-length=-1");
+    }
+
+    @Test
+    void should_start_when_initializersAgree() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        JsonTextCompressionInitializer auditInitializer = new JsonTextCompressionInitializer("audit.min-length", 1024);
+        beanFactory.registerSingleton("auditInitializer", auditInitializer);
+        beanFactory.registerSingleton("queryInitializer", new JsonTextCompressionInitializer("query.min-length", 1024));
+        auditInitializer.setBeanFactory(beanFactory);
+
+        assertThatCode(auditInitializer::afterSingletonsInstantiated).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.services.common.scheduling;
+
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.SmartLifecycle;
+
+/**
+ * Base of the background tasks that run periodically from startup, such as purges and maintenance, on a daemon thread
+ * of their own. A failed run is logged and the task runs again after the next interval. Stopping interrupts the run
+ * in progress and waits up to {@link #STOP_TIMEOUT} for it to end, so that it does not outlive the resources it uses.
+ */
+public abstract class PeriodicTask implements SmartLifecycle {
+
+    public static final Duration STOP_TIMEOUT = Duration.ofSeconds(10);
+
+    private final Logger logger = LoggerFactory.getLogger(getClass());
+
+    private final String threadName;
+
+    private final Duration interval;
+
+    private ScheduledExecutorService executor;
+
+    /**
+     * @param threadName name of the thread the task runs on, also used to report its failures
+     * @param interval delay between the end of a run and the start of the next one
+     */
+    protected PeriodicTask(String threadName, Duration interval) {
+        this.threadName = threadName;
+        this.interval = interval;
+    }
+
+    /**
+     * Runs the task once. Called on the task thread, never concurrently with itself.
+     */
+    protected abstract void runOnce();
+
+    @Override
+    public void start() {
+        executor =
+            Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, threadName);
+                thread.setDaemon(true);
+                return thread;
+            });
+        executor.scheduleWithFixedDelay(this::runQuietly, 0, interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService stoppedExecutor = executor;
+        executor = null;
+        stoppedExecutor.shutdownNow();
+        try {
+            if (!stoppedExecutor.awaitTermination(STOP_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS)) {
+                logger.warn("Periodic task {} did not stop within {}", threadName, STOP_TIMEOUT);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executor != null;
+    }
+
+    private void runQuietly() {
+        try {
+            runOnce();
+        } catch (RuntimeException e) {
+            logger.error("Periodic task {} failed", threadName, e);
+        }
+    }
+}
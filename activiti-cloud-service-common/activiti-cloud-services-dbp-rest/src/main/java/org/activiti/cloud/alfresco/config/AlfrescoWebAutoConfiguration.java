@@ -27,6 +27,7 @@ import org.activiti.cloud.alfresco.converter.json.AlfrescoJackson2HttpMessageCon
 import org.activiti.cloud.alfresco.converter.json.PageMetadataConverter;
 import org.activiti.cloud.alfresco.converter.json.PagedModelConverter;
 import org.activiti.cloud.alfresco.data.domain.AlfrescoPagedModelAssembler;
+import org.activiti.cloud.alfresco.data.domain.AlfrescoStreamingListAssembler;
 import org.activiti.cloud.alfresco.data.domain.ExtendedPageMetadataConverter;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -92,11 +93,23 @@ public class AlfrescoWebAutoConfiguration implements WebMvcConfigurer {
     }
 
     @Bean
-    public <T> AlfrescoJackson2HttpMessageConverter<T> alfrescoJackson2HttpMessageConverter(ObjectMapper objectMapper) {
-        return new AlfrescoJackson2HttpMessageConverter<>(
+    public <T> AlfrescoJackson2HttpMessageConverter<T> alfrescoJackson2HttpMessageConverter(
+        ObjectMapper objectMapper,
+        @Value("${activiti.cloud.rest.streaming.enabled}") boolean streamingEnabled
+    ) {
+        AlfrescoJackson2HttpMessageConverter<T> converter = new AlfrescoJackson2HttpMessageConverter<>(
             new PagedModelConverter(new PageMetadataConverter()),
             objectMapper
         );
+        converter.setStreamingEnabled(streamingEnabled);
+        return converter;
+    }
+
+    @Bean
+    public AlfrescoStreamingListAssembler alfrescoStreamingListAssembler(
+        @Value("${activiti.cloud.rest.streaming.enabled}") boolean streamingEnabled
+    ) {
+        return new AlfrescoStreamingListAssembler(new PageMetadataConverter(), streamingEnabled);
     }
 
     @Bean
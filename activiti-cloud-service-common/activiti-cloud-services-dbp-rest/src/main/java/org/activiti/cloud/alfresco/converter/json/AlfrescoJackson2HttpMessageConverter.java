@@ -34,6 +34,7 @@ public class AlfrescoJackson2HttpMessageConverter<T> extends MappingJackson2Http
 
     private final PagedModelConverter pagedCollectionModelConverter;
     private final ObjectMapper objectMapper;
+    private boolean streamingEnabled;
 
     public AlfrescoJackson2HttpMessageConverter(
         PagedModelConverter pagedCollectionModelConverter,
@@ -45,6 +46,14 @@ public class AlfrescoJackson2HttpMessageConverter<T> extends MappingJackson2Http
         setSupportedMediaTypes(Collections.singletonList(MediaType.APPLICATION_JSON));
     }
 
+    /**
+     * When enabled, pages and collections are written entry by entry instead of being copied into a
+     * {@link org.activiti.cloud.alfresco.rest.model.ListResponseContent} first. The JSON produced is the same.
+     */
+    public void setStreamingEnabled(boolean streamingEnabled) {
+        this.streamingEnabled = streamingEnabled;
+    }
+
     @Override
     protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
         throws IOException, HttpMessageNotWritableException {
@@ -59,13 +68,15 @@ public class AlfrescoJackson2HttpMessageConverter<T> extends MappingJackson2Http
 
     private Object transformObject(Object object) {
         if (object instanceof PagedModel) {
-            return pagedCollectionModelConverter.pagedCollectionModelToListResponseContent(
-                (PagedModel<EntityModel<T>>) object
-            );
+            PagedModel<EntityModel<T>> pagedModel = (PagedModel<EntityModel<T>>) object;
+            return streamingEnabled
+                ? pagedCollectionModelConverter.pagedCollectionModelToStreamingListResponseContent(pagedModel)
+                : pagedCollectionModelConverter.pagedCollectionModelToListResponseContent(pagedModel);
         } else if (object instanceof CollectionModel) {
-            return pagedCollectionModelConverter.resourcesToListResponseContent(
-                (CollectionModel<EntityModel<T>>) object
-            );
+            CollectionModel<EntityModel<T>> collectionModel = (CollectionModel<EntityModel<T>>) object;
+            return streamingEnabled
+                ? pagedCollectionModelConverter.resourcesToStreamingListResponseContent(collectionModel)
+                : pagedCollectionModelConverter.resourcesToListResponseContent(collectionModel);
         } else if (object instanceof EntityModel) {
             return new EntryResponseContent<>(((EntityModel<T>) object).getContent());
         }
@@ -17,6 +17,7 @@ package org.activiti.cloud.alfresco.converter.json;
 
 import org.activiti.cloud.alfresco.data.domain.ExtendedPageMetadata;
 import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
+import org.springframework.data.domain.Pageable;
 import org.springframework.hateoas.PagedModel;
 
 public class PageMetadataConverter {
@@ -36,4 +37,14 @@ public class PageMetadataConverter {
             basePageMetadata.getTotalElements()
         );
     }
+
+    public PaginationMetadata toAlfrescoPageMetadata(Pageable pageable, long totalItems, long count) {
+        return new PaginationMetadata(
+            pageable.getOffset(),
+            pageable.getPageSize(),
+            count,
+            pageable.getOffset() + count < totalItems,
+            totalItems
+        );
+    }
 }
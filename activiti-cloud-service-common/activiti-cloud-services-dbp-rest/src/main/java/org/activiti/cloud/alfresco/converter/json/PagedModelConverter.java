@@ -18,9 +18,11 @@ package org.activiti.cloud.alfresco.converter.json;
 import java.util.Collection;
 import java.util.List;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import org.activiti.cloud.alfresco.rest.model.EntryResponseContent;
 import org.activiti.cloud.alfresco.rest.model.ListResponseContent;
 import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
 import org.springframework.hateoas.CollectionModel;
 import org.springframework.hateoas.EntityModel;
 import org.springframework.hateoas.PagedModel;
@@ -50,6 +52,26 @@ public class PagedModelConverter {
         return ListResponseContent.wrap(getAlfrescoContentEntries(resources), null);
     }
 
+    public <T> StreamingListResponseContent<T> pagedCollectionModelToStreamingListResponseContent(
+        PagedModel<EntityModel<T>> pagedCollectionModel
+    ) {
+        PagedModel.PageMetadata metadata = pagedCollectionModel.getMetadata();
+        return StreamingListResponseContent.paged(
+            getContentStream(pagedCollectionModel),
+            count -> pageMetadataConverter.toAlfrescoPageMetadata(metadata, count)
+        );
+    }
+
+    public <T> StreamingListResponseContent<T> resourcesToStreamingListResponseContent(
+        CollectionModel<EntityModel<T>> resources
+    ) {
+        return StreamingListResponseContent.unpaged(getContentStream(resources));
+    }
+
+    private <T> Stream<T> getContentStream(CollectionModel<EntityModel<T>> collectionModel) {
+        return collectionModel.getContent().stream().map(EntityModel::getContent);
+    }
+
     private <T> List<EntryResponseContent<T>> getAlfrescoContentEntries(
         CollectionModel<EntityModel<T>> pagedCollectionModel
     ) {
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.converter.json;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Set;
+import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
+
+/**
+ * Writes a {@link StreamingListResponseContent} entry by entry. Each entry goes through the serializer provider,
+ * so that views, filters and inclusion settings apply exactly as they do for
+ * {@link org.activiti.cloud.alfresco.rest.model.ListResponseContent}.
+ */
+public class StreamingListResponseContentSerializer extends StdSerializer<StreamingListResponseContent<?>> {
+
+    private static final Set<JsonInclude.Include> NULL_SKIPPING_INCLUSIONS = Set.of(
+        JsonInclude.Include.NON_NULL,
+        JsonInclude.Include.NON_ABSENT,
+        JsonInclude.Include.NON_EMPTY,
+        JsonInclude.Include.NON_DEFAULT
+    );
+
+    @SuppressWarnings("unchecked")
+    public StreamingListResponseContentSerializer() {
+        super((Class<StreamingListResponseContent<?>>) (Class<?>) StreamingListResponseContent.class);
+    }
+
+    @Override
+    public void serialize(StreamingListResponseContent<?> value, JsonGenerator generator, SerializerProvider provider)
+        throws IOException {
+        try (value) {
+            generator.writeStartObject();
+            generator.writeFieldName("list");
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("entries");
+            long count = 0;
+            Iterator<?> entries = value.entries();
+            while (entries.hasNext()) {
+                generator.writeStartObject();
+                provider.defaultSerializeField("entry", entries.next(), generator);
+                generator.writeEndObject();
+                count++;
+            }
+            generator.writeEndArray();
+            PaginationMetadata pagination = value.pagination(count);
+            if (pagination != null || !skipsNulls(provider)) {
+                provider.defaultSerializeField("pagination", pagination, generator);
+            }
+            generator.writeEndObject();
+            generator.writeEndObject();
+        }
+    }
+
+    private boolean skipsNulls(SerializerProvider provider) {
+        JsonInclude.Value inclusion = provider.getConfig().getDefaultPropertyInclusion();
+        return inclusion != null && NULL_SKIPPING_INCLUSIONS.contains(inclusion.getValueInclusion());
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import java.util.Iterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.activiti.cloud.alfresco.converter.json.PageMetadataConverter;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.data.support.WindowIterator;
+import org.springframework.http.MediaType;
+
+/**
+ * Builds Alfresco list responses that are written straight from a scrolled query, one window at a time, instead of
+ * going through a {@link org.springframework.hateoas.PagedModel} of {@link org.springframework.hateoas.EntityModel}.
+ * Controllers expose it from a dedicated handler producing {@link #STREAMING_JSON_VALUE}, next to their typed paged
+ * handler, and only serve it when {@code activiti.cloud.rest.streaming.enabled} is set. The body has the same shape
+ * as the Alfresco {@code application/json} list.
+ */
+public class AlfrescoStreamingListAssembler {
+
+    public static final String STREAMING_JSON_VALUE = "application/vnd.activiti.stream+json";
+
+    public static final MediaType STREAMING_JSON = MediaType.valueOf(STREAMING_JSON_VALUE);
+
+    private final PageMetadataConverter pageMetadataConverter;
+
+    private final boolean streamingEnabled;
+
+    public AlfrescoStreamingListAssembler(PageMetadataConverter pageMetadataConverter, boolean streamingEnabled) {
+        this.pageMetadataConverter = pageMetadataConverter;
+        this.streamingEnabled = streamingEnabled;
+    }
+
+    public boolean isStreamingEnabled() {
+        return streamingEnabled;
+    }
+
+    /**
+     * @param pageable the requested page, scrolled from its offset
+     * @param totalItems the number of items matching the query
+     * @param scroll reads the window following the given position, e.g. {@code repository.findBy(predicate,
+     *     query -> query.sortBy(sort).limit(size).scroll(position))}
+     */
+    public <T> StreamingListResponseContent<T> toStreamingListResponseContent(
+        Pageable pageable,
+        long totalItems,
+        Function<ScrollPosition, Window<T>> scroll
+    ) {
+        ScrollPosition start = pageable.getOffset() == 0
+            ? ScrollPosition.offset()
+            : ScrollPosition.offset(pageable.getOffset() - 1);
+        Iterator<T> windows = WindowIterator.of(scroll).startingAt(start);
+        Stream<T> entries = StreamSupport
+            .stream(Spliterators.spliteratorUnknownSize(windows, Spliterator.ORDERED), false)
+            .limit(pageable.getPageSize());
+
+        return StreamingListResponseContent.paged(
+            entries,
+            count -> pageMetadataConverter.toAlfrescoPageMetadata(pageable, totalItems, count)
+        );
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.rest.model;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import java.util.Iterator;
+import java.util.function.LongFunction;
+import java.util.stream.Stream;
+import org.activiti.cloud.alfresco.converter.json.StreamingListResponseContentSerializer;
+import org.springframework.lang.Nullable;
+
+/**
+ * Same JSON shape as {@link ListResponseContent}, but the entries are pulled from a stream while they are being
+ * written, so that neither the entry wrappers nor the list holding them are ever materialized. The pagination is
+ * computed once all the entries have been written, from the number of entries actually sent.
+ * <p>
+ * The stream is closed once written, which makes it suitable for scrolled query results.
+ */
+@JsonSerialize(using = StreamingListResponseContentSerializer.class)
+public class StreamingListResponseContent<T> implements AutoCloseable {
+
+    private final Stream<T> entries;
+
+    private final LongFunction<PaginationMetadata> pagination;
+
+    private StreamingListResponseContent(Stream<T> entries, @Nullable LongFunction<PaginationMetadata> pagination) {
+        this.entries = entries;
+        this.pagination = pagination;
+    }
+
+    public static <T> StreamingListResponseContent<T> paged(
+        Stream<T> entries,
+        LongFunction<PaginationMetadata> pagination
+    ) {
+        return new StreamingListResponseContent<>(entries, pagination);
+    }
+
+    public static <T> StreamingListResponseContent<T> unpaged(Stream<T> entries) {
+        return new StreamingListResponseContent<>(entries, null);
+    }
+
+    public Iterator<T> entries() {
+        return entries.iterator();
+    }
+
+    @Nullable
+    public PaginationMetadata pagination(long count) {
+        return pagination == null ? null : pagination.apply(count);
+    }
+
+    @Override
+    public void close() {
+        entries.close();
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import org.activiti.cloud.alfresco.converter.json.PageMetadataConverter;
+import org.activiti.cloud.alfresco.converter.json.PagedModelConverter;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
+import org.activiti.cloud.services.benchmark.BenchmarkDefaults;
+import org.activiti.cloud.services.benchmark.BenchmarkRunner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.runner.RunnerException;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+/**
+ * Compares writing a page in the Alfresco list format the way the assemblers do it, i.e. one {@link EntityModel}
+ * with links per row copied into a {@code ListResponseContent}, with the streaming alternatives. Divide
+ * {@code gc.alloc.rate.norm} by {@code entries} to get the allocation per entry.
+ */
+public class AlfrescoListSerializationBenchmark extends BenchmarkDefaults {
+
+    @Param({ "100", "1000", "5000" })
+    private int entries;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PageMetadataConverter pageMetadataConverter = new PageMetadataConverter();
+
+    private final PagedModelConverter pagedModelConverter = new PagedModelConverter(pageMetadataConverter);
+
+    private List<Row> rows;
+
+    private PagedModel.PageMetadata metadata;
+
+    @Setup
+    public void setUp() {
+        rows = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            rows.add(new Row("id-" + i, "Task " + i, "Description of task " + i, "assignee-" + (i % 20), new Date()));
+        }
+        metadata = new PagedModel.PageMetadata(entries, 0, entries * 10L);
+    }
+
+    @Benchmark
+    public void materializedListResponseContent() throws IOException {
+        objectMapper.writeValue(
+            OutputStream.nullOutputStream(),
+            pagedModelConverter.pagedCollectionModelToListResponseContent(assemble())
+        );
+    }
+
+    @Benchmark
+    public void streamedPagedModel() throws IOException {
+        objectMapper.writeValue(
+            OutputStream.nullOutputStream(),
+            pagedModelConverter.pagedCollectionModelToStreamingListResponseContent(assemble())
+        );
+    }
+
+    @Benchmark
+    public void streamedRows() throws IOException {
+        objectMapper.writeValue(
+            OutputStream.nullOutputStream(),
+            StreamingListResponseContent.paged(
+                rows.stream(),
+                count -> pageMetadataConverter.toAlfrescoPageMetadata(metadata, count)
+            )
+        );
+    }
+
+    private PagedModel<EntityModel<Row>> assemble() {
+        List<EntityModel<Row>> content = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            content.add(
+                EntityModel.of(row, Link.of("/v1/tasks/" + row.id()), Link.of("/v1/tasks/" + row.id(), "task"))
+            );
+        }
+        return PagedModel.of(content, metadata, Link.of("/v1/tasks?page=0"));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        BenchmarkRunner.run(AlfrescoListSerializationBenchmark.class);
+    }
+
+    public record Row(String id, String name, String description, String assignee, Date createdDate) {}
+}
@@ -28,6 +28,7 @@ import java.lang.reflect.Type;
 import java.util.List;
 import org.activiti.cloud.alfresco.rest.model.EntryResponseContent;
 import org.activiti.cloud.alfresco.rest.model.ListResponseContent;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -59,6 +60,9 @@ public class AlfrescoJackson2HttpMessageConverterTest {
     @Mock
     private ListResponseContent<String> alfrescoPageContentListWrapper;
 
+    @Mock
+    private StreamingListResponseContent<String> streamingListResponseContent;
+
     @Mock
     private PagedModel<EntityModel<String>> basePagedModel;
 
@@ -91,6 +95,25 @@ public class AlfrescoJackson2HttpMessageConverterTest {
         verify(httpMessageConverter).defaultWriteInternal(alfrescoPageContentListWrapper, type, outputMessage);
     }
 
+    @Test
+    public void writeInternalShouldConvertObjectToStreamingContentWhenIsAPagedModelAndStreamingIsEnabled()
+        throws Exception {
+        //given
+        httpMessageConverter.setStreamingEnabled(true);
+        given(pagedCollectionModelConverter.pagedCollectionModelToStreamingListResponseContent(basePagedModel))
+            .willReturn(streamingListResponseContent);
+
+        doNothing()
+            .when(httpMessageConverter)
+            .defaultWriteInternal(streamingListResponseContent, type, outputMessage);
+
+        //when
+        httpMessageConverter.writeInternal(basePagedModel, type, outputMessage);
+
+        //then
+        verify(httpMessageConverter).defaultWriteInternal(streamingListResponseContent, type, outputMessage);
+    }
+
     @Test
     public void writeInternalShouldConvertWrapContentInsideAlfrescoContentEntryWhenObjectIsAGroupOfCollectionModel()
         throws Exception {
@@ -17,9 +17,11 @@ package org.activiti.cloud.alfresco.converter.json;
 
 import static org.activiti.test.Assertions.assertThat;
 
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
 import org.activiti.cloud.alfresco.data.domain.ExtendedPageMetadata;
 import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
 import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.hateoas.PagedModel;
 
 public class PageMetadataConverterTest {
@@ -66,4 +68,35 @@ public class PageMetadataConverterTest {
         //then
         assertThat(alfrescoPageMetadata).hasSkipCount(3);
     }
+
+    @Test
+    public void toAlfrescoPageMetadataShouldCalculateAlfrescoMetadataFromPageableAndTotal() {
+        //when
+        PaginationMetadata alfrescoPageMetadata = converter.toAlfrescoPageMetadata(
+            new AlfrescoPageRequest(3, 10, PageRequest.of(0, 10)),
+            20,
+            10
+        );
+
+        //then
+        assertThat(alfrescoPageMetadata)
+            .hasCount(10)
+            .hasMaxItems(10)
+            .hasSkipCount(3)
+            .hasTotalItems(20)
+            .isHasMoreItems();
+    }
+
+    @Test
+    public void toAlfrescoPageMetadataShouldReturnNoMoreItemsWhenPageableReachesTotal() {
+        //when
+        PaginationMetadata alfrescoPageMetadata = converter.toAlfrescoPageMetadata(
+            new AlfrescoPageRequest(15, 10, PageRequest.of(0, 10)),
+            20,
+            5
+        );
+
+        //then
+        assertThat(alfrescoPageMetadata).hasCount(5).isNotHasMoreItems();
+    }
 }
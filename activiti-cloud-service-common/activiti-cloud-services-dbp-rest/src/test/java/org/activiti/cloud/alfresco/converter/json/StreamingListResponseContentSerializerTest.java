@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.converter.json;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonView;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
+import org.junit.jupiter.api.Test;
+import org.springframework.hateoas.CollectionModel;
+import org.springframework.hateoas.EntityModel;
+import org.springframework.hateoas.Link;
+import org.springframework.hateoas.PagedModel;
+
+public class StreamingListResponseContentSerializerTest {
+
+    private final PagedModelConverter pagedModelConverter = new PagedModelConverter(new PageMetadataConverter());
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final PagedModel<EntityModel<Item>> pagedModel = PagedModel.of(
+        List.of(
+            EntityModel.of(new Item("1", "first", null), Link.of("/items/1")),
+            EntityModel.of(new Item("2", "second", "secret"), Link.of("/items/2"))
+        ),
+        new PagedModel.PageMetadata(2, 0, 5)
+    );
+
+    @Test
+    public void should_writeSameJsonAsListResponseContent_when_pagedModel() throws Exception {
+        String streamed = objectMapper.writeValueAsString(
+            pagedModelConverter.pagedCollectionModelToStreamingListResponseContent(pagedModel)
+        );
+        String materialized = objectMapper.writeValueAsString(
+            pagedModelConverter.pagedCollectionModelToListResponseContent(pagedModel)
+        );
+
+        assertThat(streamed).isEqualTo(materialized);
+    }
+
+    @Test
+    public void should_writeSameJsonAsListResponseContent_when_collectionModel() throws Exception {
+        CollectionModel<EntityModel<Item>> collectionModel = CollectionModel.of(pagedModel.getContent());
+
+        String streamed = objectMapper.writeValueAsString(
+            pagedModelConverter.resourcesToStreamingListResponseContent(collectionModel)
+        );
+
+        assertThat(streamed)
+            .isEqualTo(
+                objectMapper.writeValueAsString(pagedModelConverter.resourcesToListResponseContent(collectionModel))
+            );
+    }
+
+    @Test
+    public void should_applyViewAndInclusion_when_configuredOnMapper() throws Exception {
+        ObjectMapper restrictedMapper = new ObjectMapper().setSerializationInclusion(JsonInclude.Include.NON_NULL);
+        CollectionModel<EntityModel<Item>> collectionModel = CollectionModel.of(pagedModel.getContent());
+
+        String streamed = restrictedMapper
+            .writerWithView(Views.Public.class)
+            .writeValueAsString(pagedModelConverter.resourcesToStreamingListResponseContent(collectionModel));
+
+        assertThat(streamed)
+            .isEqualTo(
+                restrictedMapper
+                    .writerWithView(Views.Public.class)
+                    .writeValueAsString(pagedModelConverter.resourcesToListResponseContent(collectionModel))
+            )
+            .doesNotContain("secret", "pagination");
+    }
+
+    @Test
+    public void should_closeStream_when_written() throws Exception {
+        AtomicBoolean closed = new AtomicBoolean();
+
+        Stream<Item> items = Stream.of(new Item("1", "first", null)).onClose(() -> closed.set(true));
+
+        objectMapper.writeValueAsString(StreamingListResponseContent.unpaged(items));
+
+        assertThat(closed).isTrue();
+    }
+
+    public static class Views {
+
+        public interface Public {}
+
+        public interface Internal extends Public {}
+    }
+
+    public record Item(
+        @JsonView(Views.Public.class) String id,
+        @JsonView(Views.Public.class) String name,
+        @JsonView(Views.Internal.class) String note
+    ) {}
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017-2020 Alfresco Software, Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.activiti.cloud.alfresco.data.domain;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.activiti.cloud.alfresco.argument.resolver.AlfrescoPageRequest;
+import org.activiti.cloud.alfresco.converter.json.PageMetadataConverter;
+import org.activiti.cloud.alfresco.rest.model.PaginationMetadata;
+import org.activiti.cloud.alfresco.rest.model.StreamingListResponseContent;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.OffsetScrollPosition;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+class AlfrescoStreamingListAssemblerTest {
+
+    private static final List<String> ITEMS = IntStream.range(0, 10).mapToObj(String::valueOf).toList();
+
+    private final List<ScrollPosition> scrolledPositions = new ArrayList<>();
+
+    private final AlfrescoStreamingListAssembler assembler = new AlfrescoStreamingListAssembler(
+        new PageMetadataConverter(),
+        true
+    );
+
+    @Test
+    void should_streamRequestedPageAcrossWindows() {
+        StreamingListResponseContent<String> content = assembler.toStreamingListResponseContent(
+            new AlfrescoPageRequest(4, 4, PageRequest.of(0, 4)),
+            ITEMS.size(),
+            this::scroll
+        );
+
+        assertThat(entries(content)).containsExactly("4", "5", "6", "7");
+        assertThat(scrolledPositions).hasSize(2);
+        PaginationMetadata pagination = content.pagination(4);
+        assertThat(pagination.getSkipCount()).isEqualTo(4);
+        assertThat(pagination.getMaxItems()).isEqualTo(4);
+        assertThat(pagination.getTotalItems()).isEqualTo(10);
+        assertThat(pagination.isHasMoreItems()).isTrue();
+    }
+
+    @Test
+    void should_stopAtEndOfResults_when_lastPageIsIncomplete() {
+        StreamingListResponseContent<String> content = assembler.toStreamingListResponseContent(
+            new AlfrescoPageRequest(8, 4, PageRequest.of(0, 4)),
+            ITEMS.size(),
+            this::scroll
+        );
+
+        assertThat(entries(content)).containsExactly("8", "9");
+        assertThat(content.pagination(2).isHasMoreItems()).isFalse();
+    }
+
+    @Test
+    void should_startFromFirstItem_when_offsetIsZero() {
+        StreamingListResponseContent<String> content = assembler.toStreamingListResponseContent(
+            PageRequest.of(0, 2),
+            ITEMS.size(),
+            this::scroll
+        );
+
+        assertThat(entries(content)).containsExactly("0", "1");
+        assertThat(scrolledPositions).containsExactly(ScrollPosition.offset());
+    }
+
+    @Test
+    void should_reportWhetherStreamingIsEnabled() {
+        AlfrescoStreamingListAssembler disabled = new AlfrescoStreamingListAssembler(
+            new PageMetadataConverter(),
+            false
+        );
+
+        assertThat(assembler.isStreamingEnabled()).isTrue();
+        assertThat(disabled.isStreamingEnabled()).isFalse();
+    }
+
+    private Window<String> scroll(ScrollPosition position) {
+        scrolledPositions.add(position);
+        int start = position.isInitial() ? 0 : (int) ((OffsetScrollPosition) position).getOffset() + 1;
+        int end = Math.min(start + 3, ITEMS.size());
+        return Window.from(
+            ITEMS.subList(start, end),
+            index -> ScrollPosition.offset(start + index),
+            end < ITEMS.size()
+        );
+    }
+
+    private List<String> entries(StreamingListResponseContent<String> content) {
+        List<String> entries = new ArrayList<>();
+        content.entries().forEachRemaining(entries::add);
+        content.close();
+        return entries;
+    }
+}